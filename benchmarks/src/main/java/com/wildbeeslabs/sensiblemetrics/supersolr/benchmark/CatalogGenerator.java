@@ -0,0 +1,151 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Attribute;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reproducible synthetic catalog generator
+ *
+ * <p>Documents are derived from a seeded {@link Random} and a fixed vocabulary, so equal seeds produce
+ * equal catalogs across runs and machines and benchmark results stay comparable with the baseline.</p>
+ */
+public class CatalogGenerator {
+
+    /**
+     * Default catalog seed
+     */
+    public static final long DEFAULT_SEED = 20190401L;
+
+    private static final long DEFAULT_CREATED_EPOCH = 1554076800000L;
+    private static final int DEFAULT_CATEGORY_COUNT = 50;
+
+    private static final String[] WORDS = {
+        "smart", "tv", "radio", "phone", "laptop", "tablet", "camera", "lens", "speaker", "headphones",
+        "wireless", "portable", "compact", "digital", "classic", "premium", "black", "white", "silver", "gold",
+        "small", "huge", "tiny", "handkerchief", "cotton", "leather", "steel", "glass", "wooden", "kitchen",
+        "garden", "outdoor", "indoor", "sport", "travel", "office", "gaming", "studio", "vintage", "modern",
+        "charger", "cable", "adapter", "battery", "case", "cover", "stand", "mount", "bag", "lamp"
+    };
+
+    private final Random random;
+    private final List<Category> categories;
+
+    public CatalogGenerator() {
+        this(DEFAULT_SEED);
+    }
+
+    public CatalogGenerator(long seed) {
+        this.random = new Random(seed);
+        this.categories = new ArrayList<>(DEFAULT_CATEGORY_COUNT);
+        for (int i = 0; i < DEFAULT_CATEGORY_COUNT; i++) {
+            final Category category = new Category();
+            category.setId("category-" + i);
+            category.setIndex(i);
+            category.setTitle(words(2));
+            category.setDescription(words(12));
+            this.categories.add(category);
+        }
+    }
+
+    /**
+     * Returns list of generated products {@link List}
+     *
+     * @param count - initial input number of products
+     * @return list of generated products {@link List}
+     */
+    public List<Product> products(int count) {
+        final List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(product(i));
+        }
+        return products;
+    }
+
+    /**
+     * Returns generated product {@link Product} by input index
+     *
+     * @param index - initial input product index
+     * @return generated product {@link Product}
+     */
+    public Product product(int index) {
+        final Product product = new Product();
+        product.setId("product-" + index);
+        product.setName(words(2 + this.random.nextInt(3)));
+        product.setShortDescription(words(8 + this.random.nextInt(8)));
+        product.setLongDescription(words(20 + this.random.nextInt(40)));
+        product.setPriceDescription(words(4));
+        product.setPageTitle(words(3));
+        product.setCatalogNumber(String.format("CN-%06d", index));
+        product.setPrice(Math.round(this.random.nextDouble() * 100000) / 100.0);
+        product.setRecommendedPrice(Math.round(this.random.nextDouble() * 100000) / 100.0);
+        product.setRating(this.random.nextInt(10));
+        product.setAgeRestriction(this.random.nextInt(4) * 6);
+        product.setLockType(this.random.nextInt(3));
+        product.setAvailable(this.random.nextBoolean());
+        product.setCreated(new Date(DEFAULT_CREATED_EPOCH + TimeUnit.MINUTES.toMillis(index)));
+        final int categoryCount = 1 + this.random.nextInt(3);
+        for (int i = 0; i < categoryCount; i++) {
+            product.addCategory(this.categories.get(this.random.nextInt(this.categories.size())));
+        }
+        final int attributeCount = this.random.nextInt(5);
+        for (int i = 0; i < attributeCount; i++) {
+            final Attribute attribute = new Attribute();
+            attribute.setId(product.getId() + "-attribute-" + i);
+            attribute.setName(words(1));
+            attribute.setDescriptionText(words(6));
+            product.addAttribute(attribute);
+        }
+        return product;
+    }
+
+    /**
+     * Returns generated search term {@link String} of the input number of words
+     *
+     * @param wordCount - initial input number of words
+     * @return generated search term {@link String}
+     */
+    public String searchTerm(int wordCount) {
+        return words(wordCount);
+    }
+
+    private String words(int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[this.random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,327 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.iface.AsyncSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.iface.RequestCoalescer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface.DocumentIndexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.ProductSearchRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.ProductSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl.ProductSearchServiceImpl;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface.DocumentSuggester;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
+import com.wildbeeslabs.sensiblemetrics.supersolr.utility.SolrHomeUtils;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
+import org.apache.solr.client.solrj.embedded.JettyConfig;
+import org.apache.solr.client.solrj.embedded.JettySolrRunner;
+import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.core.CoreContainer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.SimpleQuery;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Embedded solr benchmark: {@link ProductSearchService} queries against an in-process {@link EmbeddedSolrServer}
+ * and against the same solr home served over http by a local jetty
+ *
+ * <p>The service runs in a minimal application context with pass-through result cache and request coalescer,
+ * so every call reaches solr and the difference between the modes is the http transport (serialization,
+ * connection handling and the servlet stack). Solr repositories are not bootstrapped there, the benchmarked
+ * calls go through the {@link SolrTemplate} of the service. Highlight queries are left out: solr-core 8.0 calls
+ * {@code Objects.firstNonNull} of guava, which the guava version of the project no longer has. Configsets are resolved
+ * relative to the working directory, run from the project base directory with {@code java -jar benchmarks/target/benchmarks.jar EmbeddedSolrBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmbeddedSolrBenchmark {
+
+    /**
+     * Default solr context path of the http mode
+     */
+    private static final String DEFAULT_CONTEXT_PATH = "/solr";
+    /**
+     * Default page size
+     */
+    private static final int DEFAULT_PAGE_SIZE = 10;
+
+    @Param({"embedded", "http"})
+    private String mode;
+
+    @Param({"10000"})
+    private int productCount;
+
+    private Path home;
+    private CoreContainer coreContainer;
+    private JettySolrRunner solrRunner;
+    private SolrClient solrClient;
+    private AnnotationConfigApplicationContext applicationContext;
+    private ProductSearchService productSearchService;
+    private Pageable pageable;
+    private String name;
+    private Query nameOrDescriptionQuery;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        final Map<String, String> configSets = new LinkedHashMap<>();
+        configSets.put("product", "solr/product");
+        configSets.put("category", "solr/core/category");
+        this.home = SolrHomeUtils.createTemporaryHome(configSets);
+        if ("embedded".equals(this.mode)) {
+            this.coreContainer = CoreContainer.createAndLoad(this.home);
+            this.solrClient = new EmbeddedSolrServer(this.coreContainer, SearchableProduct.COLLECTION_ID);
+        } else {
+            this.solrRunner = new JettySolrRunner(this.home.toString(), JettyConfig.builder()
+                .setContext(DEFAULT_CONTEXT_PATH)
+                .setPort(0)
+                .build());
+            this.solrRunner.start();
+            this.solrClient = new HttpSolrClient.Builder(String.format("http://127.0.0.1:%d%s", this.solrRunner.getLocalPort(), DEFAULT_CONTEXT_PATH)).build();
+        }
+
+        this.applicationContext = new AnnotationConfigApplicationContext();
+        this.applicationContext.registerBean(SolrClient.class, () -> this.solrClient);
+        this.applicationContext.register(BenchmarkConfig.class);
+        // search services carry jpa persistence annotations, there is no entity manager outside of the application
+        this.applicationContext.removeBeanDefinition(AnnotationConfigUtils.PERSISTENCE_ANNOTATION_PROCESSOR_BEAN_NAME);
+        this.applicationContext.refresh();
+        this.productSearchService = this.applicationContext.getBean(ProductSearchService.class);
+
+        final CatalogGenerator generator = new CatalogGenerator();
+        final List<Product> products = generator.products(this.productCount);
+        final SolrTemplate solrTemplate = this.applicationContext.getBean(SolrTemplate.class);
+        solrTemplate.saveBeans(SearchableProduct.COLLECTION_ID, products);
+        solrTemplate.commit(SearchableProduct.COLLECTION_ID);
+
+        this.pageable = PageRequest.of(0, DEFAULT_PAGE_SIZE);
+        this.name = products.get(products.size() / 2).getName();
+        final String word = generator.searchTerm(1);
+        this.nameOrDescriptionQuery = new SimpleQuery(new Criteria(SearchableProduct.NAME_FIELD_NAME).contains(word)
+            .or(SearchableProduct.SHORT_DESCRIPTION_FIELD_NAME).contains(word), this.pageable);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        if (this.applicationContext != null) {
+            this.applicationContext.close();
+        }
+        if (this.solrRunner != null) {
+            this.solrClient.close();
+            this.solrRunner.stop();
+        }
+        if (this.coreContainer != null) {
+            this.coreContainer.shutdown();
+        }
+        SolrHomeUtils.deleteHome(this.home);
+    }
+
+    @Benchmark
+    public Page<? extends Product> findByName() {
+        return this.productSearchService.findByCriteria(SearchableProduct.COLLECTION_ID, new Criteria(SearchableProduct.NAME_FIELD_NAME).is(this.name), this.pageable);
+    }
+
+    @Benchmark
+    public Page<? extends Product> findByNameOrDescription() {
+        return this.productSearchService.findByQuery(SearchableProduct.COLLECTION_ID, this.nameOrDescriptionQuery);
+    }
+
+    /**
+     * Minimal product search service configuration over the registered {@link SolrClient}
+     */
+    @Configuration
+    @Import(ProductSearchServiceImpl.class)
+    protected static class BenchmarkConfig {
+
+        @Bean
+        public ProductSearchRepository productSearchRepository() {
+            return (ProductSearchRepository) Proxy.newProxyInstance(ProductSearchRepository.class.getClassLoader(), new Class<?>[]{ProductSearchRepository.class}, (proxy, method, args) -> {
+                throw new UnsupportedOperationException("Solr repositories are not bootstrapped by the benchmark: " + method.getName());
+            });
+        }
+
+        @Bean
+        public SolrTemplate solrTemplate(final SolrClient solrClient) {
+            final SolrTemplate solrTemplate = new SolrTemplate(solrClient);
+            solrTemplate.setSolrConverter(new MappingSolrConverter(new SimpleSolrMappingContext()));
+            return solrTemplate;
+        }
+
+        @Bean
+        public AsyncConfigProperties asyncConfigProperties() {
+            return new AsyncConfigProperties();
+        }
+
+        @Bean(SearchResultCache.CACHE_ID)
+        public SearchResultCache searchResultCache() {
+            return new SearchResultCache() {
+                @Override
+                public <T> T get(final String collection, final String key, final Supplier<T> loader) {
+                    return loader.get();
+                }
+
+                @Override
+                public <T> T getLocal(final String collection, final String key, final Supplier<T> loader) {
+                    return loader.get();
+                }
+
+                @Override
+                public void invalidate(final String collection) {
+                }
+
+                @Override
+                public long getGeneration(final String collection) {
+                    return 0;
+                }
+
+                @Override
+                public String createKey(final String name, final Object... params) {
+                    return name;
+                }
+            };
+        }
+
+        @Bean(RequestCoalescer.COALESCER_ID)
+        public RequestCoalescer requestCoalescer() {
+            return new RequestCoalescer() {
+                @Override
+                public <T> T execute(final String collection, final String key, final Supplier<T> loader) {
+                    return loader.get();
+                }
+            };
+        }
+
+        @Bean(AsyncSolrOperations.OPERATIONS_ID)
+        public AsyncSolrOperations asyncSolrOperations(final SolrClient solrClient) {
+            return new AsyncSolrOperations() {
+                @Override
+                public CompletableFuture<QueryResponse> query(final String collection, final SolrParams params) {
+                    final CompletableFuture<QueryResponse> response = new CompletableFuture<>();
+                    try {
+                        response.complete(solrClient.query(collection, params));
+                    } catch (SolrServerException | IOException ex) {
+                        response.completeExceptionally(ex);
+                    }
+                    return response;
+                }
+            };
+        }
+
+        @Bean(DocumentIndexer.INDEXER_ID)
+        public DocumentIndexer documentIndexer() {
+            return new DocumentIndexer() {
+                @Override
+                public void add(final String collection, final Object document) {
+                }
+
+                @Override
+                public void addAll(final String collection, final Collection<?> documents) {
+                }
+
+                @Override
+                public void deleteByIds(final String collection, final Collection<String> ids) {
+                }
+
+                @Override
+                public void deleteByQuery(final String collection, final String query) {
+                }
+
+                @Override
+                public void flush() {
+                }
+
+                @Override
+                public int getQueueDepth() {
+                    return 0;
+                }
+            };
+        }
+
+        @Bean(DocumentSuggester.PRODUCT_SUGGESTER_ID)
+        public DocumentSuggester productSuggester() {
+            return new DocumentSuggester() {
+                @Override
+                public List<SuggestionView> suggest(final String prefix, int limit) {
+                    return Collections.emptyList();
+                }
+
+                @Override
+                public boolean isReady() {
+                    return false;
+                }
+
+                @Override
+                public void refresh() {
+                }
+
+                @Override
+                public void rebuild() {
+                }
+            };
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(EmbeddedSolrBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
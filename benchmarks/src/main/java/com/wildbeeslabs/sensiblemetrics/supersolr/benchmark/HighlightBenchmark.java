@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.product.impl.ProductSearchControllerImpl;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.solr.core.query.result.HighlightEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Highlighted search result benchmark: product document mapping merged with highlight snippets
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar HighlightBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HighlightBenchmark {
+
+    @Param({"1", "20"})
+    private int pageSize;
+
+    private List<Product> products;
+    private List<List<HighlightEntry.Highlight>> highlights;
+    private SearchController searchController;
+
+    @Setup
+    public void setup() {
+        final CatalogGenerator generator = new CatalogGenerator();
+        this.products = generator.products(this.pageSize);
+        this.highlights = new ArrayList<>(this.pageSize);
+        for (final Product product : this.products) {
+            final HighlightEntry<Product> entry = new HighlightEntry<>(product);
+            entry.addSnipplets(SearchableProduct.NAME_FIELD_NAME, Arrays.asList("<highlight>" + product.getName() + "</highlight>"));
+            entry.addSnipplets(SearchableProduct.SHORT_DESCRIPTION_FIELD_NAME, Arrays.asList(generator.searchTerm(6), generator.searchTerm(6)));
+            this.highlights.add(entry.getHighlights());
+        }
+        this.searchController = new SearchController();
+    }
+
+    @Benchmark
+    public List<ProductView> getHighLightSearchResult() {
+        final List<ProductView> result = new ArrayList<>(this.products.size());
+        for (int i = 0; i < this.products.size(); i++) {
+            result.add(this.searchController.getHighLightSearchResult(this.products.get(i), this.highlights.get(i), ProductView.class));
+        }
+        return result;
+    }
+
+    /**
+     * Product search controller exposing highlight mapping outside of the application context
+     */
+    protected static class SearchController extends ProductSearchControllerImpl {
+
+        @Override
+        protected ProductView getHighLightSearchResult(final Product entity,
+                                                       final List<HighlightEntry.Highlight> highlights,
+                                                       final Class<? extends ProductView> dtoClass) {
+            return super.getHighLightSearchResult(entity, highlights, dtoClass);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(HighlightBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
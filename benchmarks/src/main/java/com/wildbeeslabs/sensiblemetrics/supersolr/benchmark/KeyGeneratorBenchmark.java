@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl.ProductSearchServiceImpl;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.config.RedisConfig;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache key generator benchmark: keys of a typical paged search service invocation
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar KeyGeneratorBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KeyGeneratorBenchmark {
+
+    private KeyGenerator keyGenerator;
+    private Object target;
+    private Method method;
+    private Object[] params;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        this.keyGenerator = new RedisConfig(new StandardEnvironment()).keyGenerator();
+        this.target = new ProductSearchServiceImpl();
+        this.method = ProductSearchServiceImpl.class.getMethod("findByName", String.class, Pageable.class);
+        this.params = new Object[]{new CatalogGenerator().searchTerm(3), PageRequest.of(0, 20)};
+    }
+
+    @Benchmark
+    public Object generate() {
+        return this.keyGenerator.generate(this.target, this.method, this.params);
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(KeyGeneratorBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Document to view mapping benchmark: compiled view mappers against reflective {@link ModelMapper}
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar MapperBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"1", "20"})
+    private int pageSize;
+
+    private List<Product> products;
+    private ModelMapper modelMapper;
+
+    @Setup
+    public void setup() {
+        this.modelMapper = new ModelMapper();
+        this.modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        this.modelMapper.getConfiguration().setAmbiguityIgnored(true);
+        this.modelMapper.getConfiguration().setSkipNullEnabled(true);
+        this.modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+        this.modelMapper.getConfiguration().setFullTypeMatchingRequired(true);
+        this.modelMapper.getConfiguration().setImplicitMappingEnabled(true);
+
+        this.products = new CatalogGenerator().products(this.pageSize);
+    }
+
+    @Benchmark
+    public List<ProductView> compiledMapper() {
+        return MapperUtils.mapAll(this.products, ProductView.class);
+    }
+
+    @Benchmark
+    public List<ProductView> modelMapper() {
+        final List<ProductView> result = new ArrayList<>(this.products.size());
+        for (final Product product : this.products) {
+            result.add(this.modelMapper.map(product, ProductView.class));
+        }
+        return result;
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MapperBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl.ProductSearchServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.solr.core.query.Criteria;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search term benchmark: term tokenization and name / description search criteria construction
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar SearchTermBenchmark}</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchTermBenchmark {
+
+    @Param({"1", "4", "16"})
+    private int wordCount;
+
+    private String searchTerm;
+    private SearchService searchService;
+
+    @Setup
+    public void setup() {
+        this.searchTerm = new CatalogGenerator().searchTerm(this.wordCount);
+        this.searchService = new SearchService();
+    }
+
+    @Benchmark
+    public Collection<String> tokenize() {
+        return this.searchService.tokenize(this.searchTerm);
+    }
+
+    @Benchmark
+    public Criteria nameOrDescSearchCriteria() {
+        return this.searchService.nameOrDescSearchCriteria(this.searchTerm);
+    }
+
+    /**
+     * Product search service exposing term processing outside of the application context
+     */
+    protected static class SearchService extends ProductSearchServiceImpl {
+
+        @Override
+        protected Collection<String> tokenize(final String searchTerm) {
+            return super.tokenize(searchTerm);
+        }
+
+        @Override
+        protected Criteria nameOrDescSearchCriteria(final String searchTerm) {
+            return super.nameOrDescSearchCriteria(searchTerm);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(SearchTermBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.benchmark;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.InstrumentedThreadPoolExecutor;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.VirtualThreads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Virtual thread benchmark of the request path: each request borrows a connection from a pool sized like the default
+ * hikari pool ({@code maximumPoolSize=25}) for a simulated jdbc round trip, returns it and makes a simulated solr round
+ * trip. Requests run on a fixed pool sized like the default undertow workers ({@code worker-threads=5}, mode=platform)
+ * or on a virtual thread per request (mode=virtual), optionally with the jdbc round trip inside a {@code synchronized}
+ * block (pinned=true) showing carrier thread pinning
+ *
+ * <p>Run with {@code java -jar benchmarks/target/benchmarks.jar VirtualThreadBenchmark}, mode=virtual requires Java 21+</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    private static final int REQUESTS = 512;
+
+    @Param({"platform", "virtual"})
+    private String mode;
+
+    @Param({"false", "true"})
+    private boolean pinned;
+
+    @Param({"5"})
+    private int workerThreads;
+
+    @Param({"25"})
+    private int connectionPoolSize;
+
+    @Param({"1"})
+    private long jdbcLatencyMillis;
+
+    @Param({"5"})
+    private long solrLatencyMillis;
+
+    private ExecutorService executor;
+    private Semaphore connectionPool;
+
+    @Setup
+    public void setup() {
+        this.connectionPool = new Semaphore(this.connectionPoolSize, true);
+        if ("virtual".equals(this.mode)) {
+            this.executor = VirtualThreads.newThreadPerTaskExecutor("supersolr-benchmark-")
+                .orElseThrow(() -> new IllegalStateException("Virtual threads are not supported by the runtime"));
+            return;
+        }
+        this.executor = new InstrumentedThreadPoolExecutor("benchmark",
+            this.workerThreads,
+            this.workerThreads,
+            Duration.ofSeconds(60),
+            REQUESTS,
+            new CustomizableThreadFactory("supersolr-benchmark-"),
+            new SimpleMeterRegistry());
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        this.executor.shutdownNow();
+        this.executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public int requests() throws InterruptedException, ExecutionException {
+        final List<Future<Integer>> futures = new ArrayList<>(REQUESTS);
+        for (int i = 0; i < REQUESTS; i++) {
+            final int id = i;
+            futures.add(this.executor.submit(() -> this.request(id)));
+        }
+        int result = 0;
+        for (final Future<Integer> future : futures) {
+            result += future.get();
+        }
+        return result;
+    }
+
+    private int request(final int id) throws InterruptedException {
+        this.connectionPool.acquire();
+        try {
+            if (this.pinned) {
+                this.pinnedJdbcCall();
+            } else {
+                Thread.sleep(this.jdbcLatencyMillis);
+            }
+        } finally {
+            this.connectionPool.release();
+        }
+        Thread.sleep(this.solrLatencyMillis);
+        return id;
+    }
+
+    private void pinnedJdbcCall() throws InterruptedException {
+        final Object monitor = new Object();
+        synchronized (monitor) {
+            Thread.sleep(this.jdbcLatencyMillis);
+        }
+    }
+
+    public static void main(final String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(VirtualThreadBenchmark.class.getSimpleName())
+            .build()).run();
+    }
+}
@@ -0,0 +1,7 @@
+-- table <resource_fingerprints>
+CREATE TABLE IF NOT EXISTS resource_fingerprints (
+  path         VARCHAR(1024) NOT NULL PRIMARY KEY,
+  size         BIGINT        NOT NULL,
+  lastModified BIGINT        NOT NULL,
+  hash         VARCHAR(64)   NOT NULL
+);
@@ -0,0 +1,8 @@
+-- table <outbox_events>
+CREATE TABLE IF NOT EXISTS outbox_events (
+  id         BIGSERIAL    NOT NULL PRIMARY KEY,
+  entityType VARCHAR(255) NOT NULL,
+  entityId   VARCHAR(255) NOT NULL,
+  operation  VARCHAR(16)  NOT NULL,
+  created    TIMESTAMP    NOT NULL
+);
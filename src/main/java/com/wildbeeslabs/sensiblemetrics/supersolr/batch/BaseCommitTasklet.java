@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom commit tasklet implementation {@link Tasklet}
+ *
+ * <p>Issues the single hard commit of an indexing job once all partitions have been written,
+ * blue/green rebuilds are published by {@link BlueGreenReindexer} instead and only then store
+ * the fingerprint changes {@link ResourceFingerprint} kept in the job execution context.</p>
+ */
+@Slf4j
+@Data
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BaseCommitTasklet implements Tasklet {
+
+    /**
+     * Default solr template instance {@link SolrTemplate}
+     */
+    @Autowired
+    private SolrTemplate solrTemplate;
+    /**
+     * Default {@link BlueGreenReindexer} instance
+     */
+    @Autowired
+    private BlueGreenReindexer blueGreenReindexer;
+    /**
+     * Default {@link ResourceFingerprintRepository} repository
+     */
+    @Autowired
+    private ResourceFingerprintRepository fingerprintRepository;
+
+    @Override
+    public RepeatStatus execute(final StepContribution stepContribution, final ChunkContext chunkContext) {
+        final Map<String, Object> jobExecutionContext = chunkContext.getStepContext().getJobExecutionContext();
+        final String collection = BasePrepareTasklet.getTargetCollection(jobExecutionContext);
+        if (BasePrepareTasklet.isBlueGreen(jobExecutionContext)) {
+            final ExecutionContext context = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+            getBlueGreenReindexer().publish(BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME, collection);
+            context.put(BasePrepareTasklet.PUBLISHED_KEY, true);
+            storeFingerprints(context);
+            return RepeatStatus.FINISHED;
+        }
+        getSolrTemplate().commit(collection);
+        log.info("Committed indexed documents in Solr collection: {}", collection);
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Stores fingerprint changes of the published blue/green rebuild kept in input job {@link ExecutionContext}
+     *
+     * @param context - initial input job {@link ExecutionContext}
+     */
+    protected void storeFingerprints(final ExecutionContext context) {
+        final Map<String, ResourceFingerprint> pending = BasePrepareTasklet.getPendingFingerprints(context);
+        final List<String> purged = BasePrepareTasklet.getPurgedPaths(context);
+        getFingerprintRepository().saveAll(pending.values());
+        getFingerprintRepository().deleteAll(getFingerprintRepository().findAllById(purged));
+        log.info("Stored {} fingerprints and removed {} fingerprints of published rebuild", pending.size(), purged.size());
+        context.remove(BasePrepareTasklet.PENDING_FINGERPRINTS_KEY);
+        context.remove(BasePrepareTasklet.PURGED_PATHS_KEY);
+    }
+}
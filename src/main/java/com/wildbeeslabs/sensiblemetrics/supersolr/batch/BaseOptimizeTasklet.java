@@ -23,16 +23,21 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
 
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.iface.MergeAdvisor;
 import lombok.*;
-import org.apache.solr.client.solrj.SolrClient;
 import org.springframework.batch.core.StepContribution;
 import org.springframework.batch.core.scope.context.ChunkContext;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * Custom optimize tasklet implementation {@link Tasklet}
+ *
+ * <p>Delegates to the segment aware {@link MergeAdvisor} instead of forcing a full merge, so deletes are
+ * expunged or segments merged only once configured thresholds are crossed. Skipped for blue/green rebuilds,
+ * which are merged down before their alias is switched.</p>
  */
 @Data
 @Component
@@ -48,13 +53,17 @@ public class BaseOptimizeTasklet implements Tasklet {
     public static final String DEFAULT_COLLECTION_NAME = "BaseModel";
 
     /**
-     * Default solr client instance {@link SolrClient}
+     * Default merge advisor instance {@link MergeAdvisor}
      */
-    private SolrClient solrClient;
+    @Autowired
+    private MergeAdvisor mergeAdvisor;
 
     @Override
     public RepeatStatus execute(final StepContribution stepContribution, final ChunkContext chunkContext) throws Exception {
-        getSolrClient().optimize(DEFAULT_COLLECTION_NAME);
+        if (BasePrepareTasklet.isBlueGreen(chunkContext.getStepContext().getJobExecutionContext())) {
+            return RepeatStatus.FINISHED;
+        }
+        getMergeAdvisor().maintain(DEFAULT_COLLECTION_NAME);
         return RepeatStatus.FINISHED;
     }
 }
\ No newline at end of file
@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Custom prepare tasklet implementation {@link Tasklet}
+ *
+ * <p>Resolves the collection an indexing job writes to and keeps it in the job execution context: the live
+ * collection for delta runs, or a fresh collection created by {@link BlueGreenReindexer} for blue/green rebuilds.</p>
+ *
+ * <p>Blue/green rebuilds keep fingerprint changes {@link ResourceFingerprint} in the job execution context until
+ * the rebuilt collection is published {@link BaseCommitTasklet}, so an aborted rebuild leaves the fingerprints
+ * of the live collection untouched.</p>
+ */
+@Slf4j
+@Data
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BasePrepareTasklet implements Tasklet {
+
+    /**
+     * Default job execution context keys
+     */
+    public static final String TARGET_COLLECTION_KEY = "targetCollection";
+    public static final String BLUE_GREEN_KEY = "blueGreen";
+    public static final String PUBLISHED_KEY = "published";
+    public static final String PENDING_FINGERPRINTS_KEY = "pendingFingerprints";
+    public static final String PURGED_PATHS_KEY = "purgedPaths";
+
+    /**
+     * Default {@link BatchConfigProperties} properties
+     */
+    @Autowired
+    private BatchConfigProperties batchConfigProperties;
+    /**
+     * Default {@link BlueGreenReindexer} instance
+     */
+    @Autowired
+    private BlueGreenReindexer blueGreenReindexer;
+
+    @Override
+    public RepeatStatus execute(final StepContribution stepContribution, final ChunkContext chunkContext) {
+        final boolean blueGreen = getBatchConfigProperties().isBlueGreen();
+        final String collection = blueGreen
+            ? getBlueGreenReindexer().prepare(BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME)
+            : BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME;
+        final ExecutionContext context = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+        context.putString(TARGET_COLLECTION_KEY, collection);
+        context.put(BLUE_GREEN_KEY, blueGreen);
+        if (blueGreen) {
+            context.put(PENDING_FINGERPRINTS_KEY, new ConcurrentHashMap<String, ResourceFingerprint>());
+            context.put(PURGED_PATHS_KEY, new ArrayList<String>());
+        }
+        log.info("Indexing into Solr collection: {} (blue/green: {})", collection, blueGreen);
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Returns collection name the current job writes to
+     *
+     * @param jobExecutionContext - initial input job execution context {@link Map}
+     * @return target collection name
+     */
+    public static String getTargetCollection(final Map<String, Object> jobExecutionContext) {
+        return String.valueOf(jobExecutionContext.getOrDefault(TARGET_COLLECTION_KEY, BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME));
+    }
+
+    /**
+     * Returns binary flag whether the current job is a blue/green rebuild
+     *
+     * @param jobExecutionContext - initial input job execution context {@link Map}
+     * @return true - if blue/green rebuild, false - otherwise
+     */
+    public static boolean isBlueGreen(final Map<String, Object> jobExecutionContext) {
+        return Objects.equals(Boolean.TRUE, jobExecutionContext.get(BLUE_GREEN_KEY));
+    }
+
+    /**
+     * Returns binary flag whether the current job is a blue/green rebuild
+     *
+     * @param jobExecutionContext - initial input job {@link ExecutionContext}
+     * @return true - if blue/green rebuild, false - otherwise
+     */
+    public static boolean isBlueGreen(final ExecutionContext jobExecutionContext) {
+        return Objects.equals(Boolean.TRUE, jobExecutionContext.get(BLUE_GREEN_KEY));
+    }
+
+    /**
+     * Returns fingerprints {@link ResourceFingerprint} of the resources written by the current blue/green rebuild by path
+     *
+     * @param jobExecutionContext - initial input job {@link ExecutionContext}
+     * @return pending fingerprints {@link Map} by path
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, ResourceFingerprint> getPendingFingerprints(final ExecutionContext jobExecutionContext) {
+        return (Map<String, ResourceFingerprint>) Objects.requireNonNull(jobExecutionContext.get(PENDING_FINGERPRINTS_KEY));
+    }
+
+    /**
+     * Returns paths of the resources purged by the current blue/green rebuild
+     *
+     * @param jobExecutionContext - initial input job {@link ExecutionContext}
+     * @return purged resource paths {@link List}
+     */
+    @SuppressWarnings("unchecked")
+    public static List<String> getPurgedPaths(final ExecutionContext jobExecutionContext) {
+        return (List<String>) Objects.requireNonNull(jobExecutionContext.get(PURGED_PATHS_KEY));
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Custom purge tasklet implementation {@link Tasklet}
+ *
+ * <p>Deletes documents of resources that no longer match the path pattern together with their stored fingerprints,
+ * blue/green rebuilds keep the purged paths in the job execution context until the rebuilt collection is published.</p>
+ */
+@Slf4j
+@Data
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BasePurgeTasklet implements Tasklet {
+
+    /**
+     * Default number of resource identifiers per delete request
+     */
+    private static final int DEFAULT_DELETE_BATCH_SIZE = 500;
+
+    /**
+     * Default solr template instance {@link SolrTemplate}
+     */
+    @Autowired
+    private SolrTemplate solrTemplate;
+    /**
+     * Default {@link BatchConfigProperties} properties
+     */
+    @Autowired
+    private BatchConfigProperties batchConfigProperties;
+    /**
+     * Default {@link ResourceFingerprintRepository} repository
+     */
+    @Autowired
+    private ResourceFingerprintRepository fingerprintRepository;
+
+    @Override
+    public RepeatStatus execute(final StepContribution stepContribution, final ChunkContext chunkContext) throws Exception {
+        final Set<String> resourceIds = Arrays.stream(BaseResourceReader.getResources(getBatchConfigProperties().getPathPattern()))
+            .map(BaseResource::getResourceId)
+            .collect(Collectors.toSet());
+        final List<String> removedIds = getFingerprintRepository().findAllPaths()
+            .stream()
+            .filter(path -> !resourceIds.contains(path))
+            .collect(Collectors.toList());
+        final ExecutionContext jobExecutionContext = chunkContext.getStepContext().getStepExecution().getJobExecution().getExecutionContext();
+        final String collection = BasePrepareTasklet.getTargetCollection(chunkContext.getStepContext().getJobExecutionContext());
+        final boolean blueGreen = BasePrepareTasklet.isBlueGreen(jobExecutionContext);
+        for (final List<String> batch : Lists.partition(removedIds, DEFAULT_DELETE_BATCH_SIZE)) {
+            getSolrTemplate().delete(collection, new SimpleQuery(new Criteria(BaseResourceWriter.FILE_ID_FIELD_NAME).in(batch)));
+            if (blueGreen) {
+                BasePrepareTasklet.getPurgedPaths(jobExecutionContext).addAll(batch);
+            } else {
+                getFingerprintRepository().deleteAll(getFingerprintRepository().findAllById(batch));
+            }
+            stepContribution.incrementWriteCount(batch.size());
+        }
+        log.info("Purged {} removed resources from Solr collection: {}", removedIds.size(), collection);
+        return RepeatStatus.FINISHED;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import lombok.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Custom reindex job listener implementation {@link JobExecutionListener}
+ *
+ * <p>Drops the fresh collection of a blue/green rebuild that failed before it was published,
+ * the alias keeps pointing to the live one and its fingerprints were never changed.</p>
+ */
+@Slf4j
+@Data
+@Component
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class BaseReindexJobListener implements JobExecutionListener {
+
+    /**
+     * Default {@link BlueGreenReindexer} instance
+     */
+    @Autowired
+    private BlueGreenReindexer blueGreenReindexer;
+
+    @Override
+    public void beforeJob(final JobExecution jobExecution) {
+    }
+
+    @Override
+    public void afterJob(final JobExecution jobExecution) {
+        final ExecutionContext context = jobExecution.getExecutionContext();
+        if (jobExecution.getStatus() != BatchStatus.COMPLETED
+            && Boolean.TRUE.equals(context.get(BasePrepareTasklet.BLUE_GREEN_KEY))
+            && !Boolean.TRUE.equals(context.get(BasePrepareTasklet.PUBLISHED_KEY))
+            && context.containsKey(BasePrepareTasklet.TARGET_COLLECTION_KEY)) {
+            log.warn("Indexing job finished with status {}, discarding rebuilt collection", jobExecution.getStatus());
+            getBlueGreenReindexer().abort(context.getString(BasePrepareTasklet.TARGET_COLLECTION_KEY));
+        }
+    }
+}
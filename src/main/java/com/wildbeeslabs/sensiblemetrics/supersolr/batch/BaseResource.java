@@ -23,9 +23,12 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
 
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.SolrItemWriterException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
 import lombok.*;
 import org.springframework.core.io.Resource;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -51,4 +54,22 @@ public class BaseResource implements Serializable {
      * Default resource data {@link String}
      */
     private String data;
+    /**
+     * Default resource fingerprint {@link ResourceFingerprint}
+     */
+    private ResourceFingerprint fingerprint;
+
+    /**
+     * Returns resource identifier (absolute file path) by input {@link Resource}
+     *
+     * @param resource - initial input {@link Resource}
+     * @return resource identifier
+     */
+    public static String getResourceId(final Resource resource) {
+        try {
+            return resource.getFile().getAbsolutePath();
+        } catch (IOException ex) {
+            throw new SolrItemWriterException("Could not retrieve filename", ex);
+        }
+    }
 }
\ No newline at end of file
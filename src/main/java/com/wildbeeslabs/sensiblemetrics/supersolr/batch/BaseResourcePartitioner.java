@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Custom base resource partitioner implementation {@link Partitioner}
+ *
+ * <p>Partitions only carry their index and count, each worker resolves the path pattern and
+ * reads the resources whose position modulo count equals its index.</p>
+ */
+@Component
+@EqualsAndHashCode
+@ToString
+public class BaseResourcePartitioner implements Partitioner {
+
+    /**
+     * Default partition index key
+     */
+    public static final String PARTITION_INDEX_KEY = "partitionIndex";
+    /**
+     * Default partition count key
+     */
+    public static final String PARTITION_COUNT_KEY = "partitionCount";
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        final Map<String, ExecutionContext> partitions = new HashMap<>(gridSize);
+        for (int index = 0; index < gridSize; index++) {
+            final ExecutionContext context = new ExecutionContext();
+            context.putInt(PARTITION_INDEX_KEY, index);
+            context.putInt(PARTITION_COUNT_KEY, gridSize);
+            partitions.put("partition" + index, context);
+        }
+        return partitions;
+    }
+}
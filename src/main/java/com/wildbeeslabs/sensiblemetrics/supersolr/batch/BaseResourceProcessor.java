@@ -23,6 +23,11 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
 
+import com.google.common.hash.Hashing;
+import com.google.common.io.ByteStreams;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
@@ -33,17 +38,29 @@ import org.commonmark.node.Node;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+
+import static com.wildbeeslabs.sensiblemetrics.supersolr.batch.BaseResource.getResourceId;
 
 /**
  * Custom base resource processor implementation {@link ItemProcessor}
+ *
+ * <p>Shared by all indexing partitions, so markdown is rendered concurrently by the worker threads
+ * (commonmark parser and renderer are thread-safe)</p>
+ *
+ * <p>In delta mode resources are compared to their stored fingerprints {@link ResourceFingerprint}: unchanged size
+ * and modification time skip the resource without reading it, otherwise the content hash decides whether it is
+ * rendered again. Skipped resources are filtered out of the chunk. Blue/green rebuilds render every resource.</p>
  */
 @Slf4j
 @Data
@@ -55,6 +72,17 @@ public class BaseResourceProcessor implements ItemProcessor<Resource, BaseResour
     private Parser parser;
     private HtmlRenderer renderer;
 
+    /**
+     * Default {@link BatchConfigProperties} properties
+     */
+    @Autowired
+    private BatchConfigProperties batchConfigProperties;
+    /**
+     * Default {@link ResourceFingerprintRepository} repository
+     */
+    @Autowired
+    private ResourceFingerprintRepository fingerprintRepository;
+
     @PostConstruct
     public void initialize() {
         final List<Extension> extensions = Collections.singletonList(TablesExtension.create());
@@ -64,9 +92,26 @@ public class BaseResourceProcessor implements ItemProcessor<Resource, BaseResour
 
     @Override
     public BaseResource process(final Resource resource) throws IOException {
-        try (final InputStreamReader reader = new InputStreamReader(resource.getInputStream())) {
-            Node document = getParser().parseReader(reader);
-            return new BaseResource(resource, getRenderer().render(document));
+        final String resourceId = getResourceId(resource);
+        final ResourceFingerprint fingerprint = new ResourceFingerprint(resourceId, resource.contentLength(), resource.lastModified(), null);
+        final Optional<ResourceFingerprint> stored = getBatchConfigProperties().isDeltaEnabled() && !getBatchConfigProperties().isBlueGreen()
+            ? getFingerprintRepository().findById(resourceId)
+            : Optional.empty();
+        if (stored.filter(fingerprint::isSameMetadata).isPresent()) {
+            log.debug("Skipping unchanged resource: {}", resourceId);
+            return null;
+        }
+        final byte[] content;
+        try (final InputStream stream = resource.getInputStream()) {
+            content = ByteStreams.toByteArray(stream);
+        }
+        fingerprint.setHash(Hashing.sha256().hashBytes(content).toString());
+        if (stored.filter(fingerprint::isSameContent).isPresent()) {
+            log.debug("Skipping touched resource with unchanged content: {}", resourceId);
+            getFingerprintRepository().save(fingerprint);
+            return null;
         }
+        final Node document = getParser().parse(new String(content, StandardCharsets.UTF_8));
+        return new BaseResource(resource, getRenderer().render(document), fingerprint);
     }
 }
\ No newline at end of file
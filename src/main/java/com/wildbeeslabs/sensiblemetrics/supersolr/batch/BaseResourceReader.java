@@ -27,20 +27,21 @@ import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProper
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.file.MultiResourceItemReader;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
-import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
 
 /**
  * Custom base resource reader {@link MultiResourceItemReader}
+ *
+ * <p>Reads the share of resources matching the path pattern assigned to its partition {@link BaseResourcePartitioner}</p>
  */
 @Slf4j
-@Component
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -51,14 +52,38 @@ public class BaseResourceReader extends MultiResourceItemReader<Resource> {
     /**
      * Default {@link BatchConfigProperties} properties
      */
-    @Autowired
     private BatchConfigProperties batchConfigProperties;
+    /**
+     * Default partition index
+     */
+    private int partitionIndex;
+    /**
+     * Default partition count
+     */
+    private int partitionCount;
 
-    @PostConstruct
     public void initialize() throws IOException {
-        final ResourcePatternResolver patternResolver = new PathMatchingResourcePatternResolver();
-        final Resource[] resources = patternResolver.getResources(getBatchConfigProperties().getPathPattern());
-        setResources(resources);
+        final Resource[] resources = getResources(getBatchConfigProperties().getPathPattern());
+        final Resource[] partition = IntStream.range(0, resources.length)
+            .filter(index -> index % getPartitionCount() == getPartitionIndex())
+            .mapToObj(index -> resources[index])
+            .toArray(Resource[]::new);
+        log.info("Reading {} of {} resources in partition {}/{}", partition.length, resources.length, getPartitionIndex() + 1, getPartitionCount());
+        setResources(partition);
         setDelegate(new BaseResourceAwareReader());
     }
+
+    /**
+     * Returns array of {@link Resource}s matching the provided path pattern in a stable order
+     *
+     * @param pathPattern - initial input path pattern
+     * @return array of {@link Resource}s
+     * @throws IOException if resources can not be resolved
+     */
+    public static Resource[] getResources(final String pathPattern) throws IOException {
+        final ResourcePatternResolver patternResolver = new PathMatchingResourcePatternResolver();
+        final Resource[] resources = patternResolver.getResources(pathPattern);
+        Arrays.sort(resources, Comparator.comparing(Resource::getDescription));
+        return resources;
+    }
 }
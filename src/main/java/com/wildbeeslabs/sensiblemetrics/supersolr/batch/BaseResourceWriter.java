@@ -25,25 +25,34 @@ package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
 
 import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
 import com.wildbeeslabs.sensiblemetrics.supersolr.exception.SolrItemWriterException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
 import lombok.*;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.solr.client.solrj.SolrClient;
-import org.apache.solr.client.solrj.SolrServerException;
-import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
 import org.apache.solr.client.solrj.request.ContentStreamUpdateRequest;
 import org.apache.solr.common.util.ContentStreamBase;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemWriter;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.solr.core.SolrTemplate;
 
-import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static com.wildbeeslabs.sensiblemetrics.supersolr.batch.BaseResource.getResourceId;
 
 /**
  * Custom base resource writer {@link ItemWriter}
+ *
+ * <p>Sends each chunk as one multi-document extract request without commit, documents are identified
+ * by their content stream names and become visible with the commit at the end of the job {@link BaseCommitTasklet}.
+ * Fingerprints of the sent resources are stored afterwards, so a failed chunk is picked up again by the next run.
+ * Blue/green rebuilds keep them in the job execution context until the rebuilt collection is published.</p>
  */
 @Slf4j
 @Data
-@Component
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode
@@ -51,41 +60,78 @@ import java.util.List;
 public class BaseResourceWriter implements ItemWriter<BaseResource> {
 
     /**
-     * Default file identifier
+     * Default file identifier field name
      */
-    private static final String FILE_ID_LITERAL = "literal.file.id";
+    static final String FILE_ID_FIELD_NAME = "file.id";
     /**
-     * Default solr client instance {@link SolrClient}
+     * Default file identifier literal
      */
-    private SolrClient solrClient;
+    private static final String FILE_ID_LITERAL = "literal." + FILE_ID_FIELD_NAME;
+    /**
+     * Default stream name mapping (maps every content stream name to its document file identifier)
+     */
+    private static final String STREAM_NAME_MAPPING = "fmap.stream_name";
+    /**
+     * Default solr template instance {@link SolrTemplate}
+     */
+    @Autowired
+    private SolrTemplate solrTemplate;
     /**
      * Default {@link BatchConfigProperties} properties
      */
+    @Autowired
     private BatchConfigProperties batchConfigProperties;
+    /**
+     * Default {@link ResourceFingerprintRepository} repository
+     */
+    @Autowired
+    private ResourceFingerprintRepository fingerprintRepository;
+    /**
+     * Default target collection name
+     */
+    private String targetCollection = BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME;
+    /**
+     * Default job execution context {@link ExecutionContext}
+     */
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private ExecutionContext jobExecutionContext = new ExecutionContext();
 
     @Override
     public void write(final List<? extends BaseResource> list) {
-        list.stream().map(this::updateRequest).forEach(this::request);
-    }
-
-    private ContentStreamUpdateRequest updateRequest(final BaseResource resource) {
-        try {
-            final ContentStreamUpdateRequest updateRequest = new ContentStreamUpdateRequest(getBatchConfigProperties().getExtractPath());
-            updateRequest.addContentStream(new ContentStreamBase.StringStream(resource.getData(), "text/html;charset=UTF-8"));
-            updateRequest.setParam(FILE_ID_LITERAL, resource.getResource().getFile().getAbsolutePath());
-            updateRequest.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
-            return updateRequest;
-        } catch (IOException ex) {
-            throw new SolrItemWriterException("Could not retrieve filename", ex);
+        if (list.isEmpty()) {
+            return;
+        }
+        final ContentStreamUpdateRequest updateRequest = new ContentStreamUpdateRequest(getBatchConfigProperties().getExtractPath());
+        for (final BaseResource resource : list) {
+            final ContentStreamBase.StringStream contentStream = new ContentStreamBase.StringStream(resource.getData(), "text/html;charset=UTF-8");
+            contentStream.setName(getResourceId(resource.getResource()));
+            updateRequest.addContentStream(contentStream);
+        }
+        if (list.size() == 1) {
+            updateRequest.setParam(FILE_ID_LITERAL, getResourceId(list.get(0).getResource()));
+        } else {
+            updateRequest.setParam(STREAM_NAME_MAPPING, FILE_ID_FIELD_NAME);
+        }
+        request(updateRequest, list.size());
+        final List<ResourceFingerprint> fingerprints = list.stream()
+            .map(BaseResource::getFingerprint)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+        if (BasePrepareTasklet.isBlueGreen(getJobExecutionContext())) {
+            final Map<String, ResourceFingerprint> pending = BasePrepareTasklet.getPendingFingerprints(getJobExecutionContext());
+            fingerprints.forEach(fingerprint -> pending.put(fingerprint.getPath(), fingerprint));
+            return;
         }
+        getFingerprintRepository().saveAll(fingerprints);
     }
 
-    private void request(final ContentStreamUpdateRequest updateRequest) {
+    private void request(final ContentStreamUpdateRequest updateRequest, int size) {
         try {
-            getSolrClient().request(updateRequest, BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME);
-            log.info("Updated document in Solr: {}", updateRequest.getParams().get(FILE_ID_LITERAL));
-        } catch (SolrServerException | IOException ex) {
-            throw new SolrItemWriterException("Could not index document", ex);
+            getSolrTemplate().execute(solrClient -> solrClient.request(updateRequest, getTargetCollection()));
+            log.info("Sent {} documents to Solr", size);
+        } catch (RuntimeException ex) {
+            throw new SolrItemWriterException("Could not index documents", ex);
         }
     }
 }
@@ -28,11 +28,11 @@ import com.wildbeeslabs.sensiblemetrics.supersolr.controller.category.CategorySe
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.impl.BaseDocumentSearchControllerImpl;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.SearchRequest;
 import com.wildbeeslabs.sensiblemetrics.supersolr.exception.BadRequestException;
-import com.wildbeeslabs.sensiblemetrics.supersolr.exception.EmptyContentException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableCategory;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.CategorySearchService;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.CategoryView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
 import io.swagger.annotations.*;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -43,17 +43,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.map;
@@ -113,9 +117,11 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
     })
     public ResponseEntity<?> search(@ApiParam(value = "Search query query to fetch categories by", allowEmptyValue = true, readOnly = true) @RequestParam(value = "q", required = false) final String query,
                                     @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable,
+                                    @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields,
                                     final HttpServletRequest request) {
-        log.info("Fetching categories by search query: {}", query);
-        final Page<? extends Category> categoryPage = getSearchService().findByTitle(query, pageable);
+        log.info("Fetching categories by search query: {}, fields: {}", query, fields);
+        final Set<String> projection = getFields(fields);
+        final Page<? extends Category> categoryPage = getSearchService().findByTitle(query, pageable, projection);
         if (Objects.isNull(categoryPage)) {
             throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request"));
         }
@@ -123,19 +129,19 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
             .ok()
             .headers(getHeaders(categoryPage))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(categoryPage.getContent(), CategoryView.class));
+            .body(project(mapAll(categoryPage.getContent(), CategoryView.class), projection));
     }
 
     @GetMapping("/autocomplete")
     @ResponseBody
     @ApiOperation(
         httpMethod = "GET",
-        value = "Finds category documents by autocomplete search term",
-        notes = "Returns list of category documents by autocomplete search query",
+        value = "Finds category suggestions by autocomplete search term",
+        notes = "Returns list of weighted category suggestions by autocomplete search query",
         nickname = "autoComplete",
         tags = {"fetchByAutocomplete"},
         position = 1,
-        response = CategoryView.class,
+        response = SuggestionView.class,
         responseContainer = "List",
         consumes = "application/json, application/xml",
         produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
@@ -150,12 +156,12 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
     public ResponseEntity<?> autoComplete(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
                                           @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable) {
         log.info("Fetching categories by autocomplete search term: {}", searchTerm);
-        final FacetPage<? extends Category> categoryPage = getSearchService().findByAutoCompleteTitleFragment(searchTerm, pageable);
+        final List<? extends SuggestionView> suggestions = getSearchService().findSuggestionsByTitleFragment(searchTerm, pageable.getPageSize());
         return ResponseEntity
             .ok()
+            .headers(getHeaders(suggestions.size()))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .headers(getHeaders(categoryPage))
-            .body(mapAll(getResultSetByTerm(categoryPage, searchTerm), CategoryView.class));
+            .body(suggestions);
     }
 
     @GetMapping("/page")
@@ -182,17 +188,104 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
     @SuppressWarnings("unchecked")
     public ResponseEntity<?> find(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
                                   @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
-                                  @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit) {
-        log.info("Fetching categories by search term: {}, offset: {}, limit: {}", searchTerm, offset, limit);
-        final HighlightPage<Category> page = (HighlightPage<Category>) findBy(SearchableCategory.COLLECTION_ID, searchTerm, offset, limit);
+                                  @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                  @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching categories by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        final Set<String> projection = getFields(fields);
+        final HighlightPage<Category> page = (HighlightPage<Category>) findBy(SearchableCategory.COLLECTION_ID, searchTerm, offset, limit, projection);
         return ResponseEntity
             .ok()
             .contentType(MediaType.APPLICATION_JSON_UTF8)
             .headers(getHeaders(page))
-            .body(page
+            .body(project(page
                 .stream()
                 .map(document -> getHighLightSearchResult(document, page.getHighlights(document), CategoryView.class))
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList()), projection));
+    }
+
+    @GetMapping(value = "/page", params = "stream=true")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Streams category documents by search term",
+        notes = "Writes list of category documents by search term to the response as each document is mapped to its view",
+        nickname = "findStream",
+        tags = {"fetchByTerm"},
+        position = 2,
+        response = CategoryView.class,
+        responseContainer = "List",
+        consumes = "application/json, application/xml",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Expires-After", description = "date in UTC when token expires", response = Date.class),
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value")
+    })
+    public ResponseEntity<StreamingResponseBody> findStream(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                            @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
+                                                            @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                            @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Streaming categories by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        return streamBy(SearchableCategory.COLLECTION_ID, searchTerm, offset, limit, getFields(fields), CategoryView.class);
+    }
+
+    @GetMapping("/page/async")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds category documents by search term without blocking a request thread",
+        notes = "Returns list of category documents by search term, the request is completed once solr responds",
+        nickname = "findAsync",
+        tags = {"fetchByTermAsync"},
+        position = 9,
+        response = CategoryView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value"),
+        @ApiResponse(code = 503, message = "Search service unavailable")
+    })
+    public CompletableFuture<ResponseEntity<byte[]>> findAsync(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                               @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
+                                                               @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                               @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching categories asynchronously by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        return findByAsync(SearchableCategory.COLLECTION_ID, searchTerm, offset, limit, getFields(fields), CategoryView.class);
+    }
+
+    @GetMapping("/page/cursor")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds category documents by search term following cursor mark",
+        notes = "Returns list of category documents by search term after the given cursor mark, deep pages are fetched without offset",
+        nickname = "findByCursor",
+        tags = {"fetchByTermCursor"},
+        position = 10,
+        response = CategoryView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class),
+            @ResponseHeader(name = "X-Next-Cursor-Mark", description = "cursor mark to fetch the following documents by", response = String.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Invalid cursor mark value")
+    })
+    public ResponseEntity<StreamingResponseBody> findByCursor(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                              @ApiParam(value = "Cursor mark to fetch the following documents by (* for the first page)", readOnly = true) @RequestParam(value = "cursorMark", defaultValue = DEFAULT_CURSOR_MARK_VALUE) final String cursorMark,
+                                                              @ApiParam(value = "Limit number to filter by", readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching categories by search term: {}, cursor mark: {}, limit: {}, fields: {}", searchTerm, cursorMark, limit, fields);
+        return streamByCursorMark(SearchableCategory.COLLECTION_ID, searchTerm, cursorMark, limit, getFields(fields), CategoryView.class);
     }
 
     @GetMapping("/all")
@@ -211,18 +304,30 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
     @ApiResponses(value = {
         @ApiResponse(code = 404, message = "Not found")
     })
-    public ResponseEntity<?> findAll() {
+    public Callable<ResponseEntity<StreamingResponseBody>> findAll() {
         log.info("Fetching all categories");
-        try {
-            return ResponseEntity
-                .ok()
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .body(mapAll(this.getAllItems(), CategoryView.class));
-        } catch (EmptyContentException ex) {
-            return ResponseEntity
-                .noContent()
-                .build();
-        }
+        return streamAllItems(SearchableCategory.COLLECTION_ID, CategoryView.class);
+    }
+
+    @GetMapping(value = "/export", produces = DEFAULT_EXPORT_MEDIA_TYPE)
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Exports all category documents",
+        notes = "Streams all category documents as newline delimited JSON, paging through the index by cursor mark",
+        nickname = "export",
+        tags = {"export"},
+        position = 8,
+        response = CategoryView.class,
+        responseContainer = "List",
+        produces = DEFAULT_EXPORT_MEDIA_TYPE
+    )
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Exporting all categories");
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(DEFAULT_EXPORT_MEDIA_TYPE))
+            .body(exportItems(SearchableCategory.COLLECTION_ID, CategoryView.class));
     }
 
     @GetMapping("/{id}")
@@ -269,16 +374,18 @@ public class CategorySearchControllerImpl extends BaseDocumentSearchControllerIm
         @ApiResponse(code = 400, message = "Invalid search term value")
     })
     public ResponseEntity<?> findBySearchTerm(@ApiParam(value = "Search term query to fetch categories by", required = true, readOnly = true) @PathVariable("term") final String searchTerm,
-                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true, readOnly = true) @PathVariable("page") int page) {
-        log.info("Fetching products by search term: {}, page: {}", searchTerm, page);
-        final HighlightPage<? extends Category> categoryPage = getSearchService().find(SearchableCategory.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE));
+                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true, readOnly = true) @PathVariable("page") int page,
+                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching products by search term: {}, page: {}, fields: {}", searchTerm, page, fields);
+        final Set<String> projection = getFields(fields);
+        final HighlightPage<? extends Category> categoryPage = getSearchService().find(SearchableCategory.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE), projection);
         if (Objects.isNull(categoryPage)) {
             throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request"));
         }
         return ResponseEntity
             .ok()
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(categoryPage.getContent(), CategoryView.class));
+            .body(project(mapAll(categoryPage.getContent(), CategoryView.class), projection));
     }
 
     @GetMapping("/desc/{desc}/{page}")
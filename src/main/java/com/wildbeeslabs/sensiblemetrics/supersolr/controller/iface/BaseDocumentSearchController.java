@@ -51,4 +51,16 @@ public interface BaseDocumentSearchController<E extends BaseDocument<ID>, T exte
      * Default page size
      */
     int DEFAULT_PAGE_SIZE = 5;
+    /**
+     * Default export media type (newline delimited JSON)
+     */
+    String DEFAULT_EXPORT_MEDIA_TYPE = "application/x-ndjson";
+    /**
+     * Default cursor mark value (start of the listing)
+     */
+    String DEFAULT_CURSOR_MARK_VALUE = "*";
+    /**
+     * The HTTP {@code X-Next-Cursor-Mark} header field name
+     */
+    String DEFAULT_NEXT_CURSOR_MARK_HEADER = "X-Next-Cursor-Mark";
 }
@@ -57,8 +57,12 @@ public abstract class AuditModelSearchControllerImpl<E extends AuditDocument, T
      * @return {@link HttpHeaders} response headers
      */
     protected HttpHeaders getHeaders(final Page<?> page) {
+        return getHeaders(page.getTotalElements());
+    }
+
+    protected HttpHeaders getHeaders(long totalElements) {
         final HttpHeaders headers = new HttpHeaders();
-        headers.add(DEFAULT_TOTAL_ELEMENTS_HEADER, Long.toString(page.getTotalElements()));
+        headers.add(DEFAULT_TOTAL_ELEMENTS_HEADER, Long.toString(totalElements));
         headers.add(DEFAULT_EXPIRES_AFTER_HEADER, LocalDate.now().plusDays(DEFAULT_TOKEN_EXPIRE_PERIOD).toString());
         headers.add(DEFAULT_RATE_LIMIT_HEADER, String.valueOf(DEFAULT_RATE_LIMIT));
         return headers;
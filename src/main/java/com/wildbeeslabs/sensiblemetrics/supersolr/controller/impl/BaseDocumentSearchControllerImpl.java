@@ -23,23 +23,48 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.controller.impl;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.iface.BaseDocumentSearchController;
 import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ResourceNotFoundException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.BaseDocument;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseDocumentSearchService;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.OffsetPageRequest;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.BaseDocumentView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableBaseDocumentView;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.springframework.data.solr.core.query.AnyCriteria;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.result.Cursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightEntry;
 import org.springframework.data.solr.core.query.result.HighlightPage;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.map;
@@ -108,7 +133,323 @@ public abstract class BaseDocumentSearchControllerImpl<E extends BaseDocument<ID
                                                 final String searchTerm,
                                                 int offset,
                                                 int limit) {
-        return getSearchService().find(collection, searchTerm, OffsetPageRequest.builder().offset(offset).limit(limit).build());
+        return findBy(collection, searchTerm, offset, limit, Collections.emptySet());
+    }
+
+    protected HighlightPage<? extends E> findBy(final String collection,
+                                                final String searchTerm,
+                                                int offset,
+                                                int limit,
+                                                final Collection<String> fields) {
+        return getSearchService().find(collection, searchTerm, OffsetPageRequest.builder().offset(offset).limit(limit).build(), fields);
+    }
+
+    protected ResponseEntity<StreamingResponseBody> streamBy(final String collection,
+                                                             final String searchTerm,
+                                                             int offset,
+                                                             int limit,
+                                                             final Collection<String> fields,
+                                                             final Class<? extends T> dtoClass) {
+        return streamResponse(getSearchService().findResponse(collection, searchTerm, OffsetPageRequest.builder().offset(offset).limit(limit).build(), fields), fields, dtoClass);
+    }
+
+    /**
+     * Returns {@link ResponseEntity} streaming documents matching input search term that follow input cursor mark,
+     * the cursor mark resuming the listing is returned in the {@code X-Next-Cursor-Mark} header (unchanged once
+     * all documents are listed)
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param cursorMark - initial input cursor mark {@link String} ({@code *} to start from the beginning)
+     * @param limit      - initial input limit
+     * @param fields     - initial input collection of view field names {@link Collection} (all fields if empty)
+     * @param dtoClass   - initial input document view {@link Class}
+     * @return {@link ResponseEntity} with {@link StreamingResponseBody}
+     */
+    protected ResponseEntity<StreamingResponseBody> streamByCursorMark(final String collection,
+                                                                       final String searchTerm,
+                                                                       final String cursorMark,
+                                                                       int limit,
+                                                                       final Collection<String> fields,
+                                                                       final Class<? extends T> dtoClass) {
+        final QueryResponse response = getSearchService().findResponse(collection, searchTerm, cursorMark, limit, fields);
+        final HttpHeaders headers = getHeaders(Optional.ofNullable(response.getResults()).map(SolrDocumentList::getNumFound).orElse(0L));
+        headers.add(DEFAULT_NEXT_CURSOR_MARK_HEADER, response.getNextCursorMark());
+        return streamResponse(response, fields, dtoClass, headers);
+    }
+
+    /**
+     * Returns pending {@link ResponseEntity} of native solr documents rendered as JSON array of views, the servlet
+     * worker is released while the query is in flight and the response is written on completion
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param offset     - initial input offset
+     * @param limit      - initial input limit
+     * @param fields     - initial input collection of view field names {@link Collection} (all fields if empty)
+     * @param dtoClass   - initial input document view {@link Class}
+     * @return pending {@link ResponseEntity} {@link CompletableFuture}
+     */
+    protected CompletableFuture<ResponseEntity<byte[]>> findByAsync(final String collection,
+                                                                    final String searchTerm,
+                                                                    int offset,
+                                                                    int limit,
+                                                                    final Collection<String> fields,
+                                                                    final Class<? extends T> dtoClass) {
+        return getSearchService()
+            .findResponseAsync(collection, searchTerm, OffsetPageRequest.builder().offset(offset).limit(limit).build(), fields)
+            .thenApply(response -> renderResponse(response, fields, dtoClass));
+    }
+
+    /**
+     * Returns set of view field names {@link Set} by input comma separated {@code fields} request parameter
+     *
+     * @param fields - initial input comma separated view field names {@link String}
+     * @return set of view field names {@link Set} (empty if all fields are requested)
+     */
+    protected Set<String> getFields(final String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(StringUtils.commaDelimitedListToStringArray(fields))
+            .map(String::trim)
+            .filter(StringUtils::hasText)
+            .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Returns list of views {@link List} reduced to input view field names (views are returned unchanged if empty)
+     *
+     * <p>Documents fetched by projection only carry the requested stored fields, so other view properties
+     * (including primitive defaults) are dropped instead of being rendered as empty values.</p>
+     *
+     * @param views  - initial input list of views {@link List}
+     * @param fields - initial input collection of view field names {@link Collection}
+     * @return list of projected views {@link List}
+     */
+    protected List<?> project(final List<? extends T> views,
+                              final Collection<String> fields) {
+        if (fields.isEmpty()) {
+            return views;
+        }
+        final Set<String> names = getViewFields(fields);
+        return views
+            .stream()
+            .map(view -> project(view, names))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns set of view field names {@link Set} written for input requested view field names, only the fields
+     * fetched by the search service projection are kept (along with identifier, score and highlights)
+     *
+     * @param fields - initial input collection of view field names {@link Collection}
+     * @return set of view field names {@link Set} (empty if all fields are requested)
+     */
+    protected Set<String> getViewFields(final Collection<String> fields) {
+        if (fields.isEmpty()) {
+            return Collections.emptySet();
+        }
+        final Set<String> names = new HashSet<>();
+        names.add(ExposableBaseDocumentView.ID_FIELD_NAME);
+        names.add(ExposableBaseDocumentView.SCORE_FIELD_NAME);
+        names.add(ExposableBaseDocumentView.HIGHLIGHTS_FIELD_NAME);
+        fields.stream()
+            .filter(getSearchService().getProjectableFields()::containsKey)
+            .forEach(names::add);
+        return names;
+    }
+
+    private Object project(final T view,
+                           final Set<String> names) {
+        if (names.isEmpty()) {
+            return view;
+        }
+        return getObjectMapper().<ObjectNode>valueToTree(view).retain(names);
+    }
+
+    protected Cursor<? extends E> findAllItems(final String collection) {
+        log.debug("Opening cursor over all items in collection: {}", collection);
+        return getSearchService().findByCursor(collection, new SimpleQuery(AnyCriteria.any()), CursorMarkParams.CURSOR_MARK_START);
+    }
+
+    /**
+     * Returns {@link Callable} of {@link ResponseEntity} streaming all collection documents as JSON array of views,
+     * the cursor is opened on the asynchronous request executor instead of the servlet thread (no content if empty)
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param dtoClass   - initial input document view {@link Class}
+     * @return {@link Callable} of {@link ResponseEntity} with {@link StreamingResponseBody}
+     */
+    protected Callable<ResponseEntity<StreamingResponseBody>> streamAllItems(final String collection,
+                                                                           final Class<? extends T> dtoClass) {
+        return () -> {
+            final Cursor<? extends E> cursor = findAllItems(collection);
+            if (!cursor.hasNext()) {
+                cursor.close();
+                return ResponseEntity
+                    .noContent()
+                    .build();
+            }
+            return ResponseEntity
+                .ok()
+                .contentType(MediaType.APPLICATION_JSON_UTF8)
+                .body(streamItems(cursor, dtoClass));
+        };
+    }
+
+    /**
+     * Returns {@link StreamingResponseBody} writing all collection documents as newline delimited JSON views,
+     * the cursor is opened once the response body is written
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param dtoClass   - initial input document view {@link Class}
+     * @return {@link StreamingResponseBody}
+     */
+    protected StreamingResponseBody exportItems(final String collection,
+                                                final Class<? extends T> dtoClass) {
+        return outputStream -> writeItems(findAllItems(collection), dtoClass, outputStream, false);
+    }
+
+    /**
+     * Returns {@link StreamingResponseBody} writing cursor documents as JSON array of views
+     *
+     * @param cursor   - initial input document {@link Cursor}
+     * @param dtoClass - initial input document view {@link Class}
+     * @return {@link StreamingResponseBody}
+     */
+    protected StreamingResponseBody streamItems(final Cursor<? extends E> cursor,
+                                                final Class<? extends T> dtoClass) {
+        return outputStream -> writeItems(cursor, dtoClass, outputStream, true);
+    }
+
+    private void writeItems(final Cursor<? extends E> cursor,
+                            final Class<? extends T> dtoClass,
+                            final OutputStream outputStream,
+                            boolean asArray) throws IOException {
+        final ObjectWriter writer = getObjectMapper().writerFor(dtoClass).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (final Cursor<? extends E> items = cursor;
+             final JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream)) {
+            generator.setRootValueSeparator(null);
+            if (asArray) {
+                generator.writeStartArray();
+            }
+            while (items.hasNext()) {
+                writer.writeValue(generator, map(items.next(), dtoClass));
+                if (!asArray) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (asArray) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    /**
+     * Returns {@link ResponseEntity} streaming native solr query response documents as JSON array of views, solr
+     * documents are bound one at a time (as query pages are) and mapped to their views while the response is
+     * written, so the output matches the buffered endpoints without building a list of documents or views
+     *
+     * <p>Views are reduced to the requested fields fetched by the projection, which are written by their bean
+     * property writers, highlight snippets are attached per document and the total number of matches is kept
+     * in the {@code X-Total-Elements} header.</p>
+     *
+     * @param response - initial input native solr query response {@link QueryResponse}
+     * @param fields   - initial input collection of view field names {@link Collection} (all fields if empty)
+     * @param dtoClass - initial input document view {@link Class}
+     * @return {@link ResponseEntity} with {@link StreamingResponseBody}
+     */
+    protected ResponseEntity<StreamingResponseBody> streamResponse(final QueryResponse response,
+                                                                   final Collection<String> fields,
+                                                                   final Class<? extends T> dtoClass) {
+        return streamResponse(response, fields, dtoClass, getHeaders(Optional.ofNullable(response.getResults()).map(SolrDocumentList::getNumFound).orElse(0L)));
+    }
+
+    private ResponseEntity<StreamingResponseBody> streamResponse(final QueryResponse response,
+                                                                 final Collection<String> fields,
+                                                                 final Class<? extends T> dtoClass,
+                                                                 final HttpHeaders headers) {
+        final Set<String> names = getViewFields(fields);
+        return ResponseEntity
+            .ok()
+            .headers(headers)
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .body(outputStream -> writeDocuments(response, names, dtoClass, outputStream));
+    }
+
+    private ResponseEntity<byte[]> renderResponse(final QueryResponse response,
+                                                  final Collection<String> fields,
+                                                  final Class<? extends T> dtoClass) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try {
+            writeDocuments(response, getViewFields(fields), dtoClass, outputStream);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return ResponseEntity
+            .ok()
+            .headers(getHeaders(Optional.ofNullable(response.getResults()).map(SolrDocumentList::getNumFound).orElse(0L)))
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .body(outputStream.toByteArray());
+    }
+
+    private void writeDocuments(final QueryResponse response,
+                                final Set<String> names,
+                                final Class<? extends T> dtoClass,
+                                final OutputStream outputStream) throws IOException {
+        final Map<String, Map<String, List<String>>> highlighting = response.getHighlighting();
+        final SolrDocumentList documents = Optional.ofNullable(response.getResults()).orElseGet(SolrDocumentList::new);
+        final SerializerProvider provider = getObjectMapper().getSerializerProviderInstance();
+        final List<PropertyWriter> properties = getViewProperties(provider, dtoClass, names);
+        try (final JsonGenerator generator = getObjectMapper().getFactory().createGenerator(outputStream)) {
+            generator.writeStartArray();
+            for (final SolrDocument solrDocument : documents) {
+                final E document = getSearchService().read(solrDocument);
+                final T view = map(document, dtoClass);
+                if (Objects.nonNull(highlighting)) {
+                    view.setHighlights(highlighting.getOrDefault(String.valueOf(document.getId()), Collections.emptyMap()));
+                }
+                if (names.isEmpty()) {
+                    generator.writeObject(view);
+                } else {
+                    writeView(view, properties, provider, generator);
+                }
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    private List<PropertyWriter> getViewProperties(final SerializerProvider provider,
+                                                   final Class<? extends T> dtoClass,
+                                                   final Set<String> names) throws IOException {
+        if (names.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<PropertyWriter> properties = new ArrayList<>();
+        provider.findValueSerializer(dtoClass).properties().forEachRemaining(property -> {
+            if (names.contains(property.getName())) {
+                properties.add(property);
+            }
+        });
+        return properties;
+    }
+
+    private void writeView(final T view,
+                           final List<PropertyWriter> properties,
+                           final SerializerProvider provider,
+                           final JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (final PropertyWriter property : properties) {
+            try {
+                property.serializeAsField(view, generator, provider);
+            } catch (IOException ex) {
+                throw ex;
+            } catch (Exception ex) {
+                throw JsonMappingException.from(generator, "ERROR: cannot write view property " + property.getName(), ex);
+            }
+        }
+        generator.writeEndObject();
     }
 
     /**
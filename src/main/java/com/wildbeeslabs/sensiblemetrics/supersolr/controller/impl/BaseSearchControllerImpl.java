@@ -23,9 +23,8 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.controller.impl;
 
-import com.google.common.collect.Lists;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.iface.BaseSearchController;
-import com.wildbeeslabs.sensiblemetrics.supersolr.exception.EmptyContentException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ResourceNotFoundException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseSearchService;
 import lombok.*;
@@ -64,14 +63,8 @@ public abstract class BaseSearchControllerImpl<E, T, ID extends Serializable> im
     @Autowired
     private SolrTemplate solrTemplate;
 
-    protected List<? extends E> getAllItems() throws EmptyContentException {
-        log.debug("Fetching all items");
-        final List<? extends E> items = Lists.newArrayList(getSearchService().findAll());
-        if (items.isEmpty()) {
-            throw new EmptyContentException(formatMessage(getMessageSource(), "error.no.content"));
-        }
-        return items;
-    }
+    @Autowired
+    private ObjectMapper objectMapper;
 
     protected E getItem(final ID id) {
         log.debug("Fetching item by ID: {}", id);
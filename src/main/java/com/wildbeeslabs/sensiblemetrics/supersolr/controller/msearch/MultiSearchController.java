@@ -0,0 +1,46 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.controller.msearch;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.MultiSearchRequest;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Custom multi-search controller declaration
+ */
+public interface MultiSearchController {
+
+    /**
+     * Default service ID
+     */
+    String CONTROLLER_ID = "MultiSearchController";
+
+    /**
+     * Returns {@link ResponseEntity} body with results of all sub-queries of input request {@link MultiSearchRequest}
+     *
+     * @param request - initial input multi-search request {@link MultiSearchRequest}
+     * @return response body {@link ResponseEntity}
+     */
+    ResponseEntity<?> search(final MultiSearchRequest request);
+}
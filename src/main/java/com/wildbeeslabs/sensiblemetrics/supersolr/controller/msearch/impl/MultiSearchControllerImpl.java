@@ -0,0 +1,264 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.controller.msearch.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.annotation.SwaggerAPI;
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.msearch.MultiSearchController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.MultiSearchQuery;
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.MultiSearchRequest;
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.MultiSearchResponse;
+import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.MultiSearchResult;
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MultiSearchStatusType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.BadRequestException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.CategorySearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.OrderSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.ProductSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.CategoryView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.OrderView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.config.AsyncConfig;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MultiSearchConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.annotations.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.MessageSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.solr.core.query.result.FacetPage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.mapAll;
+import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.StringUtils.formatMessage;
+
+/**
+ * Multi-search {@link MultiSearchController} implementation
+ *
+ * <p>Sub-queries are mapped onto product, category and order search service methods and run concurrently on the
+ * bounded multi-search executor. The whole request shares one deadline: sub-queries still running when it expires
+ * are reported as timed out (their solr calls are left to finish in the background), sub-queries that cannot be
+ * queued are reported as rejected, failures are reported per sub-query and never fail the whole request.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@NoArgsConstructor
+@RestController(MultiSearchController.CONTROLLER_ID)
+@RequestMapping(value = "/api/msearch", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+@SwaggerAPI
+@Api(
+    value = "/api/msearch",
+    description = "Endpoint for batched search operations",
+    consumes = "application/json, application/xml",
+    produces = MediaType.APPLICATION_JSON_UTF8_VALUE
+)
+public class MultiSearchControllerImpl implements MultiSearchController {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.msearch";
+
+    @Autowired
+    private MessageSource messageSource;
+
+    @Autowired
+    private ProductSearchService productService;
+
+    @Autowired
+    private CategorySearchService categoryService;
+
+    @Autowired
+    private OrderSearchService orderService;
+
+    @Autowired
+    private MultiSearchConfigProperties multiSearchConfigProperties;
+
+    @Autowired
+    @Qualifier(AsyncConfig.MULTI_SEARCH_EXECUTOR_BEAN_NAME)
+    private Executor multiSearchExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    @PostMapping
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "POST",
+        value = "Runs batch of typed search sub-queries",
+        notes = "Returns results of all sub-queries in request order, each with its own status",
+        nickname = "msearch",
+        tags = {"multiSearch"},
+        response = MultiSearchResponse.class,
+        consumes = "application/json, application/xml",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Invalid or too many sub-queries")
+    })
+    public ResponseEntity<?> search(@ApiParam(value = "Multi-search request with typed sub-queries", required = true) @Valid @RequestBody final MultiSearchRequest request) {
+        final List<MultiSearchQuery> queries = request.getQueries();
+        if (queries.size() > getMultiSearchConfigProperties().getMaxQueries()) {
+            throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request", "more than " + getMultiSearchConfigProperties().getMaxQueries() + " sub-queries"));
+        }
+        log.info("Fetching {} sub-queries", queries.size());
+        final long started = System.nanoTime();
+        final long deadline = started + getMultiSearchConfigProperties().getTimeout().toNanos();
+
+        final List<CompletableFuture<MultiSearchResult>> futures = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            final MultiSearchQuery query = queries.get(i);
+            if (Objects.isNull(query.getId())) {
+                query.setId(String.valueOf(i));
+            }
+            futures.add(submit(query));
+        }
+        final List<MultiSearchResult> results = new ArrayList<>(queries.size());
+        for (int i = 0; i < queries.size(); i++) {
+            results.add(await(queries.get(i), futures.get(i), deadline));
+        }
+        results.forEach(result -> getMeterRegistry().counter(METRICS_PREFIX + ".queries", "type", result.getType().name(), "status", result.getStatus().name()).increment());
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .body(new MultiSearchResponse(results, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)));
+    }
+
+    private CompletableFuture<MultiSearchResult> submit(final MultiSearchQuery query) {
+        try {
+            return CompletableFuture.supplyAsync(() -> execute(query), getMultiSearchExecutor());
+        } catch (RejectedExecutionException ex) {
+            log.warn("Rejected sub-query: {}", query);
+            return CompletableFuture.completedFuture(getResult(query, MultiSearchStatusType.REJECTED, ex));
+        }
+    }
+
+    private MultiSearchResult await(final MultiSearchQuery query, final CompletableFuture<MultiSearchResult> future, long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(false);
+            return getResult(query, MultiSearchStatusType.TIMEOUT, ex);
+        } catch (ExecutionException ex) {
+            return getResult(query, MultiSearchStatusType.FAILED, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return getResult(query, MultiSearchStatusType.FAILED, ex);
+        }
+    }
+
+    /**
+     * Returns {@link MultiSearchResult} of input sub-query executed by the matching search service
+     *
+     * @param query - initial input sub-query {@link MultiSearchQuery}
+     * @return sub-query result {@link MultiSearchResult}
+     */
+    protected MultiSearchResult execute(final MultiSearchQuery query) {
+        final long started = System.nanoTime();
+        MultiSearchResult result;
+        try {
+            result = dispatch(query);
+        } catch (RuntimeException ex) {
+            log.warn("Cannot process sub-query: {}", query, ex);
+            result = getResult(query, MultiSearchStatusType.FAILED, ex);
+        }
+        result.setTook(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return result;
+    }
+
+    protected MultiSearchResult dispatch(final MultiSearchQuery query) {
+        final Pageable pageable = PageRequest.of(query.getPage(), query.getSize());
+        switch (query.getType()) {
+            case PRODUCT_SEARCH:
+                return getPageResult(query, getProductService().findByName(query.getQuery(), pageable), ProductView.class);
+            case PRODUCT_CATEGORY:
+                return getPageResult(query, getProductService().findByCategory(query.getQuery(), pageable), ProductView.class);
+            case PRODUCT_AUTOCOMPLETE:
+                return getListResult(query, getProductService().findSuggestionsByNameFragment(query.getQuery(), query.getSize()));
+            case PRODUCT_FACETS:
+                return getFacetResult(query, getProductService().findByAutoCompleteNameFragment(query.getQuery(), pageable));
+            case CATEGORY_SEARCH:
+                return getPageResult(query, getCategoryService().findByTitle(query.getQuery(), pageable), CategoryView.class);
+            case CATEGORY_AUTOCOMPLETE:
+                return getListResult(query, getCategoryService().findSuggestionsByTitleFragment(query.getQuery(), query.getSize()));
+            case CATEGORY_FACETS:
+                return getFacetResult(query, getCategoryService().findByAutoCompleteTitleFragment(query.getQuery(), pageable));
+            case ORDER_SEARCH:
+                return getPageResult(query, getOrderService().findByTitle(query.getQuery(), pageable), OrderView.class);
+            default:
+                throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request", query.getType()));
+        }
+    }
+
+    private <T> MultiSearchResult getPageResult(final MultiSearchQuery query, final Page<?> page, final Class<T> viewClass) {
+        final MultiSearchResult result = new MultiSearchResult(query, MultiSearchStatusType.OK);
+        result.setTotal(page.getTotalElements());
+        result.setItems(mapAll(page.getContent(), viewClass));
+        return result;
+    }
+
+    private MultiSearchResult getListResult(final MultiSearchQuery query, final List<?> items) {
+        final MultiSearchResult result = new MultiSearchResult(query, MultiSearchStatusType.OK);
+        result.setTotal((long) items.size());
+        result.setItems(items);
+        return result;
+    }
+
+    private MultiSearchResult getFacetResult(final MultiSearchQuery query, final FacetPage<?> page) {
+        final Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        page.getFacetResultPages().forEach(facetPage -> facetPage.forEach(entry -> facets
+            .computeIfAbsent(entry.getField().getName(), name -> new LinkedHashMap<>())
+            .put(entry.getValue(), entry.getValueCount())));
+        final MultiSearchResult result = new MultiSearchResult(query, MultiSearchStatusType.OK);
+        result.setTotal(page.getTotalElements());
+        result.setFacets(facets);
+        return result;
+    }
+
+    private MultiSearchResult getResult(final MultiSearchQuery query, final MultiSearchStatusType status, final Throwable error) {
+        final MultiSearchResult result = new MultiSearchResult(query, status);
+        result.setError(Objects.isNull(error.getMessage()) ? error.getClass().getSimpleName() : error.getMessage());
+        return result;
+    }
+}
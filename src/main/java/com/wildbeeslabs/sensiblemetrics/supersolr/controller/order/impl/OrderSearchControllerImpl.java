@@ -26,7 +26,6 @@ package com.wildbeeslabs.sensiblemetrics.supersolr.controller.order.impl;
 import com.wildbeeslabs.sensiblemetrics.supersolr.annotation.SwaggerAPI;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.impl.BaseDocumentSearchControllerImpl;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.order.OrderSearchController;
-import com.wildbeeslabs.sensiblemetrics.supersolr.exception.EmptyContentException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableOrder;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.OrderSearchService;
@@ -43,11 +42,15 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import java.net.URI;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.map;
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.mapAll;
@@ -88,7 +91,6 @@ public class OrderSearchControllerImpl extends BaseDocumentSearchControllerImpl<
 
     @GetMapping("/all")
     @ResponseBody
-    @Override
     @ApiOperation(
         httpMethod = "GET",
         value = "Find all order documents",
@@ -103,18 +105,30 @@ public class OrderSearchControllerImpl extends BaseDocumentSearchControllerImpl<
     @ApiResponses(value = {
         @ApiResponse(code = 404, message = "Not found")
     })
-    public ResponseEntity<?> getAll() {
+    public Callable<ResponseEntity<StreamingResponseBody>> findAll() {
         log.info("Fetching all orders");
-        try {
-            return ResponseEntity
-                .ok()
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .body(mapAll(this.getAllItems(), OrderView.class));
-        } catch (EmptyContentException ex) {
-            return ResponseEntity
-                .noContent()
-                .build();
-        }
+        return streamAllItems(SearchableOrder.COLLECTION_ID, OrderView.class);
+    }
+
+    @GetMapping(value = "/export", produces = DEFAULT_EXPORT_MEDIA_TYPE)
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Exports all order documents",
+        notes = "Streams all order documents as newline delimited JSON, paging through the index by cursor mark",
+        nickname = "export",
+        tags = {"export"},
+        position = 8,
+        response = OrderView.class,
+        responseContainer = "List",
+        produces = DEFAULT_EXPORT_MEDIA_TYPE
+    )
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Exporting all orders");
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(DEFAULT_EXPORT_MEDIA_TYPE))
+            .body(exportItems(SearchableOrder.COLLECTION_ID, OrderView.class));
     }
 
     @PostMapping("/create")
@@ -293,12 +307,69 @@ public class OrderSearchControllerImpl extends BaseDocumentSearchControllerImpl<
         @ApiResponse(code = 400, message = "Invalid search term value")
     })
     public ResponseEntity<?> findBySearchTerm(@ApiParam(value = "Search term query to fetch orders by", required = true) @PathVariable("term") final String searchTerm,
-                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true) @PathVariable int page) {
-        log.info("Fetching order by term: {}, page: {}", searchTerm, page);
+                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true) @PathVariable int page,
+                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching order by term: {}, page: {}, fields: {}", searchTerm, page, fields);
+        final Set<String> projection = getFields(fields);
         return ResponseEntity
             .ok()
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(getSearchService().find(SearchableOrder.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE)).getContent(), OrderView.class));
+            .body(project(mapAll(getSearchService().find(SearchableOrder.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE), projection).getContent(), OrderView.class), projection));
+    }
+
+    @GetMapping("/page/async")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds order documents by search term without blocking a request thread",
+        notes = "Returns list of order documents by search term, the request is completed once solr responds",
+        nickname = "findAsync",
+        tags = {"fetchByTermAsync"},
+        position = 9,
+        response = OrderView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        authorizations = @Authorization(value = "api_key")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value"),
+        @ApiResponse(code = 503, message = "Search service unavailable")
+    })
+    public CompletableFuture<ResponseEntity<byte[]>> findAsync(@ApiParam(value = "Search term query to fetch orders by", required = true) @RequestParam("term") final String searchTerm,
+                                                               @ApiParam(value = "Offset number to filter by", required = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
+                                                               @ApiParam(value = "Limit number to filter by", required = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                               @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching orders asynchronously by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        return findByAsync(SearchableOrder.COLLECTION_ID, searchTerm, offset, limit, getFields(fields), OrderView.class);
+    }
+
+    @GetMapping("/page/cursor")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds order documents by search term following cursor mark",
+        notes = "Returns list of order documents by search term after the given cursor mark, deep pages are fetched without offset",
+        nickname = "findByCursor",
+        tags = {"fetchByTermCursor"},
+        position = 10,
+        response = OrderView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class),
+            @ResponseHeader(name = "X-Next-Cursor-Mark", description = "cursor mark to fetch the following documents by", response = String.class)
+        },
+        authorizations = @Authorization(value = "api_key")
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Invalid cursor mark value")
+    })
+    public ResponseEntity<StreamingResponseBody> findByCursor(@ApiParam(value = "Search term query to fetch orders by", required = true) @RequestParam("term") final String searchTerm,
+                                                              @ApiParam(value = "Cursor mark to fetch the following documents by (* for the first page)") @RequestParam(value = "cursorMark", defaultValue = DEFAULT_CURSOR_MARK_VALUE) final String cursorMark,
+                                                              @ApiParam(value = "Limit number to filter by") @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching orders by search term: {}, cursor mark: {}, limit: {}, fields: {}", searchTerm, cursorMark, limit, fields);
+        return streamByCursorMark(SearchableOrder.COLLECTION_ID, searchTerm, cursorMark, limit, getFields(fields), OrderView.class);
     }
 
     /**
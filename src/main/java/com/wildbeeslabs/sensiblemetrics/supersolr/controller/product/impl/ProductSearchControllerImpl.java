@@ -28,12 +28,12 @@ import com.wildbeeslabs.sensiblemetrics.supersolr.controller.impl.BaseDocumentSe
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.product.ProductSearchController;
 import com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper.SearchRequest;
 import com.wildbeeslabs.sensiblemetrics.supersolr.exception.BadRequestException;
-import com.wildbeeslabs.sensiblemetrics.supersolr.exception.EmptyContentException;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.ProductSearchService;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.CategoryView;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
 import io.swagger.annotations.*;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
@@ -46,18 +46,23 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.geo.Distance;
 import org.springframework.data.geo.Point;
-import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils.map;
@@ -117,9 +122,11 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
     })
     public ResponseEntity<?> search(@ApiParam(value = "Search query to fetch products by", allowEmptyValue = true, readOnly = true) @RequestParam(value = "q", required = false) final String query,
                                     @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable,
+                                    @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields,
                                     final HttpServletRequest request) {
-        log.info("Fetching products by search query: {}", query);
-        final Page<? extends Product> productPage = getSearchService().findByName(query, pageable);
+        log.info("Fetching products by search query: {}, fields: {}", query, fields);
+        final Set<String> projection = getFields(fields);
+        final Page<? extends Product> productPage = getSearchService().findByName(query, pageable, projection);
         if (Objects.isNull(productPage)) {
             throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request"));
         }
@@ -127,19 +134,48 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
             .ok()
             .headers(getHeaders(productPage))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(productPage.getContent(), ProductView.class));
+            .body(project(mapAll(productPage.getContent(), ProductView.class), projection));
+    }
+
+    @GetMapping(value = "/search", params = "stream=true")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Streams product documents by search query",
+        notes = "Writes list of product documents by search query to the response as each document is mapped to its view",
+        nickname = "searchStream",
+        tags = {"fetchByQuery"},
+        response = ProductView.class,
+        responseContainer = "List",
+        consumes = "application/json, application/xml",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Expires-After", description = "date in UTC when token expires", response = Date.class),
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Invalid search query value"),
+        @ApiResponse(code = 404, message = "Not found")
+    })
+    public ResponseEntity<StreamingResponseBody> searchStream(@ApiParam(value = "Search query to fetch products by", allowEmptyValue = true, readOnly = true) @RequestParam(value = "q", required = false) final String query,
+                                                              @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable,
+                                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Streaming products by search query: {}, fields: {}", query, fields);
+        final Set<String> projection = getFields(fields);
+        return streamResponse(getSearchService().findResponseByName(query, pageable, projection), projection, ProductView.class);
     }
 
     @GetMapping("/autocomplete")
     @ResponseBody
     @ApiOperation(
         httpMethod = "GET",
-        value = "Finds product documents by autocomplete search term",
-        notes = "Returns list of product documents by autocomplete search query",
+        value = "Finds product suggestions by autocomplete search term",
+        notes = "Returns list of weighted product suggestions by autocomplete search query",
         nickname = "autoComplete",
         tags = {"fetchByAutocomplete"},
         position = 1,
-        response = ProductView.class,
+        response = SuggestionView.class,
         responseContainer = "List",
         consumes = "application/json, application/xml",
         produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
@@ -154,12 +190,12 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
     public ResponseEntity<?> autoComplete(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
                                           @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable) {
         log.info("Fetching products by autocomplete search term: {}", searchTerm);
-        final FacetPage<? extends Product> productPage = getSearchService().findByAutoCompleteNameFragment(searchTerm, pageable);
+        final List<? extends SuggestionView> suggestions = getSearchService().findSuggestionsByNameFragment(searchTerm, pageable.getPageSize());
         return ResponseEntity
             .ok()
-            .headers(getHeaders(productPage))
+            .headers(getHeaders(suggestions.size()))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(getResultSetByTerm(productPage, searchTerm), ProductView.class));
+            .body(suggestions);
     }
 
     @GetMapping("/page")
@@ -186,17 +222,104 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
     @SuppressWarnings("unchecked")
     public ResponseEntity<?> find(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
                                   @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
-                                  @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit) {
-        log.info("Fetching products by search term: {}, offset: {}, limit: {}", searchTerm, offset, limit);
-        final HighlightPage<Product> page = (HighlightPage<Product>) findBy(SearchableProduct.COLLECTION_ID, searchTerm, offset, limit);
+                                  @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                  @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching products by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        final Set<String> projection = getFields(fields);
+        final HighlightPage<Product> page = (HighlightPage<Product>) findBy(SearchableProduct.COLLECTION_ID, searchTerm, offset, limit, projection);
         return ResponseEntity
             .ok()
             .headers(getHeaders(page))
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(page
+            .body(project(page
                 .stream()
                 .map(document -> getHighLightSearchResult(document, page.getHighlights(document), ProductView.class))
-                .collect(Collectors.toList()));
+                .collect(Collectors.toList()), projection));
+    }
+
+    @GetMapping(value = "/page", params = "stream=true")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Streams product documents by search term",
+        notes = "Writes list of product documents by search term to the response as each document is mapped to its view",
+        nickname = "findStream",
+        tags = {"fetchByTerm"},
+        position = 2,
+        response = ProductView.class,
+        responseContainer = "List",
+        consumes = "application/json, application/xml",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Expires-After", description = "date in UTC when token expires", response = Date.class),
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value")
+    })
+    public ResponseEntity<StreamingResponseBody> findStream(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                            @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
+                                                            @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                            @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Streaming products by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        return streamBy(SearchableProduct.COLLECTION_ID, searchTerm, offset, limit, getFields(fields), ProductView.class);
+    }
+
+    @GetMapping("/page/async")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds product documents by search term without blocking a request thread",
+        notes = "Returns list of product documents by search term, the request is completed once solr responds",
+        nickname = "findAsync",
+        tags = {"fetchByTermAsync"},
+        position = 10,
+        response = ProductView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value"),
+        @ApiResponse(code = 503, message = "Search service unavailable")
+    })
+    public CompletableFuture<ResponseEntity<byte[]>> findAsync(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                               @ApiParam(value = "Offset number to filter by", required = true, readOnly = true) @RequestParam(value = "offset", defaultValue = DEFAULT_PAGE_OFFSET_VALUE) int offset,
+                                                               @ApiParam(value = "Limit number to filter by", required = true, readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                               @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching products asynchronously by search term: {}, offset: {}, limit: {}, fields: {}", searchTerm, offset, limit, fields);
+        return findByAsync(SearchableProduct.COLLECTION_ID, searchTerm, offset, limit, getFields(fields), ProductView.class);
+    }
+
+    @GetMapping("/page/cursor")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Finds product documents by search term following cursor mark",
+        notes = "Returns list of product documents by search term after the given cursor mark, deep pages are fetched without offset",
+        nickname = "findByCursor",
+        tags = {"fetchByTermCursor"},
+        position = 11,
+        response = ProductView.class,
+        responseContainer = "List",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class),
+            @ResponseHeader(name = "X-Next-Cursor-Mark", description = "cursor mark to fetch the following documents by", response = String.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 400, message = "Invalid cursor mark value")
+    })
+    public ResponseEntity<StreamingResponseBody> findByCursor(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @RequestParam("term") final String searchTerm,
+                                                              @ApiParam(value = "Cursor mark to fetch the following documents by (* for the first page)", readOnly = true) @RequestParam(value = "cursorMark", defaultValue = DEFAULT_CURSOR_MARK_VALUE) final String cursorMark,
+                                                              @ApiParam(value = "Limit number to filter by", readOnly = true) @RequestParam(value = "limit", defaultValue = DEFAULT_PAGE_LIMIT_VALUE) int limit,
+                                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching products by search term: {}, cursor mark: {}, limit: {}, fields: {}", searchTerm, cursorMark, limit, fields);
+        return streamByCursorMark(SearchableProduct.COLLECTION_ID, searchTerm, cursorMark, limit, getFields(fields), ProductView.class);
     }
 
     @GetMapping("/all")
@@ -215,18 +338,30 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
     @ApiResponses(value = {
         @ApiResponse(code = 404, message = "Not found")
     })
-    public ResponseEntity<?> findAll() {
+    public Callable<ResponseEntity<StreamingResponseBody>> findAll() {
         log.info("Fetching all products");
-        try {
-            return ResponseEntity
-                .ok()
-                .contentType(MediaType.APPLICATION_JSON_UTF8)
-                .body(mapAll(this.getAllItems(), ProductView.class));
-        } catch (EmptyContentException ex) {
-            return ResponseEntity
-                .noContent()
-                .build();
-        }
+        return streamAllItems(SearchableProduct.COLLECTION_ID, ProductView.class);
+    }
+
+    @GetMapping(value = "/export", produces = DEFAULT_EXPORT_MEDIA_TYPE)
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "GET",
+        value = "Exports all product documents",
+        notes = "Streams all product documents as newline delimited JSON, paging through the index by cursor mark",
+        nickname = "export",
+        tags = {"export"},
+        position = 9,
+        response = ProductView.class,
+        responseContainer = "List",
+        produces = DEFAULT_EXPORT_MEDIA_TYPE
+    )
+    public ResponseEntity<StreamingResponseBody> export() {
+        log.info("Exporting all products");
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(DEFAULT_EXPORT_MEDIA_TYPE))
+            .body(exportItems(SearchableProduct.COLLECTION_ID, ProductView.class));
     }
 
     @GetMapping("/{id}")
@@ -272,16 +407,18 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
         @ApiResponse(code = 400, message = "Invalid search term value")
     })
     public ResponseEntity<?> findBySearchTerm(@ApiParam(value = "Search term query to fetch products by", required = true, readOnly = true) @PathVariable("term") final String searchTerm,
-                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true, readOnly = true) @PathVariable("page") int page) {
-        log.info("Fetching product by term: {}, page: {}", searchTerm, page);
-        final HighlightPage<? extends Product> productPage = getSearchService().find(SearchableProduct.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE));
+                                              @ApiParam(value = "Page number to filter by", allowableValues = "range[1,infinity]", required = true, readOnly = true) @PathVariable("page") int page,
+                                              @ApiParam(value = "Comma separated view fields to fetch (all fields if omitted)", allowEmptyValue = true, readOnly = true) @RequestParam(value = "fields", required = false) final String fields) {
+        log.info("Fetching product by term: {}, page: {}, fields: {}", searchTerm, page, fields);
+        final Set<String> projection = getFields(fields);
+        final HighlightPage<? extends Product> productPage = getSearchService().find(SearchableProduct.COLLECTION_ID, searchTerm, PageRequest.of(page, DEFAULT_PAGE_SIZE), projection);
         if (Objects.isNull(productPage)) {
             throw new BadRequestException(formatMessage(getMessageSource(), "error.bad.request"));
         }
         return ResponseEntity
             .ok()
             .contentType(MediaType.APPLICATION_JSON_UTF8)
-            .body(mapAll(productPage.getContent(), ProductView.class));
+            .body(project(mapAll(productPage.getContent(), ProductView.class), projection));
     }
 
     @GetMapping("/desc/{desc}/{page}")
@@ -378,6 +515,33 @@ public class ProductSearchControllerImpl extends BaseDocumentSearchControllerImp
                 .collect(Collectors.toList()));
     }
 
+    @PostMapping(value = "/search/name", params = "stream=true")
+    @ResponseBody
+    @ApiOperation(
+        httpMethod = "POST",
+        value = "Streams product documents by name",
+        notes = "Writes list of product documents by name to the response as each document is mapped to its view",
+        nickname = "findByNamesStream",
+        tags = {"fetchByNames"},
+        position = 8,
+        response = ProductView.class,
+        responseContainer = "List",
+        consumes = "application/json, application/xml",
+        produces = MediaType.APPLICATION_JSON_UTF8_VALUE,
+        responseHeaders = {
+            @ResponseHeader(name = "X-Expires-After", description = "date in UTC when token expires", response = Date.class),
+            @ResponseHeader(name = "X-Total-Elements", description = "total number of results in response", response = Integer.class)
+        }
+    )
+    @ApiResponses(value = {
+        @ApiResponse(code = 405, message = "Invalid input value")
+    })
+    public ResponseEntity<StreamingResponseBody> findByNamesStream(@ApiParam(value = "Search request to fetch products by names", required = true, readOnly = true) @Valid @RequestBody final SearchRequest searchRequest,
+                                                                   @ApiParam(value = "Page number to filter by") @PageableDefault(size = DEFAULT_PAGE_SIZE) final Pageable pageable) {
+        log.info("Streaming products by name: {}", StringUtils.join(searchRequest.getKeywords(), "|"));
+        return streamResponse(getSearchService().findResponseByNameIn(searchRequest.getKeywords(), pageable, Collections.emptySet()), Collections.emptySet(), ProductView.class);
+    }
+
     /**
      * Returns {@link ProductSearchService} instance
      *
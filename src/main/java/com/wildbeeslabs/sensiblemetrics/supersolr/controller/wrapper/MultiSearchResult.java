@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.controller.wrapper;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlElementWrapper;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MultiSearchQueryType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MultiSearchStatusType;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-search sub-query result model
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@JacksonXmlRootElement(localName = "result")
+public class MultiSearchResult {
+
+    @JacksonXmlProperty(localName = "id")
+    @JsonProperty("id")
+    private String id;
+
+    @JacksonXmlProperty(localName = "type")
+    @JsonProperty("type")
+    private MultiSearchQueryType type;
+
+    @JacksonXmlProperty(localName = "status")
+    @JsonProperty("status")
+    private MultiSearchStatusType status;
+
+    @JacksonXmlProperty(localName = "total")
+    @JsonProperty("total")
+    private Long total;
+
+    @JacksonXmlElementWrapper(useWrapping = false)
+    @JacksonXmlProperty(localName = "items")
+    @JsonProperty("items")
+    private List<?> items;
+
+    /**
+     * Default facet counts by field name and value {@link Map}
+     */
+    @JacksonXmlProperty(localName = "facets")
+    @JsonProperty("facets")
+    private Map<String, Map<String, Long>> facets;
+
+    @JacksonXmlProperty(localName = "error")
+    @JsonProperty("error")
+    private String error;
+
+    /**
+     * Default sub-query execution time in milliseconds
+     */
+    @JacksonXmlProperty(localName = "took")
+    @JsonProperty("took")
+    private long took;
+
+    public MultiSearchResult(final MultiSearchQuery query, final MultiSearchStatusType status) {
+        this.id = query.getId();
+        this.type = query.getType();
+        this.status = status;
+    }
+
+    public boolean isSuccess() {
+        return MultiSearchStatusType.OK == getStatus();
+    }
+}
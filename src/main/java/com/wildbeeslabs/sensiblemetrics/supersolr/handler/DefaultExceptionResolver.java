@@ -28,7 +28,9 @@ import com.wildbeeslabs.sensiblemetrics.supersolr.exception.*;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ExceptionView;
 import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.NestedExceptionUtils;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -133,9 +135,27 @@ public class DefaultExceptionResolver {
     @ResponseBody
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     protected ResponseEntity<?> handleServiceException(final HttpServletRequest req, final ServiceException ex) {
+        final Throwable cause = NestedExceptionUtils.getRootCause(ex);
+        if (cause instanceof ServiceUnavailableException) {
+            return handleServiceUnavailableException(req, (ServiceUnavailableException) cause);
+        }
         return errorResponse(req.getContextPath(), ex.getLocalizedMessage(), HttpStatus.INTERNAL_SERVER_ERROR);
     }
 
+    @ExceptionHandler({ServiceUnavailableException.class})
+    @ResponseBody
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    protected ResponseEntity<?> handleServiceUnavailableException(final HttpServletRequest req, final ServiceUnavailableException ex) {
+        return ResponseEntity
+            .status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1L, ex.getRetryAfter().getSeconds())))
+            .body(ExceptionView.builder()
+                .path(req.getContextPath())
+                .message(ex.getLocalizedMessage())
+                .code(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .build());
+    }
+
     @ExceptionHandler({AccessDeniedException.class})
     @ResponseBody
     @ResponseStatus(HttpStatus.FORBIDDEN)
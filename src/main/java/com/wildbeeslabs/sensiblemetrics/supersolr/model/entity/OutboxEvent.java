@@ -0,0 +1,73 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.model.entity;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.OutboxOperationType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.iface.PersistableOutboxEvent;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import javax.persistence.*;
+import java.util.Date;
+
+/**
+ * Outbox event model {@link PersistableOutboxEvent}
+ *
+ * <p>Rows are written by {@link com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl.OutboxEventListener}
+ * in the transaction of the entity change and removed by the relay once the change is sent to solr.</p>
+ */
+@Data
+@NoArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity(name = PersistableOutboxEvent.MODEL_ID)
+@Table(name = PersistableOutboxEvent.TABlE_NAME)
+public class OutboxEvent implements PersistableOutboxEvent {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = 4907367213398476415L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = ID_FIELD_NAME, unique = true, nullable = false)
+    private Long id;
+
+    @Column(name = ENTITY_TYPE_FIELD_NAME, nullable = false)
+    private String entityType;
+
+    @Column(name = ENTITY_ID_FIELD_NAME, nullable = false)
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = OPERATION_FIELD_NAME, nullable = false)
+    private OutboxOperationType operation;
+
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = CREATED_FIELD_NAME, nullable = false)
+    private Date created;
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.model.entity;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.iface.PersistableResourceFingerprint;
+import lombok.*;
+
+import javax.persistence.*;
+import java.util.Objects;
+
+/**
+ * Resource fingerprint model {@link PersistableResourceFingerprint}
+ *
+ * <p>Keeps path, size, modification time and content hash of the last indexed state of a batch resource.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@Entity(name = PersistableResourceFingerprint.MODEL_ID)
+@Table(name = PersistableResourceFingerprint.TABlE_NAME)
+public class ResourceFingerprint implements PersistableResourceFingerprint {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -2306181466329481337L;
+
+    @Id
+    @Column(name = PATH_FIELD_NAME, unique = true, nullable = false, length = 1024)
+    private String path;
+
+    @Column(name = SIZE_FIELD_NAME, nullable = false)
+    private long size;
+
+    @Column(name = LAST_MODIFIED_FIELD_NAME, nullable = false)
+    private long lastModified;
+
+    @Column(name = HASH_FIELD_NAME, nullable = false, length = 64)
+    private String hash;
+
+    /**
+     * Returns binary flag whether size and modification time of the provided fingerprint match the current ones
+     *
+     * @param other - initial input {@link ResourceFingerprint} to compare with
+     * @return true - if size and modification time match, false - otherwise
+     */
+    public boolean isSameMetadata(final ResourceFingerprint other) {
+        return Objects.nonNull(other) && getSize() == other.getSize() && getLastModified() == other.getLastModified();
+    }
+
+    /**
+     * Returns binary flag whether content hash of the provided fingerprint matches the current one
+     *
+     * @param other - initial input {@link ResourceFingerprint} to compare with
+     * @return true - if content hashes match, false - otherwise
+     */
+    public boolean isSameContent(final ResourceFingerprint other) {
+        return Objects.nonNull(other) && getSize() == other.getSize() && Objects.equals(getHash(), other.getHash());
+    }
+}
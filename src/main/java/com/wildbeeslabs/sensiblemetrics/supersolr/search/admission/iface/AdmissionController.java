@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+
+import java.util.Map;
+
+/**
+ * Solr admission controller declaration
+ *
+ * <p>Queries have to acquire a {@link Permit} before they are sent to solr, so a degraded backend rejects them
+ * at once instead of holding request threads for the whole socket timeout.</p>
+ */
+public interface AdmissionController {
+
+    /**
+     * Default admission controller ID
+     */
+    String CONTROLLER_ID = "admissionController";
+
+    /**
+     * Returns permit {@link Permit} of a query to input collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @return query permit {@link Permit}
+     * @throws ServiceUnavailableException if the collection circuit is open or the concurrency limit is reached
+     */
+    Permit acquire(final String collection);
+
+    /**
+     * Returns snapshot {@link Map} of concurrency limit and circuit breaker states
+     *
+     * @return admission state {@link Map}
+     */
+    Map<String, Object> getState();
+
+    /**
+     * Closes all circuit breakers
+     */
+    void reset();
+
+    /**
+     * Query permit declaration
+     */
+    @FunctionalInterface
+    interface Permit {
+
+        /**
+         * Releases permit with the query outcome
+         *
+         * @param success - initial input query success flag (client errors count as success)
+         */
+        void release(boolean success);
+    }
+}
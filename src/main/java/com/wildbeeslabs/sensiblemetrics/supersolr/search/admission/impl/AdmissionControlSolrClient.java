@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface.AdmissionController;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.IOException;
+
+/**
+ * Admission control {@link SolrClient} decorator
+ *
+ * <p>Queries ({@link QueryRequest}) acquire a permit of the {@link AdmissionController} before they are sent and
+ * release it with their outcome; solr client errors (4xx) count as successful calls. Updates are issued by
+ * background indexing threads and pass unchecked.</p>
+ */
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class AdmissionControlSolrClient extends SolrClient {
+
+    private final SolrClient delegate;
+    private final AdmissionController admissionController;
+
+    @Override
+    public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException, IOException {
+        if (!(request instanceof QueryRequest)) {
+            return getDelegate().request(request, collection);
+        }
+        final AdmissionController.Permit permit = getAdmissionController().acquire(collection);
+        boolean success = false;
+        try {
+            final NamedList<Object> response = getDelegate().request(request, collection);
+            success = true;
+            return response;
+        } catch (SolrException ex) {
+            success = ex.code() >= 400 && ex.code() < 500;
+            throw ex;
+        } finally {
+            permit.release(success);
+        }
+    }
+
+    @Override
+    public DocumentObjectBinder getBinder() {
+        return getDelegate().getBinder();
+    }
+
+    @Override
+    public void close() throws IOException {
+        getDelegate().close();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AdmissionConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Additive increase / multiplicative decrease concurrency limiter
+ *
+ * <p>Calls beyond the current limit of in-flight calls are rejected at once. Every call completed in time while
+ * at least half of the limit is in use raises the limit by {@code 1 / limit} (about one per limit round trips),
+ * a failed call or a call slower than the latency threshold multiplies it by the backoff ratio, so the limit
+ * settles slightly above the concurrency solr can serve without queueing.</p>
+ */
+@Getter(AccessLevel.PROTECTED)
+public class AimdConcurrencyLimiter {
+
+    private final AdmissionConfigProperties admissionConfigProperties;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private volatile double limit;
+
+    public AimdConcurrencyLimiter(final AdmissionConfigProperties admissionConfigProperties) {
+        this.admissionConfigProperties = admissionConfigProperties;
+        this.limit = admissionConfigProperties.getInitialLimit();
+    }
+
+    /**
+     * Returns true if a call is admitted under the current limit
+     *
+     * @return true if a call is admitted, false otherwise
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            final int current = this.inflight.get();
+            if (current >= (int) this.limit) {
+                return false;
+            }
+            if (this.inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases admitted call without adjusting the limit (call was not sent)
+     */
+    public void cancel() {
+        this.inflight.decrementAndGet();
+    }
+
+    /**
+     * Releases admitted call and adjusts the limit by its outcome
+     *
+     * @param durationNanos - initial input call duration in nanoseconds
+     * @param success       - initial input call success flag
+     */
+    public synchronized void onResult(long durationNanos, boolean success) {
+        final int current = this.inflight.getAndDecrement();
+        if (!success || durationNanos > getAdmissionConfigProperties().getLatencyThreshold().toNanos()) {
+            this.limit = Math.max(getAdmissionConfigProperties().getMinLimit(), this.limit * getAdmissionConfigProperties().getBackoffRatio());
+        } else if (current * 2 >= this.limit) {
+            this.limit = Math.min(getAdmissionConfigProperties().getMaxLimit(), this.limit + 1.0 / this.limit);
+        }
+    }
+
+    public int getLimit() {
+        return (int) this.limit;
+    }
+
+    public int getInflight() {
+        return this.inflight.get();
+    }
+}
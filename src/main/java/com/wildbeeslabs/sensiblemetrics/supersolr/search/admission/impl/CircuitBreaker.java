@@ -0,0 +1,217 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AdmissionConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker
+ *
+ * <p>Outcomes of the most recent calls are kept in a ring buffer. Once the window holds the minimum number of
+ * calls and the failure or slow call ratio reaches its threshold, the breaker opens and rejects calls for the open
+ * duration. Then a limited number of probe calls is let through (half-open): the breaker closes after all of them
+ * succeed in time and opens again on the first failed or slow probe.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class CircuitBreaker {
+
+    /**
+     * Circuit breaker states
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private static final byte SUCCESS = 0;
+    private static final byte FAILURE = 1;
+    private static final byte SLOW = 2;
+
+    private final String name;
+    private final AdmissionConfigProperties admissionConfigProperties;
+    private final LongSupplier ticker;
+    private final byte[] outcomes;
+
+    private State state = State.CLOSED;
+    private int index;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+    private long openedNanos;
+    private int probes;
+    private int probeSuccesses;
+
+    public CircuitBreaker(final String name, final AdmissionConfigProperties admissionConfigProperties) {
+        this(name, admissionConfigProperties, System::nanoTime);
+    }
+
+    public CircuitBreaker(final String name, final AdmissionConfigProperties admissionConfigProperties, final LongSupplier ticker) {
+        this.name = name;
+        this.admissionConfigProperties = admissionConfigProperties;
+        this.ticker = ticker;
+        this.outcomes = new byte[admissionConfigProperties.getWindowSize()];
+    }
+
+    /**
+     * Returns true if a call is permitted in the current state
+     *
+     * @return true if a call is permitted, false otherwise
+     */
+    public synchronized boolean tryAcquire() {
+        if (this.state == State.OPEN) {
+            if (getRetryAfterNanos() > 0) {
+                return false;
+            }
+            transition(State.HALF_OPEN);
+            this.probes = getAdmissionConfigProperties().getHalfOpenCalls();
+            this.probeSuccesses = 0;
+        }
+        if (this.state == State.HALF_OPEN) {
+            if (this.probes == 0) {
+                return false;
+            }
+            this.probes--;
+        }
+        return true;
+    }
+
+    /**
+     * Records outcome of a permitted call
+     *
+     * @param durationNanos - initial input call duration in nanoseconds
+     * @param success       - initial input call success flag
+     */
+    public synchronized void onResult(long durationNanos, boolean success) {
+        final boolean slow = durationNanos >= getAdmissionConfigProperties().getSlowCallThreshold().toNanos();
+        if (this.state == State.HALF_OPEN) {
+            if (!success || slow) {
+                open();
+            } else if (++this.probeSuccesses >= getAdmissionConfigProperties().getHalfOpenCalls()) {
+                clear();
+                transition(State.CLOSED);
+            }
+            return;
+        }
+        if (this.state == State.OPEN) {
+            return;
+        }
+        record(success ? (slow ? SLOW : SUCCESS) : FAILURE);
+        if (this.calls >= getAdmissionConfigProperties().getMinimumCalls()
+            && (this.failures >= this.calls * getAdmissionConfigProperties().getFailureRateThreshold()
+            || this.slowCalls >= this.calls * getAdmissionConfigProperties().getSlowCallRateThreshold())) {
+            open();
+        }
+    }
+
+    /**
+     * Returns remaining period of the open state in nanoseconds (zero unless open)
+     *
+     * @return remaining open period in nanoseconds
+     */
+    public synchronized long getRetryAfterNanos() {
+        if (this.state != State.OPEN) {
+            return 0L;
+        }
+        return Math.max(0L, this.openedNanos + getAdmissionConfigProperties().getOpenDuration().toNanos() - getTicker().getAsLong());
+    }
+
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * Returns snapshot of breaker state and window statistics
+     *
+     * @return breaker state {@link Map}
+     */
+    public synchronized Map<String, Object> getSnapshot() {
+        final Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("state", this.state);
+        snapshot.put("calls", this.calls);
+        snapshot.put("failureRate", this.calls == 0 ? 0.0 : (double) this.failures / this.calls);
+        snapshot.put("slowCallRate", this.calls == 0 ? 0.0 : (double) this.slowCalls / this.calls);
+        snapshot.put("retryAfterMillis", getRetryAfterNanos() / 1_000_000L);
+        return snapshot;
+    }
+
+    /**
+     * Closes the breaker and clears its window
+     */
+    public synchronized void reset() {
+        clear();
+        transition(State.CLOSED);
+    }
+
+    private void open() {
+        this.openedNanos = getTicker().getAsLong();
+        clear();
+        transition(State.OPEN);
+    }
+
+    private void record(final byte outcome) {
+        if (this.calls == this.outcomes.length) {
+            forget(this.outcomes[this.index]);
+        } else {
+            this.calls++;
+        }
+        this.outcomes[this.index] = outcome;
+        if (outcome == FAILURE) {
+            this.failures++;
+        } else if (outcome == SLOW) {
+            this.slowCalls++;
+        }
+        this.index = (this.index + 1) % this.outcomes.length;
+    }
+
+    private void forget(final byte outcome) {
+        if (outcome == FAILURE) {
+            this.failures--;
+        } else if (outcome == SLOW) {
+            this.slowCalls--;
+        }
+    }
+
+    private void clear() {
+        this.index = 0;
+        this.calls = 0;
+        this.failures = 0;
+        this.slowCalls = 0;
+    }
+
+    private void transition(final State target) {
+        if (this.state != target) {
+            log.info("Solr circuit breaker: {}, state: {} -> {}", getName(), this.state, target);
+            this.state = target;
+        }
+    }
+}
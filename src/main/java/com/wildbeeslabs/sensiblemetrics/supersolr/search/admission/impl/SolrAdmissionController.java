@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface.AdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AdmissionConfigProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Solr {@link AdmissionController} implementation
+ *
+ * <p>Combines one {@link AimdConcurrencyLimiter} shared by all queries (solr capacity is shared between
+ * collections) with a {@link CircuitBreaker} per collection.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@Component(AdmissionController.CONTROLLER_ID)
+public class SolrAdmissionController implements AdmissionController {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.admission";
+    /**
+     * Default collection name of requests without explicit collection
+     */
+    public static final String DEFAULT_COLLECTION = "default";
+
+    private final AdmissionConfigProperties admissionConfigProperties;
+    private final MeterRegistry meterRegistry;
+    private final AimdConcurrencyLimiter limiter;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public SolrAdmissionController(final AdmissionConfigProperties admissionConfigProperties, final MeterRegistry meterRegistry) {
+        this.admissionConfigProperties = admissionConfigProperties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = new AimdConcurrencyLimiter(admissionConfigProperties);
+        Gauge.builder(METRICS_PREFIX + ".limit", this.limiter, AimdConcurrencyLimiter::getLimit)
+            .description("Adaptive concurrency limit of solr queries")
+            .register(meterRegistry);
+        Gauge.builder(METRICS_PREFIX + ".inflight", this.limiter, AimdConcurrencyLimiter::getInflight)
+            .description("Number of admitted in-flight solr queries")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Permit acquire(final String collection) {
+        if (!getAdmissionConfigProperties().isEnabled()) {
+            return success -> {
+            };
+        }
+        final String name = Objects.isNull(collection) ? DEFAULT_COLLECTION : collection;
+        final CircuitBreaker breaker = getBreakers().computeIfAbsent(name, this::createBreaker);
+        if (!getLimiter().tryAcquire()) {
+            reject(name, "limit");
+            throw new ServiceUnavailableException(String.format("ERROR: solr concurrency limit reached: {%s}", getLimiter().getLimit()));
+        }
+        if (!breaker.tryAcquire()) {
+            getLimiter().cancel();
+            reject(name, "circuit");
+            final Duration retryAfter = Duration.ofNanos(Math.max(breaker.getRetryAfterNanos(), Duration.ofSeconds(1).toNanos()));
+            throw new ServiceUnavailableException(String.format("ERROR: solr circuit breaker is open: {%s}", name), retryAfter);
+        }
+        final long start = System.nanoTime();
+        return success -> {
+            final long duration = System.nanoTime() - start;
+            breaker.onResult(duration, success);
+            getLimiter().onResult(duration, success);
+        };
+    }
+
+    @Override
+    public Map<String, Object> getState() {
+        final Map<String, Object> breakers = new TreeMap<>();
+        getBreakers().forEach((name, breaker) -> breakers.put(name, breaker.getSnapshot()));
+        final Map<String, Object> state = new LinkedHashMap<>();
+        state.put("enabled", getAdmissionConfigProperties().isEnabled());
+        state.put("limit", getLimiter().getLimit());
+        state.put("inflight", getLimiter().getInflight());
+        state.put("breakers", breakers);
+        return state;
+    }
+
+    @Override
+    public void reset() {
+        getBreakers().values().forEach(CircuitBreaker::reset);
+    }
+
+    private CircuitBreaker createBreaker(final String collection) {
+        final CircuitBreaker breaker = new CircuitBreaker(collection, getAdmissionConfigProperties());
+        Gauge.builder(METRICS_PREFIX + ".breaker.state", breaker, b -> b.getState().ordinal())
+            .description("State of solr collection circuit breaker (0 - closed, 1 - open, 2 - half-open)")
+            .tag("collection", collection)
+            .register(getMeterRegistry());
+        return breaker;
+    }
+
+    private void reject(final String collection, final String reason) {
+        getMeterRegistry().counter(METRICS_PREFIX + ".rejected", "collection", collection, "reason", reason).increment();
+        log.debug("Rejected solr query of collection: {}, reason: {}", collection, reason);
+    }
+}
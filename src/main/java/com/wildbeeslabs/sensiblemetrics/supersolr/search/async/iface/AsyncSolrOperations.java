@@ -0,0 +1,52 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.async.iface;
+
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.params.SolrParams;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous solr operations declaration
+ *
+ * <p>Queries are sent without holding the calling thread until solr answers, so request handlers can
+ * return the pending result and release their servlet worker.</p>
+ */
+public interface AsyncSolrOperations {
+
+    /**
+     * Default operations ID
+     */
+    String OPERATIONS_ID = "asyncSolrOperations";
+
+    /**
+     * Returns pending native solr query response {@link QueryResponse} by input query parameters {@link SolrParams}
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param params     - initial input query parameters {@link SolrParams}
+     * @return pending native solr query response {@link CompletableFuture}
+     */
+    CompletableFuture<QueryResponse> query(final String collection, final SolrParams params);
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.async.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface.AdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.iface.AsyncSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.InstrumentedSolrClient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.params.SolrParams;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Non-blocking {@link AsyncSolrOperations} implementation
+ *
+ * <p>With the HTTP/2 transport queries are sent by {@link Http2SolrClient} and completed from its response callback,
+ * so no thread waits for solr. Other clients (HTTP/1.1, embedded or hedged replicas) can only block, their calls
+ * are handed off to the bounded executor instead. Both paths acquire an {@link AdmissionController} permit per
+ * query and are recorded like synchronous calls of the {@link InstrumentedSolrClient}.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class NonBlockingSolrOperations implements AsyncSolrOperations {
+
+    private final InstrumentedSolrClient solrClient;
+    private final SolrClient targetClient;
+    private final AdmissionController admissionController;
+    private final Executor executor;
+
+    @Override
+    public CompletableFuture<QueryResponse> query(final String collection, final SolrParams params) {
+        final QueryRequest request = new QueryRequest(params);
+        final AdmissionController.Permit permit;
+        try {
+            permit = getAdmissionController().acquire(collection);
+        } catch (ServiceUnavailableException ex) {
+            return failed(ex);
+        }
+        final CompletableFuture<NamedList<Object>> response;
+        try {
+            response = send(request, collection);
+        } catch (RejectedExecutionException ex) {
+            permit.release(true);
+            log.warn("Solr query rejected by executor: collection={}, message={}", collection, ex.getMessage());
+            return failed(new ServiceUnavailableException(ex.getMessage()));
+        }
+        return response.handle((result, error) -> {
+            permit.release(Objects.isNull(error) || isClientError(error));
+            if (Objects.nonNull(error)) {
+                throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(error);
+            }
+            return new QueryResponse(result, getTargetClient());
+        });
+    }
+
+    private CompletableFuture<NamedList<Object>> send(final QueryRequest request, final String collection) {
+        if (!(getTargetClient() instanceof Http2SolrClient)) {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return getSolrClient().request(request, collection);
+                } catch (SolrServerException | IOException ex) {
+                    throw new CompletionException(ex);
+                }
+            }, getExecutor());
+        }
+        final CompletableFuture<NamedList<Object>> response = new CompletableFuture<>();
+        final long start = System.nanoTime();
+        try {
+            ((Http2SolrClient) getTargetClient()).request(request, collection, new Http2SolrClient.OnComplete() {
+                @Override
+                public void onSuccess(final NamedList<Object> result) {
+                    getSolrClient().record(request, collection, System.nanoTime() - start, result, true);
+                    response.complete(result);
+                }
+
+                @Override
+                public void onFailure(final Throwable error) {
+                    getSolrClient().record(request, collection, System.nanoTime() - start, null, false);
+                    response.completeExceptionally(error);
+                }
+            });
+        } catch (SolrServerException | IOException | RuntimeException ex) {
+            getSolrClient().record(request, collection, System.nanoTime() - start, null, false);
+            response.completeExceptionally(ex);
+        }
+        return response;
+    }
+
+    private boolean isClientError(final Throwable error) {
+        final Throwable cause = error instanceof CompletionException && Objects.nonNull(error.getCause()) ? error.getCause() : error;
+        return cause instanceof SolrException && ((SolrException) cause).code() >= 400 && ((SolrException) cause).code() < 500;
+    }
+
+    private static <T> CompletableFuture<T> failed(final Throwable error) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
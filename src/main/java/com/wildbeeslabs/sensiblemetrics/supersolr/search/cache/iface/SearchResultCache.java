@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface;
+
+import java.util.function.Supplier;
+
+/**
+ * Search result cache declaration
+ *
+ * <p>Entries are tagged with the index generation of their collection at load time and are
+ * treated as stale once the generation has been bumped by a write.</p>
+ */
+public interface SearchResultCache {
+
+    /**
+     * Default cache identifier
+     */
+    String CACHE_ID = "searchResultCache";
+
+    /**
+     * Returns cached result from local or shared cache tier or loads it by input supplier {@link Supplier}
+     *
+     * @param <T>        type of result (stored in the shared tier only if serializable)
+     * @param collection - initial input collection name {@link String}
+     * @param key        - initial input normalized cache key {@link String}
+     * @param loader     - initial input result loader {@link Supplier}
+     * @return cached or loaded result
+     */
+    <T> T get(final String collection, final String key, final Supplier<T> loader);
+
+    /**
+     * Returns cached result from local cache tier or loads it by input supplier {@link Supplier}
+     *
+     * @param <T>        type of result
+     * @param collection - initial input collection name {@link String}
+     * @param key        - initial input normalized cache key {@link String}
+     * @param loader     - initial input result loader {@link Supplier}
+     * @return cached or loaded result
+     */
+    <T> T getLocal(final String collection, final String key, final Supplier<T> loader);
+
+    /**
+     * Bumps index generation of input collection invalidating all its cached results
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    void invalidate(final String collection);
+
+    /**
+     * Returns current index generation of input collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @return current index generation
+     */
+    long getGeneration(final String collection);
+
+    /**
+     * Returns normalized cache key by input query name and parameters
+     *
+     * @param name   - initial input query name {@link String}
+     * @param params - initial input query parameters
+     * @return normalized cache key {@link String}
+     */
+    String createKey(final String name, final Object... params);
+}
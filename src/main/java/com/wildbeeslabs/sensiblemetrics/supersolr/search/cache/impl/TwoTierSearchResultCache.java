@@ -0,0 +1,361 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.hash.Hashing;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.CacheConfigProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-tier {@link SearchResultCache} implementation
+ *
+ * <p>Results are kept in a per-node caffeine (L1) cache backed by a shared redis (L2) cache. Every entry
+ * records the index generation of its collection at load time; generations are bumped by writes through
+ * a redis counter that each node re-reads at most once per refresh interval, so a write on another node
+ * becomes visible here within that interval. Redis failures degrade to the local tier only.</p>
+ *
+ * <p>In shared mode the redis counter is the only generation source, so nodes never run ahead of each
+ * other; if the counter cannot be bumped the local entries of the collection are evicted instead. The
+ * local counter is only bumped when the shared tier is disabled.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(SearchResultCache.CACHE_ID)
+public class TwoTierSearchResultCache implements SearchResultCache {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.cache";
+    /**
+     * Default maximum length of a readable cache key (longer keys are hashed)
+     */
+    private static final int MAX_READABLE_KEY_LENGTH = 200;
+
+    private final CacheConfigProperties cacheConfigProperties;
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CollectionState> states = new ConcurrentHashMap<>();
+
+    private Cache<String, CacheEntry> localCache;
+    private RedisTemplate<String, Object> redisTemplate;
+    private Counter sharedErrorCounter;
+
+    @PostConstruct
+    public void initialize() {
+        this.localCache = Caffeine.newBuilder()
+            .maximumSize(getCacheConfigProperties().getLocalMaximumSize())
+            .expireAfterWrite(getCacheConfigProperties().getLocalExpireAfterWrite().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+        Gauge.builder(METRICS_PREFIX + ".size", this.localCache, Cache::estimatedSize)
+            .description("Number of entries in the local search result cache")
+            .register(getMeterRegistry());
+        this.sharedErrorCounter = Counter.builder(METRICS_PREFIX + ".shared.errors")
+            .description("Number of failed shared search result cache operations")
+            .register(getMeterRegistry());
+
+        if (isSharedEnabled()) {
+            this.redisTemplate = new RedisTemplate<>();
+            this.redisTemplate.setConnectionFactory(getRedisConnectionFactory());
+            this.redisTemplate.setKeySerializer(new StringRedisSerializer());
+            this.redisTemplate.setValueSerializer(new JdkSerializationRedisSerializer(getClass().getClassLoader()));
+            this.redisTemplate.afterPropertiesSet();
+        }
+    }
+
+    @Override
+    public <T> T get(final String collection, final String key, final Supplier<T> loader) {
+        return get(collection, key, loader, isSharedEnabled());
+    }
+
+    @Override
+    public <T> T getLocal(final String collection, final String key, final Supplier<T> loader) {
+        return get(collection, key, loader, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    protected <T> T get(final String collection, final String key, final Supplier<T> loader, boolean shared) {
+        if (!getCacheConfigProperties().isEnabled()) {
+            return loader.get();
+        }
+        final CollectionState state = getState(collection);
+        final long generation = getGeneration(collection);
+        final String cacheKey = getCacheConfigProperties().getKeyPrefix() + collection + ':' + key;
+
+        final CacheEntry localEntry = getLocalCache().getIfPresent(cacheKey);
+        if (Objects.nonNull(localEntry)) {
+            if (localEntry.getGeneration() >= generation) {
+                state.getLocalHits().increment();
+                state.getAge().record(System.currentTimeMillis() - localEntry.getCreated(), TimeUnit.MILLISECONDS);
+                return (T) localEntry.getValue();
+            }
+            state.getLocalStale().increment();
+            getLocalCache().invalidate(cacheKey);
+        }
+        if (shared) {
+            final CacheEntry sharedEntry = readShared(cacheKey);
+            if (Objects.nonNull(sharedEntry)) {
+                if (sharedEntry.getGeneration() >= generation) {
+                    state.getSharedHits().increment();
+                    state.getAge().record(System.currentTimeMillis() - sharedEntry.getCreated(), TimeUnit.MILLISECONDS);
+                    getLocalCache().put(cacheKey, sharedEntry);
+                    return (T) sharedEntry.getValue();
+                }
+                state.getSharedStale().increment();
+            }
+        }
+
+        state.getMisses().increment();
+        final T value = loader.get();
+        if (Objects.nonNull(value)) {
+            final CacheEntry entry = new CacheEntry(generation, System.currentTimeMillis(), value);
+            getLocalCache().put(cacheKey, entry);
+            if (shared && value instanceof Serializable) {
+                writeShared(cacheKey, entry);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public void invalidate(final String collection) {
+        final CollectionState state = getState(collection);
+        if (!isSharedEnabled()) {
+            final long generation = state.getGeneration().incrementAndGet();
+            log.debug("Invalidated search results of collection: {}, generation: {}", collection, generation);
+            return;
+        }
+        try {
+            final Long sharedGeneration = getRedisTemplate().execute((RedisCallback<Long>) connection -> connection.incr(getGenerationKey(collection)));
+            Optional.ofNullable(sharedGeneration).ifPresent(state::advance);
+            log.debug("Invalidated search results of collection: {}, generation: {}", collection, state.getGeneration().get());
+        } catch (RuntimeException ex) {
+            getSharedErrorCounter().increment();
+            evictLocal(collection);
+            log.warn("Cannot bump shared index generation of collection: {}, local search results evicted", collection, ex);
+        }
+    }
+
+    @Override
+    public long getGeneration(final String collection) {
+        final CollectionState state = getState(collection);
+        if (isSharedEnabled()) {
+            final long now = System.nanoTime();
+            final long refreshedAt = state.getRefreshedAt().get();
+            if (now - refreshedAt >= getCacheConfigProperties().getGenerationRefreshInterval().toNanos()
+                && state.getRefreshedAt().compareAndSet(refreshedAt, now)) {
+                readSharedGeneration(collection).ifPresent(state::advance);
+            }
+        }
+        return state.getGeneration().get();
+    }
+
+    @Override
+    public String createKey(final String name, final Object... params) {
+        final StringBuilder key = new StringBuilder(name);
+        for (final Object param : params) {
+            key.append('|').append(normalize(param));
+        }
+        if (key.length() > MAX_READABLE_KEY_LENGTH) {
+            return name + '#' + Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+        }
+        return key.toString();
+    }
+
+    protected String normalize(final Object param) {
+        if (param instanceof CharSequence) {
+            return StringUtils.normalizeSpace(param.toString());
+        }
+        if (param instanceof Pageable) {
+            final Pageable pageable = (Pageable) param;
+            final String page = pageable.isPaged() ? pageable.getPageNumber() + "x" + pageable.getPageSize() : "unpaged";
+            return page + normalize(pageable.getSort());
+        }
+        if (param instanceof Sort) {
+            final StringBuilder sort = new StringBuilder();
+            ((Sort) param).forEach(order -> sort.append(',').append(order.getProperty()).append(':').append(order.getDirection()).append(order.isIgnoreCase() ? ":i" : ""));
+            return sort.toString();
+        }
+        if (param instanceof Collection) {
+            final TreeSet<String> values = new TreeSet<>();
+            ((Collection<?>) param).forEach(value -> values.add(normalize(value)));
+            return values.toString();
+        }
+        return String.valueOf(param);
+    }
+
+    private CacheEntry readShared(final String cacheKey) {
+        try {
+            return (CacheEntry) getRedisTemplate().opsForValue().get(cacheKey);
+        } catch (RuntimeException ex) {
+            getSharedErrorCounter().increment();
+            log.debug("Cannot read shared search result: {}", cacheKey, ex);
+            return null;
+        }
+    }
+
+    private void writeShared(final String cacheKey, final CacheEntry entry) {
+        try {
+            getRedisTemplate().opsForValue().set(cacheKey, entry, getCacheConfigProperties().getSharedTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException ex) {
+            getSharedErrorCounter().increment();
+            log.debug("Cannot write shared search result: {}", cacheKey, ex);
+        }
+    }
+
+    private void evictLocal(final String collection) {
+        final String prefix = getCacheConfigProperties().getKeyPrefix() + collection + ':';
+        getLocalCache().asMap().keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private Optional<Long> readSharedGeneration(final String collection) {
+        try {
+            final byte[] value = getRedisTemplate().execute((RedisCallback<byte[]>) connection -> connection.get(getGenerationKey(collection)));
+            return Optional.ofNullable(value).map(bytes -> Long.valueOf(new String(bytes, StandardCharsets.UTF_8)));
+        } catch (RuntimeException ex) {
+            getSharedErrorCounter().increment();
+            log.debug("Cannot read shared index generation of collection: {}", collection, ex);
+            return Optional.empty();
+        }
+    }
+
+    private byte[] getGenerationKey(final String collection) {
+        return (getCacheConfigProperties().getKeyPrefix() + "generation:" + collection).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private boolean isSharedEnabled() {
+        return getCacheConfigProperties().isEnabled() && getCacheConfigProperties().isSharedEnabled();
+    }
+
+    private CollectionState getState(final String collection) {
+        return getStates().computeIfAbsent(collection, name -> new CollectionState(name, getMeterRegistry()));
+    }
+
+    /**
+     * Cached search result tagged with index generation and load time
+     */
+    @Value
+    protected static class CacheEntry implements Serializable {
+
+        /**
+         * Default explicit serialVersionUID for interoperability
+         */
+        private static final long serialVersionUID = 3196785016340186527L;
+
+        private final long generation;
+        private final long created;
+        private final Object value;
+    }
+
+    /**
+     * Collection index generation and cache metrics
+     */
+    @Getter
+    protected static class CollectionState {
+
+        private final AtomicLong generation = new AtomicLong();
+        private final AtomicLong refreshedAt = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+
+        private final Counter localHits;
+        private final Counter sharedHits;
+        private final Counter misses;
+        private final Counter localStale;
+        private final Counter sharedStale;
+        private final Timer age;
+
+        CollectionState(final String collection, final MeterRegistry meterRegistry) {
+            this.localHits = Counter.builder(METRICS_PREFIX + ".hits")
+                .description("Number of search results served from cache")
+                .tags("collection", collection, "tier", "local")
+                .register(meterRegistry);
+            this.sharedHits = Counter.builder(METRICS_PREFIX + ".hits")
+                .description("Number of search results served from cache")
+                .tags("collection", collection, "tier", "shared")
+                .register(meterRegistry);
+            this.misses = Counter.builder(METRICS_PREFIX + ".misses")
+                .description("Number of search results loaded from solr")
+                .tag("collection", collection)
+                .register(meterRegistry);
+            this.localStale = Counter.builder(METRICS_PREFIX + ".stale")
+                .description("Number of cached search results discarded after an index generation change")
+                .tags("collection", collection, "tier", "local")
+                .register(meterRegistry);
+            this.sharedStale = Counter.builder(METRICS_PREFIX + ".stale")
+                .description("Number of cached search results discarded after an index generation change")
+                .tags("collection", collection, "tier", "shared")
+                .register(meterRegistry);
+            this.age = Timer.builder(METRICS_PREFIX + ".age")
+                .description("Age of search results served from cache")
+                .tag("collection", collection)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+            Gauge.builder(METRICS_PREFIX + ".generation", this.generation, AtomicLong::get)
+                .description("Current index generation")
+                .tag("collection", collection)
+                .register(meterRegistry);
+        }
+
+        /**
+         * Moves the generation forward to a value read from the shared counter, ignoring out-of-order replies
+         */
+        void advance(long value) {
+            this.generation.accumulateAndGet(value, Math::max);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.iface;
+
+import java.util.function.Supplier;
+
+/**
+ * Search request coalescer declaration
+ *
+ * <p>Identical requests arriving while one of them is in flight share its result instead of
+ * querying solr again.</p>
+ */
+public interface RequestCoalescer {
+
+    /**
+     * Default coalescer ID
+     */
+    String COALESCER_ID = "requestCoalescer";
+
+    /**
+     * Returns result of in-flight request with the same key or loads it by input supplier {@link Supplier}
+     *
+     * @param <T>        type of result
+     * @param collection - initial input collection name {@link String}
+     * @param key        - initial input normalized request key {@link String}
+     * @param loader     - initial input result loader {@link Supplier}
+     * @return shared or loaded result
+     */
+    <T> T execute(final String collection, final String key, final Supplier<T> loader);
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.iface.RequestCoalescer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.CoalescerConfigProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight {@link RequestCoalescer} implementation
+ *
+ * <p>The first request of a key (leader) registers a future and queries solr on the calling thread,
+ * identical requests arriving meanwhile wait for that future and receive the very same result or error.
+ * The future is unregistered once completed, so later requests start a new flight. A follower that waits
+ * longer than the configured timeout stops waiting and queries solr on its own.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(RequestCoalescer.COALESCER_ID)
+public class SingleFlightRequestCoalescer implements RequestCoalescer {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.coalescer";
+
+    private final CoalescerConfigProperties coalescerConfigProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() {
+        Gauge.builder(METRICS_PREFIX + ".inflight", this.flights, ConcurrentMap::size)
+            .description("Number of distinct search requests in flight")
+            .register(getMeterRegistry());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T execute(final String collection, final String key, final Supplier<T> loader) {
+        if (!getCoalescerConfigProperties().isEnabled()) {
+            return loader.get();
+        }
+        final String flightKey = collection + ':' + key;
+        final CompletableFuture<Object> flight = new CompletableFuture<>();
+        final CompletableFuture<Object> inFlight = getFlights().putIfAbsent(flightKey, flight);
+        if (Objects.isNull(inFlight)) {
+            count(collection, "leader");
+            try {
+                final T value = loader.get();
+                flight.complete(value);
+                return value;
+            } catch (RuntimeException | Error ex) {
+                flight.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                getFlights().remove(flightKey, flight);
+            }
+        }
+        count(collection, "coalesced");
+        try {
+            return (T) inFlight.get(getCoalescerConfigProperties().getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new ServiceException("Failed in-flight request: " + flightKey, ex.getCause());
+        } catch (TimeoutException ex) {
+            count(collection, "timeout");
+            log.debug("Timed out waiting for in-flight request: {}, querying on its own", flightKey);
+            return loader.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while waiting for in-flight request: " + flightKey, ex);
+        }
+    }
+
+    private void count(final String collection, final String outcome) {
+        getMeterRegistry().counter(METRICS_PREFIX + ".requests", "collection", collection, "outcome", outcome).increment();
+    }
+}
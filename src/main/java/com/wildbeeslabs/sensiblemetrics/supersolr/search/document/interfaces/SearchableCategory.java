@@ -45,6 +45,7 @@ public interface SearchableCategory extends Serializable {
     String ID_FIELD_NAME = "id";
     String INDEX_FIELD_NAME = "index";
     String TITLE_FIELD_NAME = "title";
+    String TITLE_SUGGEST_FIELD_NAME = "title_suggest";
     String DESCRIPTION_FIELD_NAME = "description";
     String CATEGORY_FIELD_NAME = "category";
     String PRODUCTS_FIELD_NAME = "products";
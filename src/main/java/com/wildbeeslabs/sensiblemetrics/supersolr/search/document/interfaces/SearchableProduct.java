@@ -44,6 +44,7 @@ public interface SearchableProduct extends Serializable {
      */
     String ID_FIELD_NAME = "id";
     String NAME_FIELD_NAME = "name";
+    String NAME_SUGGEST_FIELD_NAME = "name_suggest";
     String SHORT_DESCRIPTION_FIELD_NAME = "shortDescription";
     String LONG_DESCRIPTION_FIELD_NAME = "longDescription";
     String PRICE_DESCRIPTION_FIELD_NAME = "priceDescription";
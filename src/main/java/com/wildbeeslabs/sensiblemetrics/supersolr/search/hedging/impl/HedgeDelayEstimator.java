@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.HedgingConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hedge delay estimator
+ *
+ * <p>Read latencies are recorded into an HdrHistogram {@link Recorder}. On every refresh the recorded interval
+ * is accumulated until the configured number of samples is reached, then the hedge delay is set to the configured
+ * percentile of the accumulated latencies (bounded by the minimum and maximum delay) and accumulation starts over,
+ * so the delay follows the current latency distribution of the replicas.</p>
+ */
+@Getter(AccessLevel.PROTECTED)
+public class HedgeDelayEstimator {
+
+    private final HedgingConfigProperties hedgingConfigProperties;
+    private final Recorder recorder = new Recorder(2);
+    private final Histogram accumulated = new Histogram(2);
+    private Histogram interval;
+    private volatile long delayNanos;
+
+    public HedgeDelayEstimator(final HedgingConfigProperties hedgingConfigProperties) {
+        this.hedgingConfigProperties = hedgingConfigProperties;
+        this.delayNanos = hedgingConfigProperties.getInitialDelay().toNanos();
+    }
+
+    /**
+     * Records input read latency
+     *
+     * @param durationNanos - initial input read latency in nanoseconds
+     */
+    public void record(long durationNanos) {
+        getRecorder().recordValue(Math.max(1L, TimeUnit.NANOSECONDS.toMicros(durationNanos)));
+    }
+
+    /**
+     * Recomputes hedge delay from the latencies recorded since the last recomputation
+     */
+    public synchronized void refresh() {
+        this.interval = getRecorder().getIntervalHistogram(this.interval);
+        getAccumulated().add(this.interval);
+        if (getAccumulated().getTotalCount() < getHedgingConfigProperties().getMinSamples()) {
+            return;
+        }
+        final long delay = TimeUnit.MICROSECONDS.toNanos(getAccumulated().getValueAtPercentile(getHedgingConfigProperties().getPercentile() * 100.0));
+        this.delayNanos = Math.min(getHedgingConfigProperties().getMaxDelay().toNanos(), Math.max(getHedgingConfigProperties().getMinDelay().toNanos(), delay));
+        getAccumulated().reset();
+    }
+
+    /**
+     * Returns current hedge delay in nanoseconds
+     *
+     * @return hedge delay in nanoseconds
+     */
+    public long getDelayNanos() {
+        return this.delayNanos;
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.iface.ReplicaSelector;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.HedgingConfigProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hedging {@link SolrClient} over several solr replicas
+ *
+ * <p>Queries ({@link QueryRequest}) go to a replica picked by the {@link ReplicaSelector}. If no response arrives
+ * within the hedge delay (a high percentile of recent read latencies), the same query is sent to another replica
+ * and the first successful response wins; the slower request is left to complete so its latency still updates the
+ * replica statistics. A failed first attempt is retried on another replica at once, and the failed replica is
+ * charged at least the maximum hedge delay so a replica that fails fast is not mistaken for a fast one (client
+ * errors are not charged). Every other request (updates, commits, admin requests) is sent to the first configured
+ * replica only.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class HedgingSolrClient extends SolrClient {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.hedging";
+
+    private final List<SolrReplica> replicas;
+    private final ReplicaSelector replicaSelector;
+    private final HedgingConfigProperties hedgingConfigProperties;
+    private final HedgeDelayEstimator hedgeDelayEstimator;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService scheduler;
+    private final Counter hedgeCounter;
+    private final Counter firstWinCounter;
+    private final Counter hedgeWinCounter;
+    private final Counter failoverCounter;
+
+    public HedgingSolrClient(final List<SolrReplica> replicas,
+                             final ReplicaSelector replicaSelector,
+                             final HedgingConfigProperties hedgingConfigProperties,
+                             final MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("ERROR: no solr replicas configured");
+        }
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+        this.replicaSelector = replicaSelector;
+        this.hedgingConfigProperties = hedgingConfigProperties;
+        this.hedgeDelayEstimator = new HedgeDelayEstimator(hedgingConfigProperties);
+        final AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(0, hedgingConfigProperties.getMaxThreads(), 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "solr-hedging-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "solr-hedging-delay");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long refreshInterval = hedgingConfigProperties.getRefreshInterval().toNanos();
+        this.scheduler.scheduleAtFixedRate(this.hedgeDelayEstimator::refresh, refreshInterval, refreshInterval, TimeUnit.NANOSECONDS);
+
+        this.hedgeCounter = Counter.builder(METRICS_PREFIX + ".hedges")
+            .description("Number of hedged solr queries sent to a second replica")
+            .register(meterRegistry);
+        this.firstWinCounter = winCounter(meterRegistry, "first");
+        this.hedgeWinCounter = winCounter(meterRegistry, "hedge");
+        this.failoverCounter = winCounter(meterRegistry, "failover");
+        TimeGauge.builder(METRICS_PREFIX + ".delay", this.hedgeDelayEstimator, TimeUnit.NANOSECONDS, HedgeDelayEstimator::getDelayNanos)
+            .description("Current delay before a solr query is hedged")
+            .register(meterRegistry);
+        for (final SolrReplica replica : this.replicas) {
+            TimeGauge.builder(METRICS_PREFIX + ".replica.latency", replica, TimeUnit.NANOSECONDS, SolrReplica::getLatencyNanos)
+                .description("Moving average of solr replica query latency")
+                .tag("replica", replica.getUrl())
+                .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException, IOException {
+        if (!(request instanceof QueryRequest)) {
+            return getPrimary().getClient().request(request, collection);
+        }
+        final SolrReplica first = getReplicaSelector().select(getReplicas(), null);
+        if (!getHedgingConfigProperties().isEnabled() || getReplicas().size() < 2) {
+            return execute(first, request, collection);
+        }
+        final CompletableFuture<NamedList<Object>> firstAttempt = submit(first, request, collection);
+        try {
+            final NamedList<Object> response = firstAttempt.get(getHedgeDelayEstimator().getDelayNanos(), TimeUnit.NANOSECONDS);
+            getFirstWinCounter().increment();
+            return response;
+        } catch (TimeoutException ex) {
+            log.debug("Hedging solr query: {}, replica: {}", request.getParams(), first);
+        } catch (ExecutionException ex) {
+            if (!isReplicaFailure(ex.getCause())) {
+                throw rethrow(ex.getCause());
+            }
+            log.warn("Cannot query solr replica: {}, failing over, message: {}", first, ex.getCause().getMessage());
+            final NamedList<Object> response = execute(getReplicaSelector().select(getReplicas(), first), request, collection);
+            getFailoverCounter().increment();
+            return response;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SolrServerException(ex);
+        }
+        getHedgeCounter().increment();
+        final CompletableFuture<NamedList<Object>> hedgeAttempt = submit(getReplicaSelector().select(getReplicas(), first), request, collection);
+        return await(firstAttempt, hedgeAttempt);
+    }
+
+    @Override
+    public DocumentObjectBinder getBinder() {
+        return getPrimary().getClient().getBinder();
+    }
+
+    @Override
+    public void close() throws IOException {
+        getScheduler().shutdownNow();
+        getExecutor().shutdown();
+        for (final SolrReplica replica : getReplicas()) {
+            replica.getClient().close();
+        }
+    }
+
+    protected SolrReplica getPrimary() {
+        return getReplicas().get(0);
+    }
+
+    private NamedList<Object> execute(final SolrReplica replica, final SolrRequest request, final String collection) throws SolrServerException, IOException {
+        replica.start();
+        final long start = System.nanoTime();
+        boolean failed = false;
+        try {
+            final NamedList<Object> response = replica.getClient().request(request, collection);
+            getHedgeDelayEstimator().record(System.nanoTime() - start);
+            return response;
+        } catch (SolrServerException | IOException | RuntimeException ex) {
+            failed = isReplicaFailure(ex);
+            throw ex;
+        } finally {
+            final long duration = System.nanoTime() - start;
+            replica.complete(failed ? Math.max(duration, getHedgingConfigProperties().getMaxDelay().toNanos()) : duration);
+        }
+    }
+
+    private boolean isReplicaFailure(final Throwable ex) {
+        if (ex instanceof SolrException) {
+            final int code = ((SolrException) ex).code();
+            return code < 400 || code >= 500;
+        }
+        return true;
+    }
+
+    private CompletableFuture<NamedList<Object>> submit(final SolrReplica replica, final SolrRequest request, final String collection) {
+        final CompletableFuture<NamedList<Object>> future = new CompletableFuture<>();
+        try {
+            getExecutor().execute(() -> {
+                try {
+                    future.complete(execute(replica, request, collection));
+                } catch (Throwable ex) {
+                    future.completeExceptionally(ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+        return future;
+    }
+
+    private NamedList<Object> await(final CompletableFuture<NamedList<Object>> firstAttempt,
+                                    final CompletableFuture<NamedList<Object>> hedgeAttempt) throws SolrServerException, IOException {
+        final CompletableFuture<NamedList<Object>> result = new CompletableFuture<>();
+        final AtomicInteger remaining = new AtomicInteger(2);
+        firstAttempt.whenComplete((response, ex) -> complete(result, remaining, response, ex, getFirstWinCounter()));
+        hedgeAttempt.whenComplete((response, ex) -> complete(result, remaining, response, ex, getHedgeWinCounter()));
+        try {
+            return result.get();
+        } catch (ExecutionException ex) {
+            throw rethrow(ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SolrServerException(ex);
+        }
+    }
+
+    private SolrServerException rethrow(final Throwable cause) throws IOException {
+        if (cause instanceof SolrServerException) {
+            return (SolrServerException) cause;
+        } else if (cause instanceof IOException) {
+            throw (IOException) cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        } else if (cause instanceof Error) {
+            throw (Error) cause;
+        }
+        return new SolrServerException(cause);
+    }
+
+    private void complete(final CompletableFuture<NamedList<Object>> result, final AtomicInteger remaining,
+                          final NamedList<Object> response, final Throwable ex, final Counter winCounter) {
+        if (ex == null) {
+            if (result.complete(response)) {
+                winCounter.increment();
+            }
+        } else if (!isReplicaFailure(ex) || remaining.decrementAndGet() == 0) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private Counter winCounter(final MeterRegistry meterRegistry, final String attempt) {
+        return Counter.builder(METRICS_PREFIX + ".responses")
+            .description("Number of solr queries answered per attempt")
+            .tag("attempt", attempt)
+            .register(meterRegistry);
+    }
+}
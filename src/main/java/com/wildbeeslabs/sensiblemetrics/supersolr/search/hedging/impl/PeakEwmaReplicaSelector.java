@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.iface.ReplicaSelector;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Peak EWMA power of two choices {@link ReplicaSelector} implementation
+ *
+ * <p>Two random replicas are compared by their latency moving average weighted with in-flight requests and the
+ * less loaded one is taken, which avoids slow replicas without herding all requests onto the fastest one.</p>
+ */
+public class PeakEwmaReplicaSelector implements ReplicaSelector {
+
+    @Override
+    public SolrReplica select(final List<SolrReplica> replicas, final SolrReplica excluded) {
+        final int excludedIndex = replicas.indexOf(excluded);
+        final int size = excludedIndex < 0 ? replicas.size() : replicas.size() - 1;
+        if (size <= 0) {
+            return excluded;
+        }
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int firstIndex = random.nextInt(size);
+        final SolrReplica first = replicas.get(skip(firstIndex, excludedIndex));
+        if (size == 1) {
+            return first;
+        }
+        final int secondIndex = (firstIndex + 1 + random.nextInt(size - 1)) % size;
+        final SolrReplica second = replicas.get(skip(secondIndex, excludedIndex));
+        return first.getScore() <= second.getScore() ? first : second;
+    }
+
+    private int skip(int index, int excludedIndex) {
+        return excludedIndex >= 0 && index >= excludedIndex ? index + 1 : index;
+    }
+}
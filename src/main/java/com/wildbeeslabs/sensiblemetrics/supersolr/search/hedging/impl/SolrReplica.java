@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import org.apache.solr.client.solrj.SolrClient;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Solr replica with peak-sensitive moving average of its request latency
+ *
+ * <p>Latencies above the average replace it at once, lower ones decay it exponentially over the configured
+ * period, so a replica stalled by a gc pause or segment merge is avoided immediately and taken back gradually.</p>
+ */
+@Getter
+@ToString(of = "url")
+public class SolrReplica {
+
+    private final String url;
+    private final SolrClient client;
+    private final long decayNanos;
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private double latencyNanos;
+    private long updatedNanos;
+
+    public SolrReplica(@NonNull final String url, @NonNull final SolrClient client, long decayNanos) {
+        this.url = url;
+        this.client = client;
+        this.decayNanos = decayNanos;
+        this.updatedNanos = System.nanoTime();
+    }
+
+    /**
+     * Registers request sent to the replica
+     */
+    public void start() {
+        this.inflight.incrementAndGet();
+    }
+
+    /**
+     * Registers request completed by the replica after the input duration
+     *
+     * @param durationNanos - initial input request duration in nanoseconds
+     */
+    public synchronized void complete(long durationNanos) {
+        this.inflight.decrementAndGet();
+        final long now = System.nanoTime();
+        if (durationNanos > this.latencyNanos) {
+            this.latencyNanos = durationNanos;
+        } else {
+            final double weight = Math.exp(-(double) Math.max(0L, now - this.updatedNanos) / this.decayNanos);
+            this.latencyNanos = this.latencyNanos * weight + durationNanos * (1.0 - weight);
+        }
+        this.updatedNanos = now;
+    }
+
+    /**
+     * Returns latency moving average in nanoseconds
+     *
+     * @return latency moving average in nanoseconds
+     */
+    public synchronized double getLatencyNanos() {
+        return this.latencyNanos;
+    }
+
+    /**
+     * Returns replica load score (expected latency of a new request queued behind the in-flight ones)
+     *
+     * @return replica load score
+     */
+    public double getScore() {
+        return getLatencyNanos() * (this.inflight.get() + 1);
+    }
+}
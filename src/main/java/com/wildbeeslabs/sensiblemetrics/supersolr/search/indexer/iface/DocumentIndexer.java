@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface;
+
+import java.util.Collection;
+
+/**
+ * Document indexer declaration
+ */
+public interface DocumentIndexer {
+
+    /**
+     * Default indexer ID
+     */
+    String INDEXER_ID = "DocumentIndexer";
+
+    /**
+     * Enqueues document (or partial update) to be added to collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param document   - initial input document to be added
+     */
+    void add(final String collection, final Object document);
+
+    /**
+     * Enqueues collection of documents {@link Collection} to be added to collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param documents  - initial input collection of documents to be added {@link Collection}
+     */
+    void addAll(final String collection, final Collection<?> documents);
+
+    /**
+     * Enqueues collection of document identifiers {@link Collection} to be deleted from collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param ids        - initial input collection of document identifiers {@link Collection}
+     */
+    void deleteByIds(final String collection, final Collection<String> ids);
+
+    /**
+     * Enqueues query {@link String} which matched documents should be deleted from collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param query      - initial input delete query {@link String}
+     */
+    void deleteByQuery(final String collection, final String query);
+
+    /**
+     * Sends all pending operations to solr in the calling thread
+     */
+    void flush();
+
+    /**
+     * Starts recording operations sent to input collection {@link String}, so they can be replayed on its rebuilt collection
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    void record(final String collection);
+
+    /**
+     * Replays operations recorded for input collection {@link String} on target collection {@link String} and runs
+     * input action {@link Runnable} before any further operation is sent, recording is stopped afterwards
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param target     - initial input target collection name {@link String}
+     * @param action     - initial input action {@link Runnable} to run once the target collection caught up
+     */
+    void replay(final String collection, final String target, final Runnable action);
+
+    /**
+     * Stops recording operations sent to input collection {@link String} without replaying them
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    void discard(final String collection);
+
+    /**
+     * Returns number of pending operations
+     *
+     * @return number of pending operations
+     */
+    int getQueueDepth();
+}
@@ -0,0 +1,455 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface.DocumentIndexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.IndexingConfigProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.common.SolrException;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind {@link DocumentIndexer} implementation
+ *
+ * <p>Operations are queued in memory and sent to solr as batched add / delete requests
+ * once either the configured batch size or the flush interval is reached. Visibility is
+ * controlled by commit within period or soft commits, no hard commits are issued.</p>
+ *
+ * <p>Cached search results of a collection are invalidated once its operations are visible,
+ * and once more after the commit within period when solr makes them visible later.</p>
+ *
+ * <p>A failed batch is kept ahead of the queue and resent with exponential backoff, newer operations
+ * wait behind it to keep submission order. Operations are dropped only once the retry attempts are
+ * exhausted or solr rejects the request itself (4xx), delivery is at-least-once.</p>
+ *
+ * <p>Operations sent to a collection being rebuilt are recorded and replayed on the rebuilt collection
+ * right before it replaces the live one, so writes accepted during the rebuild are not lost.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(DocumentIndexer.INDEXER_ID)
+public class WriteBehindDocumentIndexer implements DocumentIndexer {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.indexing";
+
+    private final SolrTemplate solrTemplate;
+    private final IndexingConfigProperties indexingConfigProperties;
+    private final SearchResultCache searchResultCache;
+    private final MeterRegistry meterRegistry;
+
+    private final Lock flushLock = new ReentrantLock();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean(false);
+
+    private final Deque<IndexOperation> retries = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Default operations sent to collections being rebuilt, guarded by the flush lock
+     */
+    private final Map<String, List<IndexOperation>> records = new ConcurrentHashMap<>();
+    private final Set<String> overflows = ConcurrentHashMap.newKeySet();
+
+    private BlockingQueue<IndexOperation> queue;
+    private int retryAttempt;
+    private long retryAt;
+    private ScheduledExecutorService scheduler;
+
+    private Timer flushTimer;
+    private Counter flushedCounter;
+    private Counter failedCounter;
+    private Counter retriedCounter;
+    private Counter backPressureCounter;
+
+    @PostConstruct
+    public void initialize() {
+        this.queue = new LinkedBlockingQueue<>(getIndexingConfigProperties().getQueueCapacity());
+        Gauge.builder(METRICS_PREFIX + ".queue.depth", this.queue, Collection::size)
+            .description("Number of pending write-behind operations")
+            .register(getMeterRegistry());
+        this.flushTimer = Timer.builder(METRICS_PREFIX + ".flush")
+            .description("Write-behind batch flush latency")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(getMeterRegistry());
+        this.flushedCounter = Counter.builder(METRICS_PREFIX + ".operations.flushed")
+            .description("Number of operations sent to solr")
+            .register(getMeterRegistry());
+        this.failedCounter = Counter.builder(METRICS_PREFIX + ".operations.failed")
+            .description("Number of operations dropped after solr rejected them or retries were exhausted")
+            .register(getMeterRegistry());
+        this.retriedCounter = Counter.builder(METRICS_PREFIX + ".operations.retried")
+            .description("Number of operations resent after a failed flush")
+            .register(getMeterRegistry());
+        this.backPressureCounter = Counter.builder(METRICS_PREFIX + ".backpressure")
+            .description("Number of times a producer had to flush because the queue was full")
+            .register(getMeterRegistry());
+
+        if (getIndexingConfigProperties().isEnabled()) {
+            final long interval = getIndexingConfigProperties().getFlushInterval().toMillis();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "solr-write-behind");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::flush, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        if (Objects.nonNull(getScheduler())) {
+            getScheduler().shutdown();
+            getScheduler().awaitTermination(getIndexingConfigProperties().getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+        flush(true);
+        if (!getRetries().isEmpty() || !getQueue().isEmpty()) {
+            log.error("ERROR: {} write-behind operations were not sent to solr before shutdown", getRetries().size() + getQueue().size());
+        }
+    }
+
+    @Override
+    public void add(final String collection, final Object document) {
+        enqueue(IndexOperation.add(collection, document));
+    }
+
+    @Override
+    public void addAll(final String collection, final Collection<?> documents) {
+        documents.forEach(document -> add(collection, document));
+    }
+
+    @Override
+    public void deleteByIds(final String collection, final Collection<String> ids) {
+        if (!ids.isEmpty()) {
+            enqueue(IndexOperation.deleteByIds(collection, new ArrayList<>(ids)));
+        }
+    }
+
+    @Override
+    public void deleteByQuery(final String collection, final String query) {
+        enqueue(IndexOperation.deleteByQuery(collection, query));
+    }
+
+    @Override
+    public void flush() {
+        flush(false);
+    }
+
+    /**
+     * Sends pending operations, starting with the failed batch if any
+     *
+     * @param force - initial input flag to resend the failed batch before its backoff has elapsed
+     */
+    protected void flush(final boolean force) {
+        final List<IndexOperation> batch = new ArrayList<>(getIndexingConfigProperties().getBatchSize());
+        getFlushLock().lock();
+        try {
+            if (!getRetries().isEmpty()) {
+                if (!force && System.nanoTime() - getRetryAt() < 0) {
+                    return;
+                }
+                batch.addAll(getRetries());
+                getRetries().clear();
+            }
+            while (!batch.isEmpty() || getQueue().drainTo(batch, getIndexingConfigProperties().getBatchSize()) > 0) {
+                final long start = System.nanoTime();
+                try {
+                    execute(batch);
+                    getFlushedCounter().increment(batch.size());
+                    this.retryAttempt = 0;
+                } catch (RuntimeException ex) {
+                    if (retry(batch, ex)) {
+                        return;
+                    }
+                } finally {
+                    getFlushTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    batch.clear();
+                }
+            }
+        } finally {
+            getFlushLock().unlock();
+        }
+    }
+
+    @Override
+    public void record(final String collection) {
+        getFlushLock().lock();
+        try {
+            getOverflows().remove(collection);
+            getRecords().putIfAbsent(collection, new ArrayList<>());
+        } finally {
+            getFlushLock().unlock();
+        }
+    }
+
+    @Override
+    public void replay(final String collection, final String target, final Runnable action) {
+        getFlushLock().lock();
+        try {
+            final List<IndexOperation> record = getRecords().remove(collection);
+            if (getOverflows().remove(collection)) {
+                throw new ServiceException(String.format("ERROR: more than %d operations were sent to collection %s during rebuild", getIndexingConfigProperties().getRecordCapacity(), collection));
+            }
+            if (Objects.nonNull(record) && !record.isEmpty()) {
+                execute(target, record);
+                log.info("Replayed {} write-behind operations of collection {} on collection {}", record.size(), collection, target);
+            }
+            action.run();
+        } finally {
+            getFlushLock().unlock();
+        }
+    }
+
+    @Override
+    public void discard(final String collection) {
+        getFlushLock().lock();
+        try {
+            getRecords().remove(collection);
+            getOverflows().remove(collection);
+        } finally {
+            getFlushLock().unlock();
+        }
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return getQueue().size() + getRetries().size();
+    }
+
+    /**
+     * Keeps failed batch for a later flush unless the retry attempts are exhausted or solr rejected the request
+     *
+     * @param batch - initial input list of failed operations {@link List}
+     * @param ex    - initial input failure {@link RuntimeException}
+     * @return true - if the batch is resent later, false - if its operations are dropped
+     */
+    protected boolean retry(final List<IndexOperation> batch, final RuntimeException ex) {
+        if (!isRetryable(ex) || this.retryAttempt >= getIndexingConfigProperties().getRetryAttempts()) {
+            getFailedCounter().increment(batch.size());
+            log.error("ERROR: cannot flush write-behind batch of {} operations after {} attempts, operations are dropped", batch.size(), this.retryAttempt + 1, ex);
+            this.retryAttempt = 0;
+            return false;
+        }
+        final long backoff = getRetryBackoff(this.retryAttempt++).toNanos();
+        getRetries().addAll(batch);
+        this.retryAt = System.nanoTime() + backoff;
+        getRetriedCounter().increment(batch.size());
+        log.warn("Cannot flush write-behind batch of {} operations, resending in {} ms [attempt={}]: {}", batch.size(), TimeUnit.NANOSECONDS.toMillis(backoff), this.retryAttempt, ex.getMessage());
+        return true;
+    }
+
+    /**
+     * Returns flag whether a failed flush may succeed when resent (solr rejecting the request itself does not)
+     *
+     * @param ex - initial input failure {@link Throwable}
+     * @return true - if the failure is transient, false - otherwise
+     */
+    protected boolean isRetryable(final Throwable ex) {
+        for (Throwable cause = ex; Objects.nonNull(cause); cause = cause.getCause()) {
+            if (cause instanceof SolrException) {
+                final int code = ((SolrException) cause).code();
+                return code < 400 || code >= 500;
+            }
+        }
+        return true;
+    }
+
+    private Duration getRetryBackoff(int attempt) {
+        final Duration backoff = getIndexingConfigProperties().getRetryBackoff().multipliedBy(1L << Math.min(attempt, 20));
+        return backoff.compareTo(getIndexingConfigProperties().getMaxRetryBackoff()) > 0 ? getIndexingConfigProperties().getMaxRetryBackoff() : backoff;
+    }
+
+    protected void enqueue(final IndexOperation operation) {
+        if (!getIndexingConfigProperties().isEnabled()) {
+            getFlushLock().lock();
+            try {
+                execute(Collections.singletonList(operation));
+            } finally {
+                getFlushLock().unlock();
+            }
+            getSolrTemplate().commit(operation.getCollection());
+            getSearchResultCache().invalidate(operation.getCollection());
+            return;
+        }
+        try {
+            if (!getQueue().offer(operation, getIndexingConfigProperties().getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+                getBackPressureCounter().increment();
+                log.warn("Write-behind queue is full, flushing in caller thread: {}", Thread.currentThread().getName());
+                flush();
+                getQueue().put(operation);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while enqueuing write-behind operation", ex);
+        }
+        if (getQueue().size() >= getIndexingConfigProperties().getBatchSize() && getFlushScheduled().compareAndSet(false, true)) {
+            getScheduler().execute(() -> {
+                getFlushScheduled().set(false);
+                flush();
+            });
+        }
+    }
+
+    protected void execute(final List<IndexOperation> operations) {
+        final Map<String, List<IndexOperation>> operationsByCollection = operations
+            .stream()
+            .collect(Collectors.groupingBy(IndexOperation::getCollection, LinkedHashMap::new, Collectors.toList()));
+        operationsByCollection.forEach((collection, collectionOperations) -> {
+            execute(collection, collectionOperations);
+            record(collection, collectionOperations);
+        });
+    }
+
+    /**
+     * Records sent operations if input collection is being rebuilt, recording overflows once its capacity is exceeded
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param operations - initial input list of sent operations {@link List}
+     */
+    protected void record(final String collection, final List<IndexOperation> operations) {
+        final List<IndexOperation> record = getRecords().get(collection);
+        if (Objects.isNull(record)) {
+            return;
+        }
+        if (record.size() + operations.size() > getIndexingConfigProperties().getRecordCapacity()) {
+            getRecords().remove(collection);
+            getOverflows().add(collection);
+            log.error("ERROR: cannot record more than {} write-behind operations of collection {}, its rebuild cannot be published", getIndexingConfigProperties().getRecordCapacity(), collection);
+            return;
+        }
+        record.addAll(operations);
+    }
+
+    /**
+     * Sends collection operations as consecutive runs of the same type to keep submission order
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param operations - initial input list of ordered operations {@link List}
+     */
+    protected void execute(final String collection, final List<IndexOperation> operations) {
+        final List<IndexOperation> run = new ArrayList<>();
+        for (final IndexOperation operation : operations) {
+            if (!run.isEmpty() && run.get(0).getType() != operation.getType()) {
+                send(collection, run);
+                run.clear();
+            }
+            run.add(operation);
+        }
+        send(collection, run);
+        if (getIndexingConfigProperties().isEnabled()) {
+            if (getIndexingConfigProperties().isSoftCommit()) {
+                getSolrTemplate().softCommit(collection);
+            }
+            getSearchResultCache().invalidate(collection);
+            final long commitWithin = getCommitWithin().toMillis();
+            if (commitWithin > 0 && Objects.nonNull(getScheduler()) && !getScheduler().isShutdown()) {
+                getScheduler().schedule(() -> getSearchResultCache().invalidate(collection), commitWithin, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    protected void send(final String collection, final List<IndexOperation> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+        final int commitWithin = (int) getCommitWithin().toMillis();
+        switch (run.get(0).getType()) {
+            case ADD:
+                getSolrTemplate().saveBeans(collection, run.stream().map(IndexOperation::getDocument).collect(Collectors.toList()), getCommitWithin());
+                break;
+            case DELETE_BY_ID:
+                final List<String> ids = run.stream().flatMap(operation -> operation.getIds().stream()).collect(Collectors.toList());
+                getSolrTemplate().execute(solrClient -> solrClient.deleteById(collection, ids, commitWithin > 0 ? commitWithin : -1));
+                break;
+            case DELETE_BY_QUERY:
+                run.forEach(operation -> getSolrTemplate().execute(solrClient -> solrClient.deleteByQuery(collection, operation.getQuery(), commitWithin > 0 ? commitWithin : -1)));
+                break;
+            default:
+                throw new IllegalStateException("Unsupported operation type: " + run.get(0).getType());
+        }
+    }
+
+    private Duration getCommitWithin() {
+        if (!getIndexingConfigProperties().isEnabled() || getIndexingConfigProperties().isSoftCommit()) {
+            return Duration.ZERO;
+        }
+        return getIndexingConfigProperties().getCommitWithin();
+    }
+
+    /**
+     * Queued index operation
+     */
+    @Value
+    protected static class IndexOperation {
+
+        /**
+         * Index operation type
+         */
+        enum Type {
+            ADD,
+            DELETE_BY_ID,
+            DELETE_BY_QUERY
+        }
+
+        private final Type type;
+        private final String collection;
+        private final Object document;
+        private final List<String> ids;
+        private final String query;
+
+        static IndexOperation add(final String collection, final Object document) {
+            return new IndexOperation(Type.ADD, collection, document, null, null);
+        }
+
+        static IndexOperation deleteByIds(final String collection, final List<String> ids) {
+            return new IndexOperation(Type.DELETE_BY_ID, collection, null, ids, null);
+        }
+
+        static IndexOperation deleteByQuery(final String collection, final String query) {
+            return new IndexOperation(Type.DELETE_BY_QUERY, collection, null, null, query);
+        }
+    }
+}
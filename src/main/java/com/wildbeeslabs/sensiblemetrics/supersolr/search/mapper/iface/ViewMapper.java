@@ -0,0 +1,63 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.iface;
+
+/**
+ * Compiled document to view mapper declaration
+ *
+ * @param <S> type of source document
+ * @param <D> type of target view
+ */
+public interface ViewMapper<S, D> {
+
+    /**
+     * Returns source class {@link Class}
+     *
+     * @return source class {@link Class}
+     */
+    Class<S> getSourceClass();
+
+    /**
+     * Returns target class {@link Class}
+     *
+     * @return target class {@link Class}
+     */
+    Class<D> getTargetClass();
+
+    /**
+     * Returns new target view mapped from input source document
+     *
+     * @param source - initial input source document
+     * @return new target view
+     */
+    D map(final S source);
+
+    /**
+     * Maps input source document onto existing target view skipping null source values
+     *
+     * @param source - initial input source document
+     * @param target - initial input target view
+     */
+    void map(final S source, final D target);
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.AuditDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.iface.ViewMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.AuditDocumentView;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Abstract {@link ViewMapper} implementation built on plain accessor calls
+ *
+ * <p>Follows the {@link com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils} model mapper settings:
+ * null source values are skipped and properties are matched by name and type only.</p>
+ *
+ * @param <S> type of source document
+ * @param <D> type of target view
+ */
+@RequiredArgsConstructor
+public abstract class AbstractViewMapper<S, D> implements ViewMapper<S, D> {
+
+    @Getter
+    private final Class<S> sourceClass;
+    @Getter
+    private final Class<D> targetClass;
+    @Getter(AccessLevel.PROTECTED)
+    private final Supplier<D> targetFactory;
+
+    @Override
+    public D map(final S source) {
+        final D target = getTargetFactory().get();
+        map(source, target);
+        return target;
+    }
+
+    @Override
+    public void map(final S source, final D target) {
+        mapProperties(source, target);
+    }
+
+    /**
+     * Maps scalar properties of input source document onto target view
+     *
+     * @param source - initial input source document
+     * @param target - initial input target view
+     */
+    protected abstract void mapProperties(final S source, final D target);
+
+    protected static <T> void set(final T value, final Consumer<? super T> setter) {
+        if (Objects.nonNull(value)) {
+            setter.accept(value);
+        }
+    }
+
+    protected static void mapAudit(final AuditDocument source, final AuditDocumentView target) {
+        set(source.getCreated(), target::setCreated);
+        set(source.getCreatedBy(), target::setCreatedBy);
+        set(source.getChanged(), target::setChanged);
+        set(source.getChangedBy(), target::setChangedBy);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Attribute;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.AttributeView;
+
+/**
+ * {@link Attribute} to {@link AttributeView} mapper implementation
+ *
+ * <p>Attribute products are persistence models rather than search documents and are not mapped.</p>
+ */
+public class AttributeViewMapper extends AbstractViewMapper<Attribute, AttributeView> {
+
+    public AttributeViewMapper() {
+        super(Attribute.class, AttributeView.class, AttributeView::new);
+    }
+
+    @Override
+    protected void mapProperties(final Attribute source, final AttributeView target) {
+        set(source.getCreated(), target::setCreated);
+        set(source.getCreatedBy(), target::setCreatedBy);
+        set(source.getChanged(), target::setChanged);
+        set(source.getChangedBy(), target::setChangedBy);
+        set(source.getId(), target::setId);
+        set(source.getName(), target::setName);
+        set(source.getName2(), target::setName2);
+        set(source.getDescriptionText(), target::setDescriptionText);
+        set(source.getKeywords(), target::setKeywords);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.CategoryView;
+
+/**
+ * {@link Category} to {@link CategoryView} mapper implementation
+ *
+ * <p>Nested products are left empty as the model mapper left them (view collections have no setters).</p>
+ */
+public class CategoryViewMapper extends AbstractViewMapper<Category, CategoryView> {
+
+    public CategoryViewMapper() {
+        super(Category.class, CategoryView.class, CategoryView::new);
+    }
+
+    @Override
+    protected void mapProperties(final Category source, final CategoryView target) {
+        mapAudit(source, target);
+        set(source.getId(), target::setId);
+        target.setScore(source.getScore());
+        set(source.getIndex(), target::setIndex);
+        set(source.getTitle(), target::setTitle);
+        set(source.getDescription(), target::setDescription);
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.OrderView;
+
+/**
+ * {@link Order} to {@link OrderView} mapper implementation
+ */
+public class OrderViewMapper extends AbstractViewMapper<Order, OrderView> {
+
+    public OrderViewMapper() {
+        super(Order.class, OrderView.class, OrderView::new);
+    }
+
+    @Override
+    protected void mapProperties(final Order source, final OrderView target) {
+        mapAudit(source, target);
+        set(source.getId(), target::setId);
+        target.setScore(source.getScore());
+        set(source.getTitle(), target::setTitle);
+        set(source.getDescription(), target::setDescription);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+
+/**
+ * {@link Product} to {@link ProductView} mapper implementation
+ *
+ * <p>Nested categories, attributes and geo locations are left empty as the model mapper left them
+ * (view collections have no setters and geo types differ).</p>
+ */
+public class ProductViewMapper extends AbstractViewMapper<Product, ProductView> {
+
+    public ProductViewMapper() {
+        super(Product.class, ProductView.class, ProductView::new);
+    }
+
+    @Override
+    protected void mapProperties(final Product source, final ProductView target) {
+        mapAudit(source, target);
+        set(source.getId(), target::setId);
+        target.setScore(source.getScore());
+        set(source.getName(), target::setName);
+        set(source.getShortDescription(), target::setShortDescription);
+        set(source.getLongDescription(), target::setLongDescription);
+        set(source.getPriceDescription(), target::setPriceDescription);
+        set(source.getCatalogNumber(), target::setCatalogNumber);
+        set(source.getPageTitle(), target::setPageTitle);
+        target.setAvailable(source.isAvailable());
+        target.setPrice(source.getPrice());
+        target.setRecommendedPrice(source.getRecommendedPrice());
+        set(source.getRating(), target::setRating);
+        set(source.getAgeRestriction(), target::setAgeRestriction);
+        set(source.getLockType(), target::setLockType);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MergeActionType;
+import lombok.Value;
+
+/**
+ * Index merge advice for a collection
+ */
+@Value
+public class MergeAdvice {
+
+    /**
+     * Default collection name
+     */
+    private final String collection;
+    /**
+     * Default advised action {@link MergeActionType}
+     */
+    private final MergeActionType action;
+    /**
+     * Default maximum number of segments after a bounded merge
+     */
+    private final int maxSegments;
+    /**
+     * Default current number of segments
+     */
+    private final int segmentCount;
+    /**
+     * Default current ratio of deleted to all documents
+     */
+    private final double deletedRatio;
+    /**
+     * Default current index size in bytes (rewritten by a full optimize)
+     */
+    private final long totalBytes;
+    /**
+     * Default estimated number of bytes rewritten by the advised action
+     */
+    private final long rewrittenBytes;
+    /**
+     * Default advice reason
+     */
+    private final String reason;
+
+    /**
+     * Returns estimated number of bytes not rewritten compared to a full optimize
+     *
+     * @return estimated number of bytes avoided
+     */
+    public long getAvoidedBytes() {
+        return Math.max(0, this.totalBytes - this.rewrittenBytes);
+    }
+}
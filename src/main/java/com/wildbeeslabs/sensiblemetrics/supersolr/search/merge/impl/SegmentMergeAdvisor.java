@@ -0,0 +1,174 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MergeActionType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.iface.MergeAdvisor;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MergeConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.request.AbstractUpdateRequest;
+import org.apache.solr.client.solrj.request.GenericSolrRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.params.ModifiableSolrParams;
+import org.apache.solr.common.params.UpdateParams;
+import org.apache.solr.common.util.NamedList;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Segment aware {@link MergeAdvisor} implementation
+ *
+ * <p>Reads per segment document, deletion and size statistics through the segments admin handler and only
+ * merges when thresholds are crossed: deletes are expunged once their ratio exceeds the configured maximum,
+ * a bounded merge runs once there are too many segments. Rewritten bytes are estimated from segment sizes
+ * (segments above the expunge threshold, or the smallest segments folded into the target count) and
+ * compared to a full optimize, which rewrites the whole index.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(MergeAdvisor.ADVISOR_ID)
+public class SegmentMergeAdvisor implements MergeAdvisor {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.merge";
+    /**
+     * Default segments admin handler path
+     */
+    public static final String SEGMENTS_PATH = "/admin/segments";
+    /**
+     * Default ratio of deleted documents above which expunge deletes rewrites a segment (merge policy default)
+     */
+    private static final double EXPUNGE_DELETES_RATIO_ALLOWED = 0.1;
+
+    private final SolrTemplate solrTemplate;
+    private final MergeConfigProperties mergeConfigProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public MergeAdvice advise(final String collection) {
+        return advise(collection, getSegments(collection));
+    }
+
+    @Override
+    public MergeAdvice maintain(final String collection) {
+        final MergeAdvice advice = advise(collection);
+        if (getMergeConfigProperties().isEnabled()) {
+            switch (advice.getAction()) {
+                case EXPUNGE_DELETES:
+                    final UpdateRequest request = new UpdateRequest();
+                    request.setAction(AbstractUpdateRequest.ACTION.COMMIT, true, true);
+                    request.setParam(UpdateParams.EXPUNGE_DELETES, Boolean.TRUE.toString());
+                    getSolrTemplate().execute(solrClient -> request.process(solrClient, collection));
+                    break;
+                case MERGE:
+                    getSolrTemplate().execute(solrClient -> solrClient.optimize(collection, true, true, advice.getMaxSegments()));
+                    break;
+                default:
+                    break;
+            }
+        }
+        getMeterRegistry().counter(METRICS_PREFIX + ".runs", "collection", collection, "action", advice.getAction().name()).increment();
+        getMeterRegistry().counter(METRICS_PREFIX + ".bytes.rewritten", "collection", collection).increment(advice.getRewrittenBytes());
+        getMeterRegistry().counter(METRICS_PREFIX + ".bytes.avoided", "collection", collection).increment(advice.getAvoidedBytes());
+        log.info("Merge maintenance of collection {}: {} ({}), {} segments, {} bytes, ~{} bytes rewritten instead of a full optimize",
+            collection, advice.getAction(), advice.getReason(), advice.getSegmentCount(), advice.getTotalBytes(), advice.getRewrittenBytes());
+        return advice;
+    }
+
+    /**
+     * Returns merge advice {@link MergeAdvice} by input segment statistics
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param segments   - initial input list of segment statistics {@link List}
+     * @return merge advice {@link MergeAdvice}
+     */
+    public MergeAdvice advise(final String collection, final List<SegmentStats> segments) {
+        final int segmentCount = segments.size();
+        final long totalBytes = segments.stream().mapToLong(SegmentStats::getSizeInBytes).sum();
+        final long documentCount = segments.stream().mapToLong(SegmentStats::getDocumentCount).sum();
+        final long deletedCount = segments.stream().mapToLong(SegmentStats::getDeletedCount).sum();
+        final double deletedRatio = documentCount > 0 ? (double) deletedCount / documentCount : 0;
+
+        if (deletedRatio > getMergeConfigProperties().getMaxDeletedRatio()) {
+            final long rewrittenBytes = segments.stream()
+                .filter(segment -> segment.getDeletedRatio() > EXPUNGE_DELETES_RATIO_ALLOWED)
+                .mapToLong(SegmentStats::getSizeInBytes)
+                .sum();
+            return new MergeAdvice(collection, MergeActionType.EXPUNGE_DELETES, segmentCount, segmentCount, deletedRatio, totalBytes, rewrittenBytes,
+                String.format("deleted ratio %.3f above %.3f", deletedRatio, getMergeConfigProperties().getMaxDeletedRatio()));
+        }
+        final int targetSegmentCount = getMergeConfigProperties().getTargetSegmentCount();
+        if (segmentCount > getMergeConfigProperties().getMaxSegmentCount() && segmentCount > targetSegmentCount) {
+            final long rewrittenBytes = segments.stream()
+                .map(SegmentStats::getSizeInBytes)
+                .sorted(Comparator.naturalOrder())
+                .limit(segmentCount - targetSegmentCount + 1)
+                .mapToLong(Long::longValue)
+                .sum();
+            return new MergeAdvice(collection, MergeActionType.MERGE, targetSegmentCount, segmentCount, deletedRatio, totalBytes, rewrittenBytes,
+                String.format("%d segments above %d", segmentCount, getMergeConfigProperties().getMaxSegmentCount()));
+        }
+        return new MergeAdvice(collection, MergeActionType.NONE, segmentCount, segmentCount, deletedRatio, totalBytes, 0, "thresholds not crossed");
+    }
+
+    /**
+     * Returns list of segment statistics {@link SegmentStats} of input collection
+     *
+     * @param collection - initial input collection name {@link String}
+     * @return list of segment statistics {@link SegmentStats}
+     */
+    @SuppressWarnings("unchecked")
+    protected List<SegmentStats> getSegments(final String collection) {
+        final GenericSolrRequest request = new GenericSolrRequest(SolrRequest.METHOD.GET, SEGMENTS_PATH, new ModifiableSolrParams());
+        final NamedList<Object> response = getSolrTemplate().execute(solrClient -> request.process(solrClient, collection)).getResponse();
+        final NamedList<Object> segments = (NamedList<Object>) response.get("segments");
+        final List<SegmentStats> result = new ArrayList<>();
+        if (Objects.nonNull(segments)) {
+            for (final Map.Entry<String, Object> entry : segments) {
+                final NamedList<Object> segment = (NamedList<Object>) entry.getValue();
+                result.add(new SegmentStats(entry.getKey(), getLong(segment, "size"), getLong(segment, "delCount"), getLong(segment, "sizeInBytes")));
+            }
+        }
+        return result;
+    }
+
+    private static long getLong(final NamedList<Object> segment, final String name) {
+        final Object value = segment.get(name);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl;
+
+import lombok.Value;
+
+/**
+ * Index segment statistics as reported by the segments admin handler
+ */
+@Value
+public class SegmentStats {
+
+    /**
+     * Default segment name
+     */
+    private final String name;
+    /**
+     * Default number of documents including deleted ones
+     */
+    private final long documentCount;
+    /**
+     * Default number of deleted documents
+     */
+    private final long deletedCount;
+    /**
+     * Default segment size in bytes
+     */
+    private final long sizeInBytes;
+
+    /**
+     * Returns ratio of deleted to all documents of the segment
+     *
+     * @return ratio of deleted documents
+     */
+    public double getDeletedRatio() {
+        return this.documentCount > 0 ? (double) this.deletedCount / this.documentCount : 0;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface;
+
+/**
+ * Solr metrics recorder declaration
+ *
+ * <p>Latencies are recorded on three layers: repository methods, {@link org.springframework.data.solr.core.SolrTemplate}
+ * queries (including document binding) and raw client requests, the latter split into solr-reported {@code QTime}
+ * and the client-side remainder (network transfer and response parsing).</p>
+ */
+public interface SolrMetricsRecorder {
+
+    /**
+     * Default recorder ID
+     */
+    String RECORDER_ID = "solrMetricsRecorder";
+
+    /**
+     * Records search repository method call
+     *
+     * @param repository    - initial input repository name {@link String}
+     * @param method        - initial input repository method name {@link String}
+     * @param collection    - initial input collection name {@link String}
+     * @param durationNanos - initial input call duration in nanoseconds
+     * @param success       - initial input call outcome flag
+     */
+    void recordRepository(final String repository, final String method, final String collection, long durationNanos, boolean success);
+
+    /**
+     * Records solr template query call
+     *
+     * @param method        - initial input template method name {@link String}
+     * @param collection    - initial input collection name {@link String}
+     * @param durationNanos - initial input call duration in nanoseconds
+     * @param success       - initial input call outcome flag
+     */
+    void recordTemplate(final String method, final String collection, long durationNanos, boolean success);
+
+    /**
+     * Records solr client request
+     *
+     * @param collection    - initial input collection name {@link String}
+     * @param handler       - initial input request handler path {@link String}
+     * @param durationNanos - initial input round trip duration in nanoseconds
+     * @param qTimeMillis   - initial input solr-reported query time in milliseconds (negative if not reported)
+     * @param results       - initial input number of returned documents (negative if no documents are returned)
+     * @param success       - initial input request outcome flag
+     */
+    void recordRequest(final String collection, final String handler, long durationNanos, long qTimeMillis, long results, boolean success);
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Solr http connection pool {@link MeterBinder} implementation
+ *
+ * <p>Publishes total statistics of the pooled connection manager: leased connections close to the maximum
+ * together with pending requests mean queries are queueing for a connection rather than for solr.</p>
+ */
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class ConnectionPoolMetrics implements MeterBinder {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = MicrometerSolrMetricsRecorder.METRICS_PREFIX + ".pool";
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        gauge(registry, "leased", "Number of solr connections leased to requests", PoolStats::getLeased);
+        gauge(registry, "available", "Number of idle persistent solr connections", PoolStats::getAvailable);
+        gauge(registry, "pending", "Number of requests waiting for a solr connection", PoolStats::getPending);
+        gauge(registry, "max", "Maximum number of solr connections", PoolStats::getMax);
+    }
+
+    private void gauge(final MeterRegistry registry, final String name, final String description, final ToIntFunction<PoolStats> stats) {
+        Gauge.builder(METRICS_PREFIX + "." + name, getConnectionManager(), manager -> stats.applyAsInt(manager.getTotalStats()))
+            .description(description)
+            .register(registry);
+    }
+}
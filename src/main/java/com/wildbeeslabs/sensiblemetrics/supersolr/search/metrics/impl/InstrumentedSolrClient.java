@@ -0,0 +1,134 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface.SolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.beans.DocumentObjectBinder;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Instrumented {@link SolrClient} decorator
+ *
+ * <p>Every solr call of SolrJ ends up in {@link SolrClient#request(SolrRequest, String)}, so the decorator times
+ * the whole round trip (including response parsing), reads solr-reported {@code QTime} from the response header
+ * and counts the returned documents before handing the response back. Successful queries are passed on to the
+ * {@link QuerySampler} together with their final parameters.</p>
+ */
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class InstrumentedSolrClient extends SolrClient {
+
+    /**
+     * Default response header entry name
+     */
+    public static final String RESPONSE_HEADER = "responseHeader";
+    /**
+     * Default query time entry name
+     */
+    public static final String QUERY_TIME = "QTime";
+    /**
+     * Default response documents entry name
+     */
+    public static final String RESPONSE = "response";
+
+    private final SolrClient delegate;
+    private final SolrMetricsRecorder solrMetricsRecorder;
+    private final QuerySampler querySampler;
+
+    @Override
+    public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException, IOException {
+        final long start = System.nanoTime();
+        boolean success = false;
+        NamedList<Object> response = null;
+        try {
+            response = getDelegate().request(request, collection);
+            success = true;
+            return response;
+        } finally {
+            record(request, collection, System.nanoTime() - start, response, success);
+        }
+    }
+
+    /**
+     * Records round trip of input solr request {@link SolrRequest} completed outside of
+     * {@link #request(SolrRequest, String)} (e.g. by asynchronous transports)
+     *
+     * @param request       - initial input {@link SolrRequest}
+     * @param collection    - initial input collection name {@link String}
+     * @param durationNanos - initial input round trip duration (in nanoseconds)
+     * @param response      - initial input solr response {@link NamedList} (may be {@code null} on failure)
+     * @param success       - initial input success flag
+     */
+    public void record(final SolrRequest request, final String collection, long durationNanos, final NamedList<Object> response, boolean success) {
+        final long queryTime = getQueryTime(response);
+        getSolrMetricsRecorder().recordRequest(collection, request.getPath(), durationNanos, queryTime, getResults(response), success);
+        if (success && request instanceof QueryRequest) {
+            getQuerySampler().sample(collection, request.getParams(), durationNanos, queryTime, getNumFound(response));
+        }
+    }
+
+    @Override
+    public DocumentObjectBinder getBinder() {
+        return getDelegate().getBinder();
+    }
+
+    @Override
+    public void close() throws IOException {
+        getDelegate().close();
+    }
+
+    private long getQueryTime(final NamedList<Object> response) {
+        if (Objects.isNull(response) || !(response.get(RESPONSE_HEADER) instanceof NamedList)) {
+            return -1L;
+        }
+        final Object queryTime = ((NamedList<?>) response.get(RESPONSE_HEADER)).get(QUERY_TIME);
+        return queryTime instanceof Number ? ((Number) queryTime).longValue() : -1L;
+    }
+
+    private long getNumFound(final NamedList<Object> response) {
+        if (Objects.isNull(response) || !(response.get(RESPONSE) instanceof SolrDocumentList)) {
+            return -1L;
+        }
+        return ((SolrDocumentList) response.get(RESPONSE)).getNumFound();
+    }
+
+    private long getResults(final NamedList<Object> response) {
+        if (Objects.isNull(response) || !(response.get(RESPONSE) instanceof SolrDocumentList)) {
+            return -1L;
+        }
+        return ((SolrDocumentList) response.get(RESPONSE)).size();
+    }
+}
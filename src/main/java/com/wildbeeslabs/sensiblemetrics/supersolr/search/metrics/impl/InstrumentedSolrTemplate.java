@@ -0,0 +1,104 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface.SolrMetricsRecorder;
+import org.apache.solr.client.solrj.SolrClient;
+import org.springframework.data.solr.UncategorizedSolrException;
+import org.springframework.data.solr.core.RequestMethod;
+import org.springframework.data.solr.core.SolrCallback;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.FacetQuery;
+import org.springframework.data.solr.core.query.HighlightQuery;
+import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.result.FacetPage;
+import org.springframework.data.solr.core.query.result.HighlightPage;
+import org.springframework.data.solr.core.query.result.ScoredPage;
+
+import java.util.function.Supplier;
+
+/**
+ * Instrumented {@link SolrTemplate} implementation
+ *
+ * <p>Times page, highlight and facet queries per collection, the recorded latency covers the solr request
+ * and binding of response documents to entities (repository queries are executed through the template as well).</p>
+ */
+public class InstrumentedSolrTemplate extends SolrTemplate {
+
+    private final SolrMetricsRecorder solrMetricsRecorder;
+
+    public InstrumentedSolrTemplate(final SolrClient solrClient, final SolrMetricsRecorder solrMetricsRecorder) {
+        super(solrClient);
+        this.solrMetricsRecorder = solrMetricsRecorder;
+    }
+
+    @Override
+    public <T> ScoredPage<T> queryForPage(final String collection, final Query query, final Class<T> clazz) {
+        return record("queryForPage", collection, () -> super.queryForPage(collection, query, clazz));
+    }
+
+    @Override
+    public <T> ScoredPage<T> queryForPage(final String collection, final Query query, final Class<T> clazz, final RequestMethod method) {
+        return record("queryForPage", collection, () -> super.queryForPage(collection, query, clazz, method));
+    }
+
+    @Override
+    public <T> HighlightPage<T> queryForHighlightPage(final String collection, final HighlightQuery query, final Class<T> clazz, final RequestMethod method) {
+        return record("queryForHighlightPage", collection, () -> super.queryForHighlightPage(collection, query, clazz, method));
+    }
+
+    @Override
+    public <T> FacetPage<T> queryForFacetPage(final String collection, final FacetQuery query, final Class<T> clazz, final RequestMethod method) {
+        return record("queryForFacetPage", collection, () -> super.queryForFacetPage(collection, query, clazz, method));
+    }
+
+    /**
+     * Returns result of input callback {@link SolrCallback}, rejected requests are rethrown as they are instead of
+     * being wrapped into {@link UncategorizedSolrException}
+     */
+    @Override
+    public <T> T execute(final SolrCallback<T> action) {
+        try {
+            return super.execute(action);
+        } catch (UncategorizedSolrException ex) {
+            if (ex.getCause() instanceof ServiceUnavailableException) {
+                throw (ServiceUnavailableException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private <T> T record(final String method, final String collection, final Supplier<T> call) {
+        final long start = System.nanoTime();
+        boolean success = false;
+        try {
+            final T result = call.get();
+            success = true;
+            return result;
+        } finally {
+            this.solrMetricsRecorder.recordTemplate(method, collection, System.nanoTime() - start, success);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface.SolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MetricsConfigProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer {@link SolrMetricsRecorder} implementation
+ *
+ * <p>Timers publish the configured percentiles and percentile histogram, so latency distributions
+ * can be scraped through {@code /actuator/prometheus} and aggregated across instances.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(SolrMetricsRecorder.RECORDER_ID)
+public class MicrometerSolrMetricsRecorder implements SolrMetricsRecorder {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.solr";
+    /**
+     * Default tag value of requests without explicit collection
+     */
+    public static final String DEFAULT_COLLECTION_TAG = "default";
+
+    private final MetricsConfigProperties metricsConfigProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public void recordRepository(final String repository, final String method, final String collection, long durationNanos, boolean success) {
+        if (!getMetricsConfigProperties().isEnabled()) {
+            return;
+        }
+        timer(METRICS_PREFIX + ".repository", "Solr search repository method latency",
+            Tags.of("repository", repository, "method", method, "collection", getCollection(collection), "outcome", getOutcome(success)))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordTemplate(final String method, final String collection, long durationNanos, boolean success) {
+        if (!getMetricsConfigProperties().isEnabled()) {
+            return;
+        }
+        timer(METRICS_PREFIX + ".template", "Solr template query latency including document binding",
+            Tags.of("method", method, "collection", getCollection(collection), "outcome", getOutcome(success)))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRequest(final String collection, final String handler, long durationNanos, long qTimeMillis, long results, boolean success) {
+        if (!getMetricsConfigProperties().isEnabled()) {
+            return;
+        }
+        final Tags tags = Tags.of("collection", getCollection(collection), "handler", handler);
+        timer(METRICS_PREFIX + ".request", "Solr client request round trip latency", tags.and("outcome", getOutcome(success)))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+        if (qTimeMillis >= 0) {
+            final long qTimeNanos = TimeUnit.MILLISECONDS.toNanos(qTimeMillis);
+            timer(METRICS_PREFIX + ".qtime", "Solr-reported query time", tags)
+                .record(qTimeNanos, TimeUnit.NANOSECONDS);
+            timer(METRICS_PREFIX + ".client", "Client-side request time outside solr (network transfer and response parsing)", tags)
+                .record(Math.max(0L, durationNanos - qTimeNanos), TimeUnit.NANOSECONDS);
+        }
+        if (results >= 0) {
+            DistributionSummary.builder(METRICS_PREFIX + ".results")
+                .description("Number of documents returned per solr request")
+                .tags(tags)
+                .publishPercentiles(getPercentiles())
+                .register(getMeterRegistry())
+                .record(results);
+        }
+    }
+
+    private Timer timer(final String name, final String description, final Tags tags) {
+        return Timer.builder(name)
+            .description(description)
+            .tags(tags)
+            .publishPercentiles(getPercentiles())
+            .publishPercentileHistogram(getMetricsConfigProperties().isPercentileHistogram())
+            .register(getMeterRegistry());
+    }
+
+    private double[] getPercentiles() {
+        return getMetricsConfigProperties().getPercentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
+
+    private String getCollection(final String collection) {
+        return Objects.isNull(collection) ? DEFAULT_COLLECTION_TAG : collection;
+    }
+
+    private String getOutcome(boolean success) {
+        return success ? "success" : "error";
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface.SolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.BaseDocumentSearchRepository;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.solr.core.mapping.SolrDocument;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Search repository metrics {@link BeanPostProcessor} implementation
+ *
+ * <p>Wraps every {@link BaseDocumentSearchRepository} bean into a proxy timing its methods per repository,
+ * method and collection (resolved from the {@link SolrDocument} annotation of the repository document type).
+ * Asynchronous methods are timed until the returned {@link CompletionStage} completes.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component
+public class RepositoryMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<SolrMetricsRecorder> solrMetricsRecorder;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof BaseDocumentSearchRepository)) {
+            return bean;
+        }
+        final Class<?> repositoryInterface = Arrays.stream(ClassUtils.getAllInterfacesForClass(bean.getClass()))
+            .filter(BaseDocumentSearchRepository.class::isAssignableFrom)
+            .filter(type -> !BaseDocumentSearchRepository.class.equals(type))
+            .findFirst()
+            .orElse(BaseDocumentSearchRepository.class);
+        final ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.addAdvice(new RepositoryMetricsInterceptor(repositoryInterface.getSimpleName(), getCollection(repositoryInterface)));
+        log.debug("Instrumenting search repository: {}", beanName);
+        return proxyFactory.getProxy();
+    }
+
+    private String getCollection(final Class<?> repositoryInterface) {
+        final Class<?> documentType = ResolvableType.forClass(repositoryInterface).as(BaseDocumentSearchRepository.class).resolveGeneric(0);
+        if (Objects.isNull(documentType)) {
+            return null;
+        }
+        final SolrDocument document = AnnotatedElementUtils.findMergedAnnotation(documentType, SolrDocument.class);
+        return Objects.isNull(document) ? null : document.collection();
+    }
+
+    /**
+     * Repository method timing {@link MethodInterceptor} implementation
+     */
+    @RequiredArgsConstructor
+    protected class RepositoryMetricsInterceptor implements MethodInterceptor {
+
+        private final String repository;
+        private final String collection;
+
+        @Override
+        public Object invoke(final MethodInvocation invocation) throws Throwable {
+            if (Object.class.equals(invocation.getMethod().getDeclaringClass())) {
+                return invocation.proceed();
+            }
+            final String method = invocation.getMethod().getName();
+            final long start = System.nanoTime();
+            boolean success = false;
+            try {
+                final Object result = invocation.proceed();
+                success = true;
+                if (result instanceof CompletionStage) {
+                    return ((CompletionStage<?>) result).whenComplete((value, error) -> record(method, start, Objects.isNull(error)));
+                }
+                record(method, start, true);
+                return result;
+            } finally {
+                if (!success) {
+                    record(method, start, false);
+                }
+            }
+        }
+
+        private void record(final String method, long start, boolean success) {
+            final SolrMetricsRecorder recorder = getSolrMetricsRecorder().getIfAvailable();
+            if (Objects.nonNull(recorder)) {
+                recorder.recordRepository(this.repository, method, this.collection, System.nanoTime() - start, success);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.BaseModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Model to search document converter declaration
+ *
+ * @param <E> type of model {@link BaseModel}
+ * @param <D> type of search document
+ */
+public interface ModelDocumentConverter<E extends BaseModel<Long>, D> {
+
+    /**
+     * Returns model class {@link Class}
+     *
+     * @return model class {@link Class}
+     */
+    Class<E> getModelClass();
+
+    /**
+     * Returns target solr collection name
+     *
+     * @return target solr collection name {@link String}
+     */
+    String getCollection();
+
+    /**
+     * Returns stored solr field names {@link Set} filled by {@link #convert(BaseModel)} besides the identifier,
+     * relayed changes only replace these fields so associations indexed along with the document are kept
+     *
+     * @return set of stored solr field names {@link Set}
+     */
+    Set<String> getFields();
+
+    /**
+     * Returns list of current models {@link List} by input collection of identifiers {@link Collection}
+     *
+     * @param ids - initial input collection of model identifiers {@link Collection}
+     * @return list of current models {@link List}
+     */
+    List<E> findAllById(final Collection<Long> ids);
+
+    /**
+     * Returns page of models {@link Page} by input {@link Pageable}
+     *
+     * @param pageable - initial input {@link Pageable}
+     * @return page of models {@link Page}
+     */
+    Page<E> findAll(final Pageable pageable);
+
+    /**
+     * Returns search document converted from input model
+     *
+     * @param model - initial input model
+     * @return search document
+     */
+    D convert(final E model);
+}
@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface;
+
+import java.time.Duration;
+
+/**
+ * Outbox relay declaration
+ */
+public interface OutboxRelay {
+
+    /**
+     * Default relay ID
+     */
+    String RELAY_ID = "OutboxRelay";
+
+    /**
+     * Sends next batch of pending outbox events to solr and removes them afterwards
+     *
+     * @return number of relayed events
+     */
+    int relay();
+
+    /**
+     * Holds back events of models indexed into input collection {@link String}, they are kept in the outbox until resumed
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    void pause(final String collection);
+
+    /**
+     * Resumes relaying events of models indexed into input collection {@link String}
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    void resume(final String collection);
+
+    /**
+     * Returns age of the oldest pending outbox event {@link Duration}
+     *
+     * @return age of the oldest pending outbox event {@link Duration}
+     */
+    Duration getLag();
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.AuditModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.BaseModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.BaseJpaRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.AuditDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.ModelDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableAuditDocument;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Abstract {@link ModelDocumentConverter} implementation
+ *
+ * <p>Converts plain model properties only, associations are left to their own documents. Audit fields are
+ * included in the converted fields {@link #getFields()} along with the fields given by implementations.</p>
+ *
+ * @param <E> type of model {@link BaseModel}
+ * @param <D> type of search document {@link AuditDocument}
+ */
+@Getter
+public abstract class AbstractModelDocumentConverter<E extends BaseModel<Long>, D extends AuditDocument> implements ModelDocumentConverter<E, D> {
+
+    private final Class<E> modelClass;
+    private final String collection;
+    @Getter(AccessLevel.PROTECTED)
+    private final BaseJpaRepository<E, Long> repository;
+    @Getter(AccessLevel.PROTECTED)
+    private final Supplier<D> documentFactory;
+    private final Set<String> fields;
+
+    protected AbstractModelDocumentConverter(final Class<E> modelClass,
+                                             final String collection,
+                                             final BaseJpaRepository<E, Long> repository,
+                                             final Supplier<D> documentFactory,
+                                             final String... fields) {
+        this.modelClass = modelClass;
+        this.collection = collection;
+        this.repository = repository;
+        this.documentFactory = documentFactory;
+        final Set<String> converted = new LinkedHashSet<>(Arrays.asList(
+            SearchableAuditDocument.CREATED_FIELD_NAME,
+            SearchableAuditDocument.CREATED_BY_FIELD_NAME,
+            SearchableAuditDocument.CHANGED_FIELD_NAME,
+            SearchableAuditDocument.CHANGED_BY_FIELD_NAME));
+        converted.addAll(Arrays.asList(fields));
+        this.fields = Collections.unmodifiableSet(converted);
+    }
+
+    @Override
+    public List<E> findAllById(final Collection<Long> ids) {
+        return getRepository().findAllById(ids);
+    }
+
+    @Override
+    public Page<E> findAll(final Pageable pageable) {
+        return getRepository().findAll(pageable);
+    }
+
+    @Override
+    public D convert(final E model) {
+        final D document = getDocumentFactory().get();
+        document.setCreated(model.getCreated());
+        document.setCreatedBy(model.getCreatedBy());
+        document.setChanged(model.getChanged());
+        document.setChangedBy(model.getChangedBy());
+        convert(model, document);
+        return document;
+    }
+
+    /**
+     * Copies model specific properties to the search document
+     *
+     * @param model    - initial input model {@link AuditModel}
+     * @param document - initial input search document {@link AuditDocument}
+     */
+    protected abstract void convert(final E model, final D document);
+}
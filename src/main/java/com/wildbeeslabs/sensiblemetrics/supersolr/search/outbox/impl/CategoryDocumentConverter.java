@@ -0,0 +1,51 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.CategoryRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableCategory;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link Category} model to search document converter
+ */
+@Component
+public class CategoryDocumentConverter extends AbstractModelDocumentConverter<Category, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category> {
+
+    public CategoryDocumentConverter(final CategoryRepository repository) {
+        super(Category.class, SearchableCategory.COLLECTION_ID, repository, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category::new,
+            SearchableCategory.INDEX_FIELD_NAME,
+            SearchableCategory.TITLE_FIELD_NAME,
+            SearchableCategory.DESCRIPTION_FIELD_NAME);
+    }
+
+    @Override
+    protected void convert(final Category model, final com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category document) {
+        document.setId(String.valueOf(model.getId()));
+        document.setIndex(model.getIndex());
+        document.setTitle(model.getTitle());
+        document.setDescription(model.getDescription());
+    }
+}
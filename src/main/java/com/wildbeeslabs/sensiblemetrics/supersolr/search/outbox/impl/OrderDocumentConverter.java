@@ -0,0 +1,53 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.Order;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.OrderRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableOrder;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link Order} model to search document converter
+ */
+@Component
+public class OrderDocumentConverter extends AbstractModelDocumentConverter<Order, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order> {
+
+    public OrderDocumentConverter(final OrderRepository repository) {
+        super(Order.class, SearchableOrder.COLLECTION_ID, repository, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order::new,
+            SearchableOrder.TITLE_FIELD_NAME,
+            SearchableOrder.DESCRIPTION_FIELD_NAME,
+            SearchableOrder.CLIENT_NAME_FIELD_NAME,
+            SearchableOrder.CLIENT_MOBILE_FIELD_NAME);
+    }
+
+    @Override
+    protected void convert(final Order model, final com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order document) {
+        document.setId(String.valueOf(model.getId()));
+        document.setTitle(model.getTitle());
+        document.setDescription(model.getDescription());
+        document.setClientName(model.getClientName());
+        document.setClientMobile(model.getClientMobile());
+    }
+}
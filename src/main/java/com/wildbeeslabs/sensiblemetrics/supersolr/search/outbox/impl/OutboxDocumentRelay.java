@@ -0,0 +1,294 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.OutboxOperationType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.BaseModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.OutboxEvent;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.OutboxEventRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.ModelDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.OutboxRelay;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseDocumentSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.OutboxConfigProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox {@link OutboxRelay} implementation
+ *
+ * <p>Polls the outbox table in id order, converts the current state of changed models into search documents
+ * and updates (or deletes) them in their solr collections. Updates are atomic and only set the fields filled by
+ * the converter, so associations indexed along with the documents are kept. Events are removed in the same
+ * transaction only after solr accepted the batch, so delivery is at-least-once and a failed batch is retried on
+ * the next poll. Rows are locked with skip locked semantics, so several application instances can relay
+ * concurrently. Events of model types without a converter are never fetched, they are kept and reported.
+ * Events of paused collections are kept the same way until the collection is resumed.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(OutboxRelay.RELAY_ID)
+public class OutboxDocumentRelay implements OutboxRelay {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.outbox";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<ModelDocumentConverter<?, ?>> converters;
+    private final SolrTemplate solrTemplate;
+    private final SearchResultCache searchResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxConfigProperties outboxConfigProperties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Default creation time (epoch millis) of the oldest pending event, zero if there is none
+     */
+    private final AtomicLong oldestPending = new AtomicLong();
+
+    /**
+     * Default number of pending events of model types without a converter
+     */
+    private final AtomicLong unrouted = new AtomicLong();
+
+    /**
+     * Default collections which events are held back (while they are rebuilt)
+     */
+    private final Set<String> paused = ConcurrentHashMap.newKeySet();
+
+    private Map<String, ModelDocumentConverter<?, ?>> convertersByType;
+    private ScheduledExecutorService scheduler;
+
+    private Timer relayTimer;
+    private Timer deliveryTimer;
+    private Counter relayedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void initialize() {
+        this.convertersByType = getConverters()
+            .stream()
+            .collect(Collectors.toMap(converter -> converter.getModelClass().getName(), Function.identity()));
+        Gauge.builder(METRICS_PREFIX + ".lag", this, relay -> relay.getLag().toMillis() / 1000.0)
+            .description("Age of the oldest pending outbox event")
+            .baseUnit("seconds")
+            .register(getMeterRegistry());
+        Gauge.builder(METRICS_PREFIX + ".events.unrouted", getUnrouted(), AtomicLong::get)
+            .description("Number of pending outbox events of model types without a converter")
+            .register(getMeterRegistry());
+        this.relayTimer = Timer.builder(METRICS_PREFIX + ".relay")
+            .description("Outbox batch relay latency")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(getMeterRegistry());
+        this.deliveryTimer = Timer.builder(METRICS_PREFIX + ".delivery")
+            .description("Time from entity change commit to solr delivery")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(getMeterRegistry());
+        this.relayedCounter = Counter.builder(METRICS_PREFIX + ".events.relayed")
+            .description("Number of outbox events sent to solr")
+            .register(getMeterRegistry());
+        this.failedCounter = Counter.builder(METRICS_PREFIX + ".events.failed")
+            .description("Number of outbox relay batches rejected by solr")
+            .register(getMeterRegistry());
+
+        if (getOutboxConfigProperties().isEnabled()) {
+            final long interval = getOutboxConfigProperties().getPollInterval().toMillis();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "solr-outbox-relay");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() throws InterruptedException {
+        if (Objects.nonNull(getScheduler())) {
+            getScheduler().shutdown();
+            getScheduler().awaitTermination(getOutboxConfigProperties().getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Relays pending events until the outbox is drained or a batch fails
+     */
+    protected void poll() {
+        try {
+            while (relay() >= getOutboxConfigProperties().getBatchSize()) {
+                log.debug("Outbox batch is full, relaying next batch");
+            }
+        } catch (RuntimeException ex) {
+            getFailedCounter().increment();
+            log.error("ERROR: cannot relay outbox events, retrying on next poll", ex);
+        } finally {
+            refreshLag();
+        }
+    }
+
+    @Override
+    public int relay() {
+        final long start = System.nanoTime();
+        final Set<String> entityTypes = getConvertersByType().entrySet()
+            .stream()
+            .filter(entry -> !getPaused().contains(entry.getValue().getCollection()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toSet());
+        if (entityTypes.isEmpty()) {
+            return 0;
+        }
+        final Set<String> collections = new HashSet<>();
+        final List<OutboxEvent> events = getTransactionTemplate().execute(status -> {
+            final List<OutboxEvent> batch = getOutboxEventRepository().findByEntityTypeInOrderByIdAsc(entityTypes, PageRequest.of(0, getOutboxConfigProperties().getBatchSize()));
+            batch.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::getEntityType, LinkedHashMap::new, Collectors.toList()))
+                .forEach((entityType, entityEvents) -> collections.add(send(getConvertersByType().get(entityType), entityEvents)));
+            getOutboxEventRepository().deleteInBatch(batch);
+            return batch;
+        });
+        if (Objects.isNull(events) || events.isEmpty()) {
+            return 0;
+        }
+        collections.forEach(getSearchResultCache()::invalidate);
+        final long now = System.currentTimeMillis();
+        events.forEach(event -> getDeliveryTimer().record(now - event.getCreated().getTime(), TimeUnit.MILLISECONDS));
+        getRelayedCounter().increment(events.size());
+        getRelayTimer().record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.debug("Relayed {} outbox events to collections: {}", events.size(), collections);
+        return events.size();
+    }
+
+    @Override
+    public void pause(final String collection) {
+        if (getPaused().add(collection)) {
+            log.info("Paused relaying outbox events of collection {}", collection);
+        }
+    }
+
+    @Override
+    public void resume(final String collection) {
+        if (getPaused().remove(collection)) {
+            log.info("Resumed relaying outbox events of collection {}", collection);
+        }
+    }
+
+    @Override
+    public Duration getLag() {
+        final long oldest = getOldestPending().get();
+        return oldest > 0 ? Duration.ofMillis(Math.max(0, System.currentTimeMillis() - oldest)) : Duration.ZERO;
+    }
+
+    protected void refreshLag() {
+        try {
+            getOldestPending().set(getOutboxEventRepository().findFirstByEntityTypeInOrderByIdAsc(getConvertersByType().keySet())
+                .map(event -> event.getCreated().getTime())
+                .orElse(0L));
+            final long count = getOutboxEventRepository().countByEntityTypeNotIn(getConvertersByType().keySet());
+            if (getUnrouted().getAndSet(count) != count && count > 0) {
+                log.warn("Outbox keeps {} events of model types without a converter, registered types: {}", count, getConvertersByType().keySet());
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Cannot refresh outbox lag: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Sends the latest state of changed models to their collection, models removed in the meantime are deleted
+     *
+     * @param converter - initial input {@link ModelDocumentConverter}
+     * @param events    - initial input list of ordered outbox events {@link List}
+     * @param <E>       type of model
+     * @param <D>       type of search document
+     * @return target collection name
+     */
+    protected <E extends BaseModel<Long>, D> String send(final ModelDocumentConverter<E, D> converter, final List<OutboxEvent> events) {
+        final Map<String, OutboxOperationType> operations = new LinkedHashMap<>();
+        events.forEach(event -> operations.put(event.getEntityId(), event.getOperation()));
+        final List<Long> upsertIds = operations.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() == OutboxOperationType.UPSERT)
+            .map(entry -> Long.valueOf(entry.getKey()))
+            .collect(Collectors.toList());
+        final List<E> models = upsertIds.isEmpty() ? Collections.emptyList() : converter.findAllById(upsertIds);
+        final Set<String> foundIds = models.stream().map(model -> String.valueOf(model.getId())).collect(Collectors.toSet());
+        final List<String> deleteIds = operations.keySet()
+            .stream()
+            .filter(id -> !foundIds.contains(id))
+            .collect(Collectors.toList());
+
+        final String collection = converter.getCollection();
+        final Duration commitWithin = getOutboxConfigProperties().getCommitWithin();
+        if (!models.isEmpty()) {
+            getSolrTemplate().saveBeans(collection, models.stream().map(model -> toUpdate(converter, model)).collect(Collectors.toList()), commitWithin);
+        }
+        if (!deleteIds.isEmpty()) {
+            getSolrTemplate().execute(solrClient -> solrClient.deleteById(collection, deleteIds, (int) commitWithin.toMillis()));
+        }
+        return collection;
+    }
+
+    /**
+     * Returns atomic {@link PartialUpdate} setting the converted fields of input model, other stored fields
+     * of the document are left unchanged (fields without value are removed)
+     *
+     * @param converter - initial input {@link ModelDocumentConverter}
+     * @param model     - initial input model
+     * @param <E>       type of model
+     * @return atomic {@link PartialUpdate}
+     */
+    protected <E extends BaseModel<Long>> PartialUpdate toUpdate(final ModelDocumentConverter<E, ?> converter, final E model) {
+        final SolrInputDocument document = new SolrInputDocument();
+        getSolrTemplate().getConverter().write(converter.convert(model), document);
+        final PartialUpdate update = new PartialUpdate(BaseDocumentSearchService.DEFAULT_ID_FIELD_NAME, document.getFieldValue(BaseDocumentSearchService.DEFAULT_ID_FIELD_NAME));
+        converter.getFields().forEach(field -> update.setValueOfField(field, document.getFieldValue(field)));
+        return update;
+    }
+}
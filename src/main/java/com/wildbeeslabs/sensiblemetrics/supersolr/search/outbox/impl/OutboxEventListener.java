@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.OutboxOperationType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.BaseModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.iface.PersistableOutboxEvent;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.ModelDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.OutboxConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.Serializable;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate entity event listener recording {@link BaseModel} changes in the outbox table
+ *
+ * <p>Changes are collected per session and written with one JDBC batch right before the transaction
+ * completes, so outbox rows are committed or rolled back together with the entity changes. Only models
+ * with a registered {@link ModelDocumentConverter} are recorded, other changes have no search document.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component
+public class OutboxEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = -3012947312838402756L;
+
+    /**
+     * Default outbox insert statement
+     */
+    private static final String INSERT_STATEMENT = String.format("INSERT INTO %s (%s, %s, %s, %s) VALUES (?, ?, ?, ?)",
+        PersistableOutboxEvent.TABlE_NAME,
+        PersistableOutboxEvent.ENTITY_TYPE_FIELD_NAME,
+        PersistableOutboxEvent.ENTITY_ID_FIELD_NAME,
+        PersistableOutboxEvent.OPERATION_FIELD_NAME,
+        PersistableOutboxEvent.CREATED_FIELD_NAME);
+
+    private final transient List<EntityManagerFactory> entityManagerFactories;
+    private final transient OutboxConfigProperties outboxConfigProperties;
+    private final transient List<ModelDocumentConverter<?, ?>> converters;
+    private final transient Map<SessionImplementor, OutboxProcess> processes = new ConcurrentHashMap<>();
+    private transient Set<String> entityTypes = Collections.emptySet();
+
+    @PostConstruct
+    public void initialize() {
+        if (!getOutboxConfigProperties().isEnabled()) {
+            return;
+        }
+        this.entityTypes = getConverters()
+            .stream()
+            .map(converter -> converter.getModelClass().getName())
+            .collect(Collectors.toSet());
+        getEntityManagerFactories()
+            .stream()
+            .map(factory -> factory.unwrap(SessionFactoryImplementor.class))
+            .distinct()
+            .forEach(sessionFactory -> {
+                final EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+                registry.appendListeners(EventType.POST_INSERT, this);
+                registry.appendListeners(EventType.POST_UPDATE, this);
+                registry.appendListeners(EventType.POST_DELETE, this);
+            });
+    }
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        record(event.getSession(), event.getPersister(), event.getEntity(), event.getId(), OutboxOperationType.UPSERT);
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        record(event.getSession(), event.getPersister(), event.getEntity(), event.getId(), OutboxOperationType.UPSERT);
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        record(event.getSession(), event.getPersister(), event.getEntity(), event.getId(), OutboxOperationType.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * Still abstract in the hibernate version in use, delegates to {@link #requiresPostCommitHandling(EntityPersister)}
+     */
+    @Override
+    @Deprecated
+    public boolean requiresPostCommitHanding(final EntityPersister persister) {
+        return requiresPostCommitHandling(persister);
+    }
+
+    protected void record(final EventSource session, final EntityPersister persister, final Object entity, final Serializable id, final OutboxOperationType operation) {
+        if (!(entity instanceof BaseModel) || Objects.isNull(id) || !getEntityTypes().contains(persister.getEntityName())) {
+            return;
+        }
+        getProcesses().computeIfAbsent(session, key -> {
+            final OutboxProcess process = new OutboxProcess();
+            key.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) process);
+            key.getActionQueue().registerProcess((AfterTransactionCompletionProcess) process);
+            return process;
+        }).add(persister.getEntityName(), String.valueOf(id), operation);
+    }
+
+    /**
+     * Outbox events of one session transaction, the last operation per entity wins
+     *
+     * <p>Not synchronized: a process belongs to one session and sessions are not shared between threads, so the
+     * jdbc batch is not written under a monitor that would pin a virtual thread to its carrier.</p>
+     */
+    protected class OutboxProcess implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final Map<List<String>, OutboxOperationType> events = new LinkedHashMap<>();
+
+        public void add(final String entityType, final String entityId, final OutboxOperationType operation) {
+            final List<String> key = Arrays.asList(entityType, entityId);
+            this.events.remove(key);
+            this.events.put(key, operation);
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(final SessionImplementor session) {
+            if (this.events.isEmpty()) {
+                return;
+            }
+            final Timestamp created = new Timestamp(System.currentTimeMillis());
+            session.doWork(connection -> {
+                try (final PreparedStatement statement = connection.prepareStatement(INSERT_STATEMENT)) {
+                    for (final Map.Entry<List<String>, OutboxOperationType> event : this.events.entrySet()) {
+                        statement.setString(1, event.getKey().get(0));
+                        statement.setString(2, event.getKey().get(1));
+                        statement.setString(3, event.getValue().name());
+                        statement.setTimestamp(4, created);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                }
+            });
+            log.debug("Recorded {} outbox events", this.events.size());
+            this.events.clear();
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(final boolean success, final SharedSessionContractImplementor session) {
+            getProcesses().values().remove(this);
+        }
+    }
+}
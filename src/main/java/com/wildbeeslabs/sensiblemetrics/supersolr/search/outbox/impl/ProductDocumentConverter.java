@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ProductRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link Product} model to search document converter
+ */
+@Component
+public class ProductDocumentConverter extends AbstractModelDocumentConverter<Product, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product> {
+
+    public ProductDocumentConverter(final ProductRepository repository) {
+        super(Product.class, SearchableProduct.COLLECTION_ID, repository, com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product::new,
+            SearchableProduct.NAME_FIELD_NAME,
+            SearchableProduct.SHORT_DESCRIPTION_FIELD_NAME,
+            SearchableProduct.LONG_DESCRIPTION_FIELD_NAME,
+            SearchableProduct.PRICE_DESCRIPTION_FIELD_NAME,
+            SearchableProduct.CATALOG_NUMBER_FIELD_NAME,
+            SearchableProduct.PAGE_TITLE_FIELD_NAME,
+            SearchableProduct.AVAILABLE_FIELD_NAME,
+            SearchableProduct.PRICE_FIELD_NAME,
+            SearchableProduct.RECOMMENDED_PRICE_FIELD_NAME,
+            SearchableProduct.RATING_FIELD_NAME,
+            SearchableProduct.AGE_RESTRICTION_FIELD_NAME,
+            SearchableProduct.LOCK_TYPE_FIELD_NAME,
+            SearchableProduct.LOCATION_FIELD_NAME);
+    }
+
+    @Override
+    protected void convert(final Product model, final com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product document) {
+        document.setId(String.valueOf(model.getId()));
+        document.setName(model.getName());
+        document.setShortDescription(model.getShortDescription());
+        document.setLongDescription(model.getLongDescription());
+        document.setPriceDescription(model.getPriceDescription());
+        document.setCatalogNumber(model.getCatalogNumber());
+        document.setPageTitle(model.getPageTitle());
+        document.setAvailable(model.isAvailable());
+        document.setPrice(model.getPrice());
+        document.setRecommendedPrice(model.getRecommendedPrice());
+        document.setRating(model.getRating());
+        document.setAgeRestriction(model.getAgeRestriction());
+        document.setLockType(model.getLockType());
+        document.setLocation(model.getLocation());
+    }
+}
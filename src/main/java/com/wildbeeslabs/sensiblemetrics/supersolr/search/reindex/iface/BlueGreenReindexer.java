@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface;
+
+/**
+ * Blue/green reindexer declaration
+ *
+ * <p>Full rebuilds go into a fresh timestamped collection while queries keep hitting the live one
+ * through the collection alias, which is switched once the rebuilt collection is verified.</p>
+ */
+public interface BlueGreenReindexer {
+
+    /**
+     * Default reindexer ID
+     */
+    String REINDEXER_ID = "BlueGreenReindexer";
+
+    /**
+     * Creates fresh timestamped collection for input alias {@link String} configured for bulk indexing
+     *
+     * @param alias - initial input collection alias {@link String}
+     * @return name of the created collection {@link String}
+     */
+    String prepare(final String alias);
+
+    /**
+     * Commits and verifies rebuilt collection, then switches input alias {@link String} to it and drops previous one
+     *
+     * @param alias      - initial input collection alias {@link String}
+     * @param collection - initial input rebuilt collection name {@link String}
+     */
+    void publish(final String alias, final String collection);
+
+    /**
+     * Drops rebuilt collection {@link String} of a failed rebuild
+     *
+     * @param collection - initial input rebuilt collection name {@link String}
+     */
+    void abort(final String collection);
+
+    /**
+     * Rebuilds model collection by input alias {@link String} from the current database state
+     *
+     * @param alias - initial input collection alias {@link String}
+     * @return number of indexed documents
+     */
+    long rebuild(final String alias);
+}
@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.BaseModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.iface.PersistableBaseModel;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface.DocumentIndexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.ModelDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.OutboxRelay;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseDocumentSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.ReindexConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.request.CollectionAdminRequest;
+import org.apache.solr.client.solrj.response.CollectionAdminResponse;
+import org.apache.solr.common.SolrInputDocument;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * SolrCloud {@link BlueGreenReindexer} implementation
+ *
+ * <p>Rebuilt collections are created through the collections API with the configured bulk core properties
+ * (no soft commits, relaxed merges), merged down while they are not serving queries yet and only then
+ * published by repointing the collection alias, which is atomic for queries. A live collection named
+ * like the alias (created before aliases were used) is dropped only once the alias is created.</p>
+ *
+ * <p>Models are paged in id order and keep the fields the converter does not fill (associations) from
+ * their live documents. Outbox events of the alias are held back while it is rebuilt and write-behind
+ * operations sent to it are replayed on the rebuilt collection right before the alias is switched.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(BlueGreenReindexer.REINDEXER_ID)
+public class SolrCloudBlueGreenReindexer implements BlueGreenReindexer {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.reindex";
+    /**
+     * Default match all documents query
+     */
+    private static final String MATCH_ALL_QUERY = "*:*";
+
+    private final SolrTemplate solrTemplate;
+    private final ReindexConfigProperties reindexConfigProperties;
+    private final List<ModelDocumentConverter<?, ?>> converters;
+    private final SearchResultCache searchResultCache;
+    private final DocumentIndexer documentIndexer;
+    private final OutboxRelay outboxRelay;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Default aliases of the prepared collections by collection name
+     */
+    private final Map<String, String> rebuilds = new ConcurrentHashMap<>();
+
+    @Override
+    public String prepare(final String alias) {
+        final String collection = alias + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern(getReindexConfigProperties().getTimestampPattern()));
+        final String configSet = getReindexConfigProperties().getConfigSets().getOrDefault(alias, alias);
+        final CollectionAdminRequest.Create request = CollectionAdminRequest.createCollection(collection, configSet,
+            getReindexConfigProperties().getNumShards(), getReindexConfigProperties().getReplicationFactor());
+        request.setProperties(getReindexConfigProperties().getBulkProperties());
+        process(request, "create collection " + collection);
+        getRebuilds().put(collection, alias);
+        getOutboxRelay().pause(alias);
+        getDocumentIndexer().record(alias);
+        log.info("Created collection {} for rebuild of alias {} with configset {}", collection, alias, configSet);
+        return collection;
+    }
+
+    @Override
+    public void publish(final String alias, final String collection) {
+        getSolrTemplate().commit(collection);
+        final int maxSegments = getReindexConfigProperties().getMaxSegments();
+        if (maxSegments > 0) {
+            getSolrTemplate().execute(solrClient -> solrClient.optimize(collection, true, true, maxSegments));
+        }
+
+        final Optional<String> previous = getLiveCollection(alias);
+        final long count = getSolrTemplate().count(collection, new SimpleQuery(MATCH_ALL_QUERY));
+        final long liveCount = previous.map(live -> getSolrTemplate().count(alias, new SimpleQuery(MATCH_ALL_QUERY))).orElse(0L);
+        if (count < Math.ceil(liveCount * getReindexConfigProperties().getMinCountRatio())) {
+            throw new ServiceException(String.format("ERROR: rebuilt collection %s has %d documents, live alias %s has %d", collection, count, alias, liveCount));
+        }
+
+        getDocumentIndexer().replay(alias, collection, () -> {
+            getSolrTemplate().commit(collection);
+            process(CollectionAdminRequest.createAlias(alias, collection), "switch alias " + alias);
+        });
+        getRebuilds().remove(collection);
+        getOutboxRelay().resume(alias);
+        getSearchResultCache().invalidate(alias);
+        log.info("Switched alias {} from {} to {} with {} documents", alias, previous.orElse(null), collection, count);
+
+        if (previous.filter(alias::equals).isPresent()) {
+            log.warn("Dropping live collection {} replaced by alias", alias);
+            drop(alias);
+        }
+        previous
+            .filter(live -> getReindexConfigProperties().isDropPrevious())
+            .filter(live -> !Objects.equals(live, alias) && !Objects.equals(live, collection))
+            .ifPresent(this::drop);
+    }
+
+    @Override
+    public void abort(final String collection) {
+        Optional.ofNullable(getRebuilds().remove(collection)).ifPresent(alias -> {
+            getDocumentIndexer().discard(alias);
+            getOutboxRelay().resume(alias);
+        });
+        drop(collection);
+    }
+
+    @Override
+    public long rebuild(final String alias) {
+        final ModelDocumentConverter<?, ?> converter = getConverters()
+            .stream()
+            .filter(candidate -> Objects.equals(candidate.getCollection(), alias))
+            .findFirst()
+            .orElseThrow(() -> new ServiceException(String.format("ERROR: no model converter for collection %s", alias)));
+        final Timer.Sample sample = Timer.start(getMeterRegistry());
+        final String collection = prepare(alias);
+        try {
+            final long count = index(converter, alias, collection);
+            publish(alias, collection);
+            return count;
+        } catch (RuntimeException ex) {
+            abort(collection);
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder(METRICS_PREFIX + ".duration")
+                .description("Blue/green model collection rebuild duration")
+                .tag("alias", alias)
+                .register(getMeterRegistry()));
+        }
+    }
+
+    /**
+     * Sends all models page by page in id order to input collection without commits
+     *
+     * @param converter  - initial input {@link ModelDocumentConverter}
+     * @param alias      - initial input collection alias {@link String} to keep the associations from
+     * @param collection - initial input rebuilt collection name {@link String}
+     * @param <E>        type of model
+     * @param <D>        type of search document
+     * @return number of indexed documents
+     */
+    protected <E extends BaseModel<Long>, D> long index(final ModelDocumentConverter<E, D> converter, final String alias, final String collection) {
+        final boolean live = getLiveCollection(alias).isPresent();
+        long count = 0;
+        Page<E> page = converter.findAll(PageRequest.of(0, getReindexConfigProperties().getBatchSize(), Sort.by(Sort.Direction.ASC, PersistableBaseModel.ID_FIELD_NAME)));
+        while (page.hasContent()) {
+            final List<D> documents = page.getContent().stream().map(converter::convert).collect(Collectors.toList());
+            getSolrTemplate().saveDocuments(collection, live ? merge(converter, alias, documents) : write(documents));
+            count += page.getNumberOfElements();
+            if (!page.hasNext()) {
+                break;
+            }
+            page = converter.findAll(page.nextPageable());
+        }
+        log.info("Indexed {} documents into collection {}", count, collection);
+        return count;
+    }
+
+    /**
+     * Returns input documents {@link List} written over their live documents, only the fields filled by the converter are replaced
+     *
+     * @param converter - initial input {@link ModelDocumentConverter}
+     * @param alias     - initial input collection alias {@link String}
+     * @param documents - initial input list of converted documents {@link List}
+     * @param <D>       type of search document
+     * @return list of merged solr documents {@link List}
+     */
+    @SuppressWarnings("unchecked")
+    protected <D> List<SolrInputDocument> merge(final ModelDocumentConverter<?, D> converter, final String alias, final List<D> documents) {
+        final List<SolrInputDocument> converted = write(documents);
+        if (documents.isEmpty()) {
+            return converted;
+        }
+        final List<Object> ids = converted.stream().map(document -> document.getFieldValue(BaseDocumentSearchService.DEFAULT_ID_FIELD_NAME)).collect(Collectors.toList());
+        final Class<D> documentClass = (Class<D>) documents.get(0).getClass();
+        final Map<Object, SolrInputDocument> current = write(getSolrTemplate().getByIds(alias, ids, documentClass))
+            .stream()
+            .collect(Collectors.toMap(document -> document.getFieldValue(BaseDocumentSearchService.DEFAULT_ID_FIELD_NAME), Function.identity()));
+        return converted
+            .stream()
+            .map(document -> Optional.ofNullable(current.get(document.getFieldValue(BaseDocumentSearchService.DEFAULT_ID_FIELD_NAME)))
+                .map(previous -> {
+                    converter.getFields().forEach(field -> previous.setField(field, document.getFieldValue(field)));
+                    return previous;
+                })
+                .orElse(document))
+            .collect(Collectors.toList());
+    }
+
+    private List<SolrInputDocument> write(final Collection<?> documents) {
+        return documents
+            .stream()
+            .map(document -> {
+                final SolrInputDocument solrDocument = new SolrInputDocument();
+                getSolrTemplate().getConverter().write(document, solrDocument);
+                return solrDocument;
+            })
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns collection currently serving queries for input alias {@link String}
+     *
+     * @param alias - initial input collection alias {@link String}
+     * @return aliased collection, the alias itself if it is a collection, empty otherwise
+     */
+    protected Optional<String> getLiveCollection(final String alias) {
+        final Map<String, String> aliases = process(new CollectionAdminRequest.ListAliases(), "list aliases").getAliases();
+        if (aliases.containsKey(alias)) {
+            return Optional.of(aliases.get(alias));
+        }
+        final List<String> collections = getSolrTemplate().execute(CollectionAdminRequest::listCollections);
+        return collections.contains(alias) ? Optional.of(alias) : Optional.empty();
+    }
+
+    /**
+     * Drops input collection {@link String}, failures are logged only as the alias is not affected
+     *
+     * @param collection - initial input collection name {@link String}
+     */
+    protected void drop(final String collection) {
+        try {
+            process(CollectionAdminRequest.deleteCollection(collection), "delete collection " + collection);
+            log.info("Dropped collection {}", collection);
+        } catch (RuntimeException ex) {
+            log.error("ERROR: cannot drop collection {}", collection, ex);
+        }
+    }
+
+    private CollectionAdminResponse process(final CollectionAdminRequest<CollectionAdminResponse> request, final String action) {
+        final CollectionAdminResponse response = getSolrTemplate().execute(request::process);
+        if (!response.isSuccess()) {
+            throw new ServiceException(String.format("ERROR: cannot %s: %s", action, response.getErrorMessages()));
+        }
+        return response;
+    }
+}
@@ -42,6 +42,7 @@ import org.springframework.data.solr.repository.Boost;
 import org.springframework.data.solr.repository.Facet;
 import org.springframework.data.solr.repository.Highlight;
 import org.springframework.data.solr.repository.Query;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Repository;
 
 import java.util.Collection;
@@ -79,6 +80,7 @@ public interface ProductSearchRepository extends BaseDocumentSearchRepository<Pr
     }, defaultOperator = Operator.OR)
     Page<? extends Product> findByShortDescription(@Boost(2) final String searchTerm, final Pageable pageable);
 
+    @Async
     @RestResource(rel = "fetch-by-name-like-in-collection", description = @Description(value = "find products like in collection of titles"))
     @Query(name = "Product.findByNameLike")
     CompletableFuture<Iterable<? extends Product>> findByNameLike(final Collection<String> names);
@@ -129,28 +131,34 @@ public interface ProductSearchRepository extends BaseDocumentSearchRepository<Pr
     @RestResource(rel = "fetch-by-rating-greater-than-equal", description = @Description(value = "find products by rating greater than or equal"))
     Page<? extends Product> findByRatingGreaterThanEqual(final Integer popularity, final Pageable page);
 
+    @Async
     @RestResource(rel = "fetch-by-lock-type", description = @Description(value = "find products by locktype"))
     CompletableFuture<Iterable<? extends Product>> findByLockType(final Integer lockType, final Sort sort);
 
     @RestResource(rel = "fetch-by-location", description = @Description(value = "find products by location"))
     Page<? extends Product> findByLocation(final Point location, final Distance distance, final Pageable page);
 
+    @Async
     @RestResource(rel = "fetch-by-location-within", description = @Description(value = "find products by location within"))
     CompletableFuture<Iterable<? extends Product>> findByLocationWithin(final Point location, final Distance distance);
 
+    @Async
     @RestResource(rel = "fetch-by-shape-location-near", description = @Description(value = "find products by shape location near"))
     CompletableFuture<Iterable<? extends Product>> findByGeoLocationWithin(final Shape shape);
 
+    @Async
     @RestResource(rel = "fetch-by-location-near", description = @Description(value = "find products by location near"))
     CompletableFuture<Iterable<? extends Product>> findByLocationNear(final Point location, final Distance distance);
 
     @RestResource(rel = "fetch-by-geolocation-near", description = @Description(value = "find products by geolocation near"))
     GeoResults<? extends Product> findByGeoLocationNear(final Point location, final Distance distance);
 
+    @Async
     @RestResource(rel = "fetch-by-location", description = @Description(value = "find products by location near"))
     @Query(name = "Product.findByLocation")
     CompletableFuture<Iterable<? extends Product>> findByLocationSomewhereNear(final Point location, final Distance distance);
 
+    @Async
     @RestResource(rel = "fetch-by-name-or-category-contains", description = @Description(value = "find products by name or category contains"))
     CompletableFuture<Iterable<? extends Product>> findByNameContainsOrCategoriesContains(final String name, final String category, final Sort sort);
 
@@ -165,6 +173,7 @@ public interface ProductSearchRepository extends BaseDocumentSearchRepository<Pr
     @RestResource(rel = "fetch-by-available-and-name-starting-with", description = @Description(value = "find available products by name starting with"))
     Page<? extends Product> findByAvailableTrueAndNameStartingWith(final String name, final Pageable page);
 
+    @Async
     @RestResource(rel = "fetch-by-name-and-rating", description = @Description(value = "find products by name and rating"))
     @Query(name = "Product.findByNameAndRating")
     CompletableFuture<Iterable<? extends Product>> findByNameAndRating(final String name, final Integer rating);
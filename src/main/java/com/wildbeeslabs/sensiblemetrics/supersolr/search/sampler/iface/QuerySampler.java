@@ -0,0 +1,82 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.impl.QuerySample;
+import org.apache.solr.common.params.SolrParams;
+
+import java.util.List;
+
+/**
+ * Search query sampler declaration
+ *
+ * <p>Queries are grouped by shape, i.e. their final solr parameters with literal values normalized out,
+ * so one named query or criteria builder maps onto one entry regardless of the searched terms.</p>
+ */
+public interface QuerySampler {
+
+    /**
+     * Default sampler ID
+     */
+    String SAMPLER_ID = "querySampler";
+
+    /**
+     * Samples executed solr query
+     *
+     * @param collection    - initial input collection name {@link String}
+     * @param params        - initial input final solr query parameters {@link SolrParams}
+     * @param durationNanos - initial input round trip duration in nanoseconds
+     * @param qTimeMillis   - initial input solr-reported query time in milliseconds (negative if not reported)
+     * @param numFound      - initial input number of matching documents (negative if not reported)
+     */
+    void sample(final String collection, final SolrParams params, long durationNanos, long qTimeMillis, long numFound);
+
+    /**
+     * Returns list of query shapes {@link List} ordered by maximum query time
+     *
+     * @param limit - initial input maximum number of query shapes
+     * @return list of query shapes {@link List}
+     */
+    List<QuerySample> getSlowest(int limit);
+
+    /**
+     * Returns list of query shapes {@link List} ordered by number of executions
+     *
+     * @param limit - initial input maximum number of query shapes
+     * @return list of query shapes {@link List}
+     */
+    List<QuerySample> getMostFrequent(int limit);
+
+    /**
+     * Returns number of samples dropped since the shape limit was reached
+     *
+     * @return number of dropped samples
+     */
+    long getDropped();
+
+    /**
+     * Clears all sampled query shapes
+     */
+    void reset();
+}
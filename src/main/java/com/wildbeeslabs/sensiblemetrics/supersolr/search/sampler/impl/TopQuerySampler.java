@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.impl;
+
+import com.google.common.collect.ImmutableSet;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SamplerConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.common.params.CommonParams;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.apache.solr.common.params.FacetParams;
+import org.apache.solr.common.params.SolrParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Top-N {@link QuerySampler} implementation
+ *
+ * <p>Per-shape statistics are updated lock-free (adders and compare-and-set of the slowest execution),
+ * rankings are built on read by a bounded heap of the requested size. The caller is resolved from the stack
+ * only for slow queries and new slowest executions of a shape, so regular sampling stays cheap.
+ * Queries at or above the configured threshold are written to the {@code slowquery} log.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component(QuerySampler.SAMPLER_ID)
+public class TopQuerySampler implements QuerySampler {
+
+    /**
+     * Default slow query logger name
+     */
+    public static final String SLOW_QUERY_LOGGER = "slowquery";
+    /**
+     * Default normalized literal value placeholder
+     */
+    public static final String PLACEHOLDER = "?";
+
+    private static final Logger SLOW_QUERY_LOG = LoggerFactory.getLogger(SLOW_QUERY_LOGGER);
+    private static final String APPLICATION_PACKAGE = "com.wildbeeslabs.sensiblemetrics.supersolr";
+    private static final String SAMPLER_PACKAGE = "com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler";
+    private static final String METRICS_PACKAGE = "com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics";
+    private static final Set<String> IGNORED_PARAMS = ImmutableSet.of(CommonParams.START, CommonParams.ROWS, CommonParams.WT, CommonParams.VERSION, "_stateVer_");
+    private static final Set<String> LITERAL_PARAMS = ImmutableSet.of(CursorMarkParams.CURSOR_MARK_PARAM, FacetParams.FACET_PREFIX, FacetParams.FACET_CONTAINS, "terms.prefix", "suggest.q", "spellcheck.q");
+    private static final Pattern QUOTED_VALUE = Pattern.compile("\"(?:[^\"\\\\]|\\\\.)*\"");
+    private static final Pattern RANGE_VALUE = Pattern.compile("([\\[{])[^\\]}]*? TO [^\\]}]*([\\]}])");
+    private static final Pattern GROUPED_FIELD_VALUE = Pattern.compile("(\\w+):\\([^)]*\\)");
+    private static final Pattern FIELD_VALUE = Pattern.compile("(\\w+):(?![\\[{(?])[^\\s()\\[\\]{}^~]+");
+    private static final Pattern NUMBER_VALUE = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    private final SamplerConfigProperties samplerConfigProperties;
+
+    private final ConcurrentMap<String, ShapeStats> shapes = new ConcurrentHashMap<>();
+    private final LongAdder dropped = new LongAdder();
+
+    @Override
+    public void sample(final String collection, final SolrParams params, long durationNanos, long qTimeMillis, long numFound) {
+        if (!getSamplerConfigProperties().isEnabled() || Objects.isNull(params)) {
+            return;
+        }
+        final long queryTime = qTimeMillis >= 0 ? qTimeMillis : TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        final boolean slow = queryTime >= getSamplerConfigProperties().getSlowQueryThreshold().toMillis();
+        final String caller = slow ? getCaller() : null;
+        if (slow) {
+            SLOW_QUERY_LOG.warn("collection={} qtime={}ms elapsed={}ms numFound={} caller={} params={}",
+                collection, qTimeMillis, TimeUnit.NANOSECONDS.toMillis(durationNanos), numFound, caller, params);
+        }
+        final String shape = getShape(params);
+        ShapeStats stats = getShapes().get(collection + '|' + shape);
+        if (Objects.isNull(stats)) {
+            if (getShapes().size() >= getSamplerConfigProperties().getMaxShapes()) {
+                this.dropped.increment();
+                return;
+            }
+            stats = getShapes().computeIfAbsent(collection + '|' + shape, key -> new ShapeStats(collection, shape));
+        }
+        stats.record(queryTime, numFound, params, caller);
+    }
+
+    @Override
+    public List<QuerySample> getSlowest(int limit) {
+        return top(limit, Comparator.comparingLong(QuerySample::getMaxQueryTime));
+    }
+
+    @Override
+    public List<QuerySample> getMostFrequent(int limit) {
+        return top(limit, Comparator.comparingLong(QuerySample::getCount));
+    }
+
+    @Override
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    @Override
+    public void reset() {
+        getShapes().clear();
+        this.dropped.reset();
+    }
+
+    /**
+     * Returns query shape {@link String} by input solr parameters {@link SolrParams}, volatile paging parameters
+     * are skipped and literal values (quoted phrases, ranges, field values and numbers) are replaced by placeholders
+     *
+     * @param params - initial input solr parameters {@link SolrParams}
+     * @return query shape {@link String}
+     */
+    public static String getShape(final SolrParams params) {
+        final TreeMap<String, String> shape = new TreeMap<>();
+        final Iterator<String> names = params.getParameterNamesIterator();
+        while (names.hasNext()) {
+            final String name = names.next();
+            if (IGNORED_PARAMS.contains(name)) {
+                continue;
+            }
+            final String[] values = params.getParams(name);
+            final String value = Objects.isNull(values) ? "" : Arrays.stream(values)
+                .map(v -> LITERAL_PARAMS.contains(name) ? PLACEHOLDER : normalize(v))
+                .sorted()
+                .collect(Collectors.joining(","));
+            shape.put(name, value);
+        }
+        return shape.entrySet().stream().map(e -> e.getKey() + '=' + e.getValue()).collect(Collectors.joining("&"));
+    }
+
+    private static String normalize(final String value) {
+        String result = QUOTED_VALUE.matcher(value).replaceAll(PLACEHOLDER);
+        result = RANGE_VALUE.matcher(result).replaceAll("$1? TO ?$2");
+        result = GROUPED_FIELD_VALUE.matcher(result).replaceAll("$1:(?)");
+        result = FIELD_VALUE.matcher(result).replaceAll("$1:?");
+        return NUMBER_VALUE.matcher(result).replaceAll(PLACEHOLDER);
+    }
+
+    private List<QuerySample> top(int limit, final Comparator<QuerySample> comparator) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        final PriorityQueue<QuerySample> heap = new PriorityQueue<>(limit + 1, comparator);
+        for (final ShapeStats stats : getShapes().values()) {
+            heap.offer(stats.toSample());
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        final List<QuerySample> result = new ArrayList<>(heap);
+        result.sort(comparator.reversed());
+        return result;
+    }
+
+    private String getCaller() {
+        for (final StackTraceElement element : Thread.currentThread().getStackTrace()) {
+            final String className = element.getClassName();
+            if (className.startsWith(APPLICATION_PACKAGE)
+                && !className.startsWith(SAMPLER_PACKAGE)
+                && !className.startsWith(METRICS_PACKAGE)
+                && !className.contains("$$")) {
+                return className.substring(className.lastIndexOf('.') + 1) + '.' + element.getMethodName() + ':' + element.getLineNumber();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Slowest execution of a query shape
+     */
+    @RequiredArgsConstructor
+    private static class Slowest {
+        private final long queryTime;
+        private final long numFound;
+        private final String params;
+        private final String caller;
+    }
+
+    /**
+     * Lock-free query shape statistics accumulator
+     */
+    private class ShapeStats {
+        private final String collection;
+        private final String shape;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalQueryTime = new LongAdder();
+        private final AtomicReference<Slowest> slowest = new AtomicReference<>();
+
+        ShapeStats(final String collection, final String shape) {
+            this.collection = collection;
+            this.shape = shape;
+        }
+
+        void record(long queryTime, long numFound, final SolrParams params, final String caller) {
+            this.count.increment();
+            this.totalQueryTime.add(queryTime);
+            Slowest current = this.slowest.get();
+            if (Objects.nonNull(current) && current.queryTime >= queryTime) {
+                return;
+            }
+            final Slowest candidate = new Slowest(queryTime, numFound, params.toString(), Objects.nonNull(caller) ? caller : getCaller());
+            while ((Objects.isNull(current) || current.queryTime < queryTime) && !this.slowest.compareAndSet(current, candidate)) {
+                current = this.slowest.get();
+            }
+        }
+
+        QuerySample toSample() {
+            final long executions = this.count.sum();
+            final Slowest current = this.slowest.get();
+            return new QuerySample(
+                this.collection,
+                this.shape,
+                executions,
+                executions > 0 ? (double) this.totalQueryTime.sum() / executions : 0,
+                Objects.nonNull(current) ? current.queryTime : 0,
+                Objects.nonNull(current) ? current.numFound : -1,
+                Objects.nonNull(current) ? current.params : null,
+                Objects.nonNull(current) ? current.caller : null);
+        }
+    }
+}
@@ -25,15 +25,21 @@ package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface;
 
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.BaseDocument;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.solr.core.query.Criteria;
 import org.springframework.data.solr.core.query.FacetQuery;
 import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.result.Cursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 
 import java.io.Serializable;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 /**
@@ -64,11 +70,68 @@ public interface BaseDocumentSearchService<E extends BaseDocument<ID>, ID extend
      * Default query rows size
      */
     int DEFAULT_QUERY_ROWS_SIZE = 1000;
+    /**
+     * Default document identifier field name (cursor tie-breaker)
+     */
+    String DEFAULT_ID_FIELD_NAME = "id";
+    /**
+     * Default cursor batch size (rows fetched per cursorMark round-trip)
+     */
+    int DEFAULT_CURSOR_BATCH_SIZE = 500;
 
     void saveOrUpdate(final E target, final Class<? extends E> clazz);
 
     HighlightPage<? extends E> find(final String collection, final String searchTerm, final Pageable page);
 
+    /**
+     * Returns highlight page {@link HighlightPage} of documents by input search term fetching only stored fields
+     * matching input view field names (all fields are fetched if empty, unknown names are skipped)
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param page       - initial input {@link Pageable}
+     * @param fields     - initial input collection of view field names {@link Collection} to project onto
+     * @return highlight page {@link HighlightPage} of partially populated documents
+     */
+    HighlightPage<? extends E> find(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields);
+
+    /**
+     * Returns native solr query response {@link QueryResponse} by input search term fetching only stored fields
+     * matching input view field names, documents are bound one at a time by {@link #read(SolrDocument)} while the response is written
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param page       - initial input {@link Pageable}
+     * @param fields     - initial input collection of view field names {@link Collection} to project onto
+     * @return native solr query response {@link QueryResponse} (with highlighting)
+     */
+    QueryResponse findResponse(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields);
+
+    /**
+     * Returns pending native solr query response {@link QueryResponse} by input search term fetching only stored fields
+     * matching input view field names, the calling thread is released while the query is in flight
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param page       - initial input {@link Pageable}
+     * @param fields     - initial input collection of view field names {@link Collection} to project onto
+     * @return pending native solr query response {@link CompletableFuture} (with highlighting)
+     */
+    CompletableFuture<QueryResponse> findResponseAsync(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields);
+
+    /**
+     * Returns native solr query response {@link QueryResponse} with the documents matching input search term that follow
+     * input cursor mark, ordered by score and identifier; the next cursor mark of the response resumes the listing
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param searchTerm - initial input search term {@link String}
+     * @param cursorMark - initial input cursor mark {@link String} ({@code *} to start from the beginning)
+     * @param limit      - initial input maximum number of documents
+     * @param fields     - initial input collection of view field names {@link Collection} to project onto
+     * @return native solr query response {@link QueryResponse} (with highlighting and next cursor mark)
+     */
+    QueryResponse findResponse(final String collection, final String searchTerm, final String cursorMark, int limit, final Collection<String> fields);
+
     Page<? extends E> findByQuery(final String collection, final Query query);
 
     FacetPage<? extends E> findByFacetQuery(final String collection, final FacetQuery facetQuery);
@@ -76,4 +139,30 @@ public interface BaseDocumentSearchService<E extends BaseDocument<ID>, ID extend
     Page<? extends E> findByCriteria(final String collection, final Criteria criteria, final Pageable pageable);
 
     Page<? extends E> findByQueryAndCriteria(final String collection, final String queryString, final Criteria criteria, final Pageable pageable);
+
+    /**
+     * Returns opened cursorMark based {@link Cursor} over all documents matching query, starting at the given cursor mark
+     *
+     * @param collection - initial input collection name
+     * @param query      - initial input query {@link Query}
+     * @param cursorMark - initial input cursor mark to resume from ({@code *} to start from the beginning)
+     * @return opened {@link Cursor}
+     */
+    Cursor<? extends E> findByCursor(final String collection, final Query query, final String cursorMark);
+
+    /**
+     * Returns document bound from input native solr document {@link SolrDocument}, the document is converted
+     * the same way query pages are (including nested and spatial fields)
+     *
+     * @param document - initial input native solr document {@link SolrDocument}
+     * @return bound document
+     */
+    E read(final SolrDocument document);
+
+    /**
+     * Returns stored solr field names {@link String} by view field names clients may project onto
+     *
+     * @return stored solr field names {@link Map} by view field names
+     */
+    Map<String, String> getProjectableFields();
 }
@@ -24,12 +24,14 @@
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface;
 
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * {@link Category} document search service declaration {@link BaseDocumentSearchService}
@@ -49,6 +51,8 @@ public interface CategorySearchService extends BaseDocumentSearchService<Categor
 
     Page<? extends Category> findByTitle(final String title, final Pageable pageable);
 
+    Page<? extends Category> findByTitle(final String title, final Pageable pageable, final Collection<String> fields);
+
     Page<? extends Category> findByTitles(final String titles, final Pageable pageable);
 
     Page<? extends Category> findByDescription(final String description, final Pageable pageable);
@@ -56,4 +60,6 @@ public interface CategorySearchService extends BaseDocumentSearchService<Categor
     HighlightPage<? extends Category> findByTitleIn(final Collection<String> values, final Pageable pageable);
 
     FacetPage<? extends Category> findByAutoCompleteTitleFragment(final String fragment, final Pageable pageable);
+
+    List<? extends SuggestionView> findSuggestionsByTitleFragment(final String fragment, int limit);
 }
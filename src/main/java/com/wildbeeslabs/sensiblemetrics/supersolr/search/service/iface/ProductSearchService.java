@@ -24,6 +24,8 @@
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface;
 
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import org.apache.solr.client.solrj.response.QueryResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -35,6 +37,7 @@ import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * {@link Product} document search service declaration {@link BaseDocumentSearchService}
@@ -52,6 +55,19 @@ public interface ProductSearchService extends BaseDocumentSearchService<Product,
 
     Page<? extends Product> findByName(final String name, final Pageable pageable);
 
+    Page<? extends Product> findByName(final String name, final Pageable pageable, final Collection<String> fields);
+
+    /**
+     * Returns native solr query response {@link QueryResponse} of products by input name fetching only stored fields
+     * matching input view field names (all fields are fetched if empty)
+     *
+     * @param name     - initial input product name {@link String}
+     * @param pageable - initial input {@link Pageable}
+     * @param fields   - initial input collection of view field names {@link Collection} to project onto
+     * @return native solr query response {@link QueryResponse}
+     */
+    QueryResponse findResponseByName(final String name, final Pageable pageable, final Collection<String> fields);
+
     Page<? extends Product> findByNames(final String names, final Pageable pageable);
 
     Page<? extends Product> findByDescription(final String description, final Pageable pageable);
@@ -60,10 +76,22 @@ public interface ProductSearchService extends BaseDocumentSearchService<Product,
 
     HighlightPage<? extends Product> findByNameIn(final Collection<String> names, final Pageable pageable);
 
+    /**
+     * Returns native solr query response {@link QueryResponse} of products by input collection of names with name highlighting
+     *
+     * @param names    - initial input collection of product names {@link Collection}
+     * @param pageable - initial input {@link Pageable}
+     * @param fields   - initial input collection of view field names {@link Collection} to project onto
+     * @return native solr query response {@link QueryResponse} (empty if no names are given)
+     */
+    QueryResponse findResponseByNameIn(final Collection<String> names, final Pageable pageable, final Collection<String> fields);
+
     Page<? extends Product> findByShortDescription(final String description, final Pageable pageable);
 
     FacetPage<? extends Product> findByAutoCompleteNameFragment(final String fragment, final Pageable pageable);
 
+    List<? extends SuggestionView> findSuggestionsByNameFragment(final String fragment, int limit);
+
     Page<? extends Product> findByCategory(final String category, final Pageable pageable);
 
     Page<? extends Product> findByRating(final Integer rating, final Pageable pageable);
@@ -23,27 +23,51 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl;
 
+import com.google.common.collect.Lists;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.iface.AsyncSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.iface.RequestCoalescer;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.BaseDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableBaseDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface.DocumentIndexer;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.BaseDocumentSearchRepository;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseDocumentSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
+import com.wildbeeslabs.sensiblemetrics.supersolr.utility.ServiceUtils;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.params.CursorMarkParams;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.core.QueryParsers;
 import org.springframework.data.solr.core.query.Criteria;
 import org.springframework.data.solr.core.query.FacetQuery;
 import org.springframework.data.solr.core.query.Query;
+import org.springframework.data.solr.core.query.SimpleField;
 import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.result.Cursor;
+import org.springframework.data.solr.core.query.result.DelegatingCursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -58,6 +82,67 @@ import java.util.stream.Collectors;
 @Transactional
 public abstract class BaseDocumentSearchServiceImpl<E extends BaseDocument<ID>, ID extends Serializable> extends AuditDocumentSearchServiceImpl<E, ID> implements BaseDocumentSearchService<E, ID> {
 
+    /**
+     * Default delete all query
+     */
+    protected static final String DEFAULT_DELETE_ALL_QUERY = "*:*";
+
+    @Autowired
+    private DocumentIndexer documentIndexer;
+
+    @Autowired
+    private AsyncConfigProperties asyncConfigProperties;
+
+    @Autowired
+    private SearchResultCache searchResultCache;
+
+    @Autowired
+    private RequestCoalescer requestCoalescer;
+
+    @Autowired
+    private AsyncSolrOperations asyncSolrOperations;
+
+    /**
+     * Default {@link QueryParsers} instance (lazily created from template mapping context)
+     */
+    private volatile QueryParsers queryParsers;
+
+    @Override
+    public <S extends E> S save(final S target) {
+        log.info("Queueing target document: {}", target);
+        getDocumentIndexer().add(getCollection(), target);
+        return target;
+    }
+
+    @Override
+    public <S extends E> Iterable<S> save(final Iterable<S> target) {
+        log.info("Queueing target documents: {}", StringUtils.join(target, "|"));
+        getDocumentIndexer().addAll(getCollection(), Lists.newArrayList(target));
+        return target;
+    }
+
+    @Override
+    public void delete(final E target) {
+        log.info("Queueing delete of target document: {}", target);
+        getDocumentIndexer().deleteByIds(getCollection(), Collections.singletonList(String.valueOf(target.getId())));
+    }
+
+    @Override
+    public void deleteAll(final Iterable<? extends E> target) {
+        log.info("Queueing delete of target documents: {}", StringUtils.join(target, "|"));
+        final List<String> ids = Lists.newArrayList(target)
+            .stream()
+            .map(document -> String.valueOf(document.getId()))
+            .collect(Collectors.toList());
+        getDocumentIndexer().deleteByIds(getCollection(), ids);
+    }
+
+    @Override
+    public void deleteAll() {
+        log.info("Queueing delete of all documents in collection: {}", getCollection());
+        getDocumentIndexer().deleteByQuery(getCollection(), DEFAULT_DELETE_ALL_QUERY);
+    }
+
     @Override
     public void saveOrUpdate(final E target, final Class<? extends E> clazz) {
         log.info("Saving or updating target entity: {}", target);
@@ -81,7 +166,7 @@ public abstract class BaseDocumentSearchServiceImpl<E extends BaseDocument<ID>,
     protected Page<? extends E> findByCriteria(final String collection, final Criteria criteria, final Pageable pageable, final Class<? extends E> clazz) {
         final Query query = new SimpleQuery(criteria, pageable);
         query.setRows(DEFAULT_QUERY_ROWS_SIZE);
-        return getSolrTemplate().queryForPage(collection, query, clazz);
+        return findByQuery(collection, query, clazz);
     }
 
     protected Page<? extends E> findByQueryAndCriteria(final String collection, final String queryString, final Criteria criteria, final Pageable pageable, final Class<? extends E> clazz) {
@@ -89,9 +174,46 @@ public abstract class BaseDocumentSearchServiceImpl<E extends BaseDocument<ID>,
         query.addFilterQuery(new SimpleQuery(criteria));
         query.setPageRequest(pageable);
         query.setRows(DEFAULT_QUERY_ROWS_SIZE);
+        return findByQuery(collection, query, clazz);
+    }
+
+    /**
+     * Returns page {@link Page} of documents by input criteria {@link Criteria} fetching only stored fields matching input view field names
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param criteria   - initial input {@link Criteria}
+     * @param pageable   - initial input {@link Pageable}
+     * @param fields     - initial input collection of view field names {@link Collection} to project onto
+     * @param clazz      - initial input document {@link Class} type
+     * @return page {@link Page} of partially populated documents
+     */
+    protected Page<? extends E> findByCriteria(final String collection, final Criteria criteria, final Pageable pageable, final Collection<String> fields, final Class<? extends E> clazz) {
+        final Query query = new SimpleQuery(criteria, pageable);
+        setProjection(query, fields);
         return getSolrTemplate().queryForPage(collection, query, clazz);
     }
 
+    /**
+     * Restricts input query {@link Query} to stored fields matching input view field names (the solr {@code fl} parameter),
+     * the query is left unchanged if no field names are given
+     *
+     * @param query  - initial input {@link Query}
+     * @param fields - initial input collection of view field names {@link Collection}
+     */
+    protected void setProjection(final Query query, final Collection<String> fields) {
+        if (CollectionUtils.isEmpty(fields)) {
+            return;
+        }
+        final Set<String> projection = new LinkedHashSet<>();
+        projection.add(DEFAULT_ID_FIELD_NAME);
+        projection.add(SearchableBaseDocument.SCORE_FIELD_NAME);
+        fields.stream()
+            .map(getProjectableFields()::get)
+            .filter(Objects::nonNull)
+            .forEach(projection::add);
+        projection.forEach(field -> query.addProjectionOnField(new SimpleField(field)));
+    }
+
     protected Collection<String> tokenize(final String searchTerm) {
         final String[] searchTerms = StringUtils.split(searchTerm, DEFAULT_SEARСH_TERM_DELIMITER);
         return Arrays.stream(searchTerms)
@@ -105,11 +227,207 @@ public abstract class BaseDocumentSearchServiceImpl<E extends BaseDocument<ID>,
     }
 
     protected Page<? extends E> findByQuery(final String collection, final Query query, final Class<? extends E> clazz) {
-        return getSolrTemplate().queryForPage(collection, query, clazz);
+        return getCoalesced(collection, query, clazz, () -> getSolrTemplate().queryForPage(collection, query, clazz));
     }
 
     protected FacetPage<? extends E> findByFacetQuery(final String collection, final FacetQuery facetQuery, final Class<? extends E> clazz) {
-        return getSolrTemplate().queryForFacetPage(collection, facetQuery, clazz);
+        return getCoalesced(collection, facetQuery, clazz, () -> getSolrTemplate().queryForFacetPage(collection, facetQuery, clazz));
+    }
+
+    /**
+     * Returns native solr query response {@link QueryResponse} by input query {@link Query} without binding documents to entities,
+     * identical concurrent queries share one round trip
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param query      - initial input {@link Query}
+     * @param clazz      - initial input document {@link Class} type (used for field mapping only)
+     * @return native solr query response {@link QueryResponse}
+     */
+    protected QueryResponse findResponse(final String collection, final Query query, final Class<? extends E> clazz) {
+        final SolrQuery solrQuery = getQueryParsers().getForClass(query.getClass()).constructSolrQuery(query, clazz);
+        return getRequestCoalescer().execute(collection, QueryResponse.class.getName() + '|' + solrQuery,
+            () -> getSolrTemplate().execute(solrClient -> solrClient.query(collection, solrQuery)));
+    }
+
+    /**
+     * Returns pending native solr query response {@link QueryResponse} by input query {@link Query} without binding documents to entities
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param query      - initial input {@link Query}
+     * @param clazz      - initial input document {@link Class} type (used for field mapping only)
+     * @return pending native solr query response {@link CompletableFuture}
+     */
+    protected CompletableFuture<QueryResponse> findResponseAsync(final String collection, final Query query, final Class<? extends E> clazz) {
+        final SolrQuery solrQuery = getQueryParsers().getForClass(query.getClass()).constructSolrQuery(query, clazz);
+        return getAsyncSolrOperations().query(collection, solrQuery);
+    }
+
+    /**
+     * Returns native solr query response {@link QueryResponse} by input query {@link Query} following input cursor mark,
+     * the query is sorted by score and identifier (the cursor tie-breaker) unless it is sorted already
+     *
+     * @param collection - initial input collection name {@link String}
+     * @param query      - initial input {@link Query}
+     * @param cursorMark - initial input cursor mark {@link String}
+     * @param clazz      - initial input document {@link Class} type (used for field mapping only)
+     * @return native solr query response {@link QueryResponse}
+     */
+    protected QueryResponse findResponse(final String collection, final Query query, final String cursorMark, final Class<? extends E> clazz) {
+        query.setOffset(0L);
+        if (Objects.isNull(query.getSort()) || query.getSort().isUnsorted()) {
+            query.addSort(Sort.by(Sort.Direction.DESC, SearchableBaseDocument.SCORE_FIELD_NAME));
+        }
+        if (Objects.isNull(query.getSort().getOrderFor(DEFAULT_ID_FIELD_NAME))) {
+            query.addSort(Sort.by(Sort.Direction.ASC, DEFAULT_ID_FIELD_NAME));
+        }
+        final SolrQuery solrQuery = getQueryParsers().getForClass(query.getClass()).constructSolrQuery(query, clazz);
+        solrQuery.set(CursorMarkParams.CURSOR_MARK_PARAM, cursorMark);
+        return getSolrTemplate().execute(solrClient -> solrClient.query(collection, solrQuery));
+    }
+
+    /**
+     * Returns document bound from input native solr document {@link SolrDocument}
+     *
+     * @param document - initial input native solr document {@link SolrDocument}
+     * @param clazz    - initial input document {@link Class} type
+     * @param <T>      type of document
+     * @return bound document
+     */
+    protected <T extends E> T read(final SolrDocument document, final Class<T> clazz) {
+        return getSolrTemplate().getConverter().read(clazz, document);
+    }
+
+    protected Cursor<? extends E> findByCursor(final String collection, final Query query, final String cursorMark, final Class<? extends E> clazz) {
+        query.setOffset(0L);
+        query.setRows(DEFAULT_CURSOR_BATCH_SIZE);
+        if (Objects.isNull(query.getSort()) || Objects.isNull(query.getSort().getOrderFor(DEFAULT_ID_FIELD_NAME))) {
+            query.addSort(Sort.by(Sort.Direction.ASC, DEFAULT_ID_FIELD_NAME));
+        }
+        final SolrQuery solrQuery = getQueryParsers().getForClass(query.getClass()).constructSolrQuery(query, clazz);
+        return openCursor(collection, solrQuery, cursorMark, clazz);
+    }
+
+    private <T extends E> Cursor<T> openCursor(final String collection, final SolrQuery solrQuery, final String cursorMark, final Class<T> clazz) {
+        return new SolrQueryCursor<>(collection, solrQuery, cursorMark, clazz).open();
+    }
+
+    protected QueryParsers getQueryParsers() {
+        if (Objects.isNull(this.queryParsers)) {
+            this.queryParsers = new QueryParsers(getSolrTemplate().getConverter().getMappingContext());
+        }
+        return this.queryParsers;
+    }
+
+    protected DocumentIndexer getDocumentIndexer() {
+        return this.documentIndexer;
+    }
+
+    protected SearchResultCache getSearchResultCache() {
+        return this.searchResultCache;
+    }
+
+    protected RequestCoalescer getRequestCoalescer() {
+        return this.requestCoalescer;
+    }
+
+    protected AsyncSolrOperations getAsyncSolrOperations() {
+        return this.asyncSolrOperations;
+    }
+
+    /**
+     * Returns search result of service collection from local or shared cache or loads it by input supplier {@link Supplier}
+     *
+     * @param <T>    type of search result
+     * @param query  - initial input query name {@link String}
+     * @param loader - initial input search result loader {@link Supplier}
+     * @param params - initial input query parameters
+     * @return cached or loaded search result
+     */
+    protected <T> T getCached(final String query, final Supplier<T> loader, final Object... params) {
+        final String key = getSearchResultCache().createKey(query, params);
+        return getSearchResultCache().get(getCollection(), key, () -> getRequestCoalescer().execute(getCollection(), key, loader));
+    }
+
+    /**
+     * Returns search result of service collection from local cache or loads it by input supplier {@link Supplier}
+     * (used for facet and highlight pages that cannot be shared through redis)
+     *
+     * @param <T>    type of search result
+     * @param query  - initial input query name {@link String}
+     * @param loader - initial input search result loader {@link Supplier}
+     * @param params - initial input query parameters
+     * @return cached or loaded search result
+     */
+    protected <T> T getCachedLocal(final String query, final Supplier<T> loader, final Object... params) {
+        return getCachedLocal(getCollection(), query, loader, params);
+    }
+
+    protected <T> T getCachedLocal(final String collection, final String query, final Supplier<T> loader, final Object... params) {
+        final String key = getSearchResultCache().createKey(query, params);
+        return getSearchResultCache().getLocal(collection, key, () -> getRequestCoalescer().execute(collection, key, loader));
+    }
+
+    /**
+     * Returns result of in-flight identical query or loads it by input supplier {@link Supplier}
+     * (queries are keyed by their document type and solr parameters, so equal criteria and pagination share one round trip)
+     *
+     * @param <T>        type of search result
+     * @param collection - initial input collection name {@link String}
+     * @param query      - initial input {@link Query}
+     * @param clazz      - initial input document {@link Class} type
+     * @param loader     - initial input search result loader {@link Supplier}
+     * @return shared or loaded search result
+     */
+    protected <T> T getCoalesced(final String collection, final Query query, final Class<? extends E> clazz, final Supplier<T> loader) {
+        final SolrQuery solrQuery = getQueryParsers().getForClass(query.getClass()).constructSolrQuery(query, clazz);
+        return getRequestCoalescer().execute(collection, clazz.getName() + '|' + solrQuery, loader);
+    }
+
+    /**
+     * Returns result of asynchronous repository call waiting no longer than the configured timeout
+     *
+     * @param <T>    type of result
+     * @param future - initial input {@link CompletableFuture} to wait for
+     * @return result of asynchronous repository call
+     */
+    protected <T> T getResult(final CompletableFuture<T> future) {
+        return ServiceUtils.getResult(future, this.asyncConfigProperties.getTimeout());
+    }
+
+    /**
+     * Returns collection name {@link String} documents are indexed into
+     *
+     * @return collection name {@link String}
+     */
+    protected abstract String getCollection();
+
+    /**
+     * CursorMark based {@link DelegatingCursor} implementation, fetching results page by page straight from the Solr response
+     *
+     * @param <T> type of document
+     */
+    protected class SolrQueryCursor<T> extends DelegatingCursor<T> {
+
+        /**
+         * Default collection name
+         */
+        private final String collection;
+        /**
+         * Default document {@link Class} type
+         */
+        private final Class<T> clazz;
+
+        public SolrQueryCursor(final String collection, final SolrQuery query, final String cursorMark, final Class<T> clazz) {
+            super(query, cursorMark);
+            this.collection = collection;
+            this.clazz = clazz;
+        }
+
+        @Override
+        protected PartialResult<T> doLoad(final SolrQuery nativeQuery) {
+            final QueryResponse response = getSolrTemplate().execute(client -> client.query(this.collection, nativeQuery));
+            return new PartialResult<>(response.getNextCursorMark(), getSolrTemplate().convertQueryResponseToBeans(response, this.clazz));
+        }
     }
 
     /**
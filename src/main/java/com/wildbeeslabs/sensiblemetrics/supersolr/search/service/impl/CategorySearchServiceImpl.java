@@ -23,27 +23,40 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl;
 
+import com.google.common.collect.ImmutableMap;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableCategory;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.CategorySearchRepository;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.CategorySearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface.DocumentSuggester;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableCategoryView;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.solr.core.query.*;
+import org.springframework.data.solr.core.query.result.Cursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 import org.springframework.data.solr.core.query.result.SolrResultPage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * {@link Category} search service implementation
@@ -55,34 +68,56 @@ import java.util.Collections;
 @Transactional
 public class CategorySearchServiceImpl extends BaseDocumentSearchServiceImpl<Category, String> implements CategorySearchService {
 
+    /**
+     * Default stored field names by projectable view field names
+     */
+    private static final Map<String, String> PROJECTABLE_FIELDS = ImmutableMap.of(
+        ExposableCategoryView.INDEX_FIELD_NAME, SearchableCategory.INDEX_FIELD_NAME,
+        ExposableCategoryView.TITLE_FIELD_NAME, SearchableCategory.TITLE_FIELD_NAME,
+        ExposableCategoryView.DESCRIPTION_FIELD_NAME, SearchableCategory.DESCRIPTION_FIELD_NAME
+    );
+
     @Autowired
     private CategorySearchRepository categorySearchRepository;
 
+    @Autowired
+    @Qualifier(DocumentSuggester.CATEGORY_SUGGESTER_ID)
+    private DocumentSuggester categorySuggester;
+
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Category> findByTitleLike(final String title, final Pageable pageable) {
-        return getRepository().findByTitleLike(title, pageable);
+        return getCached("findByTitleLike", () -> getRepository().findByTitleLike(title, pageable), title, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Category> findByTitle(final String title, final Pageable pageable) {
-        return getRepository().findByTitle(title, pageable);
+        return getCached("findByTitle", () -> getRepository().findByTitle(title, pageable), title, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<? extends Category> findByTitles(final String titles, final Pageable pageable) {
-        if (StringUtils.isEmpty(titles)) {
-            return getRepository().findAll(pageable);
+    public Page<? extends Category> findByTitle(final String title, final Pageable pageable, final Collection<String> fields) {
+        if (CollectionUtils.isEmpty(fields)) {
+            return findByTitle(title, pageable);
         }
-        return getRepository().findByTitleIn(tokenize(titles), pageable);
+        final Criteria criteria = new Criteria(SearchableCategory.TITLE_FIELD_NAME).is(title);
+        return getCached("findByTitle", () -> findByCriteria(COLLECTION_ID, criteria, pageable, fields, Category.class), title, pageable, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<? extends Category> findByTitles(final String titles, final Pageable pageable) {
+        return getCached("findByTitles", () -> StringUtils.isEmpty(titles)
+            ? getRepository().findAll(pageable)
+            : getRepository().findByTitleIn(tokenize(titles), pageable), titles, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Category> findByDescription(final String description, final Pageable pageable) {
-        return getRepository().findByDescription(description, pageable);
+        return getCached("findByDescription", () -> getRepository().findByDescription(description, pageable), description, pageable);
     }
 
     @Override
@@ -91,7 +126,7 @@ public class CategorySearchServiceImpl extends BaseDocumentSearchServiceImpl<Cat
         if (CollectionUtils.isEmpty(values)) {
             return new SolrResultPage<>(Collections.emptyList());
         }
-        return getRepository().findByTitleIn(values, pageable);
+        return getCachedLocal("findByTitleIn", () -> getRepository().findByTitleIn(values, pageable), values, pageable);
     }
 
     @Override
@@ -100,20 +135,51 @@ public class CategorySearchServiceImpl extends BaseDocumentSearchServiceImpl<Cat
         if (StringUtils.isEmpty(fragment)) {
             return new SolrResultPage<>(Collections.emptyList());
         }
-        return getRepository().findByTitleStartingWith(fragment, pageable);
+        return getCachedLocal("findByAutoCompleteTitleFragment", () -> getRepository().findByTitleStartingWith(fragment, pageable), fragment, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<? extends SuggestionView> findSuggestionsByTitleFragment(final String fragment, int limit) {
+        return getSuggester().suggest(fragment, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public HighlightPage<? extends Category> find(final String collection, final String searchTerm, final Pageable page) {
-        final Criteria fileIdCriteria = new Criteria(SearchableCategory.ID_FIELD_NAME).boost(2).is(searchTerm);
-        final Criteria titleCriteria = new Criteria(SearchableCategory.TITLE_FIELD_NAME).fuzzy(searchTerm);
-        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(titleCriteria), page);
-        query.setHighlightOptions(new HighlightOptions()
-            .setSimplePrefix("<highlight>")
-            .setSimplePostfix("</highlight>")
-            .addField(SearchableCategory.ID_FIELD_NAME, SearchableCategory.TITLE_FIELD_NAME));
-        return getSolrTemplate().queryForHighlightPage(collection, query, Category.class);
+        return find(collection, searchTerm, page, Collections.emptyList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HighlightPage<? extends Category> find(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return getCachedLocal(collection, "find", () -> getSolrTemplate().queryForHighlightPage(collection, query, Category.class), searchTerm, page, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponse(collection, query, Category.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final String cursorMark, int limit, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, PageRequest.of(0, limit));
+        setProjection(query, fields);
+        return findResponse(collection, query, cursorMark, Category.class);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<QueryResponse> findResponseAsync(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponseAsync(collection, query, Category.class);
     }
 
     @Override
@@ -140,6 +206,17 @@ public class CategorySearchServiceImpl extends BaseDocumentSearchServiceImpl<Cat
         return this.findByQueryAndCriteria(collection, queryString, criteria, pageable, Category.class);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Cursor<? extends Category> findByCursor(final String collection, final Query query, final String cursorMark) {
+        return this.findByCursor(collection, query, cursorMark, Category.class);
+    }
+
+    @Override
+    public Category read(final SolrDocument document) {
+        return this.read(document, Category.class);
+    }
+
     protected Criteria nameOrDescSearchCriteria(final String searchTerm) {
         final String[] searchTerms = StringUtils.split(searchTerm, DEFAULT_SEARСH_TERM_DELIMITER);
         Criteria criteria = new Criteria();
@@ -151,6 +228,36 @@ public class CategorySearchServiceImpl extends BaseDocumentSearchServiceImpl<Cat
         return criteria.and(new Criteria(DEFAULT_DOCTYPE).is(SearchableCategory.CORE_ID));
     }
 
+    private SimpleHighlightQuery getFindQuery(final String searchTerm, final Pageable page) {
+        final Criteria fileIdCriteria = new Criteria(SearchableCategory.ID_FIELD_NAME).boost(2).is(searchTerm);
+        final Criteria titleCriteria = new Criteria(SearchableCategory.TITLE_FIELD_NAME).fuzzy(searchTerm);
+        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(titleCriteria), page);
+        query.setHighlightOptions(new HighlightOptions()
+            .setSimplePrefix("<highlight>")
+            .setSimplePostfix("</highlight>")
+            .addField(SearchableCategory.ID_FIELD_NAME, SearchableCategory.TITLE_FIELD_NAME));
+        return query;
+    }
+
+    @Override
+    public Map<String, String> getProjectableFields() {
+        return PROJECTABLE_FIELDS;
+    }
+
+    @Override
+    protected String getCollection() {
+        return COLLECTION_ID;
+    }
+
+    /**
+     * Returns {@link DocumentSuggester} of category title suggestions
+     *
+     * @return {@link DocumentSuggester}
+     */
+    protected DocumentSuggester getSuggester() {
+        return this.categorySuggester;
+    }
+
     /**
      * Returns {@link CategorySearchRepository} repository
      *
@@ -23,23 +23,35 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl;
 
+import com.google.common.collect.ImmutableMap;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableOrder;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.OrderSearchRepository;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.OrderSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableOrderView;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.solr.core.query.*;
+import org.springframework.data.solr.core.query.result.Cursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * {@link Order} search service implementation
  */
@@ -50,32 +62,65 @@ import org.springframework.transaction.annotation.Transactional;
 @Transactional
 public class OrderSearchServiceImpl extends BaseDocumentSearchServiceImpl<Order, String> implements OrderSearchService {
 
+    /**
+     * Default stored field names by projectable view field names
+     */
+    private static final Map<String, String> PROJECTABLE_FIELDS = ImmutableMap.of(
+        ExposableOrderView.TITLE_FIELD_NAME, SearchableOrder.TITLE_FIELD_NAME,
+        ExposableOrderView.DESCRIPTION_FIELD_NAME, SearchableOrder.DESCRIPTION_FIELD_NAME
+    );
+
     @Autowired
     private OrderSearchRepository orderSearchRepository;
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Order> findByDescription(final String searchTerm, final Pageable page) {
-        return getRepository().findByDescription(searchTerm, page);
+        return getCached("findByDescription", () -> getRepository().findByDescription(searchTerm, page), searchTerm, page);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Order> findByTitle(final String searchTerm, final Pageable page) {
-        return getRepository().findByTitle(searchTerm, page);
+        return getCached("findByTitle", () -> getRepository().findByTitle(searchTerm, page), searchTerm, page);
     }
 
     @Override
     @Transactional(readOnly = true)
     public HighlightPage<? extends Order> find(final String collection, final String searchTerm, final Pageable page) {
-        final Criteria fileIdCriteria = new Criteria(SearchableOrder.ID_FIELD_NAME).boost(2).is(searchTerm);
-        final Criteria descriptionCriteria = new Criteria(SearchableOrder.DESCRIPTION_FIELD_NAME).fuzzy(searchTerm);
-        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(descriptionCriteria), page);
-        query.setHighlightOptions(new HighlightOptions()
-            .setSimplePrefix("<highlight>")
-            .setSimplePostfix("</highlight>")
-            .addField(SearchableOrder.ID_FIELD_NAME, SearchableOrder.DESCRIPTION_FIELD_NAME));
-        return getSolrTemplate().queryForHighlightPage(collection, query, Order.class);
+        return find(collection, searchTerm, page, Collections.emptyList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public HighlightPage<? extends Order> find(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return getCachedLocal(collection, "find", () -> getSolrTemplate().queryForHighlightPage(collection, query, Order.class), searchTerm, page, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponse(collection, query, Order.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final String cursorMark, int limit, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, PageRequest.of(0, limit));
+        setProjection(query, fields);
+        return findResponse(collection, query, cursorMark, Order.class);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<QueryResponse> findResponseAsync(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponseAsync(collection, query, Order.class);
     }
 
     @Override
@@ -102,6 +147,17 @@ public class OrderSearchServiceImpl extends BaseDocumentSearchServiceImpl<Order,
         return this.findByQueryAndCriteria(collection, queryString, criteria, pageable, Order.class);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Cursor<? extends Order> findByCursor(final String collection, final Query query, final String cursorMark) {
+        return this.findByCursor(collection, query, cursorMark, Order.class);
+    }
+
+    @Override
+    public Order read(final SolrDocument document) {
+        return this.read(document, Order.class);
+    }
+
     protected Criteria titleOrDescSearchCriteria(final String searchTerm) {
         final String[] searchTerms = StringUtils.split(searchTerm, DEFAULT_SEARСH_TERM_DELIMITER);
         Criteria criteria = new Criteria();
@@ -113,6 +169,27 @@ public class OrderSearchServiceImpl extends BaseDocumentSearchServiceImpl<Order,
         return criteria.and(new Criteria(DEFAULT_DOCTYPE).is(SearchableOrder.CORE_ID));
     }
 
+    private SimpleHighlightQuery getFindQuery(final String searchTerm, final Pageable page) {
+        final Criteria fileIdCriteria = new Criteria(SearchableOrder.ID_FIELD_NAME).boost(2).is(searchTerm);
+        final Criteria descriptionCriteria = new Criteria(SearchableOrder.DESCRIPTION_FIELD_NAME).fuzzy(searchTerm);
+        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(descriptionCriteria), page);
+        query.setHighlightOptions(new HighlightOptions()
+            .setSimplePrefix("<highlight>")
+            .setSimplePostfix("</highlight>")
+            .addField(SearchableOrder.ID_FIELD_NAME, SearchableOrder.DESCRIPTION_FIELD_NAME));
+        return query;
+    }
+
+    @Override
+    public Map<String, String> getProjectableFields() {
+        return PROJECTABLE_FIELDS;
+    }
+
+    @Override
+    protected String getCollection() {
+        return COLLECTION_ID;
+    }
+
     /**
      * Returns {@link OrderSearchRepository} repository
      *
@@ -23,18 +23,26 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl;
 
+import com.google.common.collect.ImmutableMap;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.repository.ProductSearchRepository;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.ProductSearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface.DocumentSuggester;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableProductView;
 import io.swagger.annotations.ApiModelProperty;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.geo.Distance;
@@ -44,16 +52,20 @@ import org.springframework.data.geo.Shape;
 import org.springframework.data.solr.UncategorizedSolrException;
 import org.springframework.data.solr.core.geo.GeoConverters;
 import org.springframework.data.solr.core.query.*;
+import org.springframework.data.solr.core.query.result.Cursor;
 import org.springframework.data.solr.core.query.result.FacetPage;
 import org.springframework.data.solr.core.query.result.HighlightPage;
 import org.springframework.data.solr.core.query.result.SolrResultPage;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.ServiceUtils.getResultAsync;
 
 /**
  * {@link Product} search service implementation
@@ -65,34 +77,74 @@ import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.ServiceUtils.ge
 @Transactional
 public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Product, String> implements ProductSearchService {
 
+    /**
+     * Default stored field names by projectable view field names
+     */
+    private static final Map<String, String> PROJECTABLE_FIELDS = ImmutableMap.<String, String>builder()
+        .put(ExposableProductView.NAME_FIELD_NAME, SearchableProduct.NAME_FIELD_NAME)
+        .put(ExposableProductView.SHORT_DESCRIPTION_FIELD_NAME, SearchableProduct.SHORT_DESCRIPTION_FIELD_NAME)
+        .put(ExposableProductView.LONG_DESCRIPTION_FIELD_NAME, SearchableProduct.LONG_DESCRIPTION_FIELD_NAME)
+        .put(ExposableProductView.PRICE_DESCRIPTION_FIELD_NAME, SearchableProduct.PRICE_DESCRIPTION_FIELD_NAME)
+        .put(ExposableProductView.CATALOG_NUMBER_FIELD_NAME, SearchableProduct.CATALOG_NUMBER_FIELD_NAME)
+        .put(ExposableProductView.PAGE_TITLE_FIELD_NAME, SearchableProduct.PAGE_TITLE_FIELD_NAME)
+        .put(ExposableProductView.AVAILABLE_FIELD_NAME, SearchableProduct.AVAILABLE_FIELD_NAME)
+        .put(ExposableProductView.PRICE_FIELD_NAME, SearchableProduct.PRICE_FIELD_NAME)
+        .put(ExposableProductView.RECOMMENDED_PRICE_FIELD_NAME, SearchableProduct.RECOMMENDED_PRICE_FIELD_NAME)
+        .put(ExposableProductView.RATING_FIELD_NAME, SearchableProduct.RATING_FIELD_NAME)
+        .put(ExposableProductView.AGE_RESTRICTION_FIELD_NAME, SearchableProduct.AGE_RESTRICTION_FIELD_NAME)
+        .put(ExposableProductView.LOCK_TYPE_FIELD_NAME, SearchableProduct.LOCK_TYPE_FIELD_NAME)
+        .put(ExposableProductView.LOCATION_FIELD_NAME, SearchableProduct.LOCATION_FIELD_NAME)
+        .build();
+
     @Autowired
     private ProductSearchRepository productSearchRepository;
 
+    @Autowired
+    @Qualifier(DocumentSuggester.PRODUCT_SUGGESTER_ID)
+    private DocumentSuggester productSuggester;
+
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByName(final String name, final Pageable pageable) {
-        return getRepository().findByName(name, pageable);
+        return getCached("findByName", () -> getRepository().findByName(name, pageable), name, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Page<? extends Product> findByNames(final String names, final Pageable pageable) {
-        if (StringUtils.isEmpty(names)) {
-            return getRepository().findAll(pageable);
+    public Page<? extends Product> findByName(final String name, final Pageable pageable, final Collection<String> fields) {
+        if (CollectionUtils.isEmpty(fields)) {
+            return findByName(name, pageable);
         }
-        return getRepository().findByNameIn(tokenize(names), pageable);
+        final Criteria criteria = new Criteria(SearchableProduct.NAME_FIELD_NAME).is(name);
+        return getCached("findByName", () -> findByCriteria(COLLECTION_ID, criteria, pageable, fields, Product.class), name, pageable, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponseByName(final String name, final Pageable pageable, final Collection<String> fields) {
+        final Query query = new SimpleQuery(new Criteria(SearchableProduct.NAME_FIELD_NAME).is(name), pageable);
+        setProjection(query, fields);
+        return findResponse(COLLECTION_ID, query, Product.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<? extends Product> findByNames(final String names, final Pageable pageable) {
+        return getCached("findByNames", () -> StringUtils.isEmpty(names)
+            ? getRepository().findAll(pageable)
+            : getRepository().findByNameIn(tokenize(names), pageable), names, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByDescription(final String description, final Pageable pageable) {
-        return getRepository().findByDescription(description, pageable);
+        return getCached("findByDescription", () -> getRepository().findByDescription(description, pageable), description, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByNameOrDescription(final String searchTerm, final Pageable pageable) {
-        return getRepository().findByNameOrDescription(searchTerm, pageable);
+        return getCached("findByNameOrDescription", () -> getRepository().findByNameOrDescription(searchTerm, pageable), searchTerm, pageable);
     }
 
     @Override
@@ -101,7 +153,22 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
         if (CollectionUtils.isEmpty(names)) {
             return new SolrResultPage<>(Collections.emptyList());
         }
-        return getRepository().findByNameIn(names, pageable);
+        return getCachedLocal("findByNameIn", () -> getRepository().findByNameIn(names, pageable), names, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponseByNameIn(final Collection<String> names, final Pageable pageable, final Collection<String> fields) {
+        if (CollectionUtils.isEmpty(names)) {
+            return new QueryResponse();
+        }
+        final SimpleHighlightQuery query = new SimpleHighlightQuery(new Criteria(SearchableProduct.NAME_FIELD_NAME).in(names), pageable);
+        query.setHighlightOptions(new HighlightOptions()
+            .setSimplePrefix("<highlight>")
+            .setSimplePostfix("</highlight>")
+            .addField(SearchableProduct.NAME_FIELD_NAME));
+        setProjection(query, fields);
+        return findResponse(COLLECTION_ID, query, Product.class);
     }
 
     @Override
@@ -110,73 +177,79 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
         if (StringUtils.isEmpty(fragment)) {
             return new SolrResultPage<>(Collections.emptyList());
         }
-        return getRepository().findByNameStartingWith(fragment, pageable);
+        return getCachedLocal("findByAutoCompleteNameFragment", () -> getRepository().findByNameStartingWith(fragment, pageable), fragment, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<? extends SuggestionView> findSuggestionsByNameFragment(final String fragment, int limit) {
+        return getSuggester().suggest(fragment, limit);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByShortDescription(final String searchTerm, final Pageable pageable) {
-        return getRepository().findByShortDescription(searchTerm, pageable);
+        return getCached("findByShortDescription", () -> getRepository().findByShortDescription(searchTerm, pageable), searchTerm, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByCategory(final String category, final Pageable pageable) {
-        return getRepository().findByCategory(category, pageable);
+        return getCached("findByCategory", () -> getRepository().findByCategory(category, pageable), category, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByRating(final Integer popularity, final Pageable pageable) {
-        return getRepository().findByRating(popularity, pageable);
+        return getCached("findByRating", () -> getRepository().findByRating(popularity, pageable), popularity, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Iterable<? extends Product> findByLockType(final Integer lockType, final Sort sort) {
-        return getResultAsync(getRepository().findByLockType(lockType, sort));
+        return getResult(getRepository().findByLockType(lockType, sort));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByLocation(final Point location, final Distance distance, final Pageable pageable) {
-        return getRepository().findByLocation(location, distance, pageable);
+        return getCached("findByLocation", () -> getRepository().findByLocation(location, distance, pageable), location, distance, pageable);
     }
 
     @Override
     public Iterable<? extends Product> findByLocationWithin(final Point location, final Distance distance) {
-        return getResultAsync(getRepository().findByLocationWithin(location, distance));
+        return getResult(getRepository().findByLocationWithin(location, distance));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Iterable<? extends Product> findByLocationNear(final Point location, final Distance distance) {
-        return getResultAsync(getRepository().findByLocationNear(location, distance));
+        return getResult(getRepository().findByLocationNear(location, distance));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByLocationNear(final Point location, final Distance distance, final Pageable pageable) {
-        return getRepository().findByLocation(location, distance, pageable);
+        return getCached("findByLocationNear", () -> getRepository().findByLocation(location, distance, pageable), location, distance, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Iterable<? extends Product> findByLocationWithin(final String location, final Distance distance) {
         final Point point = GeoConverters.StringToPointConverter.INSTANCE.convert(location);
-        return getResultAsync(getRepository().findByLocationWithin(new Point(point.getX(), point.getY()), distance));
+        return getResult(getRepository().findByLocationWithin(new Point(point.getX(), point.getY()), distance));
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByNameOrCategory(final String searchTerm, final Pageable pageable) {
-        return getRepository().findByNameOrCategory(searchTerm, pageable);
+        return getCached("findByNameOrCategory", () -> getRepository().findByNameOrCategory(searchTerm, pageable), searchTerm, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Iterable<? extends Product> findByGeoLocationWithin(final Shape shape) {
-        return getResultAsync(getRepository().findByGeoLocationWithin(shape));
+        return getResult(getRepository().findByGeoLocationWithin(shape));
     }
 
     @Override
@@ -188,19 +261,19 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findAllProducts(final Pageable pageable) {
-        return getRepository().findAllProducts(pageable);
+        return getCached("findAllProducts", () -> getRepository().findAllProducts(pageable), pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findAvailableProductsByName(final String name, final Pageable pageable) {
-        return getRepository().findByAvailableTrueAndNameStartingWith(name, pageable);
+        return getCached("findAvailableProductsByName", () -> getRepository().findByAvailableTrueAndNameStartingWith(name, pageable), name, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<? extends Product> findByAvailableQuery(boolean inStock, final Pageable pageable) {
-        return getRepository().findByAvailableQuery(inStock, pageable);
+        return getCached("findByAvailableQuery", () -> getRepository().findByAvailableQuery(inStock, pageable), inStock, pageable);
     }
 
     @Override
@@ -220,24 +293,47 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
         productUpdate.add(SearchableProduct.RECOMMENDED_PRICE_FIELD_NAME, product.getRecommendedPrice());
         productUpdate.add(SearchableProduct.ATTRIBUTES_FIELD_NAME, product.getAttributes());
         productUpdate.add(SearchableProduct.RATING_FIELD_NAME, product.getRating());
-        getSolrTemplate().saveBean(COLLECTION_ID, productUpdate);
-        getSolrTemplate().commit(COLLECTION_ID);
+        getDocumentIndexer().add(COLLECTION_ID, productUpdate);
     }
 
     @Override
     @Transactional(readOnly = true)
     @ApiModelProperty(name = "internal", access = "limited")
     public HighlightPage<? extends Product> find(final String collection, final String searchTerm, final Pageable page) {
-        final Criteria fileIdCriteria = new Criteria(SearchableProduct.ID_FIELD_NAME).boost(2).is(searchTerm);
-        final Criteria pageTitleCriteria = new Criteria(SearchableProduct.PAGE_TITLE_FIELD_NAME).boost(2).is(searchTerm);
-        final Criteria nameCriteria = new Criteria(SearchableProduct.NAME_FIELD_NAME).fuzzy(searchTerm);
+        return find(collection, searchTerm, page, Collections.emptyList());
+    }
 
-        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(pageTitleCriteria).or(nameCriteria), page);
-        query.setHighlightOptions(new HighlightOptions()
-            .setSimplePrefix("<highlight>")
-            .setSimplePostfix("</highlight>")
-            .addField(SearchableProduct.ID_FIELD_NAME, SearchableProduct.PAGE_TITLE_FIELD_NAME, SearchableProduct.NAME_FIELD_NAME));
-        return getSolrTemplate().queryForHighlightPage(collection, query, Product.class);
+    @Override
+    @Transactional(readOnly = true)
+    @ApiModelProperty(name = "internal", access = "limited")
+    public HighlightPage<? extends Product> find(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return getCachedLocal(collection, "find", () -> getSolrTemplate().queryForHighlightPage(collection, query, Product.class), searchTerm, page, fields);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponse(collection, query, Product.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public QueryResponse findResponse(final String collection, final String searchTerm, final String cursorMark, int limit, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, PageRequest.of(0, limit));
+        setProjection(query, fields);
+        return findResponse(collection, query, cursorMark, Product.class);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<QueryResponse> findResponseAsync(final String collection, final String searchTerm, final Pageable page, final Collection<String> fields) {
+        final SimpleHighlightQuery query = getFindQuery(searchTerm, page);
+        setProjection(query, fields);
+        return findResponseAsync(collection, query, Product.class);
     }
 
     @Override
@@ -264,6 +360,17 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
         return this.findByQueryAndCriteria(collection, queryString, criteria, pageable, Product.class);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Cursor<? extends Product> findByCursor(final String collection, final Query query, final String cursorMark) {
+        return this.findByCursor(collection, query, cursorMark, Product.class);
+    }
+
+    @Override
+    public Product read(final SolrDocument document) {
+        return this.read(document, Product.class);
+    }
+
     protected Criteria nameOrDescSearchCriteria(final String searchTerm) {
         final String[] searchTerms = StringUtils.split(searchTerm, DEFAULT_SEARСH_TERM_DELIMITER);
         Criteria criteria = new Criteria();
@@ -278,6 +385,38 @@ public class ProductSearchServiceImpl extends BaseDocumentSearchServiceImpl<Prod
         return criteria.and(new Criteria(DEFAULT_DOCTYPE).is(SearchableProduct.CORE_ID));
     }
 
+    private SimpleHighlightQuery getFindQuery(final String searchTerm, final Pageable page) {
+        final Criteria fileIdCriteria = new Criteria(SearchableProduct.ID_FIELD_NAME).boost(2).is(searchTerm);
+        final Criteria pageTitleCriteria = new Criteria(SearchableProduct.PAGE_TITLE_FIELD_NAME).boost(2).is(searchTerm);
+        final Criteria nameCriteria = new Criteria(SearchableProduct.NAME_FIELD_NAME).fuzzy(searchTerm);
+
+        final SimpleHighlightQuery query = new SimpleHighlightQuery(fileIdCriteria.or(pageTitleCriteria).or(nameCriteria), page);
+        query.setHighlightOptions(new HighlightOptions()
+            .setSimplePrefix("<highlight>")
+            .setSimplePostfix("</highlight>")
+            .addField(SearchableProduct.ID_FIELD_NAME, SearchableProduct.PAGE_TITLE_FIELD_NAME, SearchableProduct.NAME_FIELD_NAME));
+        return query;
+    }
+
+    @Override
+    public Map<String, String> getProjectableFields() {
+        return PROJECTABLE_FIELDS;
+    }
+
+    @Override
+    protected String getCollection() {
+        return COLLECTION_ID;
+    }
+
+    /**
+     * Returns {@link DocumentSuggester} of product name suggestions
+     *
+     * @return {@link DocumentSuggester}
+     */
+    protected DocumentSuggester getSuggester() {
+        return this.productSuggester;
+    }
+
     /**
      * Returns {@link ProductSearchRepository} repository
      *
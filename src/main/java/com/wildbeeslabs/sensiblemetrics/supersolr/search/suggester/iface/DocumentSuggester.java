@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+
+import java.util.List;
+
+/**
+ * Autocomplete document suggester declaration
+ */
+public interface DocumentSuggester {
+
+    /**
+     * Default product suggester ID
+     */
+    String PRODUCT_SUGGESTER_ID = "ProductSuggester";
+    /**
+     * Default category suggester ID
+     */
+    String CATEGORY_SUGGESTER_ID = "CategorySuggester";
+
+    /**
+     * Returns top weighted suggestions by input prefix
+     *
+     * @param prefix - initial input prefix
+     * @param limit  - initial input maximum number of suggestions
+     * @return list of {@link SuggestionView}
+     */
+    List<SuggestionView> suggest(final String prefix, int limit);
+
+    /**
+     * Returns flag whether in-process suggestion index is loaded
+     *
+     * @return true - if suggestion index is loaded, false - otherwise
+     */
+    boolean isReady();
+
+    /**
+     * Applies documents changed since the previous refresh to the suggestion index
+     */
+    void refresh();
+
+    /**
+     * Rebuilds suggestion index from all documents
+     */
+    void rebuild();
+}
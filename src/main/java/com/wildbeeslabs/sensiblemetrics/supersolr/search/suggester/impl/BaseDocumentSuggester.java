@@ -0,0 +1,274 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.impl;
+
+import com.google.common.collect.Iterators;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.BaseDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableAuditDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface.DocumentSuggester;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SuggesterConfigProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.query.AnyCriteria;
+import org.springframework.data.solr.core.query.Criteria;
+import org.springframework.data.solr.core.query.SimpleQuery;
+import org.springframework.data.solr.core.query.result.Cursor;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Base {@link DocumentSuggester} implementation backed by in-process {@link WeightedPrefixTrie}
+ *
+ * <p>The trie is loaded from solr in the background and refreshed incrementally by the documents
+ * changed since the previous refresh. Until it is loaded (or when disabled) suggestions are answered
+ * by the collection edge-ngram field.</p>
+ *
+ * @param <E> type of base document {@link BaseDocument}
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public abstract class BaseDocumentSuggester<E extends BaseDocument<String>> implements DocumentSuggester {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.suggester";
+    /**
+     * Default document identifier field name
+     */
+    protected static final String DEFAULT_ID_FIELD_NAME = "id";
+
+    private final SolrTemplate solrTemplate;
+    private final SuggesterConfigProperties suggesterConfigProperties;
+    private final MeterRegistry meterRegistry;
+
+    private volatile WeightedPrefixTrie trie;
+    private volatile Date watermark;
+    private volatile long rebuiltAt;
+
+    private ScheduledExecutorService scheduler;
+
+    private Timer lookupTimer;
+    private Timer refreshTimer;
+    private Timer rebuildTimer;
+    private Counter fallbackCounter;
+
+    @PostConstruct
+    public void initialize() {
+        Gauge.builder(METRICS_PREFIX + ".size", this, suggester -> Optional.ofNullable(suggester.getTrie()).map(WeightedPrefixTrie::size).orElse(0))
+            .description("Number of suggestions held in memory")
+            .tag("collection", getCollection())
+            .register(getMeterRegistry());
+        this.lookupTimer = Timer.builder(METRICS_PREFIX + ".lookup")
+            .description("In-process suggestion lookup latency")
+            .tag("collection", getCollection())
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(getMeterRegistry());
+        this.refreshTimer = Timer.builder(METRICS_PREFIX + ".refresh")
+            .description("Incremental suggestion refresh latency")
+            .tag("collection", getCollection())
+            .register(getMeterRegistry());
+        this.rebuildTimer = Timer.builder(METRICS_PREFIX + ".rebuild")
+            .description("Full suggestion rebuild latency")
+            .tag("collection", getCollection())
+            .register(getMeterRegistry());
+        this.fallbackCounter = Counter.builder(METRICS_PREFIX + ".fallback")
+            .description("Number of suggestions answered by solr edge-ngram field")
+            .tag("collection", getCollection())
+            .register(getMeterRegistry());
+
+        if (getSuggesterConfigProperties().isEnabled()) {
+            final long interval = getSuggesterConfigProperties().getRefreshInterval().toMillis();
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "suggester-" + getCollection());
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.scheduler.scheduleWithFixedDelay(this::refreshQuietly, 0, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(getScheduler())) {
+            getScheduler().shutdownNow();
+        }
+    }
+
+    @Override
+    public List<SuggestionView> suggest(final String prefix, int limit) {
+        if (StringUtils.isBlank(prefix)) {
+            return Collections.emptyList();
+        }
+        final WeightedPrefixTrie current = getTrie();
+        if (Objects.nonNull(current)) {
+            return getLookupTimer().record(() -> current.lookup(prefix, limit));
+        }
+        getFallbackCounter().increment();
+        return suggestByField(prefix, limit);
+    }
+
+    @Override
+    public boolean isReady() {
+        return Objects.nonNull(getTrie());
+    }
+
+    @Override
+    public void refresh() {
+        final WeightedPrefixTrie current = getTrie();
+        if (Objects.isNull(current) || System.currentTimeMillis() - getRebuiltAt() >= getSuggesterConfigProperties().getRebuildInterval().toMillis()) {
+            rebuild();
+            return;
+        }
+        getRefreshTimer().record(() -> {
+            final Date start = new Date();
+            final Date since = new Date(getWatermark().getTime() - getSuggesterConfigProperties().getRefreshInterval().toMillis());
+            int count = 0;
+            try (final Cursor<E> cursor = openCursor(new SimpleQuery(new Criteria(SearchableAuditDocument.CHANGED_FIELD_NAME).greaterThanEqual(since)))) {
+                while (cursor.hasNext()) {
+                    final E document = cursor.next();
+                    final SuggestionView suggestion = toSuggestion(document);
+                    if (Objects.isNull(suggestion)) {
+                        current.remove(document.getId());
+                    } else {
+                        current.put(suggestion.getId(), suggestion.getText(), suggestion.getWeight());
+                    }
+                    count++;
+                }
+            } catch (IOException ex) {
+                log.warn("Cannot close suggester cursor for collection: {}, message: {}", getCollection(), ex.getMessage());
+            }
+            this.watermark = start;
+            log.debug("Refreshed {} suggestions for collection: {}", count, getCollection());
+        });
+    }
+
+    @Override
+    public void rebuild() {
+        getRebuildTimer().record(() -> {
+            final Date start = new Date();
+            final WeightedPrefixTrie target = new WeightedPrefixTrie(getSuggesterConfigProperties().getTopSize(), getSuggesterConfigProperties().getMaxKeyLength());
+            try (final Cursor<E> cursor = openCursor(new SimpleQuery(AnyCriteria.any()))) {
+                target.putAll(Iterators.filter(Iterators.transform(cursor, this::toSuggestion), Objects::nonNull));
+            } catch (IOException ex) {
+                log.warn("Cannot close suggester cursor for collection: {}, message: {}", getCollection(), ex.getMessage());
+            }
+            this.trie = target;
+            this.watermark = start;
+            this.rebuiltAt = start.getTime();
+            log.info("Rebuilt {} suggestions for collection: {}", target.size(), getCollection());
+        });
+    }
+
+    protected void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            log.warn("Cannot refresh suggestions for collection: {}, message: {}", getCollection(), ex.getMessage());
+        }
+    }
+
+    protected Cursor<E> openCursor(final SimpleQuery query) {
+        query.addProjectionOnFields(getFieldNames());
+        query.addSort(Sort.by(Sort.Direction.ASC, DEFAULT_ID_FIELD_NAME));
+        query.setRows(getSuggesterConfigProperties().getBatchSize());
+        return getSolrTemplate().queryForCursor(getCollection(), query, getDocumentClass());
+    }
+
+    protected List<SuggestionView> suggestByField(final String prefix, int limit) {
+        final SimpleQuery query = new SimpleQuery(new Criteria(getSuggestFieldName()).is(WeightedPrefixTrie.normalize(prefix)));
+        query.addProjectionOnFields(getFieldNames());
+        query.addSort(getWeightSort());
+        query.setRows(limit);
+        return getSolrTemplate().queryForPage(getCollection(), query, getDocumentClass())
+            .getContent()
+            .stream()
+            .map(this::toSuggestion)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns {@link Sort} applied to edge-ngram fallback queries
+     *
+     * @return {@link Sort}
+     */
+    protected Sort getWeightSort() {
+        return Sort.unsorted();
+    }
+
+    /**
+     * Returns collection name {@link String} suggestions are loaded from
+     *
+     * @return collection name {@link String}
+     */
+    protected abstract String getCollection();
+
+    /**
+     * Returns document {@link Class} type
+     *
+     * @return document {@link Class} type
+     */
+    protected abstract Class<E> getDocumentClass();
+
+    /**
+     * Returns edge-ngram field name used as fallback
+     *
+     * @return edge-ngram field name
+     */
+    protected abstract String getSuggestFieldName();
+
+    /**
+     * Returns field names fetched from solr
+     *
+     * @return array of field names
+     */
+    protected abstract String[] getFieldNames();
+
+    /**
+     * Returns {@link SuggestionView} by input document or null if document has nothing to suggest
+     *
+     * @param document - initial input document
+     * @return {@link SuggestionView}
+     */
+    protected abstract SuggestionView toSuggestion(final E document);
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableCategory;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.iface.DocumentSuggester;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SuggesterConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Category title {@link DocumentSuggester} implementation (equally weighted, ordered by title)
+ */
+@Slf4j
+@Component(DocumentSuggester.CATEGORY_SUGGESTER_ID)
+public class CategorySuggester extends BaseDocumentSuggester<Category> {
+
+    public CategorySuggester(final SolrTemplate solrTemplate,
+                             final SuggesterConfigProperties suggesterConfigProperties,
+                             final MeterRegistry meterRegistry) {
+        super(solrTemplate, suggesterConfigProperties, meterRegistry);
+    }
+
+    @Override
+    protected String getCollection() {
+        return SearchableCategory.COLLECTION_ID;
+    }
+
+    @Override
+    protected Class<Category> getDocumentClass() {
+        return Category.class;
+    }
+
+    @Override
+    protected String getSuggestFieldName() {
+        return SearchableCategory.TITLE_SUGGEST_FIELD_NAME;
+    }
+
+    @Override
+    protected String[] getFieldNames() {
+        return new String[]{SearchableCategory.ID_FIELD_NAME, SearchableCategory.TITLE_FIELD_NAME};
+    }
+
+    @Override
+    protected SuggestionView toSuggestion(final Category document) {
+        if (StringUtils.isBlank(document.getTitle())) {
+            return null;
+        }
+        return SuggestionView.builder()
+            .id(document.getId())
+            .text(document.getTitle())
+            .build();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.impl;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Weighted prefix trie keeping the top weighted suggestions of every subtree in its root node
+ *
+ * <p>Every suggestion text is indexed by all of its word suffixes ("apple iphone" is reachable
+ * by "app" and "iph"), so lookups are a single walk down the trie followed by a copy of the
+ * precomputed top list. Incremental updates only recompute the nodes along the touched paths.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class WeightedPrefixTrie {
+
+    /**
+     * Default suggestion ordering (by weight descending, then by text and identifier)
+     */
+    private static final Comparator<Entry> DEFAULT_ENTRY_COMPARATOR = Comparator
+        .comparingLong(Entry::getWeight).reversed()
+        .thenComparing(Entry::getText)
+        .thenComparing(Entry::getId);
+
+    /**
+     * Default number of top suggestions kept per node
+     */
+    private final int topSize;
+    /**
+     * Default maximum indexed key length
+     */
+    private final int maxKeyLength;
+
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Returns normalized (lower cased, single spaced) representation of input text
+     *
+     * @param text - initial input text
+     * @return normalized text
+     */
+    public static String normalize(final String text) {
+        return StringUtils.join(StringUtils.split(StringUtils.lowerCase(text, Locale.ROOT)), StringUtils.SPACE);
+    }
+
+    /**
+     * Returns top weighted suggestions starting with input prefix
+     *
+     * @param prefix - initial input prefix
+     * @param limit  - initial input maximum number of suggestions
+     * @return list of {@link SuggestionView}
+     */
+    public List<SuggestionView> lookup(final String prefix, int limit) {
+        final String key = StringUtils.left(normalize(prefix), getMaxKeyLength());
+        if (StringUtils.isEmpty(key) || limit <= 0) {
+            return Collections.emptyList();
+        }
+        getLock().readLock().lock();
+        try {
+            final Node node = find(key);
+            if (Objects.isNull(node)) {
+                return Collections.emptyList();
+            }
+            return Arrays.stream(node.top)
+                .limit(limit)
+                .map(Entry::toView)
+                .collect(Collectors.toList());
+        } finally {
+            getLock().readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces suggestion and recomputes top lists of affected nodes
+     *
+     * @param id     - initial input document identifier
+     * @param text   - initial input suggestion text
+     * @param weight - initial input suggestion weight
+     */
+    public void put(final String id, final String text, long weight) {
+        getLock().writeLock().lock();
+        try {
+            final Set<String> touched = new HashSet<>(detach(id));
+            final Entry entry = attach(id, text, weight);
+            if (Objects.nonNull(entry)) {
+                touched.addAll(entry.getKeys());
+            }
+            touched.forEach(this::recompute);
+        } finally {
+            getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes suggestion by document identifier
+     *
+     * @param id - initial input document identifier
+     */
+    public void remove(final String id) {
+        getLock().writeLock().lock();
+        try {
+            detach(id).forEach(this::recompute);
+        } finally {
+            getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds suggestions in bulk, computing top lists once for the whole trie
+     *
+     * @param suggestions - initial input {@link Iterator} of {@link SuggestionView}
+     */
+    public void putAll(final Iterator<SuggestionView> suggestions) {
+        getLock().writeLock().lock();
+        try {
+            while (suggestions.hasNext()) {
+                final SuggestionView suggestion = suggestions.next();
+                detach(suggestion.getId());
+                attach(suggestion.getId(), suggestion.getText(), suggestion.getWeight());
+            }
+            recomputeAll(getRoot());
+        } finally {
+            getLock().writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns number of indexed suggestions
+     *
+     * @return number of indexed suggestions
+     */
+    public int size() {
+        getLock().readLock().lock();
+        try {
+            return getEntries().size();
+        } finally {
+            getLock().readLock().unlock();
+        }
+    }
+
+    private Entry attach(final String id, final String text, long weight) {
+        final String normalized = normalize(text);
+        if (StringUtils.isEmpty(normalized)) {
+            return null;
+        }
+        final Entry entry = new Entry(id, text, weight, keys(normalized));
+        getEntries().put(id, entry);
+        for (final String key : entry.getKeys()) {
+            Node node = getRoot();
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+            }
+            node.terminals.add(entry);
+        }
+        return entry;
+    }
+
+    private Collection<String> detach(final String id) {
+        final Entry entry = getEntries().remove(id);
+        if (Objects.isNull(entry)) {
+            return Collections.emptyList();
+        }
+        for (final String key : entry.getKeys()) {
+            final Node node = find(key);
+            if (Objects.nonNull(node)) {
+                node.terminals.remove(entry);
+            }
+        }
+        return entry.getKeys();
+    }
+
+    private Set<String> keys(final String normalized) {
+        final Set<String> keys = new LinkedHashSet<>();
+        int start = 0;
+        while (start >= 0) {
+            keys.add(StringUtils.left(normalized.substring(start), getMaxKeyLength()));
+            final int next = normalized.indexOf(' ', start);
+            start = (next < 0) ? next : next + 1;
+        }
+        return keys;
+    }
+
+    private Node find(final String key) {
+        Node node = getRoot();
+        for (int i = 0; i < key.length() && Objects.nonNull(node); i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private void recompute(final String key) {
+        final Deque<Node> path = new ArrayDeque<>(key.length() + 1);
+        Node node = getRoot();
+        path.push(node);
+        for (int i = 0; i < key.length() && Objects.nonNull(node); i++) {
+            node = node.children.get(key.charAt(i));
+            if (Objects.nonNull(node)) {
+                path.push(node);
+            }
+        }
+        while (!path.isEmpty()) {
+            recompute(path.pop());
+        }
+        prune(getRoot(), key, 0);
+    }
+
+    private boolean prune(final Node node, final String key, int depth) {
+        if (depth < key.length()) {
+            final Node child = node.children.get(key.charAt(depth));
+            if (Objects.nonNull(child) && prune(child, key, depth + 1)) {
+                node.children.remove(key.charAt(depth));
+            }
+        }
+        return node.terminals.isEmpty() && node.children.isEmpty();
+    }
+
+    private void recomputeAll(final Node node) {
+        node.children.values().forEach(this::recomputeAll);
+        recompute(node);
+    }
+
+    private void recompute(final Node node) {
+        final Set<Entry> candidates = new HashSet<>(node.terminals);
+        node.children.values().forEach(child -> candidates.addAll(Arrays.asList(child.top)));
+        node.top = candidates.stream()
+            .sorted(DEFAULT_ENTRY_COMPARATOR)
+            .limit(getTopSize())
+            .toArray(Entry[]::new);
+    }
+
+    /**
+     * Trie node
+     */
+    private static class Node {
+        private final Map<Character, Node> children = new HashMap<>();
+        private final Set<Entry> terminals = new HashSet<>();
+        private Entry[] top = new Entry[0];
+    }
+
+    /**
+     * Indexed suggestion entry (compared by identity)
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final String id;
+        private final String text;
+        private final long weight;
+        private final Set<String> keys;
+
+        private SuggestionView toView() {
+            return new SuggestionView(getId(), getText(), getWeight());
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.annotation.JsonRootName;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlProperty;
+import com.fasterxml.jackson.dataformat.xml.annotation.JacksonXmlRootElement;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableSuggestionView;
+import io.swagger.annotations.ApiModel;
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+import static com.wildbeeslabs.sensiblemetrics.supersolr.search.view.iface.ExposableSuggestionView.*;
+
+/**
+ * Suggestion document view
+ */
+@Builder
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+@JsonPropertyOrder(
+    value = {
+        ID_FIELD_NAME,
+        TEXT_FIELD_NAME,
+        WEIGHT_FIELD_NAME
+    },
+    alphabetic = true)
+@JsonRootName(ExposableSuggestionView.VIEW_ID)
+@JacksonXmlRootElement(localName = ExposableSuggestionView.VIEW_ID)
+@ApiModel(value = ExposableSuggestionView.VIEW_ID, description = "All details about suggestion document")
+public class SuggestionView implements ExposableSuggestionView, Serializable {
+
+    /**
+     * Default explicit serialVersionUID for interoperability
+     */
+    private static final long serialVersionUID = 4126798391527432251L;
+
+    @ApiModelProperty(value = "Suggested document ID", name = "id", example = "id", required = true)
+    @JacksonXmlProperty(localName = ID_FIELD_NAME)
+    @JsonProperty(ID_FIELD_NAME)
+    private String id;
+
+    @ApiModelProperty(value = "Suggestion text", name = "text", example = "text", required = true)
+    @JacksonXmlProperty(localName = TEXT_FIELD_NAME)
+    @JsonProperty(TEXT_FIELD_NAME)
+    private String text;
+
+    @ApiModelProperty(value = "Suggestion weight", name = "weight", example = "5")
+    @JacksonXmlProperty(localName = WEIGHT_FIELD_NAME)
+    @JsonProperty(WEIGHT_FIELD_NAME)
+    private long weight;
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.InstrumentedThreadPoolExecutor;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.VirtualThreads;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MultiSearchConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Custom asynchronous execution configuration
+ *
+ * <p>Registers the single bounded executor backing {@link org.springframework.scheduling.annotation.Async} methods,
+ * resolved by its {@link AsyncAnnotationBeanPostProcessor#DEFAULT_TASK_EXECUTOR_BEAN_NAME} bean name, and a separate bounded
+ * executor for multi-search sub-queries, so that fanned out queries never wait for threads they occupy themselves.</p>
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AsyncConfigProperties.class)
+public class AsyncConfig {
+
+    /**
+     * Default multi-search executor bean name
+     */
+    public static final String MULTI_SEARCH_EXECUTOR_BEAN_NAME = "multiSearchExecutor";
+
+    private final AsyncConfigProperties asyncConfigProperties;
+
+    @Bean(name = AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public ThreadPoolExecutor taskExecutor(final MeterRegistry meterRegistry) {
+        return new InstrumentedThreadPoolExecutor(
+            "supersolr.async",
+            this.asyncConfigProperties.getCorePoolSize(),
+            this.asyncConfigProperties.getMaxPoolSize(),
+            this.asyncConfigProperties.getKeepAlive(),
+            this.asyncConfigProperties.getQueueCapacity(),
+            threadFactory(this.asyncConfigProperties.getThreadNamePrefix()),
+            meterRegistry
+        );
+    }
+
+    @Bean(name = MULTI_SEARCH_EXECUTOR_BEAN_NAME, destroyMethod = "shutdown")
+    public ThreadPoolExecutor multiSearchExecutor(final MultiSearchConfigProperties multiSearchConfigProperties, final MeterRegistry meterRegistry) {
+        return new InstrumentedThreadPoolExecutor(
+            "supersolr.msearch",
+            multiSearchConfigProperties.getCorePoolSize(),
+            multiSearchConfigProperties.getMaxPoolSize(),
+            this.asyncConfigProperties.getKeepAlive(),
+            multiSearchConfigProperties.getQueueCapacity(),
+            threadFactory(multiSearchConfigProperties.getThreadNamePrefix()),
+            meterRegistry
+        );
+    }
+
+    private ThreadFactory threadFactory(final String prefix) {
+        if (this.asyncConfigProperties.isVirtualThreads()) {
+            return VirtualThreads.newThreadFactory(prefix).orElseGet(() -> {
+                log.warn("Virtual threads are not supported by the runtime, falling back to platform threads [prefix={}]", prefix);
+                return platformThreadFactory(prefix);
+            });
+        }
+        return platformThreadFactory(prefix);
+    }
+
+    private ThreadFactory platformThreadFactory(final String prefix) {
+        final CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -24,6 +24,8 @@
 package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
 
 import com.wildbeeslabs.sensiblemetrics.supersolr.batch.*;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.VirtualThreads;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
 import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.batch.core.Job;
@@ -31,14 +33,20 @@ import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.annotation.EnableBatchProcessing;
 import org.springframework.batch.core.configuration.annotation.JobBuilderFactory;
 import org.springframework.batch.core.configuration.annotation.StepBuilderFactory;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.io.IOException;
+
 /**
  * Custom batch configuration
  */
@@ -53,23 +61,86 @@ public class BatchConfig {
 
     private final StepBuilderFactory stepBuilderFactory;
 
+    private final BatchConfigProperties batchConfigProperties;
+
+    private final AsyncConfigProperties asyncConfigProperties;
+
     @Bean
-    public Job indexBaseDocumentsJob(final Step indexingStep, final Step optimizeStep) {
+    public Job indexBaseDocumentsJob(final BaseReindexJobListener listener, final Step prepareStep, final Step indexingStep, final Step purgeStep, final Step commitStep, final Step optimizeStep) {
         return this.jobBuilderFactory.get("indexingBaseDocuments")
                 .incrementer(new RunIdIncrementer())
-                .flow(indexingStep)
+                .listener(listener)
+                .flow(prepareStep)
+                .next(indexingStep)
+                .next(purgeStep)
+                .next(commitStep)
                 .next(optimizeStep)
                 .end()
                 .build();
     }
 
     @Bean
-    public Step indexingStep(final BaseResourceReader reader, final BaseResourceProcessor processor, final BaseResourceWriter writer) {
+    public Step prepareStep(final BasePrepareTasklet tasklet) {
+        return this.stepBuilderFactory.get("prepareStep")
+                .tasklet(tasklet)
+                .build();
+    }
+
+    @Bean
+    public Step indexingStep(final BaseResourcePartitioner partitioner, final Step indexingWorkerStep) {
+        final SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("supersolr-batch-");
+        taskExecutor.setConcurrencyLimit(this.batchConfigProperties.getConcurrency());
+        if (this.asyncConfigProperties.isVirtualThreads()) {
+            VirtualThreads.newThreadFactory("supersolr-batch-").ifPresent(taskExecutor::setThreadFactory);
+        }
         return this.stepBuilderFactory.get("indexingStep")
-                .<Resource, BaseResource>chunk(10)
-                .reader(reader)
+                .partitioner("indexingWorkerStep", partitioner)
+                .step(indexingWorkerStep)
+                .gridSize(this.batchConfigProperties.getConcurrency())
+                .taskExecutor(taskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Step indexingWorkerStep(final BaseResourceReader indexingReader, final BaseResourceProcessor processor, final BaseResourceWriter indexingWriter) {
+        return this.stepBuilderFactory.get("indexingWorkerStep")
+                .<Resource, BaseResource>chunk(this.batchConfigProperties.getChunkSize())
+                .reader(indexingReader)
                 .processor(processor)
-                .writer(writer)
+                .writer(indexingWriter)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public BaseResourceReader indexingReader(final @Value("#{stepExecutionContext['" + BaseResourcePartitioner.PARTITION_INDEX_KEY + "']}") Integer partitionIndex,
+                                             final @Value("#{stepExecutionContext['" + BaseResourcePartitioner.PARTITION_COUNT_KEY + "']}") Integer partitionCount) throws IOException {
+        final BaseResourceReader reader = new BaseResourceReader(this.batchConfigProperties, partitionIndex, partitionCount);
+        reader.initialize();
+        return reader;
+    }
+
+    @Bean
+    @StepScope
+    public BaseResourceWriter indexingWriter(final @Value("#{jobExecutionContext['" + BasePrepareTasklet.TARGET_COLLECTION_KEY + "']}") String targetCollection,
+                                             final @Value("#{stepExecution.jobExecution.executionContext}") ExecutionContext jobExecutionContext) {
+        final BaseResourceWriter writer = new BaseResourceWriter();
+        writer.setTargetCollection(targetCollection);
+        writer.setJobExecutionContext(jobExecutionContext);
+        return writer;
+    }
+
+    @Bean
+    public Step purgeStep(final BasePurgeTasklet tasklet) {
+        return this.stepBuilderFactory.get("purgeStep")
+                .tasklet(tasklet)
+                .build();
+    }
+
+    @Bean
+    public Step commitStep(final BaseCommitTasklet tasklet) {
+        return this.stepBuilderFactory.get("commitStep")
+                .tasklet(tasklet)
                 .build();
     }
 
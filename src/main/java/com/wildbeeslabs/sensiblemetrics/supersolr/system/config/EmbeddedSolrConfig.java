@@ -0,0 +1,71 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SolrConfigProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
+import org.apache.solr.core.CoreContainer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.SolrHomeUtils.createHome;
+
+/**
+ * Custom embedded solr configuration, enabled by {@code supersolr.solr.mode=embedded}
+ *
+ * <p>Queries are served by an in-process {@link CoreContainer} instead of a remote solr server. The container
+ * only discovers cores on startup unless {@code supersolr.solr.load-on-startup} is set, each core is opened by
+ * the first request addressed to it.</p>
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "supersolr.solr", name = "mode", havingValue = "embedded")
+public class EmbeddedSolrConfig {
+
+    /**
+     * Default embedded solr client bean name
+     */
+    public static final String EMBEDDED_SOLR_CLIENT_ID = "embeddedSolrClient";
+
+    @Bean(destroyMethod = "shutdown")
+    public CoreContainer embeddedCoreContainer(final SolrConfigProperties solrConfigProperties) {
+        if (solrConfigProperties.getConfigSets().isEmpty()) {
+            log.warn("No embedded solr configsets configured, serving cores found in solr home: {}", solrConfigProperties.getHome());
+        }
+        final Path home = createHome(Paths.get(solrConfigProperties.getHome()), solrConfigProperties.getConfigSets(), solrConfigProperties.isLoadOnStartup());
+        final CoreContainer coreContainer = CoreContainer.createAndLoad(home);
+        log.info("Started embedded solr container: {}, cores: {}, loaded on startup: {}", home.toAbsolutePath(), coreContainer.getAllCoreNames(), coreContainer.getLoadedCoreNames());
+        return coreContainer;
+    }
+
+    @Bean(EMBEDDED_SOLR_CLIENT_ID)
+    public EmbeddedSolrServer embeddedSolrClient(final CoreContainer embeddedCoreContainer, final SolrConfigProperties solrConfigProperties) {
+        return new EmbeddedSolrServer(embeddedCoreContainer, solrConfigProperties.getDefaultCore());
+    }
+}
@@ -26,17 +26,45 @@ package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface.AdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.AdmissionControlSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.iface.AsyncSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.impl.NonBlockingSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.HedgingSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.PeakEwmaReplicaSelector;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.SolrReplica;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.iface.SolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.ConnectionPoolMetrics;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.InstrumentedSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.InstrumentedSolrTemplate;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.BaseSimpleSearchService;
 import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.impl.BaseSimpleSearchServiceImpl;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.HedgingConfigProperties;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SolrConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.Credentials;
 import org.apache.http.auth.UsernamePasswordCredentials;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.impl.client.BasicCredentialsProvider;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
 import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.embedded.EmbeddedSolrServer;
 import org.apache.solr.client.solrj.impl.CloudSolrClient;
+import org.apache.solr.client.solrj.impl.Http2SolrClient;
+import org.apache.solr.client.solrj.impl.HttpListenerFactory;
 import org.apache.solr.client.solrj.impl.HttpSolrClient;
+import org.eclipse.jetty.client.api.Request;
+import org.eclipse.jetty.http.HttpHeader;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
@@ -48,10 +76,19 @@ import org.springframework.data.solr.repository.config.EnableSolrRepositories;
 import org.springframework.data.solr.server.SolrClientFactory;
 import org.springframework.data.solr.server.support.HttpSolrClientFactory;
 import org.springframework.data.solr.server.support.HttpSolrClientFactoryBean;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.util.StringUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Custom solr configuration
@@ -68,6 +105,12 @@ import java.util.Optional;
 @PropertySource("classpath:application.properties")
 public class SolrConfig {
 
+    /**
+     * Default condition of the pooled http/1.1 client beans (http/1.1 transport, not in embedded mode)
+     */
+    private static final String HTTP1_CLIENT_CONDITION = "'${supersolr.solr.transport:http1}'.equalsIgnoreCase('http1')"
+        + " and !'${supersolr.solr.mode:http}'.equalsIgnoreCase('embedded')";
+
     @Bean
     public SolrConverter solrConverter() {
         final MappingSolrConverter solrConverter = new MappingSolrConverter(new SimpleSolrMappingContext());
@@ -75,28 +118,115 @@ public class SolrConfig {
         return solrConverter;
     }
 
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnExpression(HTTP1_CLIENT_CONDITION)
+    public PoolingHttpClientConnectionManager solrConnectionManager(final SolrConfigProperties solrConfigProperties) {
+        final PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager(solrConfigProperties.getConnectionTimeToLive().toMillis(), TimeUnit.MILLISECONDS);
+        connectionManager.setMaxTotal(solrConfigProperties.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(solrConfigProperties.getMaxConnectionsPerRoute());
+        connectionManager.setValidateAfterInactivity((int) solrConfigProperties.getValidateAfterInactivity().toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    @ConditionalOnExpression(HTTP1_CLIENT_CONDITION)
+    public MeterBinder solrConnectionPoolMetrics(final PoolingHttpClientConnectionManager solrConnectionManager) {
+        return new ConnectionPoolMetrics(solrConnectionManager);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression(HTTP1_CLIENT_CONDITION)
+    public CloseableHttpClient solrHttpClient(final PoolingHttpClientConnectionManager solrConnectionManager,
+                                              final BasicCredentialsProvider credentialsProvider,
+                                              final SolrConfigProperties solrConfigProperties,
+                                              final @Value("${supersolr.solr.timeout}") Integer timeout,
+                                              final @Value("${supersolr.solr.socketTimeout}") Integer socketTimeout) {
+        final long keepAlive = solrConfigProperties.getKeepAlive().toMillis();
+        return HttpClientBuilder.create()
+            .setConnectionManager(solrConnectionManager)
+            .setDefaultCredentialsProvider(credentialsProvider)
+            .setDefaultRequestConfig(RequestConfig.custom()
+                .setConnectTimeout(timeout)
+                .setSocketTimeout(socketTimeout)
+                .setConnectionRequestTimeout((int) solrConfigProperties.getConnectionRequestTimeout().toMillis())
+                .build())
+            .setKeepAliveStrategy((response, context) -> {
+                final long advertised = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return advertised > 0 ? Math.min(advertised, keepAlive) : keepAlive;
+            })
+            .evictExpiredConnections()
+            .evictIdleConnections(solrConfigProperties.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+            .build();
+    }
+
     @Bean
     public SolrClient solrClient(final @Value("${supersolr.solr.server.url}") String baseUrl,
                                  final @Value("${supersolr.solr.timeout}") Integer timeout,
-                                 final @Value("${supersolr.solr.socketTimeout}") Integer socketTimeout) {
+                                 final @Value("${supersolr.solr.socketTimeout}") Integer socketTimeout,
+                                 final SolrConfigProperties solrConfigProperties,
+                                 final HedgingConfigProperties hedgingConfigProperties,
+                                 final MeterRegistry meterRegistry,
+                                 final Credentials credentials,
+                                 final @Qualifier("solrHttpClient") ObjectProvider<CloseableHttpClient> solrHttpClient) {
+        final String[] urls = StringUtils.commaDelimitedListToStringArray(StringUtils.trimAllWhitespace(baseUrl));
+        if (urls.length == 1) {
+            return createSolrClient(urls[0], timeout, socketTimeout, solrConfigProperties, credentials, solrHttpClient);
+        }
+        final List<SolrReplica> replicas = new ArrayList<>(urls.length);
+        for (final String url : urls) {
+            replicas.add(new SolrReplica(url, createSolrClient(url, timeout, socketTimeout, solrConfigProperties, credentials, solrHttpClient), hedgingConfigProperties.getDecay().toNanos()));
+        }
+        return new HedgingSolrClient(replicas, new PeakEwmaReplicaSelector(), hedgingConfigProperties, meterRegistry);
+    }
+
+    private SolrClient createSolrClient(final String baseUrl, final Integer timeout, final Integer socketTimeout,
+                                        final SolrConfigProperties solrConfigProperties,
+                                        final Credentials credentials,
+                                        final ObjectProvider<CloseableHttpClient> solrHttpClient) {
+        if (SolrConfigProperties.Transport.HTTP2 == solrConfigProperties.getTransport()) {
+            final Http2SolrClient.Builder builder = new Http2SolrClient.Builder(baseUrl)
+                .maxConnectionsPerHost(solrConfigProperties.getMaxConnectionsPerRoute())
+                .idleTimeout((int) solrConfigProperties.getIdleTimeout().toMillis());
+            if (timeout > 0) {
+                builder.connectionTimeout(timeout);
+            }
+            final Http2SolrClient solrClient = builder.build();
+            solrClient.setFollowRedirects(false);
+            authorize(solrClient, credentials);
+            return solrClient;
+        }
         final HttpSolrClient solrClient = new HttpSolrClient.Builder()
             .withBaseSolrUrl(baseUrl)
+            .withHttpClient(solrHttpClient.getIfAvailable())
             .withConnectionTimeout(timeout)
             .withSocketTimeout(socketTimeout)
             .allowCompression(true)
             .build();
-        solrClient.getInvariantParams().add("commit", "true");
         solrClient.setFollowRedirects(false);
         solrClient.setUseMultiPartPost(true);
         return solrClient;
     }
 
-//    @Bean(name = "embeddedSolrServer")
-//    public EmbeddedSolrServerFactoryBean embeddedSolrServerFactoryBean(final @Value("${supersolr.solr.home}") String solrHome) {
-//        final EmbeddedSolrServerFactoryBean factory = new EmbeddedSolrServerFactoryBean();
-//        factory.setSolrHome(solrHome);
-//        return factory;
-//    }
+    /**
+     * Adds preemptive BASIC authorization header of input {@link Credentials} to every request of input
+     * {@link Http2SolrClient}, the jetty client does not use the apache credentials provider
+     *
+     * @param solrClient  - initial input {@link Http2SolrClient}
+     * @param credentials - initial input {@link Credentials}
+     */
+    private void authorize(final Http2SolrClient solrClient, final Credentials credentials) {
+        if (Objects.isNull(credentials.getUserPrincipal()) || !StringUtils.hasText(credentials.getUserPrincipal().getName())) {
+            return;
+        }
+        final String userPass = credentials.getUserPrincipal().getName() + ":" + Objects.toString(credentials.getPassword(), "");
+        final String authorization = "Basic " + Base64.getEncoder().encodeToString(userPass.getBytes(StandardCharsets.UTF_8));
+        solrClient.addListenerFactory(() -> new HttpListenerFactory.RequestResponseListener() {
+            @Override
+            public void onQueued(final Request request) {
+                request.header(HttpHeader.AUTHORIZATION, authorization);
+            }
+        });
+    }
 
     @Bean
     public Credentials credentials(final @Value("${supersolr.solr.username}") String username,
@@ -153,9 +283,31 @@ public class SolrConfig {
     }
 
     @Bean
-    public SolrTemplate solrTemplate(final @Qualifier("solrClient") SolrClient solrClient) {
-        final SolrTemplate solrTemplate = new SolrTemplate(solrClient);
+    public SolrTemplate solrTemplate(final @Qualifier("solrClient") SolrClient solrClient,
+                                     final @Qualifier(EmbeddedSolrConfig.EMBEDDED_SOLR_CLIENT_ID) ObjectProvider<EmbeddedSolrServer> embeddedSolrClient,
+                                     final @Qualifier(SolrMetricsRecorder.RECORDER_ID) SolrMetricsRecorder solrMetricsRecorder,
+                                     final @Qualifier(QuerySampler.SAMPLER_ID) QuerySampler querySampler,
+                                     final @Qualifier(AdmissionController.CONTROLLER_ID) AdmissionController admissionController) {
+        final SolrClient targetClient = getTargetClient(solrClient, embeddedSolrClient);
+        final SolrClient instrumentedClient = new InstrumentedSolrClient(targetClient, solrMetricsRecorder, querySampler);
+        final SolrTemplate solrTemplate = new InstrumentedSolrTemplate(new AdmissionControlSolrClient(instrumentedClient, admissionController), solrMetricsRecorder);
         solrTemplate.setSolrConverter(solrConverter());
         return solrTemplate;
     }
+
+    @Bean(AsyncSolrOperations.OPERATIONS_ID)
+    public AsyncSolrOperations asyncSolrOperations(final @Qualifier("solrClient") SolrClient solrClient,
+                                                   final @Qualifier(EmbeddedSolrConfig.EMBEDDED_SOLR_CLIENT_ID) ObjectProvider<EmbeddedSolrServer> embeddedSolrClient,
+                                                   final @Qualifier(SolrMetricsRecorder.RECORDER_ID) SolrMetricsRecorder solrMetricsRecorder,
+                                                   final @Qualifier(QuerySampler.SAMPLER_ID) QuerySampler querySampler,
+                                                   final @Qualifier(AdmissionController.CONTROLLER_ID) AdmissionController admissionController,
+                                                   final @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
+        final SolrClient targetClient = getTargetClient(solrClient, embeddedSolrClient);
+        return new NonBlockingSolrOperations(new InstrumentedSolrClient(targetClient, solrMetricsRecorder, querySampler), targetClient, admissionController, taskExecutor);
+    }
+
+    private SolrClient getTargetClient(final SolrClient solrClient, final ObjectProvider<EmbeddedSolrServer> embeddedSolrClient) {
+        final EmbeddedSolrServer embeddedClient = embeddedSolrClient.getIfAvailable();
+        return Objects.nonNull(embeddedClient) ? embeddedClient : solrClient;
+    }
 }
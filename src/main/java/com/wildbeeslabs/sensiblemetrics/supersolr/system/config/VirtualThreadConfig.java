@@ -0,0 +1,91 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.PinnedThreadMonitor;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.executor.VirtualThreads;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.task.TaskSchedulerCustomizer;
+import org.springframework.boot.web.embedded.undertow.UndertowServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Custom virtual thread execution configuration
+ *
+ * <p>Enabled by {@code supersolr.async.virtual-threads}: servlet requests are dispatched to a new virtual thread each
+ * instead of the Undertow worker pool and scheduled jobs (batch indexing) run on virtual scheduler threads, the
+ * asynchronous executors switch their thread factories in {@link AsyncConfig}. Database and solr concurrency stay
+ * bounded by their connection pools. Platform threads are kept if the runtime does not support virtual threads.</p>
+ */
+@Slf4j
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(AsyncConfigProperties.class)
+@ConditionalOnProperty(prefix = "supersolr.async", name = "virtual-threads", havingValue = "true")
+public class VirtualThreadConfig {
+
+    /**
+     * Default request thread name prefix
+     */
+    public static final String REQUEST_THREAD_NAME_PREFIX = "supersolr-request-";
+    /**
+     * Default scheduler thread name prefix
+     */
+    public static final String SCHEDULER_THREAD_NAME_PREFIX = "supersolr-scheduler-";
+
+    private final AsyncConfigProperties asyncConfigProperties;
+
+    @Bean
+    public WebServerFactoryCustomizer<UndertowServletWebServerFactory> virtualThreadWebServerCustomizer() {
+        return factory -> {
+            final Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor(REQUEST_THREAD_NAME_PREFIX);
+            if (!executor.isPresent()) {
+                log.warn("Virtual threads are not supported by the runtime, servlet requests stay on the undertow worker pool");
+                return;
+            }
+            factory.addDeploymentInfoCustomizers(deploymentInfo -> deploymentInfo.setExecutor(executor.get()));
+            log.info("Servlet requests are dispatched to virtual threads");
+        };
+    }
+
+    @Bean
+    public TaskSchedulerCustomizer virtualThreadTaskSchedulerCustomizer() {
+        return taskScheduler -> VirtualThreads.newThreadFactory(SCHEDULER_THREAD_NAME_PREFIX).ifPresent(taskScheduler::setThreadFactory);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public PinnedThreadMonitor pinnedThreadMonitor(final MeterRegistry meterRegistry) {
+        return new PinnedThreadMonitor(this.asyncConfigProperties.getPinnedThreshold(), meterRegistry);
+    }
+}
@@ -23,6 +23,9 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.system.config;
 
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AsyncConfigProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -30,19 +33,34 @@ import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+import org.springframework.scheduling.concurrent.ConcurrentTaskExecutor;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.*;
 
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Custom web mvc configuration {@link WebMvcConfigurer}
+ *
+ * <p>Asynchronous handlers release their servlet worker until the result is ready, they are timed out after the
+ * configured asynchronous timeout and run blocking parts (streaming bodies, callables) on the bounded task executor.</p>
  */
 @EnableWebMvc
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private final AsyncConfigProperties asyncConfigProperties;
+    private final ObjectProvider<ThreadPoolExecutor> taskExecutor;
+
+    public WebMvcConfig(final AsyncConfigProperties asyncConfigProperties,
+                        final @Qualifier(AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME) ObjectProvider<ThreadPoolExecutor> taskExecutor) {
+        this.asyncConfigProperties = asyncConfigProperties;
+        this.taskExecutor = taskExecutor;
+    }
+
     @Bean
     public static PropertySourcesPlaceholderConfigurer propertySourcesPlaceholderConfigurer() {
         final PropertySourcesPlaceholderConfigurer properties = new PropertySourcesPlaceholderConfigurer();
@@ -84,6 +102,12 @@ public class WebMvcConfig implements WebMvcConfigurer {
         configurer.enable();
     }
 
+    @Override
+    public void configureAsyncSupport(final AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(this.asyncConfigProperties.getTimeout().toMillis());
+        configurer.setTaskExecutor(new ConcurrentTaskExecutor(this.taskExecutor.getObject()));
+    }
+
     @Override
     public void addCorsMappings(final CorsRegistry registry) {
         registry.addMapping("/api/*")
@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.endpoint;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Custom blue/green model collection rebuild endpoint {@link Endpoint}
+ */
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "reindex")
+public class ReindexEndpoint {
+
+    private final BlueGreenReindexer blueGreenReindexer;
+
+    @WriteOperation
+    public Map<String, Object> rebuild(@Selector final String collection) {
+        final long start = System.currentTimeMillis();
+        final long count = getBlueGreenReindexer().rebuild(collection);
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("collection", collection);
+        result.put("documents", count);
+        result.put("took", System.currentTimeMillis() - start);
+        return result;
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.endpoint;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SamplerConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Custom sampled search queries endpoint {@link Endpoint}
+ */
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+@Component
+@Endpoint(id = "searchqueries")
+public class SearchQueriesEndpoint {
+
+    private final QuerySampler querySampler;
+    private final SamplerConfigProperties samplerConfigProperties;
+
+    @ReadOperation
+    public Map<String, Object> queries(@Nullable final Integer limit) {
+        final int size = Objects.nonNull(limit) ? limit : getSamplerConfigProperties().getTopSize();
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("slowest", getQuerySampler().getSlowest(size));
+        result.put("frequent", getQuerySampler().getMostFrequent(size));
+        result.put("dropped", getQuerySampler().getDropped());
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        getQuerySampler().reset();
+    }
+}
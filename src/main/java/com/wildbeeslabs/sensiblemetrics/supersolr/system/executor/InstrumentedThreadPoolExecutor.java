@@ -0,0 +1,113 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.executor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Bounded {@link ThreadPoolExecutor} recording queue wait and execution time of every task
+ *
+ * <p>Tasks above the queue capacity are rejected with {@link RejectedExecutionException} instead of
+ * growing the backlog; pool size, queue depth and completed tasks are exposed through
+ * {@link ExecutorServiceMetrics} under the executor name.</p>
+ */
+@Slf4j
+public class InstrumentedThreadPoolExecutor extends ThreadPoolExecutor {
+
+    /**
+     * Default metrics prefix
+     */
+    public static final String METRICS_PREFIX = "supersolr.executor";
+
+    private final Timer queueWaitTimer;
+    private final Timer executionTimer;
+    private final Counter rejectedCounter;
+
+    public InstrumentedThreadPoolExecutor(final String name,
+                                          int corePoolSize,
+                                          int maxPoolSize,
+                                          final Duration keepAlive,
+                                          int queueCapacity,
+                                          final ThreadFactory threadFactory,
+                                          final MeterRegistry meterRegistry) {
+        super(Math.min(corePoolSize, maxPoolSize), maxPoolSize, keepAlive.toMillis(), TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity), threadFactory);
+        this.queueWaitTimer = Timer.builder(METRICS_PREFIX + ".queue.wait")
+            .description("Time tasks spend waiting for a thread")
+            .tag("name", name)
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+        this.executionTimer = Timer.builder(METRICS_PREFIX + ".execution")
+            .description("Time tasks spend executing")
+            .tag("name", name)
+            .publishPercentiles(0.5, 0.99, 0.999)
+            .register(meterRegistry);
+        this.rejectedCounter = Counter.builder(METRICS_PREFIX + ".rejected")
+            .description("Number of tasks rejected because the pool and queue are saturated")
+            .tag("name", name)
+            .register(meterRegistry);
+        setRejectedExecutionHandler((task, executor) -> {
+            this.rejectedCounter.increment();
+            throw new RejectedExecutionException("Executor " + name + " is saturated [active=" + executor.getActiveCount() + ", queued=" + executor.getQueue().size() + "]");
+        });
+        new ExecutorServiceMetrics(this, name, Tags.empty()).bindTo(meterRegistry);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        super.execute(new TimedRunnable(command, System.nanoTime()));
+    }
+
+    /**
+     * Task wrapper recording queue wait and execution time
+     */
+    private class TimedRunnable implements Runnable {
+
+        private final Runnable delegate;
+        private final long submittedAt;
+
+        private TimedRunnable(final Runnable delegate, long submittedAt) {
+            this.delegate = delegate;
+            this.submittedAt = submittedAt;
+        }
+
+        @Override
+        public void run() {
+            final long startedAt = System.nanoTime();
+            queueWaitTimer.record(startedAt - this.submittedAt, TimeUnit.NANOSECONDS);
+            try {
+                this.delegate.run();
+            } finally {
+                executionTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.executor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Virtual thread pinning monitor
+ *
+ * <p>A virtual thread blocking inside a {@code synchronized} block or a native frame stays mounted on its carrier
+ * thread, so a few of them can stall all virtual threads. The monitor streams the {@code jdk.VirtualThreadPinned}
+ * flight recorder events above the threshold, records them by timer and logs the application frame holding the
+ * carrier once per frame. The flight recorder streaming API (Java 14+) is looked up reflectively, the monitor
+ * stays inactive on runtimes without virtual threads.</p>
+ */
+@Slf4j
+public class PinnedThreadMonitor {
+
+    /**
+     * Default metrics name
+     */
+    public static final String METRICS_NAME = InstrumentedThreadPoolExecutor.METRICS_PREFIX + ".virtual.pinned";
+    /**
+     * Default flight recorder event name
+     */
+    public static final String PINNED_EVENT_NAME = "jdk.VirtualThreadPinned";
+    /**
+     * Default application package frames are attributed to
+     */
+    public static final String APPLICATION_PACKAGE = "com.wildbeeslabs.sensiblemetrics.supersolr";
+    /**
+     * Default maximum number of distinct frames logged
+     */
+    private static final int MAX_REPORTED_FRAMES = 1000;
+
+    private final Duration threshold;
+    private final Timer pinnedTimer;
+    private final Set<String> reportedFrames = ConcurrentHashMap.newKeySet();
+    private volatile AutoCloseable recordingStream;
+
+    public PinnedThreadMonitor(final Duration threshold, final MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinnedTimer = Timer.builder(METRICS_NAME)
+            .description("Time virtual threads stay pinned to their carrier thread")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts streaming pinned virtual thread events (no-op if the runtime does not support virtual threads)
+     */
+    public synchronized void start() {
+        if (Objects.nonNull(this.recordingStream) || !VirtualThreads.isSupported()) {
+            return;
+        }
+        try {
+            final Class<?> streamClass = Class.forName("jdk.jfr.consumer.RecordingStream");
+            final Class<?> settingsClass = Class.forName("jdk.jfr.EventSettings");
+            final Object stream = streamClass.getConstructor().newInstance();
+            final Object settings = streamClass.getMethod("enable", String.class).invoke(stream, PINNED_EVENT_NAME);
+            settingsClass.getMethod("withThreshold", Duration.class).invoke(settings, this.threshold);
+            settingsClass.getMethod("withStackTrace").invoke(settings);
+            final PinnedEventReader reader = new PinnedEventReader();
+            streamClass.getMethod("onEvent", String.class, Consumer.class).invoke(stream, PINNED_EVENT_NAME, (Consumer<Object>) reader::read);
+            streamClass.getMethod("startAsync").invoke(stream);
+            this.recordingStream = (AutoCloseable) stream;
+            log.info("Virtual thread pinning monitor started [threshold={}]", this.threshold);
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.warn("Virtual thread pinning monitor is not supported by the runtime: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops streaming pinned virtual thread events
+     */
+    public synchronized void stop() {
+        if (Objects.isNull(this.recordingStream)) {
+            return;
+        }
+        try {
+            this.recordingStream.close();
+        } catch (Exception ex) {
+            log.warn("Cannot close virtual thread pinning monitor: {}", ex.getMessage());
+        } finally {
+            this.recordingStream = null;
+        }
+    }
+
+    /**
+     * Returns flag whether pinned virtual thread events are streamed
+     *
+     * @return true - if the monitor is running, false - otherwise
+     */
+    public boolean isRunning() {
+        return Objects.nonNull(this.recordingStream);
+    }
+
+    /**
+     * Records pinned virtual thread by input duration {@link Duration} and frame holding the carrier
+     *
+     * @param duration - initial input pinned duration {@link Duration}
+     * @param frame    - initial input frame description {@link String} (application frame if any)
+     */
+    public void record(final Duration duration, final String frame) {
+        this.pinnedTimer.record(duration.toNanos(), TimeUnit.NANOSECONDS);
+        if (this.reportedFrames.size() < MAX_REPORTED_FRAMES && this.reportedFrames.add(frame)) {
+            log.warn("Virtual thread pinned to its carrier for {} ms at {}", duration.toMillis(), frame);
+        } else {
+            log.debug("Virtual thread pinned to its carrier for {} ms at {}", duration.toMillis(), frame);
+        }
+    }
+
+    /**
+     * Returns frame description {@link String} attributed to a pinning, the first application frame
+     * or the top frame if no application code is on the stack
+     *
+     * @param frames - initial input stack frames {@link List} ({@code class#method:line}, top first)
+     * @return frame description {@link String}
+     */
+    public static String getFrame(final List<String> frames) {
+        if (frames.isEmpty()) {
+            return "unknown";
+        }
+        return frames.stream()
+            .filter(frame -> frame.startsWith(APPLICATION_PACKAGE))
+            .findFirst()
+            .orElse(frames.get(0));
+    }
+
+    /**
+     * Reflective reader of flight recorder events
+     */
+    private class PinnedEventReader {
+
+        private final Method getDuration;
+        private final Method getStackTrace;
+        private final Method getFrames;
+        private final Method getMethod;
+        private final Method getLineNumber;
+        private final Method getType;
+        private final Method getName;
+        private final Method getTypeName;
+
+        private PinnedEventReader() throws ReflectiveOperationException {
+            final Class<?> eventClass = Class.forName("jdk.jfr.consumer.RecordedEvent");
+            final Class<?> frameClass = Class.forName("jdk.jfr.consumer.RecordedFrame");
+            final Class<?> methodClass = Class.forName("jdk.jfr.consumer.RecordedMethod");
+            this.getDuration = eventClass.getMethod("getDuration");
+            this.getStackTrace = eventClass.getMethod("getStackTrace");
+            this.getFrames = Class.forName("jdk.jfr.consumer.RecordedStackTrace").getMethod("getFrames");
+            this.getMethod = frameClass.getMethod("getMethod");
+            this.getLineNumber = frameClass.getMethod("getLineNumber");
+            this.getType = methodClass.getMethod("getType");
+            this.getName = methodClass.getMethod("getName");
+            this.getTypeName = Class.forName("jdk.jfr.consumer.RecordedClass").getMethod("getName");
+        }
+
+        private void read(final Object event) {
+            try {
+                final List<String> frames = new ArrayList<>();
+                final Object stackTrace = this.getStackTrace.invoke(event);
+                if (Objects.nonNull(stackTrace)) {
+                    for (final Object frame : (List<?>) this.getFrames.invoke(stackTrace)) {
+                        final Object method = this.getMethod.invoke(frame);
+                        frames.add(this.getTypeName.invoke(this.getType.invoke(method)) + "#" + this.getName.invoke(method) + ":" + this.getLineNumber.invoke(frame));
+                    }
+                }
+                record((Duration) this.getDuration.invoke(event), getFrame(frames));
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                log.debug("Cannot read pinned virtual thread event: {}", ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.executor;
+
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Virtual thread utilities implementation
+ *
+ * <p>The application is compiled for Java 8, so virtual threads (Java 21+) are looked up reflectively.</p>
+ */
+@Slf4j
+@UtilityClass
+public class VirtualThreads {
+
+    /**
+     * Returns flag whether the running JVM supports virtual threads
+     *
+     * @return true - if virtual threads are supported, false - otherwise
+     */
+    public static boolean isSupported() {
+        return newThreadFactory("probe-").isPresent();
+    }
+
+    /**
+     * Returns optional virtual {@link ThreadFactory} naming threads by input prefix and sequence number
+     *
+     * @param prefix - initial input thread name prefix
+     * @return optional virtual {@link ThreadFactory}
+     */
+    public static Optional<ThreadFactory> newThreadFactory(final String prefix) {
+        try {
+            final Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            final Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            final Method name = builderClass.getMethod("name", String.class, long.class);
+            final Method factory = builderClass.getMethod("factory");
+            final Object builder = name.invoke(ofVirtual.invoke(null), prefix, 0L);
+            return Optional.of((ThreadFactory) factory.invoke(builder));
+        } catch (ReflectiveOperationException | RuntimeException ex) {
+            log.debug("Virtual threads are not supported by the runtime: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns optional {@link ExecutorService} starting a new virtual thread per task, named by input prefix and sequence number
+     *
+     * @param prefix - initial input thread name prefix
+     * @return optional virtual thread per task {@link ExecutorService}
+     */
+    public static Optional<ExecutorService> newThreadPerTaskExecutor(final String prefix) {
+        return newThreadFactory(prefix).flatMap(threadFactory -> {
+            try {
+                final Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+                return Optional.of((ExecutorService) newThreadPerTaskExecutor.invoke(null, threadFactory));
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                log.debug("Thread per task executors are not supported by the runtime: {}", ex.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Custom solr admission control configuration properties (circuit breakers and adaptive concurrency limit)
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.admission")
+@Validated
+public class AdmissionConfigProperties {
+
+    /**
+     * Default admission control enabled flag (every query is sent to solr if disabled)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Default ratio of failed calls in the window that opens a circuit breaker
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * Default duration after which a call is counted as slow
+     */
+    @NotNull
+    private Duration slowCallThreshold = Duration.ofSeconds(2);
+
+    /**
+     * Default ratio of slow calls in the window that opens a circuit breaker
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double slowCallRateThreshold = 0.8;
+
+    /**
+     * Default number of most recent calls a circuit breaker evaluates
+     */
+    @Positive
+    private int windowSize = 100;
+
+    /**
+     * Default minimum number of calls in the window before a circuit breaker may open
+     */
+    @Positive
+    private int minimumCalls = 20;
+
+    /**
+     * Default period an open circuit breaker rejects calls before probing solr again
+     */
+    @NotNull
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Default number of probe calls of a half-open circuit breaker
+     */
+    @Positive
+    private int halfOpenCalls = 5;
+
+    /**
+     * Default initial concurrency limit of solr queries
+     */
+    @Positive
+    private int initialLimit = 20;
+
+    /**
+     * Default minimum concurrency limit of solr queries
+     */
+    @Positive
+    private int minLimit = 2;
+
+    /**
+     * Default maximum concurrency limit of solr queries
+     */
+    @Positive
+    private int maxLimit = 200;
+
+    /**
+     * Default query latency above which the concurrency limit is decreased
+     */
+    @NotNull
+    private Duration latencyThreshold = Duration.ofMillis(500);
+
+    /**
+     * Default multiplicative decrease ratio of the concurrency limit
+     */
+    @DecimalMin("0.1")
+    @DecimalMax("1.0")
+    private double backoffRatio = 0.9;
+}
@@ -31,6 +31,7 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
 
 /**
  * Custom batch configuration properties
@@ -58,4 +59,26 @@ public class BatchConfigProperties {
      * Default cron scheduling
      */
     private String cron;
+
+    /**
+     * Default number of resources rendered and sent to solr per update request
+     */
+    @Positive
+    private int chunkSize = 100;
+
+    /**
+     * Default number of resource partitions indexed by concurrent worker threads
+     */
+    @Positive
+    private int concurrency = 4;
+
+    /**
+     * Default delta indexing flag (only changed resources are rendered and sent to solr)
+     */
+    private boolean deltaEnabled = true;
+
+    /**
+     * Default blue/green rebuild flag (every run indexes into a fresh collection and switches the alias)
+     */
+    private boolean blueGreen = false;
 }
@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Custom search result cache configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.cache")
+@Validated
+public class CacheConfigProperties {
+
+    /**
+     * Default cache enabled flag (search services query solr directly if disabled)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Default maximum number of entries kept in the local (L1) cache
+     */
+    @Positive
+    private long localMaximumSize = 70000;
+
+    /**
+     * Default local (L1) entry expiration period after write
+     */
+    private Duration localExpireAfterWrite = Duration.ofSeconds(300);
+
+    /**
+     * Default shared (L2) redis cache enabled flag
+     */
+    private boolean sharedEnabled = true;
+
+    /**
+     * Default shared (L2) entry time to live
+     */
+    private Duration sharedTimeToLive = Duration.ofMinutes(10);
+
+    /**
+     * Default period after which the shared index generation of a collection is re-read from redis
+     */
+    private Duration generationRefreshInterval = Duration.ofSeconds(1);
+
+    /**
+     * Default redis key prefix
+     */
+    @NotBlank
+    private String keyPrefix = "supersolr:search:";
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Custom hedged solr read configuration properties (applied when several replica urls are configured)
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.hedging")
+@Validated
+public class HedgingConfigProperties {
+
+    /**
+     * Default hedging enabled flag (reads are only load balanced across replicas if disabled)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Default read latency percentile after which a hedged request is sent to another replica
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double percentile = 0.95;
+
+    /**
+     * Default hedge delay until enough read latencies are observed
+     */
+    @NotNull
+    private Duration initialDelay = Duration.ofMillis(50);
+
+    /**
+     * Default lower bound of the hedge delay
+     */
+    @NotNull
+    private Duration minDelay = Duration.ofMillis(5);
+
+    /**
+     * Default upper bound of the hedge delay
+     */
+    @NotNull
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /**
+     * Default number of read latencies the hedge delay is recomputed from
+     */
+    @Positive
+    private int minSamples = 200;
+
+    /**
+     * Default hedge delay recomputation interval
+     */
+    @NotNull
+    private Duration refreshInterval = Duration.ofSeconds(5);
+
+    /**
+     * Default decay period of the replica latency moving average
+     */
+    @NotNull
+    private Duration decay = Duration.ofSeconds(10);
+
+    /**
+     * Default maximum number of concurrent replica requests
+     */
+    @Positive
+    private int maxThreads = 64;
+}
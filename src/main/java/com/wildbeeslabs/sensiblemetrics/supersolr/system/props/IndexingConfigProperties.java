@@ -0,0 +1,106 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+
+/**
+ * Custom write-behind indexing configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.indexing")
+@Validated
+public class IndexingConfigProperties {
+
+    /**
+     * Default write-behind mode flag (synchronous write with hard commit otherwise)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Default maximum number of operations sent to solr in one batch
+     */
+    @Positive
+    private int batchSize = 500;
+
+    /**
+     * Default maximum number of pending operations kept in memory
+     */
+    @Positive
+    private int queueCapacity = 10000;
+
+    /**
+     * Default maximum delay before pending operations are flushed
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Default maximum time a producer waits for free queue capacity before flushing in its own thread
+     */
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    /**
+     * Default commit within period passed along with every flushed batch
+     */
+    private Duration commitWithin = Duration.ofSeconds(1);
+
+    /**
+     * Default soft commit flag (issued after every flushed batch instead of commit within)
+     */
+    private boolean softCommit = false;
+
+    /**
+     * Default maximum number of times a failed batch is resent before its operations are dropped
+     */
+    @PositiveOrZero
+    private int retryAttempts = 10;
+
+    /**
+     * Default delay before a failed batch is resent (doubled on every further failure)
+     */
+    private Duration retryBackoff = Duration.ofSeconds(1);
+
+    /**
+     * Default maximum delay before a failed batch is resent
+     */
+    private Duration maxRetryBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Default maximum number of operations recorded for a collection being rebuilt
+     */
+    @Positive
+    private int recordCapacity = 100000;
+}
@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+
+/**
+ * Custom multi-search configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.msearch")
+@Validated
+public class MultiSearchConfigProperties {
+
+    /**
+     * Default maximum number of sub-queries per request
+     */
+    @Positive
+    private int maxQueries = 16;
+
+    /**
+     * Default deadline of a multi-search request (unfinished sub-queries are reported as timed out)
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Default number of threads kept in the pool
+     */
+    @PositiveOrZero
+    private int corePoolSize = 8;
+
+    /**
+     * Default maximum number of threads (bounds concurrent sub-queries)
+     */
+    @Positive
+    private int maxPoolSize = 32;
+
+    /**
+     * Default maximum number of sub-queries waiting for a thread (rejected afterwards)
+     */
+    @Positive
+    private int queueCapacity = 256;
+
+    /**
+     * Default thread name prefix
+     */
+    @NotBlank
+    private String threadNamePrefix = "supersolr-msearch-";
+}
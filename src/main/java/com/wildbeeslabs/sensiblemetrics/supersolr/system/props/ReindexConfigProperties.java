@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Custom blue/green reindex configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.reindex")
+@Validated
+public class ReindexConfigProperties {
+
+    /**
+     * Default number of shards of a rebuilt collection
+     */
+    @Positive
+    private int numShards = 1;
+
+    /**
+     * Default replication factor of a rebuilt collection
+     */
+    @Positive
+    private int replicationFactor = 1;
+
+    /**
+     * Default configset names by collection alias (the alias name is used as configset name otherwise)
+     */
+    private Map<String, String> configSets = new HashMap<>();
+
+    /**
+     * Default core properties of a rebuilt collection (bulk indexing commit and merge settings)
+     */
+    private Map<String, String> bulkProperties = new HashMap<>();
+
+    /**
+     * Default timestamp suffix pattern of rebuilt collection names
+     */
+    @NotBlank
+    private String timestampPattern = "yyyyMMddHHmmss";
+
+    /**
+     * Default maximum number of segments a rebuilt collection is merged to before the alias swap (zero disables merge)
+     */
+    @PositiveOrZero
+    private int maxSegments = 1;
+
+    /**
+     * Default minimum ratio of rebuilt to live document count required for the alias swap
+     */
+    @DecimalMin("0.0")
+    @DecimalMax("1.0")
+    private double minCountRatio = 0.9;
+
+    /**
+     * Default previous collection removal flag (dropped after the alias swap)
+     */
+    private boolean dropPrevious = true;
+
+    /**
+     * Default number of models converted and sent to solr per request on model collection rebuilds
+     */
+    @Positive
+    private int batchSize = 1000;
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Custom solr client configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.solr")
+@Validated
+public class SolrConfigProperties {
+
+    /**
+     * Solr client modes
+     */
+    public enum Mode {
+        /**
+         * Remote solr server queried over http
+         */
+        HTTP,
+        /**
+         * In-process solr server sharing the application jvm
+         */
+        EMBEDDED
+    }
+
+    /**
+     * Solr http transports
+     */
+    public enum Transport {
+        /**
+         * Apache http client over a pooled connection manager
+         */
+        HTTP1,
+        /**
+         * Jetty http/2 client multiplexing concurrent requests over shared connections
+         */
+        HTTP2
+    }
+
+    /**
+     * Default solr client mode
+     */
+    @NotNull
+    private Mode mode = Mode.HTTP;
+
+    /**
+     * Default embedded solr home directory (created with the configured cores if missing)
+     */
+    private String home = "solr-home";
+
+    /**
+     * Default embedded configset directories by core names
+     */
+    private Map<String, String> configSets = new LinkedHashMap<>();
+
+    /**
+     * Default embedded core loading flag (cores are opened on first request if disabled)
+     */
+    private boolean loadOnStartup = false;
+
+    /**
+     * Default embedded core name (used by requests not addressed to a collection)
+     */
+    @NotBlank
+    private String defaultCore = "product";
+
+    /**
+     * Default solr http transport
+     */
+    @NotNull
+    private Transport transport = Transport.HTTP1;
+
+    /**
+     * Default maximum number of pooled connections
+     */
+    @Positive
+    private int maxConnections = 128;
+
+    /**
+     * Default maximum number of pooled connections per solr host (connections per host of the http/2 transport)
+     */
+    @Positive
+    private int maxConnectionsPerRoute = 64;
+
+    /**
+     * Default timeout of waiting for a pooled connection
+     */
+    @NotNull
+    private Duration connectionRequestTimeout = Duration.ofSeconds(1);
+
+    /**
+     * Default keep-alive of idle persistent connections (unless shorter keep-alive is advertised by solr)
+     */
+    @NotNull
+    private Duration keepAlive = Duration.ofSeconds(30);
+
+    /**
+     * Default maximum lifetime of pooled connections
+     */
+    @NotNull
+    private Duration connectionTimeToLive = Duration.ofMinutes(5);
+
+    /**
+     * Default idle time after which pooled connections are evicted (idle timeout of the http/2 transport)
+     */
+    @NotNull
+    private Duration idleTimeout = Duration.ofSeconds(60);
+
+    /**
+     * Default inactivity period after which pooled connections are validated before reuse
+     */
+    @NotNull
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.props;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.constraints.Positive;
+import java.time.Duration;
+
+/**
+ * Custom autocomplete suggester configuration properties
+ */
+@Data
+@Configuration
+@EnableConfigurationProperties
+@PropertySource("classpath:application.yml")
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.suggester")
+@Validated
+public class SuggesterConfigProperties {
+
+    /**
+     * Default in-process suggester flag (solr edge-ngram fields are queried otherwise)
+     */
+    private boolean enabled = true;
+
+    /**
+     * Default maximum number of suggestions kept per prefix
+     */
+    @Positive
+    private int topSize = 10;
+
+    /**
+     * Default maximum indexed prefix length
+     */
+    @Positive
+    private int maxKeyLength = 64;
+
+    /**
+     * Default number of documents fetched per cursor round-trip while loading
+     */
+    @Positive
+    private int batchSize = 1000;
+
+    /**
+     * Default delay between incremental refreshes (documents changed since previous refresh)
+     */
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    /**
+     * Default period after which the suggester is fully rebuilt (drops removed documents)
+     */
+    private Duration rebuildInterval = Duration.ofHours(1);
+}
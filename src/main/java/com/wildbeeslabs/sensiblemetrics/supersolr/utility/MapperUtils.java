@@ -23,6 +23,11 @@
  */
 package com.wildbeeslabs.sensiblemetrics.supersolr.utility;
 
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.iface.ViewMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl.AttributeViewMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl.CategoryViewMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl.OrderViewMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper.impl.ProductViewMapper;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 import org.modelmapper.ModelMapper;
@@ -30,7 +35,10 @@ import org.modelmapper.convention.MatchingStrategies;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -46,6 +54,11 @@ public class MapperUtils {
      */
     private static ModelMapper modelMapper;
 
+    /**
+     * Default compiled view mappers {@link ViewMapper} by source and target classes
+     */
+    private static final Map<Class<?>, Map<Class<?>, ViewMapper<?, ?>>> viewMappers = new HashMap<>();
+
     /**
      * Model mapper property settings
      * Default property matching strategy is set to Strict see {@link MatchingStrategies}
@@ -59,12 +72,37 @@ public class MapperUtils {
         modelMapper.getConfiguration().setFieldMatchingEnabled(true);
         modelMapper.getConfiguration().setFullTypeMatchingRequired(true);
         modelMapper.getConfiguration().setImplicitMappingEnabled(true);
+
+        registerViewMapper(new ProductViewMapper());
+        registerViewMapper(new CategoryViewMapper());
+        registerViewMapper(new AttributeViewMapper());
+        registerViewMapper(new OrderViewMapper());
+    }
+
+    private static void registerViewMapper(final ViewMapper<?, ?> viewMapper) {
+        viewMappers.computeIfAbsent(viewMapper.getSourceClass(), key -> new HashMap<>()).put(viewMapper.getTargetClass(), viewMapper);
+    }
+
+    /**
+     * Returns compiled {@link ViewMapper} by input source and target classes {@link Class} (if registered)
+     *
+     * @param <S>         type of source object
+     * @param <D>         type of target object
+     * @param sourceClass - initial input source class {@link Class}
+     * @param targetClass - initial input target class {@link Class}
+     * @return compiled {@link ViewMapper} or null
+     */
+    @SuppressWarnings("unchecked")
+    private static <S, D> ViewMapper<S, D> getViewMapper(final Class<?> sourceClass, final Class<?> targetClass) {
+        final Map<Class<?>, ViewMapper<?, ?>> mappers = viewMappers.get(sourceClass);
+        return Objects.isNull(mappers) ? null : (ViewMapper<S, D>) mappers.get(targetClass);
     }
 
     /**
      * Converts input entity by initial output class instance {@link Class}
      *
      * <p>Note: outClass object must have default constructor with no arguments</p>
+     * <p>Search documents are converted to views by compiled {@link ViewMapper}s, other types by {@link ModelMapper}</p>
      *
      * @param <D>      type of result object
      * @param <T>      type of source object to map from
@@ -73,6 +111,12 @@ public class MapperUtils {
      * @return mapped entity of <code>outClass</code> type
      */
     public static <D, T> D map(final T entity, final Class<D> outClass) {
+        if (Objects.nonNull(entity)) {
+            final ViewMapper<T, D> viewMapper = getViewMapper(entity.getClass(), outClass);
+            if (Objects.nonNull(viewMapper)) {
+                return viewMapper.map(entity);
+            }
+        }
         return modelMapper.map(entity, outClass);
     }
 
@@ -102,6 +146,13 @@ public class MapperUtils {
      * @return mapped object with <code><D></code> type
      */
     public static <S, D> D map(final S source, final D destination) {
+        if (Objects.nonNull(source) && Objects.nonNull(destination)) {
+            final ViewMapper<S, D> viewMapper = getViewMapper(source.getClass(), destination.getClass());
+            if (Objects.nonNull(viewMapper)) {
+                viewMapper.map(source, destination);
+                return destination;
+            }
+        }
         modelMapper.map(source, destination);
         return destination;
     }
@@ -1,13 +1,18 @@
 package com.wildbeeslabs.sensiblemetrics.supersolr.utility;
 
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
 import lombok.NonNull;
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 
 /**
@@ -29,7 +34,7 @@ public class ServiceUtils {
         }
     };
 
-    public static <T> void getResultAsync(final Executor executor, final CompletableFuture<T>... future) {
+    public static void getResultAsync(final Executor executor, final CompletableFuture<?>... future) {
         CompletableFuture.allOf(future).whenCompleteAsync(DEFAULT_COMPLETABLE_ACTION, executor).join();
     }
 
@@ -38,6 +43,33 @@ public class ServiceUtils {
     }
 
     public static <T> T getResultAsync(@NonNull final CompletableFuture<T> future) {
-        return getResultAsync(Executors.newSingleThreadExecutor(), future);
+        return future.whenComplete(DEFAULT_COMPLETABLE_ACTION).join();
+    }
+
+    /**
+     * Returns result of input {@link CompletableFuture} waiting no longer than input timeout
+     *
+     * <p>On timeout the future is cancelled so that a task still waiting in the executor queue is skipped,
+     * a task already running is left to complete.</p>
+     *
+     * @param <T>     type of result
+     * @param future  - initial input {@link CompletableFuture} to wait for
+     * @param timeout - initial input maximum waiting time
+     * @return result of input {@link CompletableFuture}
+     * @throws ServiceException if the result is not available in time or completed exceptionally
+     */
+    public static <T> T getResult(@NonNull final CompletableFuture<T> future, @NonNull final Duration timeout) {
+        try {
+            return future.whenComplete(DEFAULT_COMPLETABLE_ACTION).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new ServiceException(String.format("ERROR: asynchronous result is not available in %s", timeout), ex);
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceException("ERROR: interrupted while waiting for asynchronous result", ex);
+        } catch (ExecutionException | CancellationException ex) {
+            throw new ServiceException("ERROR: asynchronous request failed", Objects.nonNull(ex.getCause()) ? ex.getCause() : ex);
+        }
     }
 }
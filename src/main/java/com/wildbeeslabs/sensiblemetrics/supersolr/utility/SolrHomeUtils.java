@@ -0,0 +1,170 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.utility;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import lombok.NonNull;
+import lombok.experimental.UtilityClass;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Solr home utilities implementation
+ *
+ * <p>Assembles a solr home from the bundled configsets: every configset is copied to {@code <home>/<core>/conf}
+ * next to a {@code core.properties} descriptor, so core discovery finds it on container startup. Language
+ * resources referenced by the stock managed schemas ({@code lang/*.txt}) are not bundled with the configsets
+ * and are provisioned as empty word lists.</p>
+ */
+@Slf4j
+@UtilityClass
+public class SolrHomeUtils {
+
+    /**
+     * Default solr container descriptor name
+     */
+    public static final String DEFAULT_SOLR_XML_NAME = "solr.xml";
+    /**
+     * Default core descriptor name
+     */
+    public static final String DEFAULT_CORE_PROPERTIES_NAME = "core.properties";
+    /**
+     * Default solr container descriptor
+     */
+    private static final String DEFAULT_SOLR_XML = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n<solr/>\n";
+    /**
+     * Default schema resource names
+     */
+    private static final String[] DEFAULT_SCHEMA_NAMES = {"managed-schema", "schema.xml"};
+    /**
+     * Default schema resource reference pattern
+     */
+    private static final Pattern DEFAULT_RESOURCE_PATTERN = Pattern.compile("\"(lang/[^\"]+\\.txt)\"");
+
+    /**
+     * Returns solr home directory {@link Path} with cores for the input configsets
+     *
+     * <p>Existing container and core descriptors are left untouched, so indexes persisted in the home survive
+     * restarts and only cores missing from the home are created.</p>
+     *
+     * @param home          - initial input solr home directory {@link Path}
+     * @param configSets    - initial input configset directories {@link Map} by core names
+     * @param loadOnStartup - initial input core loading flag (cores are opened on first request otherwise)
+     * @return solr home directory {@link Path}
+     */
+    public static Path createHome(@NonNull final Path home, @NonNull final Map<String, String> configSets, boolean loadOnStartup) {
+        try {
+            Files.createDirectories(home);
+            final Path solrXml = home.resolve(DEFAULT_SOLR_XML_NAME);
+            if (Files.notExists(solrXml)) {
+                Files.write(solrXml, DEFAULT_SOLR_XML.getBytes(StandardCharsets.UTF_8));
+            }
+            for (final Map.Entry<String, String> entry : configSets.entrySet()) {
+                final Path coreDir = home.resolve(entry.getKey());
+                if (Files.exists(coreDir.resolve(DEFAULT_CORE_PROPERTIES_NAME))) {
+                    continue;
+                }
+                final Path conf = coreDir.resolve("conf");
+                copy(Paths.get(entry.getValue()), conf);
+                provisionResources(conf);
+                final String descriptor = String.format("name=%s%nloadOnStartup=%s%n", entry.getKey(), loadOnStartup);
+                Files.write(coreDir.resolve(DEFAULT_CORE_PROPERTIES_NAME), descriptor.getBytes(StandardCharsets.UTF_8));
+                log.info("Created solr core: {}, configset: {}, home: {}", entry.getKey(), entry.getValue(), home);
+            }
+            return home;
+        } catch (IOException ex) {
+            throw new ServiceException(String.format("ERROR: cannot create solr home: {%s}", home), ex);
+        }
+    }
+
+    /**
+     * Returns temporary solr home directory {@link Path} with cores for the input configsets loaded on startup
+     *
+     * @param configSets - initial input configset directories {@link Map} by core names
+     * @return temporary solr home directory {@link Path}
+     */
+    public static Path createTemporaryHome(@NonNull final Map<String, String> configSets) {
+        try {
+            return createHome(Files.createTempDirectory("supersolr-home"), configSets, true);
+        } catch (IOException ex) {
+            throw new ServiceException("ERROR: cannot create temporary solr home", ex);
+        }
+    }
+
+    /**
+     * Removes input solr home directory {@link Path}, failures are logged only
+     *
+     * @param home - initial input solr home directory {@link Path}
+     */
+    public static void deleteHome(@NonNull final Path home) {
+        try {
+            FileSystemUtils.deleteRecursively(home);
+        } catch (IOException ex) {
+            log.warn("Cannot delete solr home: {}, message: {}", home, ex.getMessage());
+        }
+    }
+
+    private static void copy(final Path source, final Path target) throws IOException {
+        Files.createDirectories(target);
+        try (final Stream<Path> files = Files.list(source)) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                if (Files.isRegularFile(file)) {
+                    Files.copy(file, target.resolve(file.getFileName().toString()));
+                }
+            }
+        }
+    }
+
+    private static void provisionResources(final Path conf) throws IOException {
+        final Set<String> resources = new LinkedHashSet<>();
+        for (final String schemaName : DEFAULT_SCHEMA_NAMES) {
+            final Path schema = conf.resolve(schemaName);
+            if (Files.isRegularFile(schema)) {
+                final Matcher matcher = DEFAULT_RESOURCE_PATTERN.matcher(new String(Files.readAllBytes(schema), StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    resources.add(matcher.group(1));
+                }
+            }
+        }
+        for (final String resource : resources) {
+            final Path file = conf.resolve(resource);
+            if (Files.notExists(file)) {
+                Files.createDirectories(file.getParent());
+                Files.createFile(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.google.common.hash.Hashing;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Base resource processor delta indexing unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class BaseResourceProcessorTest {
+
+    private static final String CONTENT = "# Title";
+
+    private File file;
+    private Resource resource;
+    private ResourceFingerprintRepository fingerprintRepository;
+    private BaseResourceProcessor processor;
+
+    @Before
+    public void before() throws IOException {
+        this.file = File.createTempFile("resource", ".md");
+        Files.write(this.file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        this.resource = new FileSystemResource(this.file);
+        this.fingerprintRepository = mock(ResourceFingerprintRepository.class);
+        final BatchConfigProperties properties = new BatchConfigProperties();
+        properties.setDeltaEnabled(true);
+        this.processor = new BaseResourceProcessor();
+        this.processor.setBatchConfigProperties(properties);
+        this.processor.setFingerprintRepository(this.fingerprintRepository);
+        this.processor.initialize();
+    }
+
+    @After
+    public void after() throws IOException {
+        Files.deleteIfExists(getFile().toPath());
+    }
+
+    @Test
+    @DisplayName("Test new resource is rendered with its fingerprint")
+    public void testNewResourceIsRendered() throws IOException {
+        // given
+        when(getFingerprintRepository().findById(any())).thenReturn(Optional.empty());
+
+        // when
+        final BaseResource result = getProcessor().process(getResource());
+
+        // then
+        assertThat(result, notNullValue());
+        assertThat(result.getData(), containsString("<h1>Title</h1>"));
+        assertThat(result.getFingerprint().getPath(), equalTo(getFile().getAbsolutePath()));
+        assertThat(result.getFingerprint().getHash(), equalTo(hash(CONTENT)));
+    }
+
+    @Test
+    @DisplayName("Test resource with unchanged metadata is skipped without reading its content")
+    public void testUnchangedResourceIsSkipped() throws IOException {
+        // given
+        final ResourceFingerprint stored = new ResourceFingerprint(getFile().getAbsolutePath(), getFile().length(), getFile().lastModified(), "stale");
+        when(getFingerprintRepository().findById(stored.getPath())).thenReturn(Optional.of(stored));
+
+        // when
+        final BaseResource result = getProcessor().process(getResource());
+
+        // then
+        assertThat(result, nullValue());
+        verify(getFingerprintRepository(), never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Test touched resource with unchanged content is skipped and its fingerprint refreshed")
+    public void testTouchedResourceIsSkipped() throws IOException {
+        // given
+        final ResourceFingerprint stored = new ResourceFingerprint(getFile().getAbsolutePath(), getFile().length(), getFile().lastModified() - 10_000, hash(CONTENT));
+        when(getFingerprintRepository().findById(stored.getPath())).thenReturn(Optional.of(stored));
+
+        // when
+        final BaseResource result = getProcessor().process(getResource());
+
+        // then
+        assertThat(result, nullValue());
+        verify(getFingerprintRepository()).save(argThat(fingerprint -> fingerprint.getLastModified() == getFile().lastModified()));
+    }
+
+    @Test
+    @DisplayName("Test modified resource is rendered again")
+    public void testModifiedResourceIsRendered() throws IOException {
+        // given
+        final ResourceFingerprint stored = new ResourceFingerprint(getFile().getAbsolutePath(), getFile().length(), getFile().lastModified() - 10_000, hash("# Other"));
+        when(getFingerprintRepository().findById(stored.getPath())).thenReturn(Optional.of(stored));
+
+        // when
+        final BaseResource result = getProcessor().process(getResource());
+
+        // then
+        assertThat(result, notNullValue());
+        assertThat(result.getFingerprint().getHash(), equalTo(hash(CONTENT)));
+    }
+
+    private static String hash(final String content) {
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.batch;
+
+import com.google.common.hash.Hashing;
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.ResourceFingerprint;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ResourceFingerprintRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.iface.BlueGreenReindexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.BatchConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Blue/green indexing job fingerprint unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class BlueGreenFingerprintTest {
+
+    private static final String CONTENT = "# Title";
+    private static final String REBUILT_COLLECTION = "BaseModel_20190102000000";
+
+    private final Map<String, ResourceFingerprint> fingerprints = new HashMap<>();
+    private File directory;
+    private File file;
+    private String removedPath;
+    private Resource resource;
+    private BatchConfigProperties properties;
+    private ResourceFingerprintRepository fingerprintRepository;
+    private BlueGreenReindexer blueGreenReindexer;
+    private BaseResourceProcessor processor;
+    private JobExecution jobExecution;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() throws IOException {
+        this.directory = Files.createTempDirectory("resources").toFile();
+        this.file = new File(this.directory, "resource.md");
+        Files.write(this.file.toPath(), CONTENT.getBytes(StandardCharsets.UTF_8));
+        this.resource = new FileSystemResource(this.file);
+        this.removedPath = new File(this.directory, "removed.md").getAbsolutePath();
+
+        // the live collection was indexed before the resource changed and while the removed one existed
+        this.fingerprints.put(this.file.getAbsolutePath(), new ResourceFingerprint(this.file.getAbsolutePath(), this.file.length(), this.file.lastModified() - 10_000, hash("# Old")));
+        this.fingerprints.put(this.removedPath, new ResourceFingerprint(this.removedPath, 1L, 1L, hash("# Removed")));
+
+        this.fingerprintRepository = mock(ResourceFingerprintRepository.class);
+        when(this.fingerprintRepository.findById(anyString())).thenAnswer(invocation -> Optional.ofNullable(this.fingerprints.get(invocation.<String>getArgument(0))));
+        when(this.fingerprintRepository.findAllPaths()).thenAnswer(invocation -> new ArrayList<>(this.fingerprints.keySet()));
+        when(this.fingerprintRepository.findAllById(any(Iterable.class))).thenAnswer(invocation -> StreamSupport.stream(invocation.<Iterable<String>>getArgument(0).spliterator(), false)
+            .map(this.fingerprints::get)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList()));
+        when(this.fingerprintRepository.saveAll(any(Iterable.class))).thenAnswer(invocation -> {
+            invocation.<Iterable<ResourceFingerprint>>getArgument(0).forEach(fingerprint -> this.fingerprints.put(fingerprint.getPath(), fingerprint));
+            return Collections.emptyList();
+        });
+        doAnswer(invocation -> {
+            invocation.<Iterable<ResourceFingerprint>>getArgument(0).forEach(fingerprint -> this.fingerprints.remove(fingerprint.getPath()));
+            return null;
+        }).when(this.fingerprintRepository).deleteAll(any(Iterable.class));
+
+        this.properties = new BatchConfigProperties();
+        this.properties.setDeltaEnabled(true);
+        this.properties.setBlueGreen(true);
+        this.properties.setPathPattern("file:" + this.directory.getAbsolutePath() + "/*.md");
+        this.properties.setExtractPath("/update/extract");
+        this.blueGreenReindexer = mock(BlueGreenReindexer.class);
+        when(this.blueGreenReindexer.prepare(BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME)).thenReturn(REBUILT_COLLECTION);
+        this.processor = new BaseResourceProcessor();
+        this.processor.setBatchConfigProperties(this.properties);
+        this.processor.setFingerprintRepository(this.fingerprintRepository);
+        this.processor.initialize();
+        this.jobExecution = new JobExecution(1L);
+    }
+
+    @After
+    public void after() {
+        FileSystemUtils.deleteRecursively(getDirectory());
+    }
+
+    @Test
+    @DisplayName("Test failed blue/green rebuild keeps live fingerprints, so the next delta run reindexes changed resources")
+    public void testFailedRebuildKeepsFingerprints() throws Exception {
+        // given
+        doThrow(new ServiceException("ERROR: rebuilt collection is incomplete")).when(getBlueGreenReindexer()).publish(BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME, REBUILT_COLLECTION);
+        final Map<String, ResourceFingerprint> live = new HashMap<>(getFingerprints());
+
+        // when
+        rebuild();
+        try {
+            execute(createCommitTasklet(), "commitStep");
+            fail("Rebuild with failed publish should not be committed");
+        } catch (ServiceException ex) {
+            getJobExecution().setStatus(BatchStatus.FAILED);
+        }
+        new BaseReindexJobListener(getBlueGreenReindexer()).afterJob(getJobExecution());
+
+        // then
+        verify(getBlueGreenReindexer()).abort(REBUILT_COLLECTION);
+        assertThat(getFingerprints(), equalTo(live));
+        getProperties().setBlueGreen(false);
+        assertThat(getProcessor().process(getResource()), notNullValue());
+    }
+
+    @Test
+    @DisplayName("Test published blue/green rebuild stores fingerprints of written and purged resources")
+    public void testPublishedRebuildStoresFingerprints() throws Exception {
+        // when
+        rebuild();
+        execute(createCommitTasklet(), "commitStep");
+
+        // then
+        verify(getBlueGreenReindexer()).publish(BaseOptimizeTasklet.DEFAULT_COLLECTION_NAME, REBUILT_COLLECTION);
+        assertThat(getFingerprints().keySet(), contains(getFile().getAbsolutePath()));
+        assertThat(getFingerprints().get(getFile().getAbsolutePath()).getHash(), equalTo(hash(CONTENT)));
+        assertThat(getJobExecution().getExecutionContext().containsKey(BasePrepareTasklet.PENDING_FINGERPRINTS_KEY), is(false));
+        getProperties().setBlueGreen(false);
+        assertThat(getProcessor().process(getResource()), nullValue());
+    }
+
+    private void rebuild() throws Exception {
+        final SolrTemplate solrTemplate = mock(SolrTemplate.class);
+        execute(new BasePrepareTasklet(getProperties(), getBlueGreenReindexer()), "prepareStep");
+        final BaseResource document = getProcessor().process(getResource());
+        assertThat(document, notNullValue());
+        final BaseResourceWriter writer = new BaseResourceWriter();
+        writer.setSolrTemplate(solrTemplate);
+        writer.setBatchConfigProperties(getProperties());
+        writer.setFingerprintRepository(getFingerprintRepository());
+        writer.setTargetCollection(REBUILT_COLLECTION);
+        writer.setJobExecutionContext(getJobExecution().getExecutionContext());
+        writer.write(Collections.singletonList(document));
+        execute(new BasePurgeTasklet(solrTemplate, getProperties(), getFingerprintRepository()), "purgeStep");
+    }
+
+    private BaseCommitTasklet createCommitTasklet() {
+        return new BaseCommitTasklet(mock(SolrTemplate.class), getBlueGreenReindexer(), getFingerprintRepository());
+    }
+
+    private void execute(final Tasklet tasklet, final String stepName) throws Exception {
+        final StepExecution stepExecution = getJobExecution().createStepExecution(stepName);
+        tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)));
+    }
+
+    private static String hash(final String content) {
+        return Hashing.sha256().hashString(content, StandardCharsets.UTF_8).toString();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.controller;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.BaseTest;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Multi-search controller implementation unit test {@link BaseTest}
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureMockMvc
+@TestPropertySource(locations = "file:src/test/resources/application.properties")
+@DirtiesContext
+public class MultiSearchControllerImplTest extends AbstractBaseSearchControllerTest {
+
+    @Test
+    @DisplayName("Test fetch results of product and category sub-queries in request order")
+    @WithMockUser(roles = "USER")
+    public void testSearch() throws Exception {
+        // given
+        final String urlTemplate = "/api/msearch";
+        final String requestText = "{\"queries\":[{\"id\":\"products\",\"type\":\"PRODUCT_SEARCH\",\"q\":\"Name\"},{\"id\":\"categories\",\"type\":\"CATEGORY_AUTOCOMPLETE\",\"q\":\"Tre\",\"size\":3}]}";
+        final String responseText = "{\"results\":[{\"id\":\"products\",\"type\":\"PRODUCT_SEARCH\",\"status\":\"OK\"},{\"id\":\"categories\",\"type\":\"CATEGORY_AUTOCOMPLETE\",\"status\":\"OK\"}]}";
+
+        // then
+        this.mockMvc.perform(post(urlTemplate)
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestText))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON_UTF8))
+            .andExpect(content().json(responseText));
+    }
+
+    @Test
+    @DisplayName("Test reject multi-search request without sub-queries")
+    @WithMockUser(roles = "USER")
+    public void testSearchWithoutQueries() throws Exception {
+        // given
+        final String urlTemplate = "/api/msearch";
+        final String requestText = "{\"queries\":[]}";
+
+        // then
+        this.mockMvc.perform(post(urlTemplate)
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(requestText))
+            .andExpect(status().isBadRequest());
+    }
+}
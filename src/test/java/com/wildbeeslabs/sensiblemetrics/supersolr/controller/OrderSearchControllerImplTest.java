@@ -46,6 +46,7 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -60,6 +61,7 @@ import static org.hamcrest.core.StringContains.containsString;
 import static org.junit.Assert.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -136,11 +138,19 @@ public class OrderSearchControllerImplTest extends AbstractBaseSearchControllerT
         final String urlTemplate = "/api/order/all";
         final String responseText = "[{\"id\":\"01\",\"score\":1.0,\"title\":\"title\",\"description\":\"description\"},{\"id\":\"02\",\"score\":1.0,\"title\":\"title\",\"description\":\"description\"},{\"id\":\"03\",\"score\":1.0,\"title\":\"title\",\"description\":\"description\"},{\"id\":\"04\",\"score\":1.0,\"title\":\"title\",\"description\":\"description\"},{\"id\":\"05\",\"score\":1.0,\"title\":\"title\",\"description\":\"description\"}]";
 
-        // then
-        this.mockMvc.perform(get(urlTemplate)
+        // when
+        final MvcResult result = this.mockMvc.perform(get(urlTemplate)
             .session(getSession(userDetailsService, DEFAULT_USERNAME))
             .headers(getHeaders(this.url))
             .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        final MvcResult streamResult = this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        this.mockMvc.perform(asyncDispatch(streamResult))
             .andExpect(status().isOk())
             .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON_UTF8))
             .andExpect(content().string(containsString("02")))
@@ -46,16 +46,24 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.util.*;
 
+import static com.wildbeeslabs.sensiblemetrics.supersolr.controller.iface.AuditDocumentSearchController.DEFAULT_TOTAL_ELEMENTS_HEADER;
+import static com.wildbeeslabs.sensiblemetrics.supersolr.controller.iface.BaseDocumentSearchController.DEFAULT_NEXT_CURSOR_MARK_HEADER;
 import static com.wildbeeslabs.sensiblemetrics.supersolr.utility.StringUtils.getString;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.junit.Assert.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -135,14 +143,77 @@ public class ProductSearchControllerImplTest extends AbstractBaseSearchControlle
         final String urlTemplate = "/api/product/all";
         final String responseText = "[{\"id\":\"01\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":10.0,\"recommendedPrice\":2.0,\"rating\":4},{\"id\":\"02\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":1.0,\"recommendedPrice\":2.0,\"rating\":32},{\"id\":\"03\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":11.0,\"recommendedPrice\":2.0,\"rating\":2},{\"id\":\"04\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":18.0,\"recommendedPrice\":2.0,\"rating\":4},{\"id\":\"05\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":1.0,\"recommendedPrice\":2.0,\"rating\":7},{\"id\":\"06\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":8.0,\"recommendedPrice\":2.0,\"rating\":9},{\"id\":\"07\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":5.0,\"recommendedPrice\":2.0,\"rating\":10},{\"id\":\"08\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":3.0,\"recommendedPrice\":2.0,\"rating\":11},{\"id\":\"09\",\"score\":1.0,\"name\":\"Name\",\"shortDescription\":\"Short description\",\"longDescription\":\"Long description\",\"priceDescription\":\"Price description\",\"catalogNumber\":\"Catalog number\",\"pageTitle\":\"Page title\",\"inStock\":true,\"price\":120.0,\"recommendedPrice\":2.0,\"rating\":13}]";
 
+        // when
+        final MvcResult result = this.mockMvc.perform(get(urlTemplate)
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        final MvcResult streamResult = this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        this.mockMvc.perform(asyncDispatch(streamResult))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON_UTF8))
+            .andExpect(content().json(responseText));
+    }
+
+    @Test
+    @DisplayName("Test fetch products by cursor mark")
+    @WithMockUser(roles = "USER")
+    public void testSearchByCursorMark() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/page/cursor";
+
+        // when
+        final MvcResult result = this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Name")
+            .param("limit", "5")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andExpect(header().exists(DEFAULT_TOTAL_ELEMENTS_HEADER))
+            .andExpect(header().exists(DEFAULT_NEXT_CURSOR_MARK_HEADER))
+            .andReturn();
+        final String cursorMark = result.getResponse().getHeader(DEFAULT_NEXT_CURSOR_MARK_HEADER);
+
         // then
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(5));
         this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Name")
+            .param("limit", "5")
+            .param("cursorMark", cursorMark)
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andExpect(header().exists(DEFAULT_NEXT_CURSOR_MARK_HEADER));
+    }
+
+    @Test
+    @DisplayName("Test fetch product suggestions by autocomplete term")
+    @WithMockUser(roles = "USER")
+    public void testAutoComplete() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/autocomplete";
+
+        // then
+        this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Nam")
+            .param("size", "2")
             .session(getSession(userDetailsService, DEFAULT_USERNAME))
             .headers(getHeaders(this.url))
             .contentType(MediaType.APPLICATION_JSON))
             .andExpect(status().isOk())
             .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON_UTF8))
-            .andExpect(content().json(responseText));
+            .andExpect(header().exists(DEFAULT_TOTAL_ELEMENTS_HEADER))
+            .andExpect(jsonPath("$.length()").value(lessThanOrEqualTo(2)));
     }
 
     @Test
@@ -229,6 +300,118 @@ public class ProductSearchControllerImplTest extends AbstractBaseSearchControlle
             .andExpect(content().json(responseText));
     }
 
+    @Test
+    @DisplayName("Test stream products by names")
+    @WithMockUser(roles = "USER")
+    public void testStreamByTitles() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/search/name";
+
+        // when
+        final SearchRequest searchRequest = new SearchRequest();
+        searchRequest.setKeywords(Arrays.asList("Small", "handkerchief"));
+        final MvcResult result = this.mockMvc.perform(post(urlTemplate)
+            .param("stream", "true")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(getGsonSerializer().toJson(searchRequest)))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(DEFAULT_TOTAL_ELEMENTS_HEADER))
+            .andExpect(jsonPath("$[0].id").value("06"))
+            .andExpect(jsonPath("$[0].name").value("Small and tiny handkerchief"))
+            .andExpect(jsonPath("$[0].highlights.name").isArray());
+    }
+
+    @Test
+    @DisplayName("Test search products projected onto requested fields")
+    @WithMockUser(roles = "USER")
+    public void testSearchWithFields() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/search";
+
+        // then
+        this.mockMvc.perform(get(urlTemplate)
+            .param("q", "Name")
+            .param("fields", "name,price")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON_UTF8))
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[0].name").value("Name"))
+            .andExpect(jsonPath("$[0].price").exists())
+            .andExpect(jsonPath("$[0].longDescription").doesNotExist())
+            .andExpect(jsonPath("$[0].inStock").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Test streamed products match buffered product views")
+    @WithMockUser(roles = "USER")
+    public void testStreamMatchesPage() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/page";
+
+        // when
+        final String responseText = this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Name")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        final MvcResult result = this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Name")
+            .param("stream", "true")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(DEFAULT_TOTAL_ELEMENTS_HEADER))
+            .andExpect(content().json(responseText, true));
+    }
+
+    @Test
+    @DisplayName("Test stream products projected onto requested fields")
+    @WithMockUser(roles = "USER")
+    public void testStreamWithFields() throws Exception {
+        // given
+        final String urlTemplate = "/api/product/page";
+
+        // when
+        final MvcResult result = this.mockMvc.perform(get(urlTemplate)
+            .param("term", "Name")
+            .param("fields", "name,price,categories")
+            .param("stream", "true")
+            .session(getSession(userDetailsService, DEFAULT_USERNAME))
+            .headers(getHeaders(this.url))
+            .contentType(MediaType.APPLICATION_JSON))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        // then
+        this.mockMvc.perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[0].id").exists())
+            .andExpect(jsonPath("$[0].name").value("Name"))
+            .andExpect(jsonPath("$[0].price").exists())
+            .andExpect(jsonPath("$[0].categories").doesNotExist())
+            .andExpect(jsonPath("$[0].longDescription").doesNotExist());
+    }
+
     @Test
     @DisplayName("Test unauthorized access")
     public void testForbiddenAccess() throws Exception {
@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.utility.SolrHomeUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.embedded.JettyConfig;
+import org.apache.solr.client.solrj.embedded.JettySolrRunner;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+/**
+ * Embedded solr context initializer
+ *
+ * <p>Starts an in-process solr server on a random port with the bundled configsets before the application
+ * context refreshes, points {@code supersolr.solr.server.url} at it and stops it once the context is closed.
+ * With {@code supersolr.loadtest.solr-mode=embedded} no server is started and the application opens the
+ * temporary solr home in-process instead ({@code supersolr.solr.mode=embedded}).</p>
+ */
+@Slf4j
+public class EmbeddedSolrInitializer implements ApplicationContextInitializer<ConfigurableApplicationContext> {
+
+    /**
+     * Default embedded solr context path
+     */
+    public static final String DEFAULT_CONTEXT_PATH = "/solr";
+    /**
+     * Default embedded solr mode
+     */
+    public static final String DEFAULT_EMBEDDED_MODE = "embedded";
+
+    @Override
+    public void initialize(final ConfigurableApplicationContext applicationContext) {
+        final Binder binder = Binder.get(applicationContext.getEnvironment());
+        final Map<String, String> configSets = binder.bind("supersolr.solr.config-sets", Bindable.mapOf(String.class, String.class))
+            .orElseThrow(() -> new IllegalStateException("Cannot resolve solr configsets: supersolr.solr.config-sets"));
+        final Path home = SolrHomeUtils.createTemporaryHome(configSets);
+        if (DEFAULT_EMBEDDED_MODE.equalsIgnoreCase(binder.bind("supersolr.loadtest.solr-mode", String.class).orElse(null))) {
+            log.info("Using in-process solr, home: {}", home);
+            TestPropertyValues.of(
+                "supersolr.solr.mode=" + DEFAULT_EMBEDDED_MODE,
+                "supersolr.solr.home=" + home,
+                "supersolr.solr.load-on-startup=true"
+            ).applyTo(applicationContext);
+            applicationContext.addApplicationListener((ApplicationListener<ContextClosedEvent>) event -> SolrHomeUtils.deleteHome(home));
+            return;
+        }
+        final JettySolrRunner solrRunner = new JettySolrRunner(home.toString(), JettyConfig.builder()
+            .setContext(DEFAULT_CONTEXT_PATH)
+            .setPort(0)
+            .build());
+        try {
+            solrRunner.start();
+        } catch (Exception ex) {
+            SolrHomeUtils.deleteHome(home);
+            throw new IllegalStateException("Cannot start embedded solr server", ex);
+        }
+        final String baseUrl = String.format("http://127.0.0.1:%d%s/", solrRunner.getLocalPort(), DEFAULT_CONTEXT_PATH);
+        log.info("Started embedded solr server: {}, home: {}", baseUrl, home);
+
+        TestPropertyValues.of(
+            "supersolr.solr.server.url=" + baseUrl,
+            "spring.data.solr.host=" + baseUrl
+        ).applyTo(applicationContext);
+        applicationContext.addApplicationListener((ApplicationListener<ContextClosedEvent>) event -> {
+            try {
+                solrRunner.stop();
+            } catch (Exception ex) {
+                log.warn("Cannot stop embedded solr server: {}, message: {}", baseUrl, ex.getMessage());
+            }
+            SolrHomeUtils.deleteHome(home);
+        });
+    }
+}
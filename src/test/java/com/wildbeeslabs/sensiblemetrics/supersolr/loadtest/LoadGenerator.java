@@ -0,0 +1,146 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop load generator
+ *
+ * <p>Requests are dispatched on a fixed schedule at the target rate regardless of how fast earlier requests
+ * complete, and every latency is measured from the request's scheduled start rather than from the moment a
+ * client thread picked it up. Queueing behind a saturated server is therefore reported instead of being
+ * hidden by coordinated omission.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RequiredArgsConstructor
+public class LoadGenerator {
+
+    /**
+     * Default highest trackable latency in microseconds
+     */
+    private static final long DEFAULT_HIGHEST_LATENCY = TimeUnit.MINUTES.toMicros(5);
+    /**
+     * Default histogram precision
+     */
+    private static final int DEFAULT_SIGNIFICANT_DIGITS = 3;
+    /**
+     * Default total operation name
+     */
+    private static final String DEFAULT_TOTAL_OPERATION = "total";
+
+    private final int threads;
+    private final double rps;
+    private final Duration drainTimeout;
+
+    /**
+     * Returns load report {@link LoadReport} after replaying the input requests for the input duration
+     *
+     * @param duration - initial input load duration {@link Duration}
+     * @param requests - initial input request supplier {@link Supplier}
+     * @return load report {@link LoadReport}
+     * @throws InterruptedException if interrupted while waiting for in-flight requests
+     */
+    public LoadReport run(final Duration duration, final Supplier<LoadRequest> requests) throws InterruptedException {
+        final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+        final LongAccumulator lastCompleted = new LongAccumulator(Math::max, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(getThreads(), new ThreadFactoryBuilder()
+            .setNameFormat("loadtest-%d")
+            .setDaemon(true)
+            .build());
+
+        final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / getRps();
+        final long start = System.nanoTime();
+        final long end = start + duration.toNanos();
+        for (long i = 0; ; i++) {
+            final long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            final long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            final LoadRequest request = requests.get();
+            executor.execute(() -> {
+                boolean success;
+                try {
+                    success = Boolean.TRUE.equals(request.getCall().call());
+                } catch (Exception ex) {
+                    log.debug("Load test request failed: {}, message: {}", request.getOperation(), ex.getMessage());
+                    success = false;
+                }
+                final long completed = System.nanoTime();
+                lastCompleted.accumulate(completed);
+                histograms.computeIfAbsent(request.getOperation(), operation -> new ConcurrentHistogram(DEFAULT_HIGHEST_LATENCY, DEFAULT_SIGNIFICANT_DIGITS))
+                    .recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(completed - scheduled), DEFAULT_HIGHEST_LATENCY));
+                if (!success) {
+                    errors.computeIfAbsent(request.getOperation(), operation -> new LongAdder()).increment();
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(getDrainTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            log.warn("Load test requests still in flight after drain timeout: {}", getDrainTimeout());
+            executor.shutdownNow();
+        }
+        return getReport(histograms, errors, Math.max(lastCompleted.get(), end) - start);
+    }
+
+    private LoadReport getReport(final Map<String, Histogram> histograms, final Map<String, LongAdder> errors, long elapsedNanos) {
+        final double elapsedSeconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        final Histogram total = new Histogram(DEFAULT_HIGHEST_LATENCY, DEFAULT_SIGNIFICANT_DIGITS);
+        final List<LoadReport.Statistics> operations = new ArrayList<>();
+        long totalErrors = 0;
+        for (final Map.Entry<String, Histogram> entry : new TreeMap<>(histograms).entrySet()) {
+            final long operationErrors = errors.containsKey(entry.getKey()) ? errors.get(entry.getKey()).sum() : 0;
+            operations.add(LoadReport.Statistics.of(entry.getKey(), entry.getValue(), operationErrors, elapsedSeconds));
+            total.add(entry.getValue());
+            totalErrors += operationErrors;
+        }
+        return new LoadReport(getRps(), elapsedSeconds, LoadReport.Statistics.of(DEFAULT_TOTAL_OPERATION, total, totalErrors, elapsedSeconds), operations);
+    }
+}
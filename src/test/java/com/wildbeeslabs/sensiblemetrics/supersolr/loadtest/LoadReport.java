@@ -0,0 +1,100 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test report: achieved throughput and latency percentiles per operation
+ */
+@Value
+public class LoadReport {
+    private final double targetRps;
+    private final double elapsedSeconds;
+    private final Statistics total;
+    private final List<Statistics> operations;
+
+    /**
+     * Returns formatted report table {@link String}
+     *
+     * @return formatted report table {@link String}
+     */
+    public String format() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append(String.format("target: %.1f rps, elapsed: %.1f s%n", this.targetRps, this.elapsedSeconds));
+        sb.append(String.format("%-24s %10s %8s %10s %10s %10s %10s %10s%n", "operation", "requests", "errors", "rps", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        this.operations.forEach(statistics -> sb.append(statistics.format()));
+        sb.append(this.total.format());
+        return sb.toString();
+    }
+
+    /**
+     * Operation statistics, latencies in milliseconds
+     */
+    @Value
+    public static class Statistics {
+        private final String operation;
+        private final long requests;
+        private final long errors;
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final double p999;
+        private final double max;
+
+        /**
+         * Returns operation statistics {@link Statistics} by the input latency histogram in microseconds
+         *
+         * @param operation      - initial input operation name
+         * @param histogram      - initial input latency histogram {@link Histogram}
+         * @param errors         - initial input number of failed requests
+         * @param elapsedSeconds - initial input elapsed time in seconds
+         * @return operation statistics {@link Statistics}
+         */
+        public static Statistics of(final String operation, final Histogram histogram, long errors, double elapsedSeconds) {
+            return new Statistics(
+                operation,
+                histogram.getTotalCount(),
+                errors,
+                elapsedSeconds > 0 ? histogram.getTotalCount() / elapsedSeconds : 0,
+                toMillis(histogram.getValueAtPercentile(50.0)),
+                toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getValueAtPercentile(99.9)),
+                toMillis(histogram.getMaxValue())
+            );
+        }
+
+        private String format() {
+            return String.format("%-24s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n", this.operation, this.requests, this.errors, this.throughput, this.p50, this.p99, this.p999, this.max);
+        }
+
+        private static double toMillis(long micros) {
+            return micros / (double) TimeUnit.MILLISECONDS.toMicros(1);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Load test controller operations replayed against the running application
+ *
+ * <p>Uris are returned unencoded and expanded by the client uri template handler.</p>
+ */
+@Getter
+@RequiredArgsConstructor
+public enum LoadTestOperation {
+    PRODUCT_SEARCH("product-search") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/product/search")
+                .queryParam("q", catalog.product(random).getName())
+                .build().toUriString();
+        }
+    },
+    PRODUCT_PAGE("product-page") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/product/page")
+                .queryParam("term", catalog.term(random, 1 + random.nextInt(2)))
+                .queryParam("offset", 0)
+                .queryParam("limit", 10)
+                .build().toUriString();
+        }
+    },
+    PRODUCT_PAGE_ASYNC("product-page-async") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/product/page/async")
+                .queryParam("term", catalog.term(random, 1 + random.nextInt(2)))
+                .queryParam("offset", 0)
+                .queryParam("limit", 10)
+                .build().toUriString();
+        }
+    },
+    PRODUCT_TERM("product-term") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/product/search/{term}/{page}")
+                .buildAndExpand(catalog.term(random, 1), random.nextInt(3))
+                .toUriString();
+        }
+    },
+    PRODUCT_AUTOCOMPLETE("product-autocomplete") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            final String term = catalog.term(random, 1);
+            return UriComponentsBuilder.fromPath("/api/product/autocomplete")
+                .queryParam("term", term.substring(0, Math.min(3, term.length())))
+                .build().toUriString();
+        }
+    },
+    PRODUCT_ID("product-id") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/product/{id}")
+                .buildAndExpand(catalog.product(random).getId())
+                .toUriString();
+        }
+    },
+    CATEGORY_PAGE("category-page") {
+        @Override
+        public String getUri(final SyntheticCatalog catalog, final Random random) {
+            return UriComponentsBuilder.fromPath("/api/category/page")
+                .queryParam("term", catalog.term(random, 1))
+                .queryParam("offset", 0)
+                .queryParam("limit", 10)
+                .build().toUriString();
+        }
+    };
+
+    /**
+     * Operation identifier used by the configured request mix
+     */
+    private final String id;
+
+    /**
+     * Returns request uri {@link String} against the input catalog
+     *
+     * @param catalog - initial input seeded catalog {@link SyntheticCatalog}
+     * @param random  - initial input source of randomness {@link Random}
+     * @return request uri {@link String}
+     */
+    public abstract String getUri(final SyntheticCatalog catalog, final Random random);
+
+    /**
+     * Returns load test operation {@link LoadTestOperation} by the input identifier
+     *
+     * @param id - initial input operation identifier
+     * @return load test operation {@link LoadTestOperation}
+     */
+    public static LoadTestOperation of(final String id) {
+        return Arrays.stream(values())
+            .filter(operation -> operation.getId().equalsIgnoreCase(id))
+            .findFirst()
+            .orElseThrow(() -> new IllegalArgumentException(String.format("ERROR: unknown load test operation: {%s}", id)));
+    }
+}
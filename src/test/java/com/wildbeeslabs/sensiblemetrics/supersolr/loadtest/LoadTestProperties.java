@@ -0,0 +1,92 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test configuration properties, overridable with {@code -Dsupersolr.loadtest.*} system properties
+ */
+@Data
+@ConfigurationProperties(ignoreInvalidFields = true, prefix = "supersolr.loadtest")
+public class LoadTestProperties {
+
+    /**
+     * Default catalog seed
+     */
+    private long seed = 20190401L;
+    /**
+     * Default solr mode of the application under test (http, embedded)
+     */
+    private String solrMode = "http";
+    /**
+     * Default number of seeded products
+     */
+    private int products = 10000;
+    /**
+     * Default number of seeded categories
+     */
+    private int categories = 100;
+    /**
+     * Default target request rate per second
+     */
+    private double rps = 200;
+    /**
+     * Default warmup duration (excluded from the report)
+     */
+    private Duration warmup = Duration.ofSeconds(10);
+    /**
+     * Default measurement duration
+     */
+    private Duration duration = Duration.ofSeconds(60);
+    /**
+     * Default number of client threads
+     */
+    private int threads = 32;
+    /**
+     * Default maximum ratio of failed requests
+     */
+    private double maxErrorRate = 0.01;
+    /**
+     * Default basic authentication user name
+     */
+    private String username = "user";
+    /**
+     * Default basic authentication password
+     */
+    private String password = "user123";
+    /**
+     * Default report file
+     */
+    private String reportFile = "target/loadtest/report.json";
+    /**
+     * Default request mix weights by operation identifiers
+     */
+    private Map<String, Integer> mix = new LinkedHashMap<>();
+}
@@ -0,0 +1,158 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wildbeeslabs.sensiblemetrics.supersolr.BaseTest;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.CategorySearchService;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.service.iface.ProductSearchService;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.HttpClients;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Search endpoints load test against an embedded solr server {@link BaseTest}
+ *
+ * <p>Seeds a synthetic catalog, replays the configured mix of controller calls at the target rate and reports
+ * throughput with p50 / p99 / p999 latencies. Runs with the load test profile, e.g.
+ * {@code mvn -P dev,loadtest verify -Dsupersolr.loadtest.rps=500}.</p>
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+@RunWith(SpringJUnit4ClassRunner.class)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ContextConfiguration(initializers = EmbeddedSolrInitializer.class)
+@TestPropertySource(locations = "file:src/test/resources/application.properties")
+@DirtiesContext
+public class SearchLoadIT extends BaseTest {
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private LoadTestProperties loadTestProperties;
+    @Autowired
+    private ProductSearchService productService;
+    @Autowired
+    private CategorySearchService categoryService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private SyntheticCatalog catalog;
+
+    @Before
+    public void before() {
+        this.catalog = new SyntheticCatalog(getLoadTestProperties().getSeed(), getLoadTestProperties().getProducts(), getLoadTestProperties().getCategories());
+        getCategoryService().save(getCatalog().getCategories());
+        getProductService().save(getCatalog().getProducts());
+        log.info("Seeded load test catalog: {} products, {} categories", getCatalog().getProducts().size(), getCatalog().getCategories().size());
+    }
+
+    @After
+    public void after() {
+        getProductService().deleteAll();
+        getCategoryService().deleteAll();
+    }
+
+    @Test
+    @DisplayName("Test search endpoints throughput and latencies at the target request rate")
+    public void testSearchLoad() throws InterruptedException, IOException {
+        // given
+        final LoadTestProperties properties = getLoadTestProperties();
+        final RestTemplate restTemplate = new RestTemplateBuilder()
+            .rootUri("http://localhost:" + getPort())
+            .basicAuthentication(properties.getUsername(), properties.getPassword())
+            .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setMaxConnTotal(properties.getThreads())
+                .setMaxConnPerRoute(properties.getThreads())
+                .build()))
+            .build();
+        final Supplier<LoadRequest> requests = getRequests(restTemplate, properties.getMix(), new Random(properties.getSeed()));
+        final LoadGenerator loadGenerator = new LoadGenerator(properties.getThreads(), properties.getRps(), properties.getDuration());
+
+        // when
+        loadGenerator.run(properties.getWarmup(), requests);
+        final LoadReport report = loadGenerator.run(properties.getDuration(), requests);
+
+        // then
+        log.info("Load test report:\n{}", report.format());
+        final File reportFile = new File(properties.getReportFile());
+        reportFile.getParentFile().mkdirs();
+        getObjectMapper().writerWithDefaultPrettyPrinter().writeValue(reportFile, report);
+
+        assertThat(report.getTotal().getRequests(), greaterThan(0L));
+        assertThat((double) report.getTotal().getErrors() / report.getTotal().getRequests(), lessThanOrEqualTo(properties.getMaxErrorRate()));
+    }
+
+    private Supplier<LoadRequest> getRequests(final RestTemplate restTemplate, final Map<String, Integer> mix, final Random random) {
+        final List<LoadTestOperation> operations = new ArrayList<>();
+        mix.forEach((id, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                operations.add(LoadTestOperation.of(id));
+            }
+        });
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("ERROR: empty load test request mix");
+        }
+        return () -> {
+            final LoadTestOperation operation = operations.get(random.nextInt(operations.size()));
+            final String uri = operation.getUri(getCatalog(), random);
+            return new LoadRequest(operation.getId(), () -> restTemplate.getForEntity(uri, byte[].class).getStatusCode().is2xxSuccessful());
+        };
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties(LoadTestProperties.class)
+    public static class LoadTestConfiguration {
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.loadtest;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reproducible synthetic product catalog
+ *
+ * <p>Documents are derived from a seeded {@link Random} and a fixed vocabulary, so equal seeds produce equal
+ * catalogs and search terms drawn from the same vocabulary hit the seeded documents.</p>
+ */
+@Getter
+public class SyntheticCatalog {
+
+    private static final String[] WORDS = {
+        "smart", "tv", "radio", "phone", "laptop", "tablet", "camera", "lens", "speaker", "headphones",
+        "wireless", "portable", "compact", "digital", "classic", "premium", "black", "white", "silver", "gold",
+        "small", "huge", "tiny", "handkerchief", "cotton", "leather", "steel", "glass", "wooden", "kitchen",
+        "garden", "outdoor", "indoor", "sport", "travel", "office", "gaming", "studio", "vintage", "modern",
+        "charger", "cable", "adapter", "battery", "case", "cover", "stand", "mount", "bag", "lamp"
+    };
+
+    private final List<Category> categories;
+    private final List<Product> products;
+    @Getter(AccessLevel.NONE)
+    private final Random random;
+
+    public SyntheticCatalog(long seed, int productCount, int categoryCount) {
+        this.random = new Random(seed);
+        this.categories = new ArrayList<>(categoryCount);
+        for (int i = 0; i < categoryCount; i++) {
+            final Category category = new Category();
+            category.setId("category-" + i);
+            category.setIndex(i);
+            category.setTitle(words(this.random, 2));
+            category.setDescription(words(this.random, 12));
+            this.categories.add(category);
+        }
+        this.products = new ArrayList<>(productCount);
+        for (int i = 0; i < productCount; i++) {
+            final Product product = new Product();
+            product.setId("product-" + i);
+            product.setName(words(this.random, 2 + this.random.nextInt(3)));
+            product.setShortDescription(words(this.random, 8 + this.random.nextInt(8)));
+            product.setLongDescription(words(this.random, 20 + this.random.nextInt(40)));
+            product.setPriceDescription(words(this.random, 4));
+            product.setPageTitle(words(this.random, 3));
+            product.setCatalogNumber(String.format("CN-%06d", i));
+            product.setPrice(Math.round(this.random.nextDouble() * 100000) / 100.0);
+            product.setRecommendedPrice(Math.round(this.random.nextDouble() * 100000) / 100.0);
+            product.setRating(this.random.nextInt(10));
+            product.setAvailable(this.random.nextBoolean());
+            if (categoryCount > 0) {
+                product.addCategory(this.categories.get(this.random.nextInt(categoryCount)));
+            }
+            this.products.add(product);
+        }
+    }
+
+    /**
+     * Returns random vocabulary search term {@link String}
+     *
+     * @param random    - initial input source of randomness {@link Random}
+     * @param wordCount - initial input number of words
+     * @return random vocabulary search term {@link String}
+     */
+    public String term(final Random random, int wordCount) {
+        return words(random, wordCount);
+    }
+
+    /**
+     * Returns random seeded product {@link Product}
+     *
+     * @param random - initial input source of randomness {@link Random}
+     * @return random seeded product {@link Product}
+     */
+    public Product product(final Random random) {
+        return this.products.get(random.nextInt(this.products.size()));
+    }
+
+    private static String words(final Random random, int count) {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.admission;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.iface.AdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.AdmissionControlSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.AimdConcurrencyLimiter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.CircuitBreaker;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.SolrAdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AdmissionConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Solr admission controller unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class SolrAdmissionControllerTest {
+
+    private AdmissionConfigProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @Before
+    public void before() {
+        this.properties = new AdmissionConfigProperties();
+        this.properties.setMinimumCalls(4);
+        this.properties.setWindowSize(10);
+        this.properties.setHalfOpenCalls(2);
+        this.properties.setOpenDuration(Duration.ofSeconds(10));
+        this.meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("Test circuit breaker opens on failures and closes after successful probes")
+    public void testCircuitBreaker() {
+        // given
+        final AtomicLong now = new AtomicLong();
+        final CircuitBreaker breaker = new CircuitBreaker("product", getProperties(), now::get);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onResult(TimeUnit.MILLISECONDS.toNanos(10), i % 2 == 0);
+        }
+
+        // then
+        assertThat(breaker.getState(), is(CircuitBreaker.State.OPEN));
+        assertFalse(breaker.tryAcquire());
+
+        // when
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // then
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        assertThat(breaker.getState(), is(CircuitBreaker.State.HALF_OPEN));
+
+        // when
+        breaker.onResult(TimeUnit.MILLISECONDS.toNanos(10), true);
+        breaker.onResult(TimeUnit.MILLISECONDS.toNanos(10), true);
+
+        // then
+        assertThat(breaker.getState(), is(CircuitBreaker.State.CLOSED));
+    }
+
+    @Test
+    @DisplayName("Test concurrency limit is decreased multiplicatively on slow calls")
+    public void testConcurrencyLimit() {
+        // given
+        getProperties().setInitialLimit(10);
+        final AimdConcurrencyLimiter limiter = new AimdConcurrencyLimiter(getProperties());
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        // then
+        assertFalse(limiter.tryAcquire());
+
+        // when
+        limiter.onResult(TimeUnit.SECONDS.toNanos(1), true);
+
+        // then
+        assertThat(limiter.getLimit(), is(9));
+        assertThat(limiter.getInflight(), is(9));
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("Test queries are shed with service unavailable once the collection circuit is open")
+    public void testShedQueries() throws Exception {
+        // given
+        final AdmissionController admissionController = new SolrAdmissionController(getProperties(), getMeterRegistry());
+        final AdmissionControlSolrClient client = new AdmissionControlSolrClient(new FailingSolrClient(), admissionController);
+        for (int i = 0; i < 4; i++) {
+            try {
+                client.request(new QueryRequest(new SolrQuery("*:*")), "product");
+                fail("Solr failure expected");
+            } catch (SolrServerException ex) {
+                log.debug("Expected solr failure: {}", ex.getMessage());
+            }
+        }
+
+        // when
+        final long start = System.nanoTime();
+        try {
+            client.request(new QueryRequest(new SolrQuery("*:*")), "product");
+            fail("Rejection expected");
+        } catch (ServiceUnavailableException ex) {
+            // then
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), lessThan(100L));
+            assertThat(ex.getRetryAfter().getSeconds(), lessThan(11L));
+        }
+        client.request(new UpdateRequest().deleteByQuery("*:*"), "product");
+        assertThat(getMeterRegistry().get(SolrAdmissionController.METRICS_PREFIX + ".rejected").tags("collection", "product", "reason", "circuit").counter().count(), is(1.0));
+        assertThat(getMeterRegistry().get(SolrAdmissionController.METRICS_PREFIX + ".inflight").gauge().value(), is(0.0));
+    }
+
+    /**
+     * Stub solr client failing every query and accepting updates
+     */
+    protected static class FailingSolrClient extends SolrClient {
+
+        @Override
+        public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException {
+            if (request instanceof QueryRequest) {
+                throw new SolrServerException("Solr is unavailable");
+            }
+            return new NamedList<>();
+        }
+
+        @Override
+        public void close() throws IOException {
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.async;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceUnavailableException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.admission.impl.SolrAdmissionController;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.async.impl.NonBlockingSolrOperations;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.InstrumentedSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.MicrometerSolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.AdmissionConfigProperties;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MetricsConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.QueryResponse;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Non-blocking solr operations unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class NonBlockingSolrOperationsTest {
+
+    private static final String COLLECTION = "product";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SolrClient delegate;
+    private SolrAdmissionController admissionController;
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.delegate = mock(SolrClient.class);
+        this.admissionController = new SolrAdmissionController(new AdmissionConfigProperties(), this.meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void after() {
+        getExecutor().shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test blocking client query completed on executor thread and recorded")
+    public void testQueryOnExecutor() throws Exception {
+        // given
+        final SolrDocumentList documents = new SolrDocumentList();
+        documents.add(new SolrDocument());
+        documents.setNumFound(1L);
+        final NamedList<Object> response = new NamedList<>();
+        response.add(InstrumentedSolrClient.RESPONSE, documents);
+        when(getDelegate().request(any(), eq(COLLECTION))).thenReturn(response);
+
+        // when
+        final CompletableFuture<QueryResponse> future = createOperations(getExecutor()).query(COLLECTION, new SolrQuery("*:*"));
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS).getResults().getNumFound(), equalTo(1L));
+        assertThat(getMeterRegistry().get("supersolr.solr.request").tags("collection", COLLECTION, "outcome", "success").timer().count(), equalTo(1L));
+        assertThat(getMeterRegistry().get(SolrAdmissionController.METRICS_PREFIX + ".inflight").gauge().value(), is(0.0));
+    }
+
+    @Test
+    @DisplayName("Test failed query completes exceptionally with solr failure")
+    public void testQueryFailure() throws Exception {
+        // given
+        when(getDelegate().request(any(), eq(COLLECTION))).thenThrow(new SolrServerException("unavailable"));
+
+        // when
+        try {
+            createOperations(getExecutor()).query(COLLECTION, new SolrQuery("*:*")).get(5, TimeUnit.SECONDS);
+            fail("Expected solr server exception");
+        } catch (ExecutionException ex) {
+            // then
+            assertThat(ex.getCause(), instanceOf(SolrServerException.class));
+        }
+        assertThat(getMeterRegistry().get("supersolr.solr.request").tags("outcome", "error").timer().count(), equalTo(1L));
+        assertThat(getMeterRegistry().get(SolrAdmissionController.METRICS_PREFIX + ".inflight").gauge().value(), is(0.0));
+    }
+
+    @Test
+    @DisplayName("Test query rejected by saturated executor completes with service unavailable")
+    public void testExecutorRejection() throws Exception {
+        // when
+        final CompletableFuture<QueryResponse> future = createOperations(command -> {
+            throw new RejectedExecutionException("queue is full");
+        }).query(COLLECTION, new SolrQuery("*:*"));
+
+        // then
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("Expected service unavailable exception");
+        } catch (ExecutionException ex) {
+            assertThat(ex.getCause(), instanceOf(ServiceUnavailableException.class));
+        }
+        assertThat(getMeterRegistry().get(SolrAdmissionController.METRICS_PREFIX + ".inflight").gauge().value(), is(0.0));
+    }
+
+    private NonBlockingSolrOperations createOperations(final Executor executor) {
+        final InstrumentedSolrClient solrClient = new InstrumentedSolrClient(getDelegate(), new MicrometerSolrMetricsRecorder(new MetricsConfigProperties(), getMeterRegistry()), mock(QuerySampler.class));
+        return new NonBlockingSolrOperations(solrClient, getDelegate(), getAdmissionController(), executor);
+    }
+}
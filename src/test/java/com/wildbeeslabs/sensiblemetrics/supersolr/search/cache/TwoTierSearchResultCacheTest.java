@@ -0,0 +1,143 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.cache;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.impl.TwoTierSearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.CacheConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Two-tier search result cache unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class TwoTierSearchResultCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TwoTierSearchResultCache searchResultCache;
+
+    @Before
+    public void before() {
+        final CacheConfigProperties properties = new CacheConfigProperties();
+        properties.setSharedEnabled(false);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.searchResultCache = new TwoTierSearchResultCache(properties, mock(RedisConnectionFactory.class), this.meterRegistry);
+        this.searchResultCache.initialize();
+    }
+
+    @Test
+    @DisplayName("Test cached results are reused until the collection generation is bumped")
+    public void testGenerationInvalidation() {
+        // given
+        final AtomicInteger loads = new AtomicInteger();
+        final String key = getSearchResultCache().createKey("findByName", "phone", PageRequest.of(0, 10));
+
+        // when
+        getSearchResultCache().get("product", key, loads::incrementAndGet);
+        final Integer cached = getSearchResultCache().get("product", key, loads::incrementAndGet);
+
+        // then
+        assertEquals(Integer.valueOf(1), cached);
+
+        // when
+        getSearchResultCache().invalidate("category");
+        getSearchResultCache().invalidate("product");
+        final Integer reloaded = getSearchResultCache().get("product", key, loads::incrementAndGet);
+
+        // then
+        assertEquals(Integer.valueOf(2), reloaded);
+        assertEquals(1L, getSearchResultCache().getGeneration("product"));
+        assertThat(getMeterRegistry().get("supersolr.cache.hits").tags("collection", "product", "tier", "local").counter().count(), is(1.0));
+        assertThat(getMeterRegistry().get("supersolr.cache.misses").tag("collection", "product").counter().count(), is(2.0));
+        assertThat(getMeterRegistry().get("supersolr.cache.stale").tags("collection", "product", "tier", "local").counter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Test shared generations come from redis only and a failed bump evicts local results")
+    public void testSharedGenerationInvalidation() {
+        // given
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(connection.incr(any(byte[].class)))
+            .thenThrow(new RedisConnectionFailureException("Connection refused"))
+            .thenReturn(7L);
+        final TwoTierSearchResultCache sharedCache = new TwoTierSearchResultCache(new CacheConfigProperties(), connectionFactory, getMeterRegistry());
+        sharedCache.initialize();
+        final AtomicInteger loads = new AtomicInteger();
+        final String key = sharedCache.createKey("findByName", "phone", PageRequest.of(0, 10));
+        sharedCache.get("product", key, loads::incrementAndGet);
+        sharedCache.get("category", key, loads::incrementAndGet);
+
+        // when
+        sharedCache.invalidate("product");
+
+        // then
+        assertEquals(0L, sharedCache.getGeneration("product"));
+        assertEquals(Integer.valueOf(2), sharedCache.get("category", key, loads::incrementAndGet));
+        assertEquals(Integer.valueOf(3), sharedCache.get("product", key, loads::incrementAndGet));
+
+        // when
+        sharedCache.invalidate("product");
+
+        // then
+        assertEquals(7L, sharedCache.getGeneration("product"));
+        assertEquals(Integer.valueOf(4), sharedCache.get("product", key, loads::incrementAndGet));
+        assertThat(getMeterRegistry().get("supersolr.cache.shared.errors").counter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Test equivalent queries produce the same cache key")
+    public void testKeyNormalization() {
+        // when
+        final String first = getSearchResultCache().createKey("findByNameIn", Arrays.asList("b", "a"), PageRequest.of(1, 20, Sort.by("name")));
+        final String second = getSearchResultCache().createKey("findByNameIn", Arrays.asList(" a ", "b"), PageRequest.of(1, 20, Sort.by("name")));
+        final String third = getSearchResultCache().createKey("findByNameIn", Arrays.asList("a", "b"), PageRequest.of(2, 20, Sort.by("name")));
+
+        // then
+        assertEquals(first, second);
+        assertThat(first.equals(third), is(false));
+    }
+}
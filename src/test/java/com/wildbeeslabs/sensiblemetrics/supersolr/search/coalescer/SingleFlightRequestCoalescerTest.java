@@ -0,0 +1,144 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.coalescer.impl.SingleFlightRequestCoalescer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.CoalescerConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.fail;
+
+/**
+ * Single-flight request coalescer unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class SingleFlightRequestCoalescerTest {
+
+    private static final int REQUEST_COUNT = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SingleFlightRequestCoalescer requestCoalescer;
+    private ExecutorService executorService;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.requestCoalescer = new SingleFlightRequestCoalescer(new CoalescerConfigProperties(), this.meterRegistry);
+        this.requestCoalescer.initialize();
+        this.executorService = Executors.newFixedThreadPool(REQUEST_COUNT);
+    }
+
+    @After
+    public void after() {
+        getExecutorService().shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Test identical concurrent requests share one load")
+    public void testCoalesceIdenticalRequests() throws Exception {
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        final List<Future<Object>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            results.add(getExecutorService().submit(() -> getRequestCoalescer().execute("products", "findByName|tv", () -> {
+                loads.incrementAndGet();
+                await(release);
+                return new Object();
+            })));
+        }
+        while (getCount("leader") + getCount("coalesced") < REQUEST_COUNT) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        // then
+        final Object first = results.get(0).get(5, TimeUnit.SECONDS);
+        for (final Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS), sameInstance(first));
+        }
+        assertThat(loads.get(), equalTo(1));
+        assertThat(getCount("coalesced"), equalTo((double) REQUEST_COUNT - 1));
+    }
+
+    @Test
+    @DisplayName("Test leader error is propagated and next request loads again")
+    public void testPropagateErrorAndReload() {
+        // given
+        final AtomicInteger loads = new AtomicInteger();
+
+        // when
+        try {
+            getRequestCoalescer().execute("products", "findByName|tv", () -> {
+                loads.incrementAndGet();
+                throw new IllegalArgumentException("solr unavailable");
+            });
+            fail("Load error expected");
+        } catch (IllegalArgumentException ex) {
+            log.debug("Expected load error: {}", ex.getMessage());
+        }
+        final String result = getRequestCoalescer().execute("products", "findByName|tv", () -> {
+            loads.incrementAndGet();
+            return "tv";
+        });
+
+        // then
+        assertThat(result, equalTo("tv"));
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    private double getCount(final String outcome) {
+        return getMeterRegistry().counter(SingleFlightRequestCoalescer.METRICS_PREFIX + ".requests", "collection", "products", "outcome", outcome).count();
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.HedgingSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.PeakEwmaReplicaSelector;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.hedging.impl.SolrReplica;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.HedgingConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.client.solrj.request.UpdateRequest;
+import org.apache.solr.common.SolrException;
+import org.apache.solr.common.util.NamedList;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
+
+/**
+ * Hedging solr client unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class HedgingSolrClientTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StubSolrClient slowClient;
+    private StubSolrClient fastClient;
+    private HedgingSolrClient hedgingSolrClient;
+
+    @Before
+    public void before() {
+        final HedgingConfigProperties properties = new HedgingConfigProperties();
+        properties.setInitialDelay(Duration.ofMillis(20));
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.slowClient = new StubSolrClient("slow", 1000L);
+        this.fastClient = new StubSolrClient("fast", 0L);
+        final long decay = properties.getDecay().toNanos();
+        this.hedgingSolrClient = new HedgingSolrClient(Arrays.asList(
+            new SolrReplica("http://slow/solr", this.slowClient, decay),
+            new SolrReplica("http://fast/solr", this.fastClient, decay)
+        ), (replicas, excluded) -> excluded == null ? replicas.get(0) : replicas.get(1), properties, this.meterRegistry);
+    }
+
+    @After
+    public void after() throws IOException {
+        getHedgingSolrClient().close();
+    }
+
+    @Test
+    @DisplayName("Test slow queries are hedged to another replica and the faster response wins")
+    public void testHedgedQuery() throws Exception {
+        // when
+        final long start = System.nanoTime();
+        final NamedList<Object> response = getHedgingSolrClient().request(new QueryRequest(new SolrQuery("*:*")), "product");
+        final long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // then
+        assertThat(response.get("replica"), is("fast"));
+        assertThat(duration, lessThan(500L));
+        assertThat(getMeterRegistry().get(HedgingSolrClient.METRICS_PREFIX + ".hedges").counter().count(), is(1.0));
+        assertThat(getMeterRegistry().get(HedgingSolrClient.METRICS_PREFIX + ".responses").tag("attempt", "hedge").counter().count(), is(1.0));
+    }
+
+    @Test
+    @DisplayName("Test updates are sent to the first replica only")
+    public void testSingleTargetUpdate() throws Exception {
+        // when
+        final NamedList<Object> response = getHedgingSolrClient().request(new UpdateRequest().deleteByQuery("*:*"), "product");
+
+        // then
+        assertThat(response.get("replica"), is("slow"));
+        assertThat(getSlowClient().getRequests().get(), is(1));
+        assertThat(getFastClient().getRequests().get(), is(0));
+    }
+
+    @Test
+    @DisplayName("Test replica selection prefers replicas with lower latency")
+    public void testPeakEwmaSelection() {
+        // given
+        final SolrReplica slow = new SolrReplica("http://slow/solr", getSlowClient(), TimeUnit.SECONDS.toNanos(10));
+        final SolrReplica fast = new SolrReplica("http://fast/solr", getFastClient(), TimeUnit.SECONDS.toNanos(10));
+        slow.start();
+        slow.complete(TimeUnit.MILLISECONDS.toNanos(200));
+        fast.start();
+        fast.complete(TimeUnit.MILLISECONDS.toNanos(5));
+
+        // when
+        final PeakEwmaReplicaSelector selector = new PeakEwmaReplicaSelector();
+
+        // then
+        for (int i = 0; i < 100; i++) {
+            assertThat(selector.select(Arrays.asList(slow, fast), null), is(fast));
+        }
+        assertThat(selector.select(Arrays.asList(slow, fast), fast), is(slow));
+    }
+
+    @Test
+    @DisplayName("Test replica failing fast is charged as slow and avoided by replica selection")
+    public void testFailingReplicaIsAvoided() throws Exception {
+        // given
+        final HedgingConfigProperties properties = new HedgingConfigProperties();
+        final FailingSolrClient failingClient = new FailingSolrClient();
+        final StubSolrClient stubClient = new StubSolrClient("stub", 1L);
+        final SolrReplica failing = new SolrReplica("http://failing/solr", failingClient, properties.getDecay().toNanos());
+        final SolrReplica stub = new SolrReplica("http://stub/solr", stubClient, properties.getDecay().toNanos());
+
+        // when
+        try (final HedgingSolrClient client = new HedgingSolrClient(Arrays.asList(failing, stub), new PeakEwmaReplicaSelector(), properties, new SimpleMeterRegistry())) {
+            for (int i = 0; i < 50; i++) {
+                assertThat(client.request(new QueryRequest(new SolrQuery("*:*")), "product").get("replica"), is("stub"));
+            }
+        }
+
+        // then
+        assertThat(failingClient.getRequests().get(), lessThanOrEqualTo(1));
+        assertThat(stubClient.getRequests().get(), is(50));
+        assertThat(failing.getLatencyNanos(), greaterThanOrEqualTo((double) properties.getMaxDelay().toNanos()));
+        assertThat(failing.getScore(), greaterThan(stub.getScore()));
+    }
+
+    @Test
+    @DisplayName("Test queries rejected by solr are not failed over to another replica")
+    public void testRejectedQueryIsNotFailedOver() throws Exception {
+        // given
+        final HedgingConfigProperties properties = new HedgingConfigProperties();
+        final RejectingSolrClient rejectingClient = new RejectingSolrClient();
+        final StubSolrClient stubClient = new StubSolrClient("stub", 0L);
+        final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        // when
+        try (final HedgingSolrClient client = new HedgingSolrClient(Arrays.asList(
+            new SolrReplica("http://rejecting/solr", rejectingClient, properties.getDecay().toNanos()),
+            new SolrReplica("http://stub/solr", stubClient, properties.getDecay().toNanos())
+        ), (replicas, excluded) -> excluded == null ? replicas.get(0) : replicas.get(1), properties, registry)) {
+            client.request(new QueryRequest(new SolrQuery("name:(")), "product");
+            fail("Rejected query should not be answered");
+        } catch (SolrException ex) {
+            // then
+            assertThat(ex.code(), is(SolrException.ErrorCode.BAD_REQUEST.code));
+        }
+        assertThat(rejectingClient.getRequests().get(), is(1));
+        assertThat(stubClient.getRequests().get(), is(0));
+        assertThat(registry.get(HedgingSolrClient.METRICS_PREFIX + ".responses").tag("attempt", "failover").counter().count(), is(0.0));
+    }
+
+    /**
+     * Stub solr client answering with its name after a fixed delay
+     */
+    @Getter
+    @RequiredArgsConstructor
+    protected static class StubSolrClient extends SolrClient {
+
+        private final String name;
+        private final long delayMillis;
+        private final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException {
+            this.requests.incrementAndGet();
+            try {
+                Thread.sleep(this.delayMillis);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SolrServerException(ex);
+            }
+            final NamedList<Object> response = new NamedList<>();
+            response.add("replica", this.name);
+            return response;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Stub solr client failing every request at once
+     */
+    @Getter
+    protected static class FailingSolrClient extends SolrClient {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public NamedList<Object> request(final SolrRequest request, final String collection) throws SolrServerException {
+            this.requests.incrementAndGet();
+            throw new SolrServerException("replica is down");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    /**
+     * Stub solr client rejecting every request as a bad request
+     */
+    @Getter
+    protected static class RejectingSolrClient extends SolrClient {
+
+        private final AtomicInteger requests = new AtomicInteger();
+
+        @Override
+        public NamedList<Object> request(final SolrRequest request, final String collection) {
+            this.requests.incrementAndGet();
+            throw new SolrException(SolrException.ErrorCode.BAD_REQUEST, "undefined field");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.impl.WriteBehindDocumentIndexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.IndexingConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.response.UpdateResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.solr.core.SolrCallback;
+import org.springframework.data.solr.UncategorizedSolrException;
+import org.springframework.data.solr.core.SolrTemplate;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Write-behind document indexer unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class WriteBehindDocumentIndexerTest {
+
+    private SolrTemplate solrTemplate;
+    private SearchResultCache searchResultCache;
+    private SimpleMeterRegistry meterRegistry;
+    private WriteBehindDocumentIndexer documentIndexer;
+
+    @Before
+    public void before() {
+        final IndexingConfigProperties properties = new IndexingConfigProperties();
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setBatchSize(100);
+        this.solrTemplate = mock(SolrTemplate.class);
+        this.searchResultCache = mock(SearchResultCache.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.documentIndexer = new WriteBehindDocumentIndexer(this.solrTemplate, properties, this.searchResultCache, this.meterRegistry);
+        this.documentIndexer.initialize();
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        getDocumentIndexer().destroy();
+    }
+
+    @Test
+    @DisplayName("Test queued documents are flushed as one batch without hard commit")
+    @SuppressWarnings("unchecked")
+    public void testFlushBatchesDocuments() {
+        // given
+        final Product first = new Product();
+        first.setId("01");
+        final Product second = new Product();
+        second.setId("02");
+
+        // when
+        getDocumentIndexer().add("product", first);
+        getDocumentIndexer().add("product", second);
+        getDocumentIndexer().deleteByIds("product", Collections.singletonList("03"));
+
+        // then
+        assertEquals(3, getDocumentIndexer().getQueueDepth());
+        verifyZeroInteractions(getSolrTemplate(), getSearchResultCache());
+
+        // when
+        getDocumentIndexer().flush();
+
+        // then
+        final ArgumentCaptor<Collection<?>> captor = ArgumentCaptor.forClass(Collection.class);
+        final InOrder inOrder = inOrder(getSolrTemplate());
+        inOrder.verify(getSolrTemplate()).saveBeans(eq("product"), captor.capture(), eq(Duration.ofSeconds(1)));
+        inOrder.verify(getSolrTemplate()).execute(any(SolrCallback.class));
+        verify(getSolrTemplate(), never()).commit(any());
+        assertThat(captor.getValue(), contains(first, second));
+        verify(getSearchResultCache()).invalidate("product");
+        assertEquals(0, getDocumentIndexer().getQueueDepth());
+        assertThat(getMeterRegistry().get("supersolr.indexing.operations.flushed").counter().count(), is(3.0));
+    }
+
+    @Test
+    @DisplayName("Test failed batch is kept and resent once the retry backoff has elapsed")
+    @SuppressWarnings("unchecked")
+    public void testFailedFlushIsRetried() throws InterruptedException {
+        // given
+        final IndexingConfigProperties properties = new IndexingConfigProperties();
+        properties.setFlushInterval(Duration.ofHours(1));
+        properties.setRetryBackoff(Duration.ofMillis(200));
+        final WriteBehindDocumentIndexer indexer = new WriteBehindDocumentIndexer(getSolrTemplate(), properties, getSearchResultCache(), getMeterRegistry());
+        indexer.initialize();
+        final Product product = new Product();
+        product.setId("01");
+        when(getSolrTemplate().saveBeans(eq("product"), any(Collection.class), any(Duration.class)))
+            .thenThrow(new UncategorizedSolrException("Connection refused", new SolrServerException("Connection refused")))
+            .thenReturn(new UpdateResponse());
+
+        // when
+        indexer.add("product", product);
+        indexer.flush();
+
+        // then
+        assertEquals(1, indexer.getQueueDepth());
+        assertThat(getMeterRegistry().get("supersolr.indexing.operations.retried").counter().count(), is(1.0));
+
+        // when
+        indexer.flush();
+
+        // then
+        verify(getSolrTemplate(), times(1)).saveBeans(eq("product"), any(Collection.class), any(Duration.class));
+        assertEquals(1, indexer.getQueueDepth());
+
+        // when
+        Thread.sleep(properties.getRetryBackoff().toMillis());
+        indexer.flush();
+
+        // then
+        assertEquals(0, indexer.getQueueDepth());
+        verify(getSolrTemplate(), times(2)).saveBeans(eq("product"), eq(Collections.singletonList(product)), any(Duration.class));
+        assertThat(getMeterRegistry().get("supersolr.indexing.operations.flushed").counter().count(), is(1.0));
+        assertThat(getMeterRegistry().get("supersolr.indexing.operations.failed").counter().count(), is(0.0));
+    }
+
+    @Test
+    @DisplayName("Test documents are written and committed synchronously when write-behind is disabled")
+    public void testDisabledWritesSynchronously() {
+        // given
+        final IndexingConfigProperties properties = new IndexingConfigProperties();
+        properties.setEnabled(false);
+        final WriteBehindDocumentIndexer indexer = new WriteBehindDocumentIndexer(getSolrTemplate(), properties, getSearchResultCache(), new SimpleMeterRegistry());
+        indexer.initialize();
+        final Product product = new Product();
+        product.setId("01");
+
+        // when
+        indexer.addAll("product", Arrays.asList(product));
+
+        // then
+        verify(getSolrTemplate()).saveBeans(eq("product"), eq(Collections.singletonList(product)), eq(Duration.ZERO));
+        final InOrder inOrder = inOrder(getSolrTemplate(), getSearchResultCache());
+        inOrder.verify(getSolrTemplate()).commit("product");
+        inOrder.verify(getSearchResultCache()).invalidate("product");
+        assertEquals(0, indexer.getQueueDepth());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Attribute;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.AuditDocument;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Order;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.AttributeView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.CategoryView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.OrderView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.ProductView;
+import com.wildbeeslabs.sensiblemetrics.supersolr.utility.MapperUtils;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.springframework.data.geo.Point;
+import org.springframework.data.geo.Polygon;
+
+import java.util.Date;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Compiled view mapper unit test
+ */
+@Slf4j
+public class ViewMapperTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ModelMapper modelMapper = createModelMapper();
+
+    @Test
+    @DisplayName("Test product is mapped to view without nested categories and attributes")
+    public void testMapProduct() {
+        // given
+        final Date created = new Date();
+        final Product product = createProduct("01", "Apple iPhone");
+        product.setCreated(created);
+        product.setLocation(new Point(1.0, 2.0));
+        final Category category = createCategory("11", "Phones");
+        category.addProduct(product);
+        product.addCategory(category);
+        final Attribute attribute = new Attribute();
+        attribute.setId("21");
+        attribute.setName("color");
+        product.addAttribute(attribute);
+
+        // when
+        final ProductView view = MapperUtils.map(product, ProductView.class);
+
+        // then
+        assertEquals("01", view.getId());
+        assertEquals("Apple iPhone", view.getName());
+        assertEquals(9.99, view.getPrice(), 0.0);
+        assertEquals(created, view.getCreated());
+        assertNull(view.getLocation());
+        assertThat(view.getCategories(), empty());
+        assertThat(view.getAttributes(), empty());
+    }
+
+    @Test
+    @DisplayName("Test null source values do not overwrite existing view values")
+    public void testMapOntoExistingView() {
+        // given
+        final Category category = createCategory("11", null);
+        final CategoryView view = new CategoryView();
+        view.setTitle("Phones");
+
+        // when
+        MapperUtils.map(category, view);
+
+        // then
+        assertEquals("11", view.getId());
+        assertEquals("Phones", view.getTitle());
+    }
+
+    @Test
+    @DisplayName("Test product view fields match model mapper output")
+    public void testMapProductAsModelMapper() {
+        // given
+        final Product product = createFullProduct();
+        final Category category = createCategory("11", "Phones");
+        category.addProduct(product);
+        product.addCategory(category);
+        product.addMainCategory(createCategory("12", "Devices"));
+        product.addAttribute(createAttribute());
+
+        // then
+        assertEquals(toTree(this.modelMapper.map(product, ProductView.class)), toTree(MapperUtils.map(product, ProductView.class)));
+    }
+
+    @Test
+    @DisplayName("Test category view fields match model mapper output")
+    public void testMapCategoryAsModelMapper() {
+        // given
+        final Category category = createCategory("11", "Phones");
+        category.setIndex(7);
+        category.setDescription("Mobile phones");
+        setAudit(category);
+        final Product product = createFullProduct();
+        category.addProduct(product);
+        product.addCategory(category);
+
+        // then
+        assertEquals(toTree(this.modelMapper.map(category, CategoryView.class)), toTree(MapperUtils.map(category, CategoryView.class)));
+    }
+
+    @Test
+    @DisplayName("Test order and attribute view fields match model mapper output")
+    public void testMapOrderAsModelMapper() {
+        // given
+        final Order order = new Order();
+        order.setId("31");
+        order.setTitle("Order");
+        order.setDescription("First order");
+        order.setClientName("client");
+        order.setClientMobile("+100");
+        order.setCreated(new Date(1000L));
+        order.setCreatedBy("creator");
+        order.addProduct(createFullProduct());
+        final Attribute attribute = createAttribute();
+
+        // then
+        assertEquals(toTree(this.modelMapper.map(order, OrderView.class)), toTree(MapperUtils.map(order, OrderView.class)));
+        assertEquals(toTree(this.modelMapper.map(attribute, AttributeView.class)), toTree(MapperUtils.map(attribute, AttributeView.class)));
+    }
+
+    private Product createProduct(final String id, final String name) {
+        final Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(9.99);
+        return product;
+    }
+
+    private Category createCategory(final String id, final String title) {
+        final Category category = new Category();
+        category.setId(id);
+        category.setTitle(title);
+        return category;
+    }
+
+    private Product createFullProduct() {
+        final Product product = createProduct("01", "Apple iPhone");
+        product.setShortDescription("Phone");
+        product.setLongDescription("Apple phone");
+        product.setPriceDescription("Sale");
+        product.setCatalogNumber("A-01");
+        product.setPageTitle("iPhone");
+        product.setAvailable(true);
+        product.setRecommendedPrice(10.99);
+        product.setRating(5);
+        product.setAgeRestriction(12);
+        product.setLockType(1);
+        product.setLocation(new Point(1.0, 2.0));
+        product.setGeoLocation(new Polygon(new Point(0.0, 0.0), new Point(0.0, 1.0), new Point(1.0, 1.0)));
+        setAudit(product);
+        return product;
+    }
+
+    private Attribute createAttribute() {
+        final Attribute attribute = new Attribute();
+        attribute.setId("21");
+        attribute.setName("color");
+        attribute.setName2("colour");
+        attribute.setDescriptionText("Product color");
+        attribute.setKeywords("red,green");
+        attribute.setCreated(new Date(1000L));
+        attribute.setCreatedBy("creator");
+        return attribute;
+    }
+
+    private void setAudit(final AuditDocument document) {
+        document.setCreated(new Date(1000L));
+        document.setCreatedBy("creator");
+        document.setChanged(new Date(2000L));
+        document.setChangedBy("editor");
+    }
+
+    private ObjectNode toTree(final Object view) {
+        return this.objectMapper.valueToTree(view);
+    }
+
+    /**
+     * Returns {@link ModelMapper} configured as the one {@link MapperUtils} used for views before compiled mappers
+     *
+     * @return {@link ModelMapper}
+     */
+    private static ModelMapper createModelMapper() {
+        final ModelMapper modelMapper = new ModelMapper();
+        modelMapper.getConfiguration().setMatchingStrategy(MatchingStrategies.STRICT);
+        modelMapper.getConfiguration().setAmbiguityIgnored(true);
+        modelMapper.getConfiguration().setSkipNullEnabled(true);
+        modelMapper.getConfiguration().setFieldMatchingEnabled(true);
+        modelMapper.getConfiguration().setFullTypeMatchingRequired(true);
+        modelMapper.getConfiguration().setImplicitMappingEnabled(true);
+        return modelMapper;
+    }
+}
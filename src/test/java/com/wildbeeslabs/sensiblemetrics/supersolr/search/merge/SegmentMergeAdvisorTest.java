@@ -0,0 +1,120 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.merge;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.MergeActionType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl.MergeAdvice;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl.SegmentMergeAdvisor;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.merge.impl.SegmentStats;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MergeConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.data.solr.core.SolrTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Segment merge advisor unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class SegmentMergeAdvisorTest {
+
+    private SegmentMergeAdvisor mergeAdvisor;
+
+    @Before
+    public void before() {
+        final MergeConfigProperties mergeConfigProperties = new MergeConfigProperties();
+        mergeConfigProperties.setMaxDeletedRatio(0.2);
+        mergeConfigProperties.setMaxSegmentCount(4);
+        mergeConfigProperties.setTargetSegmentCount(2);
+        this.mergeAdvisor = new SegmentMergeAdvisor(mock(SolrTemplate.class), mergeConfigProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test advise nothing below thresholds")
+    public void testAdviseNone() {
+        // given
+        final List<SegmentStats> segments = Arrays.asList(
+            new SegmentStats("_0", 1000, 50, 10000),
+            new SegmentStats("_1", 100, 0, 1000)
+        );
+
+        // when
+        final MergeAdvice advice = getMergeAdvisor().advise("products", segments);
+
+        // then
+        assertThat(advice.getAction(), equalTo(MergeActionType.NONE));
+        assertThat(advice.getRewrittenBytes(), equalTo(0L));
+        assertThat(advice.getAvoidedBytes(), equalTo(11000L));
+    }
+
+    @Test
+    @DisplayName("Test advise expunge deletes of heavily deleted segments")
+    public void testAdviseExpungeDeletes() {
+        // given
+        final List<SegmentStats> segments = Arrays.asList(
+            new SegmentStats("_0", 1000, 50, 10000),
+            new SegmentStats("_1", 1000, 600, 10000)
+        );
+
+        // when
+        final MergeAdvice advice = getMergeAdvisor().advise("products", segments);
+
+        // then
+        assertThat(advice.getAction(), equalTo(MergeActionType.EXPUNGE_DELETES));
+        assertThat(advice.getRewrittenBytes(), equalTo(10000L));
+        assertThat(advice.getAvoidedBytes(), equalTo(10000L));
+    }
+
+    @Test
+    @DisplayName("Test advise bounded merge of smallest segments")
+    public void testAdviseMerge() {
+        // given
+        final List<SegmentStats> segments = new ArrayList<>();
+        for (int i = 1; i <= 6; i++) {
+            segments.add(new SegmentStats("_" + i, 100, 0, i * 1000));
+        }
+
+        // when
+        final MergeAdvice advice = getMergeAdvisor().advise("products", segments);
+
+        // then
+        assertThat(advice.getAction(), equalTo(MergeActionType.MERGE));
+        assertThat(advice.getMaxSegments(), equalTo(2));
+        assertThat(advice.getRewrittenBytes(), equalTo(15000L));
+        assertThat(advice.getAvoidedBytes(), equalTo(6000L));
+    }
+}
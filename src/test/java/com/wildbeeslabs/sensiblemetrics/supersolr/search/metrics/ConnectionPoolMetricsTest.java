@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.ConnectionPoolMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpHost;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Solr connection pool metrics unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class ConnectionPoolMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PoolingHttpClientConnectionManager connectionManager;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(8);
+        this.connectionManager.setDefaultMaxPerRoute(4);
+        new ConnectionPoolMetrics(this.connectionManager).bindTo(this.meterRegistry);
+    }
+
+    @After
+    public void after() {
+        getConnectionManager().shutdown();
+    }
+
+    @Test
+    @DisplayName("Test connection pool gauges follow leased and released connections")
+    public void testPoolGauges() throws Exception {
+        // given
+        final HttpRoute route = new HttpRoute(new HttpHost("localhost", 8983));
+
+        // when
+        final HttpClientConnection connection = getConnectionManager().requestConnection(route, null).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(gauge("max"), is(8.0));
+        assertThat(gauge("leased"), is(1.0));
+        assertThat(gauge("pending"), is(0.0));
+
+        // when
+        getConnectionManager().releaseConnection(connection, null, 0, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(gauge("leased"), is(0.0));
+    }
+
+    private double gauge(final String name) {
+        return getMeterRegistry().get(ConnectionPoolMetrics.METRICS_PREFIX + "." + name).gauge().value();
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.InstrumentedSolrClient;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.metrics.impl.MicrometerSolrMetricsRecorder;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.iface.QuerySampler;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.MetricsConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.apache.solr.client.solrj.SolrServerException;
+import org.apache.solr.client.solrj.request.QueryRequest;
+import org.apache.solr.common.SolrDocument;
+import org.apache.solr.common.SolrDocumentList;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Instrumented solr client unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class InstrumentedSolrClientTest {
+
+    private static final String COLLECTION = "product";
+
+    private SimpleMeterRegistry meterRegistry;
+    private SolrClient delegate;
+    private InstrumentedSolrClient solrClient;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.delegate = mock(SolrClient.class);
+        this.solrClient = new InstrumentedSolrClient(this.delegate, new MicrometerSolrMetricsRecorder(new MetricsConfigProperties(), this.meterRegistry), mock(QuerySampler.class));
+    }
+
+    @Test
+    @DisplayName("Test query time and result size recorded per collection and handler")
+    public void testRecordQueryTimeAndResults() throws Exception {
+        // given
+        final NamedList<Object> header = new NamedList<>();
+        header.add(InstrumentedSolrClient.QUERY_TIME, 7);
+        final SolrDocumentList documents = new SolrDocumentList();
+        documents.add(new SolrDocument());
+        documents.add(new SolrDocument());
+        final NamedList<Object> response = new NamedList<>();
+        response.add(InstrumentedSolrClient.RESPONSE_HEADER, header);
+        response.add(InstrumentedSolrClient.RESPONSE, documents);
+        when(getDelegate().request(any(), eq(COLLECTION))).thenReturn(response);
+
+        // when
+        getSolrClient().request(new QueryRequest(new SolrQuery("*:*")), COLLECTION);
+
+        // then
+        assertThat(getMeterRegistry().get("supersolr.solr.request").tags("collection", COLLECTION, "handler", "/select", "outcome", "success").timer().count(), equalTo(1L));
+        assertThat(getMeterRegistry().get("supersolr.solr.qtime").tags("collection", COLLECTION).timer().totalTime(TimeUnit.MILLISECONDS), equalTo(7.0));
+        assertThat(getMeterRegistry().get("supersolr.solr.client").tags("collection", COLLECTION).timer().count(), equalTo(1L));
+        assertThat(getMeterRegistry().get("supersolr.solr.results").tags("collection", COLLECTION).summary().totalAmount(), equalTo(2.0));
+    }
+
+    @Test
+    @DisplayName("Test failed request recorded without query time")
+    public void testRecordFailedRequest() throws Exception {
+        // given
+        when(getDelegate().request(any(), eq(COLLECTION))).thenThrow(new SolrServerException("unavailable"));
+
+        // when
+        try {
+            getSolrClient().request(new QueryRequest(new SolrQuery("*:*")), COLLECTION);
+            fail("Expected solr server exception");
+        } catch (SolrServerException ex) {
+            log.debug("Expected failure: {}", ex.getMessage());
+        }
+
+        // then
+        assertThat(getMeterRegistry().get("supersolr.solr.request").tags("outcome", "error").timer().count(), equalTo(1L));
+        assertThat(getMeterRegistry().find("supersolr.solr.qtime").timer(), nullValue());
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.enumeration.OutboxOperationType;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.OutboxEvent;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.OutboxEventRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ProductRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl.OutboxDocumentRelay;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl.ProductDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.OutboxConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.apache.solr.common.SolrInputDocument;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.solr.UncategorizedSolrException;
+import org.springframework.data.solr.core.SolrCallback;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.query.PartialUpdate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.*;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Outbox document relay unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class OutboxDocumentRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private ProductRepository productRepository;
+    private SolrTemplate solrTemplate;
+    private SearchResultCache searchResultCache;
+    private MappingSolrConverter solrConverter;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxDocumentRelay relay;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() {
+        final OutboxConfigProperties properties = new OutboxConfigProperties();
+        properties.setEnabled(false);
+        properties.setCommitWithin(Duration.ofSeconds(1));
+        final TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> ((TransactionCallback<Object>) invocation.getArgument(0)).doInTransaction(null));
+        this.outboxEventRepository = mock(OutboxEventRepository.class);
+        this.productRepository = mock(ProductRepository.class);
+        this.solrTemplate = mock(SolrTemplate.class);
+        this.solrConverter = new MappingSolrConverter(new SimpleSolrMappingContext());
+        this.solrConverter.afterPropertiesSet();
+        when(this.solrTemplate.getConverter()).thenReturn(this.solrConverter);
+        this.searchResultCache = mock(SearchResultCache.class);
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.relay = new OutboxDocumentRelay(this.outboxEventRepository, Collections.singletonList(new ProductDocumentConverter(this.productRepository)),
+            this.solrTemplate, this.searchResultCache, transactionTemplate, properties, this.meterRegistry);
+        this.relay.initialize();
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        getRelay().destroy();
+    }
+
+    @Test
+    @DisplayName("Test outbox events are upserted with the latest model state and removed afterwards")
+    @SuppressWarnings("unchecked")
+    public void testRelayUpsertsAndDeletes() {
+        // given
+        final List<OutboxEvent> events = Arrays.asList(
+            event(1L, "1", OutboxOperationType.UPSERT),
+            event(2L, "2", OutboxOperationType.UPSERT),
+            event(3L, "2", OutboxOperationType.DELETE),
+            event(4L, "3", OutboxOperationType.UPSERT));
+        when(getOutboxEventRepository().findByEntityTypeInOrderByIdAsc(any(), any())).thenReturn(events);
+        when(getProductRepository().findAllById(any())).thenReturn(Collections.singletonList(product(1L, "Product 01")));
+
+        // when
+        final int relayed = getRelay().relay();
+
+        // then
+        assertEquals(4, relayed);
+        final ArgumentCaptor<Collection<?>> documents = ArgumentCaptor.forClass(Collection.class);
+        verify(getSolrTemplate()).saveBeans(eq(SearchableProduct.COLLECTION_ID), documents.capture(), eq(Duration.ofSeconds(1)));
+        assertThat(documents.getValue(), hasSize(1));
+        final SolrInputDocument document = write(documents.getValue().iterator().next());
+        assertThat(document.getFieldValue(SearchableProduct.ID_FIELD_NAME), equalTo("1"));
+        assertThat(document.getFieldValue(SearchableProduct.NAME_FIELD_NAME), equalTo(Collections.singletonMap("set", "Product 01")));
+        verify(getSolrTemplate()).execute(any(SolrCallback.class));
+        verify(getOutboxEventRepository()).deleteInBatch(events);
+        verify(getSearchResultCache()).invalidate(SearchableProduct.COLLECTION_ID);
+    }
+
+    @Test
+    @DisplayName("Test outbox events are kept when solr rejects the batch")
+    public void testRelayKeepsEventsOnFailure() {
+        // given
+        when(getOutboxEventRepository().findByEntityTypeInOrderByIdAsc(any(), any())).thenReturn(Collections.singletonList(event(1L, "1", OutboxOperationType.UPSERT)));
+        when(getProductRepository().findAllById(any())).thenReturn(Collections.singletonList(product(1L, "Product 01")));
+        when(getSolrTemplate().saveBeans(anyString(), anyCollection(), any(Duration.class))).thenThrow(new UncategorizedSolrException("unavailable", null));
+
+        // when
+        try {
+            getRelay().relay();
+            fail("Relay should propagate solr failures");
+        } catch (UncategorizedSolrException ex) {
+            // then
+            verify(getOutboxEventRepository(), never()).deleteInBatch(any());
+            verify(getSearchResultCache(), never()).invalidate(anyString());
+        }
+    }
+
+    @Test
+    @DisplayName("Test relayed updates only set converted fields and keep document associations")
+    @SuppressWarnings("unchecked")
+    public void testRelayKeepsAssociations() {
+        // given
+        when(getOutboxEventRepository().findByEntityTypeInOrderByIdAsc(any(), any())).thenReturn(Collections.singletonList(event(1L, "1", OutboxOperationType.UPSERT)));
+        when(getProductRepository().findAllById(any())).thenReturn(Collections.singletonList(product(1L, "Product 01")));
+
+        // when
+        getRelay().relay();
+
+        // then
+        final ArgumentCaptor<Collection<?>> documents = ArgumentCaptor.forClass(Collection.class);
+        verify(getSolrTemplate()).saveBeans(eq(SearchableProduct.COLLECTION_ID), documents.capture(), eq(Duration.ofSeconds(1)));
+        final Object update = documents.getValue().iterator().next();
+        assertThat(update, instanceOf(PartialUpdate.class));
+        final SolrInputDocument document = write(update);
+        assertThat(document.getFieldValue(SearchableProduct.PAGE_TITLE_FIELD_NAME), equalTo(Collections.singletonMap("set", null)));
+        for (final String association : Arrays.asList(SearchableProduct.CATEGORIES_FIELD_NAME, SearchableProduct.MAIN_CATEGORIES_FIELD_NAME,
+            SearchableProduct.ATTRIBUTES_FIELD_NAME, SearchableProduct.ORDERS_FIELD_NAME, SearchableProduct.TAGS_FIELD_NAME)) {
+            assertFalse(association, document.containsKey(association));
+        }
+        document.getFieldNames()
+            .stream()
+            .filter(field -> !SearchableProduct.ID_FIELD_NAME.equals(field))
+            .forEach(field -> assertThat(field, document.getFieldValue(field), instanceOf(Map.class)));
+    }
+
+    @Test
+    @DisplayName("Test outbox events of models without converter are kept and reported")
+    public void testRelaySkipsUnroutedEvents() {
+        // given
+        when(getOutboxEventRepository().findByEntityTypeInOrderByIdAsc(any(), any())).thenReturn(Collections.emptyList());
+        when(getOutboxEventRepository().countByEntityTypeNotIn(any())).thenReturn(2L);
+
+        // when
+        final int relayed = getRelay().relay();
+        ReflectionTestUtils.invokeMethod(getRelay(), "refreshLag");
+
+        // then
+        assertEquals(0, relayed);
+        verify(getOutboxEventRepository()).findByEntityTypeInOrderByIdAsc(eq(Collections.singleton(Product.class.getName())), any());
+        verify(getOutboxEventRepository(), never()).deleteInBatch(argThat(batch -> batch.iterator().hasNext()));
+        assertThat(getMeterRegistry().get(OutboxDocumentRelay.METRICS_PREFIX + ".events.unrouted").gauge().value(), equalTo(2.0));
+    }
+
+    private SolrInputDocument write(final Object update) {
+        final SolrInputDocument document = new SolrInputDocument();
+        getSolrConverter().write(update, document);
+        return document;
+    }
+
+    private static OutboxEvent event(final Long id, final String entityId, final OutboxOperationType operation) {
+        final OutboxEvent event = new OutboxEvent();
+        event.setId(id);
+        event.setEntityType(Product.class.getName());
+        event.setEntityId(entityId);
+        event.setOperation(operation);
+        event.setCreated(new Date());
+        return event;
+    }
+
+    private static Product product(final Long id, final String name) {
+        final Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        return product;
+    }
+}
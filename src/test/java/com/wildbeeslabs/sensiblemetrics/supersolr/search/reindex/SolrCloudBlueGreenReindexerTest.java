@@ -0,0 +1,246 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import com.wildbeeslabs.sensiblemetrics.supersolr.model.entity.Product;
+import com.wildbeeslabs.sensiblemetrics.supersolr.repository.ProductRepository;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.cache.iface.SearchResultCache;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Category;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.document.interfaces.SearchableProduct;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.indexer.iface.DocumentIndexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.iface.OutboxRelay;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.outbox.impl.ProductDocumentConverter;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.reindex.impl.SolrCloudBlueGreenReindexer;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.ReindexConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrClient;
+import org.apache.solr.client.solrj.SolrRequest;
+import org.apache.solr.common.SolrInputDocument;
+import org.apache.solr.common.params.CollectionParams;
+import org.apache.solr.common.params.CoreAdminParams;
+import org.apache.solr.common.util.NamedList;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.solr.core.SolrCallback;
+import org.springframework.data.solr.core.SolrTemplate;
+import org.springframework.data.solr.core.convert.MappingSolrConverter;
+import org.springframework.data.solr.core.mapping.SimpleSolrMappingContext;
+import org.springframework.data.solr.core.query.SolrDataQuery;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+/**
+ * SolrCloud blue/green reindexer unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class SolrCloudBlueGreenReindexerTest {
+
+    private static final String ALIAS = "BaseModel";
+    private static final String LIVE_COLLECTION = "BaseModel_20190101000000";
+    private static final String REBUILT_COLLECTION = "BaseModel_20190102000000";
+
+    private final List<String> adminActions = new ArrayList<>();
+    private final Map<String, String> aliases = new HashMap<>();
+    private final List<String> collections = new ArrayList<>();
+    private SolrTemplate solrTemplate;
+    private MappingSolrConverter solrConverter;
+    private SearchResultCache searchResultCache;
+    private DocumentIndexer documentIndexer;
+    private OutboxRelay outboxRelay;
+    private ProductRepository productRepository;
+    private SolrCloudBlueGreenReindexer reindexer;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void before() throws Exception {
+        final SolrClient solrClient = mock(SolrClient.class);
+        when(solrClient.request(any(SolrRequest.class), isNull())).thenAnswer(invocation -> {
+            final SolrRequest<?> request = invocation.getArgument(0);
+            final String action = request.getParams().get(CoreAdminParams.ACTION);
+            this.adminActions.add(action + ":" + request.getParams().get(CoreAdminParams.NAME));
+            final NamedList<Object> response = new NamedList<>();
+            response.add("success", new NamedList<>());
+            if (CollectionParams.CollectionAction.LISTALIASES.toLower().equalsIgnoreCase(action)) {
+                response.add("aliases", new HashMap<>(this.aliases));
+            } else if (CollectionParams.CollectionAction.LIST.toLower().equalsIgnoreCase(action)) {
+                response.add("collections", new ArrayList<>(this.collections));
+            }
+            return response;
+        });
+        this.aliases.put(ALIAS, LIVE_COLLECTION);
+        this.collections.add(LIVE_COLLECTION);
+        this.solrTemplate = mock(SolrTemplate.class);
+        this.solrConverter = new MappingSolrConverter(new SimpleSolrMappingContext());
+        this.solrConverter.afterPropertiesSet();
+        when(this.solrTemplate.execute(any())).thenAnswer(invocation -> ((SolrCallback<Object>) invocation.getArgument(0)).doInSolr(solrClient));
+        when(this.solrTemplate.getConverter()).thenReturn(this.solrConverter);
+        this.searchResultCache = mock(SearchResultCache.class);
+        this.documentIndexer = mock(DocumentIndexer.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(2)).run();
+            return null;
+        }).when(this.documentIndexer).replay(any(), any(), any());
+        this.outboxRelay = mock(OutboxRelay.class);
+        this.productRepository = mock(ProductRepository.class);
+        final ReindexConfigProperties properties = new ReindexConfigProperties();
+        properties.setMaxSegments(0);
+        this.reindexer = new SolrCloudBlueGreenReindexer(this.solrTemplate, properties, Collections.singletonList(new ProductDocumentConverter(this.productRepository)),
+            this.searchResultCache, this.documentIndexer, this.outboxRelay, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test verified rebuilt collection replaces live collection behind alias")
+    public void testPublishSwitchesAlias() {
+        // given
+        when(getSolrTemplate().count(eq(REBUILT_COLLECTION), any(SolrDataQuery.class))).thenReturn(100L);
+        when(getSolrTemplate().count(eq(ALIAS), any(SolrDataQuery.class))).thenReturn(100L);
+
+        // when
+        getReindexer().publish(ALIAS, REBUILT_COLLECTION);
+
+        // then
+        verify(getSolrTemplate(), times(2)).commit(REBUILT_COLLECTION);
+        assertThat(getAdminActions(), contains("LISTALIASES:null", "CREATEALIAS:" + ALIAS, "DELETE:" + LIVE_COLLECTION));
+        verify(getDocumentIndexer()).replay(eq(ALIAS), eq(REBUILT_COLLECTION), any());
+        verify(getOutboxRelay()).resume(ALIAS);
+        verify(getSearchResultCache()).invalidate(ALIAS);
+    }
+
+    @Test
+    @DisplayName("Test live collection named like the alias is dropped only after the alias is created")
+    public void testPublishReplacesCollectionByAlias() {
+        // given
+        getAliases().clear();
+        getCollections().set(0, ALIAS);
+        when(getSolrTemplate().count(eq(REBUILT_COLLECTION), any(SolrDataQuery.class))).thenReturn(100L);
+        when(getSolrTemplate().count(eq(ALIAS), any(SolrDataQuery.class))).thenReturn(100L);
+
+        // when
+        getReindexer().publish(ALIAS, REBUILT_COLLECTION);
+
+        // then
+        assertThat(getAdminActions(), contains("LISTALIASES:null", "LIST:null", "CREATEALIAS:" + ALIAS, "DELETE:" + ALIAS));
+    }
+
+    @Test
+    @DisplayName("Test rebuild pages models in id order, keeps associations and holds back writes until the alias is switched")
+    @SuppressWarnings("unchecked")
+    public void testRebuildKeepsAssociations() {
+        // given
+        getAliases().put(SearchableProduct.COLLECTION_ID, SearchableProduct.COLLECTION_ID + "_20190101000000");
+        final Product model = new Product();
+        model.setId(1L);
+        model.setName("Product 01");
+        when(getProductRepository().findAll(any(Pageable.class))).thenAnswer(invocation -> new PageImpl<>(Collections.singletonList(model), invocation.getArgument(0), 1));
+        final com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product live = new com.wildbeeslabs.sensiblemetrics.supersolr.search.document.entity.Product();
+        live.setId("1");
+        live.setName("Product 00");
+        final Category category = new Category();
+        category.setId("12");
+        live.setCategories(Collections.singletonList(category));
+        when(getSolrTemplate().getByIds(eq(SearchableProduct.COLLECTION_ID), any(Collection.class), any(Class.class))).thenReturn((Collection) Collections.singletonList(live));
+        when(getSolrTemplate().count(any(String.class), any(SolrDataQuery.class))).thenReturn(1L);
+
+        // when
+        getReindexer().rebuild(SearchableProduct.COLLECTION_ID);
+
+        // then
+        final ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        verify(getProductRepository()).findAll(pageable.capture());
+        assertThat(pageable.getValue().getSort(), equalTo(Sort.by(Sort.Direction.ASC, "id")));
+
+        final ArgumentCaptor<Collection<SolrInputDocument>> documents = ArgumentCaptor.forClass(Collection.class);
+        verify(getSolrTemplate()).saveDocuments(any(String.class), documents.capture());
+        assertThat(documents.getValue(), hasSize(1));
+        final SolrInputDocument document = documents.getValue().iterator().next();
+        final SolrInputDocument expected = new SolrInputDocument();
+        getSolrConverter().write(live, expected);
+        assertThat(document.getFieldValue(SearchableProduct.NAME_FIELD_NAME), equalTo("Product 01"));
+        assertThat(document.getFieldValue(SearchableProduct.CATEGORIES_FIELD_NAME), equalTo(expected.getFieldValue(SearchableProduct.CATEGORIES_FIELD_NAME)));
+
+        final InOrder inOrder = inOrder(getOutboxRelay(), getDocumentIndexer(), getProductRepository());
+        inOrder.verify(getOutboxRelay()).pause(SearchableProduct.COLLECTION_ID);
+        inOrder.verify(getDocumentIndexer()).record(SearchableProduct.COLLECTION_ID);
+        inOrder.verify(getProductRepository()).findAll(any(Pageable.class));
+        inOrder.verify(getDocumentIndexer()).replay(eq(SearchableProduct.COLLECTION_ID), any(), any());
+        inOrder.verify(getOutboxRelay()).resume(SearchableProduct.COLLECTION_ID);
+    }
+
+    @Test
+    @DisplayName("Test incomplete rebuilt collection is not published")
+    public void testPublishRejectsIncompleteCollection() {
+        // given
+        when(getSolrTemplate().count(eq(REBUILT_COLLECTION), any(SolrDataQuery.class))).thenReturn(10L);
+        when(getSolrTemplate().count(eq(ALIAS), any(SolrDataQuery.class))).thenReturn(100L);
+
+        // when
+        try {
+            getReindexer().publish(ALIAS, REBUILT_COLLECTION);
+            fail("Incomplete collection should not be published");
+        } catch (ServiceException ex) {
+            // then
+            assertThat(getAdminActions().stream().map(action -> action.split(":")[0]).collect(Collectors.toList()), contains("LISTALIASES"));
+            verify(getSearchResultCache(), never()).invalidate(ALIAS);
+            verify(getOutboxRelay(), never()).resume(ALIAS);
+        }
+    }
+
+    @Test
+    @DisplayName("Test aborted rebuild resumes held back writes")
+    public void testAbortResumesWrites() {
+        // given
+        final String collection = getReindexer().prepare(ALIAS);
+
+        // when
+        getReindexer().abort(collection);
+
+        // then
+        verify(getOutboxRelay()).pause(ALIAS);
+        verify(getDocumentIndexer()).discard(ALIAS);
+        verify(getOutboxRelay()).resume(ALIAS);
+        assertThat(getAdminActions().stream().map(action -> action.split(":")[0]).collect(Collectors.toList()), contains("CREATE", "DELETE"));
+    }
+}
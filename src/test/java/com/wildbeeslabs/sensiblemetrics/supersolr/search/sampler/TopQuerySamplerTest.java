@@ -0,0 +1,115 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.impl.QuerySample;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.sampler.impl.TopQuerySampler;
+import com.wildbeeslabs.sensiblemetrics.supersolr.system.props.SamplerConfigProperties;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.solr.client.solrj.SolrQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+
+/**
+ * Top-N query sampler unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class TopQuerySamplerTest {
+
+    private SamplerConfigProperties samplerConfigProperties;
+    private TopQuerySampler querySampler;
+
+    @Before
+    public void before() {
+        this.samplerConfigProperties = new SamplerConfigProperties();
+        this.querySampler = new TopQuerySampler(this.samplerConfigProperties);
+    }
+
+    @Test
+    @DisplayName("Test literal values normalized out of query shape")
+    public void testShapeNormalization() {
+        // given
+        final SolrQuery first = new SolrQuery("name:tv OR description:\"smart tv\"").addFilterQuery("price:[10 TO 100]").setStart(0).setRows(10);
+        final SolrQuery second = new SolrQuery("name:radio OR description:\"old radio\"").addFilterQuery("price:[5 TO *]").setStart(20).setRows(5);
+
+        // when
+        final String firstShape = TopQuerySampler.getShape(first);
+        final String secondShape = TopQuerySampler.getShape(second);
+
+        // then
+        assertThat(firstShape, equalTo("fq=price:[? TO ?]&q=name:? OR description:?"));
+        assertThat(secondShape, equalTo(firstShape));
+    }
+
+    @Test
+    @DisplayName("Test query shapes ranked by maximum query time and frequency")
+    public void testRankings() {
+        // given
+        final SolrQuery fast = new SolrQuery("name:tv");
+        final SolrQuery slow = new SolrQuery("description:tv~");
+
+        // when
+        for (int i = 0; i < 3; i++) {
+            getQuerySampler().sample("product", fast, TimeUnit.MILLISECONDS.toNanos(5), 2, 10);
+        }
+        getQuerySampler().sample("product", slow, TimeUnit.MILLISECONDS.toNanos(900), 850, 3);
+        final List<QuerySample> slowest = getQuerySampler().getSlowest(1);
+        final List<QuerySample> frequent = getQuerySampler().getMostFrequent(2);
+
+        // then
+        assertThat(slowest, hasSize(1));
+        assertThat(slowest.get(0).getMaxQueryTime(), equalTo(850L));
+        assertThat(slowest.get(0).getNumFound(), equalTo(3L));
+        assertThat(slowest.get(0).getShape(), equalTo("q=description:?~"));
+        assertThat(frequent, hasSize(2));
+        assertThat(frequent.get(0).getCount(), equalTo(3L));
+        assertThat(frequent.get(0).getAverageQueryTime(), equalTo(2.0));
+    }
+
+    @Test
+    @DisplayName("Test samples dropped beyond maximum number of shapes")
+    public void testMaxShapes() {
+        // given
+        getSamplerConfigProperties().setMaxShapes(1);
+
+        // when
+        getQuerySampler().sample("product", new SolrQuery("name:tv"), 0, 1, 1);
+        getQuerySampler().sample("product", new SolrQuery("id:1"), 0, 1, 1);
+
+        // then
+        assertThat(getQuerySampler().getMostFrequent(10), hasSize(1));
+        assertThat(getQuerySampler().getDropped(), equalTo(1L));
+    }
+}
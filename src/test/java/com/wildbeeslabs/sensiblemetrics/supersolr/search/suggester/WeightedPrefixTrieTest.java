@@ -0,0 +1,98 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.suggester.impl.WeightedPrefixTrie;
+import com.wildbeeslabs.sensiblemetrics.supersolr.search.view.entity.SuggestionView;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Weighted prefix trie unit test
+ */
+@Slf4j
+public class WeightedPrefixTrieTest {
+
+    @Test
+    @DisplayName("Test suggestions are ordered by weight and matched by word prefixes")
+    public void testLookupByWeight() {
+        // given
+        final WeightedPrefixTrie trie = new WeightedPrefixTrie(10, 64);
+        trie.putAll(Arrays.asList(
+            new SuggestionView("01", "Apple iPhone", 3),
+            new SuggestionView("02", "Apple Watch", 5),
+            new SuggestionView("03", "Pineapple", 9)
+        ).iterator());
+
+        // when
+        final List<String> byFirstWord = ids(trie.lookup("app", 10));
+        final List<String> bySecondWord = ids(trie.lookup(" IPH ", 10));
+        final List<String> byPhrase = ids(trie.lookup("apple w", 10));
+
+        // then
+        assertThat(byFirstWord, contains("02", "01"));
+        assertThat(bySecondWord, contains("01"));
+        assertThat(byPhrase, contains("02"));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    @DisplayName("Test incremental updates and removals are reflected in lookups")
+    public void testIncrementalUpdates() {
+        // given
+        final WeightedPrefixTrie trie = new WeightedPrefixTrie(2, 64);
+        trie.put("01", "Apple iPhone", 3);
+        trie.put("02", "Apple Watch", 5);
+
+        // when
+        trie.put("01", "Apple iPhone", 7);
+        trie.put("03", "Apricot", 6);
+
+        // then
+        assertThat(ids(trie.lookup("ap", 10)), contains("01", "03"));
+
+        // when
+        trie.remove("01");
+        trie.put("03", "Banana", 6);
+
+        // then
+        assertThat(ids(trie.lookup("ap", 10)), contains("02"));
+        assertThat(ids(trie.lookup("ban", 10)), contains("03"));
+        assertThat(trie.lookup("iph", 10), empty());
+    }
+
+    private List<String> ids(final List<SuggestionView> suggestions) {
+        return suggestions.stream().map(SuggestionView::getId).collect(Collectors.toList());
+    }
+}
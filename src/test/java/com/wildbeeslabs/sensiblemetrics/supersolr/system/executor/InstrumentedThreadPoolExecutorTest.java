@@ -0,0 +1,142 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.executor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Instrumented thread pool executor unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class InstrumentedThreadPoolExecutorTest {
+
+    private static final String EXECUTOR_NAME = "test";
+
+    private SimpleMeterRegistry meterRegistry;
+    private InstrumentedThreadPoolExecutor executor;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.executor = new InstrumentedThreadPoolExecutor(EXECUTOR_NAME, 1, 1, Duration.ofSeconds(60), 1, Executors.defaultThreadFactory(), getMeterRegistry());
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        getExecutor().shutdownNow();
+        getExecutor().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Test queue wait and execution time are recorded per task")
+    public void testRecordTimers() throws InterruptedException {
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(2);
+
+        // when
+        getExecutor().execute(() -> {
+            await(release);
+            completed.countDown();
+        });
+        getExecutor().execute(completed::countDown);
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+
+        // then
+        assertTrue(completed.await(5, TimeUnit.SECONDS));
+        final Timer queueWaitTimer = getTimer(InstrumentedThreadPoolExecutor.METRICS_PREFIX + ".queue.wait");
+        final Timer executionTimer = getTimer(InstrumentedThreadPoolExecutor.METRICS_PREFIX + ".execution");
+        waitForCount(executionTimer, 2L);
+        assertThat(queueWaitTimer.count(), is(equalTo(2L)));
+        assertThat(executionTimer.count(), is(equalTo(2L)));
+        assertThat(queueWaitTimer.max(TimeUnit.MILLISECONDS), is(greaterThanOrEqualTo(50.0)));
+        assertThat(executionTimer.max(TimeUnit.MILLISECONDS), is(greaterThanOrEqualTo(50.0)));
+    }
+
+    @Test
+    @DisplayName("Test tasks above queue capacity are rejected and counted")
+    public void testRejectSaturated() throws InterruptedException {
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        getExecutor().execute(() -> await(release));
+        getExecutor().execute(() -> await(release));
+
+        // when
+        try {
+            getExecutor().execute(() -> log.info("Rejected task executed"));
+            fail("Saturated executor accepted task");
+        } catch (RejectedExecutionException ex) {
+            log.debug("Saturated executor rejected task", ex);
+        }
+        release.countDown();
+
+        // then
+        assertThat(getMeterRegistry().get(InstrumentedThreadPoolExecutor.METRICS_PREFIX + ".rejected").tag("name", EXECUTOR_NAME).counter().count(), is(equalTo(1.0)));
+        getExecutor().shutdown();
+        assertTrue(getExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertThat(getExecutor().getCompletedTaskCount(), is(equalTo(2L)));
+    }
+
+    private Timer getTimer(final String name) {
+        return getMeterRegistry().get(name).tag("name", EXECUTOR_NAME).timer();
+    }
+
+    private static void waitForCount(final Timer timer, long count) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (timer.count() < count && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.system.executor;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Pinned thread monitor unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class PinnedThreadMonitorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PinnedThreadMonitor monitor;
+
+    @Before
+    public void before() {
+        this.meterRegistry = new SimpleMeterRegistry();
+        this.monitor = new PinnedThreadMonitor(Duration.ofMillis(20), getMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Test pinning is attributed to the first application frame")
+    public void testGetFrame() {
+        // given
+        final String applicationFrame = PinnedThreadMonitor.APPLICATION_PACKAGE + ".search.admission.impl.CircuitBreaker#onResult:120";
+
+        // then
+        assertThat(PinnedThreadMonitor.getFrame(Arrays.asList("java.lang.Thread#sleep:-1", applicationFrame, "java.util.concurrent.FutureTask#run:264")), is(equalTo(applicationFrame)));
+        assertThat(PinnedThreadMonitor.getFrame(Arrays.asList("java.lang.Thread#sleep:-1", "java.util.concurrent.FutureTask#run:264")), is(equalTo("java.lang.Thread#sleep:-1")));
+        assertThat(PinnedThreadMonitor.getFrame(Collections.emptyList()), is(equalTo("unknown")));
+    }
+
+    @Test
+    @DisplayName("Test pinned durations are recorded by timer")
+    public void testRecord() {
+        // when
+        getMonitor().record(Duration.ofMillis(30), "frame");
+        getMonitor().record(Duration.ofMillis(50), "frame");
+
+        // then
+        final Timer timer = getMeterRegistry().get(PinnedThreadMonitor.METRICS_NAME).timer();
+        assertThat(timer.count(), is(equalTo(2L)));
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS), is(equalTo(80.0)));
+    }
+
+    @Test
+    @DisplayName("Test monitor stays inactive on runtimes without virtual threads")
+    public void testStartUnsupported() {
+        // when
+        getMonitor().start();
+
+        // then
+        assertThat(getMonitor().isRunning(), is(VirtualThreads.isSupported()));
+        getMonitor().stop();
+        assertFalse(getMonitor().isRunning());
+    }
+}
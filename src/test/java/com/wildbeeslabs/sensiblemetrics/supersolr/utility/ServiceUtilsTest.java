@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.utility;
+
+import com.wildbeeslabs.sensiblemetrics.supersolr.exception.ServiceException;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Service utilities unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class ServiceUtilsTest {
+
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void after() throws InterruptedException {
+        getExecutor().shutdownNow();
+        getExecutor().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Test result is returned when available in time")
+    public void testGetResult() {
+        // given
+        final CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> "result", getExecutor());
+
+        // then
+        assertThat(ServiceUtils.getResult(future, Duration.ofSeconds(5)), is(equalTo("result")));
+    }
+
+    @Test
+    @DisplayName("Test queued task is cancelled and skipped on timeout")
+    public void testGetResultTimeout() throws InterruptedException {
+        // given
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicBoolean executed = new AtomicBoolean();
+        getExecutor().execute(() -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final CompletableFuture<String> future = CompletableFuture.supplyAsync(() -> {
+            executed.set(true);
+            return "result";
+        }, getExecutor());
+
+        // when
+        try {
+            ServiceUtils.getResult(future, Duration.ofMillis(50));
+            fail("Result returned before the task was executed");
+        } catch (ServiceException ex) {
+            assertThat(ex.getCause(), is(instanceOf(TimeoutException.class)));
+        }
+        release.countDown();
+        getExecutor().shutdown();
+
+        // then
+        assertTrue(getExecutor().awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(future.isCancelled());
+        assertFalse(executed.get());
+    }
+
+    @Test
+    @DisplayName("Test exceptional completion is rethrown with its cause")
+    public void testGetResultFailed() {
+        // given
+        final IllegalStateException error = new IllegalStateException("failed");
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+
+        // when
+        try {
+            ServiceUtils.getResult(future, Duration.ofSeconds(5));
+            fail("Result returned by failed future");
+        } catch (ServiceException ex) {
+            // then
+            assertThat(ex.getCause(), is(equalTo(error)));
+        }
+    }
+}
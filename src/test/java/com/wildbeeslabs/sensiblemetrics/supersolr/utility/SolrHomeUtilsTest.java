@@ -0,0 +1,97 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2019 WildBees Labs, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.wildbeeslabs.sensiblemetrics.supersolr.utility;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Solr home utilities unit test
+ */
+@Slf4j
+@Getter(AccessLevel.PROTECTED)
+public class SolrHomeUtilsTest {
+
+    private Path home;
+    private Map<String, String> configSets;
+
+    @Before
+    public void before() throws IOException {
+        this.home = Files.createTempDirectory("supersolr-home-test").resolve("solr-home");
+        this.configSets = Collections.singletonMap("product", "solr/product");
+    }
+
+    @After
+    public void after() {
+        SolrHomeUtils.deleteHome(getHome().getParent());
+    }
+
+    @Test
+    @DisplayName("Test solr home is created with lazily loaded cores and provisioned language resources")
+    public void testCreateHome() throws IOException {
+        // when
+        SolrHomeUtils.createHome(getHome(), getConfigSets(), false);
+
+        // then
+        final Path core = getHome().resolve("product");
+        assertTrue(Files.isRegularFile(getHome().resolve(SolrHomeUtils.DEFAULT_SOLR_XML_NAME)));
+        assertTrue(Files.isRegularFile(core.resolve("conf").resolve("solrconfig.xml")));
+        assertTrue(Files.isRegularFile(core.resolve("conf").resolve("lang").resolve("stopwords_en.txt")));
+        final String descriptor = new String(Files.readAllBytes(core.resolve(SolrHomeUtils.DEFAULT_CORE_PROPERTIES_NAME)), StandardCharsets.UTF_8);
+        assertThat(descriptor, containsString("name=product"));
+        assertThat(descriptor, containsString("loadOnStartup=false"));
+    }
+
+    @Test
+    @DisplayName("Test existing cores are left untouched on solr home creation")
+    public void testCreateExistingHome() throws IOException {
+        // given
+        SolrHomeUtils.createHome(getHome(), getConfigSets(), false);
+        final Path descriptor = getHome().resolve("product").resolve(SolrHomeUtils.DEFAULT_CORE_PROPERTIES_NAME);
+        Files.write(descriptor, "name=product\n".getBytes(StandardCharsets.UTF_8));
+
+        // when
+        SolrHomeUtils.createHome(getHome(), getConfigSets(), true);
+
+        // then
+        assertThat(new String(Files.readAllBytes(descriptor), StandardCharsets.UTF_8), is("name=product\n"));
+    }
+}